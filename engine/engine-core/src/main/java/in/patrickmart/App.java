@@ -0,0 +1,216 @@
+package in.patrickmart;
+
+import in.patrickmart.controller.*;
+import in.patrickmart.model.*;
+import in.patrickmart.model.gravity.BarnesHutGravity;
+import in.patrickmart.model.gravity.FastMultipoleGravity;
+import in.patrickmart.model.gravity.ParticleMeshGravity;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+
+/**
+ * Sets up the MVC Structure of the application, gets things running.
+ */
+public class App
+{
+    public static boolean headless = false;
+    public static Long seed = null; // When set, the simulation runs in deterministic mode.
+    public static int threads = 1;
+    public static Double theta = null; // When set, gravity between Entities uses Barnes-Hut with this opening angle.
+    public static Integer fmmOrder = null; // When set, gravity between Entities uses the fast multipole method.
+    public static Integer pmSize = null; // When set, gravity between Entities is worked out on a grid this wide.
+    public static Long budget = null; // When set, the Scenario warns once its estimated memory passes this many MB.
+    public static boolean refuse = false; // Whether Entities past the memory budget are refused rather than warned of.
+    public static int steps = 0; // When set, the simulation takes this many steps as fast as it can, then exits.
+    public static int spawn = 0; // How many random Entities to start with.
+    public static int memoryLogSeconds = 0; // When set, a memory report is printed this often while looping.
+    public static boolean timings = false; // Whether to report how long each phase of startup took.
+    public static TickScheduler.Policy tickPolicy = TickScheduler.Policy.BEST_EFFORT;
+    public static int tickLogSeconds = 0; // When set, the tick jitter is printed this often while looping.
+
+    public static void main( String[] args )
+    {
+        // Nothing is set up unless a flag asks for it, so that short headless jobs start as fast as they can.
+        StartupTimer startup = new StartupTimer();
+        parseArgs(args);
+        System.out.println( "Initializing..." );
+        startup.mark("args");
+        Model m = seed == null ? new Model() : new Model(seed);
+        if (threads != 1) {
+            m.getScenario().setThreads(threads);
+        }
+        startup.mark("model");
+        if (pmSize != null) {
+            m.getScenario().setGravitySolver(new ParticleMeshGravity(pmSize));
+        } else if (fmmOrder != null) {
+            m.getScenario().setGravitySolver(new FastMultipoleGravity(fmmOrder, theta == null ? 0.5 : theta));
+        } else if (theta != null) {
+            m.getScenario().setGravitySolver(new BarnesHutGravity(theta));
+        }
+        if (budget != null) {
+            m.setHeapBudget(budget << 20, refuse ? BudgetPolicy.REFUSE : BudgetPolicy.WARN);
+        }
+        Controller c = new Controller(m);
+        c.setMemoryLogSeconds(memoryLogSeconds);
+        c.setTickPolicy(tickPolicy);
+        c.setTickLogSeconds(tickLogSeconds);
+        if (spawn > 0) {
+            c.spawnRandom(spawn);
+        }
+        startup.mark("scene");
+        Runnable viewer = headless ? null : openViewer(c, m);
+        if (!headless && viewer == null) {
+            System.out.println("engine-viewer is not on the classpath.");
+            headless = true;
+        }
+        if(headless) {
+            System.out.println("Headless Mode.");
+        } else {
+            startup.mark("viewer");
+        }
+        if (timings) {
+            c.setStartupTimer(startup);
+        }
+        if (viewer != null) {
+            // The model steps on a thread of its own while the viewer draws Snapshots of it on this one, since GLFW
+            // only works on the main thread. Neither waits on the other.
+            new Thread(() -> run(c), "simulation").start();
+            viewer.run();
+        } else {
+            run(c);
+        }
+    }
+
+    /**
+     * Steps the model, either a set number of steps as fast as possible or in real time until stopped.
+     */
+    private static void run(Controller c) {
+        if (steps > 0) {
+            c.run(steps);
+        } else {
+            c.loop(-1);
+        }
+    }
+
+    /**
+     * Opens a Viewer onto the Model. The Viewer and LWJGL live in the engine-viewer module, so the Viewer is looked up
+     * by name rather than linked against, and engine-core runs without either of them.
+     * @return the Viewer, to be run on the main thread, or null if engine-viewer is not on the classpath
+     */
+    private static Runnable openViewer(Controller c, Model m) {
+        Class<?> viewer;
+        try {
+            viewer = Class.forName("in.patrickmart.view.Viewer");
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+        try {
+            return (Runnable) viewer.getConstructor(Controller.class, Model.class).newInstance(c, m);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Unable to open the viewer", e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to open the viewer", e);
+        }
+    }
+
+    /**
+     * Parses command line arguments sent to the program in order to set flags and determine how the program will run.
+     * @param args all of the command line arguments sent to the program.
+     */
+    private static void parseArgs(String[] args) {
+        ArrayList<String> processed = new ArrayList<>();
+
+        for (String a : args) {
+            a = a.toLowerCase().replace("-", "");
+            //Check if any 'full word' args are present.
+            if (a.contains("help")) {
+                printUsage();
+            } else if (a.contains("headless")) {
+                processed.add("headless");
+                headless = true;
+            } else if (a.startsWith("seed=")) {
+                processed.add("seed");
+                seed = Long.parseLong(a.substring("seed=".length()));
+            } else if (a.startsWith("threads=")) {
+                processed.add("threads");
+                threads = Integer.parseInt(a.substring("threads=".length()));
+            } else if (a.startsWith("theta=")) {
+                processed.add("theta");
+                theta = Double.parseDouble(a.substring("theta=".length()));
+            } else if (a.startsWith("fmm=")) {
+                processed.add("fmm");
+                fmmOrder = Integer.parseInt(a.substring("fmm=".length()));
+            } else if (a.startsWith("pm=")) {
+                processed.add("pm");
+                pmSize = Integer.parseInt(a.substring("pm=".length()));
+            } else if (a.startsWith("budget=")) {
+                processed.add("budget");
+                budget = Long.parseLong(a.substring("budget=".length()));
+            } else if (a.contains("refuse")) {
+                processed.add("refuse");
+                refuse = true;
+            } else if (a.startsWith("steps=")) {
+                processed.add("steps");
+                steps = Integer.parseInt(a.substring("steps=".length()));
+            } else if (a.startsWith("spawn=")) {
+                processed.add("spawn");
+                spawn = Integer.parseInt(a.substring("spawn=".length()));
+            } else if (a.startsWith("memlog=")) {
+                processed.add("memlog");
+                memoryLogSeconds = Integer.parseInt(a.substring("memlog=".length()));
+            } else if (a.startsWith("tick=")) {
+                processed.add("tick");
+                String policy = a.substring("tick=".length());
+                if (policy.startsWith("hard")) {
+                    tickPolicy = TickScheduler.Policy.HARD_REAL_TIME;
+                } else if (policy.startsWith("fast")) {
+                    tickPolicy = TickScheduler.Policy.AS_FAST_AS_POSSIBLE;
+                } else {
+                    tickPolicy = TickScheduler.Policy.BEST_EFFORT;
+                }
+            } else if (a.startsWith("ticklog=")) {
+                processed.add("ticklog");
+                tickLogSeconds = Integer.parseInt(a.substring("ticklog=".length()));
+            } else if (a.equals("timings")) {
+                processed.add("timings");
+                timings = true;
+            } else {
+                //Check each char for flags.
+                char[] flags = a.toCharArray();
+                for (char f : flags) {
+                    if (f == 'h') {
+                        printUsage();
+                    } else if(f == 'e') {
+                        headless = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Prints a short overview of the command line flags that can be provided to the program, then closes the program.
+     */
+    static void printUsage() {
+        System.out.println("Usage:\n" +
+                "-h -help\t\tPrints command usage instead of running.\n" +
+                "-e -headless\tRuns simulations without a view, allowing for command line usage\n" +
+                "-seed=N\t\tRuns a deterministic simulation whose random numbers come from seed N.\n" +
+                "-threads=N\t\tSteps the simulation with N worker threads. Results do not depend on N.\n" +
+                "-theta=N\t\tApproximates gravity with Barnes-Hut, using an opening angle of N (0.5 is typical).\n" +
+                "-fmm=N\t\tApproximates gravity with the fast multipole method, using expansions of order N.\n" +
+                "-pm=N\t\tApproximates gravity on an N by N grid with close pairs summed directly (N a power of two).\n" +
+                "-budget=N\t\tWarns once the simulation's estimated memory passes N MB.\n" +
+                "-memlog=N\t\tPrints an estimate of the simulation's memory every N seconds.\n" +
+                "-refuse\t\tRefuses new Entities past the memory budget instead of warning.\n" +
+                "-steps=N\t\tTakes N steps as fast as possible, then exits, rather than stepping in real time.\n" +
+                "-spawn=N\t\tStarts the simulation with N random entities.\n" +
+                "-tick=P\t\tPaces the simulation with policy P: hard (catch up on late ticks), best (the default,\n" +
+                "\t\t\tdrop late ticks) or fast (no waiting between ticks).\n" +
+                "-ticklog=N\t\tPrints how late ticks have started every N seconds.\n" +
+                "-timings\t\tReports how long each phase of startup took, up to the end of the first step.\n" +
+                "-d -debug\t\tPrints debug printouts and displays extra info while running simulations.\n");
+        System.exit(0);
+    }
+}
\ No newline at end of file
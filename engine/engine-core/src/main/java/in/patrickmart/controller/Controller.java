@@ -0,0 +1,412 @@
+package in.patrickmart.controller;
+
+import in.patrickmart.model.*;
+import in.patrickmart.model.forces.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class Controller {
+    private Model model;
+    private volatile boolean running; // Volatile, so that stop() can be called from another thread.
+    private int ticksPerSecond; //How many times per second should the controller call step?
+    private double actualTicksPerSecond; // How many times per second is step actually called?
+    private int memoryLogSeconds; // How often to print a memory report while looping, or 0 to never.
+    private int tickLogSeconds; // How often to print the scheduler's jitter while looping, or 0 to never.
+    private StartupTimer startup; // Reported once the first step is done, then let go.
+    private TickScheduler scheduler;
+    private final ConcurrentLinkedQueue<Runnable> commands = new ConcurrentLinkedQueue<>(); // Run before each step.
+
+    public Controller(Model model) {
+        this.model = model;
+        this.running = false ;
+        actualTicksPerSecond = 0;
+        ticksPerSecond = 60;
+        scheduler = new TickScheduler(ticksPerSecond, TickScheduler.Policy.BEST_EFFORT);
+    }
+
+    /**
+     * The main program loop. Contains the code to both start and run the loop.
+     */
+    public void loop(Integer loops) {
+        System.out.println("Starting the Controller Loop.");
+
+        int ticks = 0;
+        int totalTicks = 0;
+        int seconds = 0;
+        this.running = true;
+        // The scheduler parks this thread between ticks, rather than spinning until each one is due.
+        scheduler.start();
+        long timer = System.nanoTime() + 1000000000; // 1000000000 nanoseconds in a second.
+
+        while (running) {
+            scheduler.awaitTick();
+            if (!running) {
+                break; // Stopped while waiting for the tick.
+            }
+            step();
+            ticks++;
+            long currentTime = System.nanoTime();
+
+            if (currentTime >= timer) {
+                actualTicksPerSecond = Math.floor((actualTicksPerSecond + ticks) / 2 * 100) / 100;
+
+                totalTicks += ticks;
+                ticks = 0;
+                timer += 1000000000;
+                seconds++;
+                if (memoryLogSeconds > 0 && seconds % memoryLogSeconds == 0) {
+                    System.out.println(model.measureMemory());
+                }
+                if (tickLogSeconds > 0 && seconds % tickLogSeconds == 0) {
+                    System.out.println(scheduler);
+                }
+            }
+
+            if (loops > 0 && totalTicks >= loops) {
+                running = false;
+            }
+        }
+    }
+
+    /**
+     * Accessor for the scheduler that paces the main program loop, which keeps track of tick jitter.
+     * @return the tick scheduler
+     */
+    public TickScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Mutator for how the main program loop is paced.
+     * @param policy HARD_REAL_TIME to catch up on missed ticks, BEST_EFFORT to drop them, or AS_FAST_AS_POSSIBLE
+     */
+    public void setTickPolicy(TickScheduler.Policy policy) {
+        scheduler.setPolicy(policy);
+    }
+
+    /**
+     * Sets how often the main program loop prints the scheduler's tick jitter.
+     * @param seconds how many seconds between reports, or 0 for none
+     */
+    public void setTickLogSeconds(int seconds) {
+        this.tickLogSeconds = seconds;
+    }
+
+    /**
+     * Steps the model a number of times, one straight after another rather than at the tick rate, then stops. This is
+     * for headless jobs, which want their results as soon as they can have them.
+     * @param steps how many times to step
+     */
+    public void run(int steps) {
+        long start = System.nanoTime();
+        for (int i = 0; i < steps; i++) {
+            step();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println("Ran " + steps + " steps in " + String.format("%.3f", seconds) + " s.");
+    }
+
+    /**
+     * Sets a StartupTimer to mark and report once the first step is done.
+     * @param startup the timer, or null to report nothing
+     */
+    public void setStartupTimer(StartupTimer startup) {
+        this.startup = startup;
+    }
+
+    /**
+     * Sets how often the main program loop prints an estimate of the memory the Model holds onto.
+     * @param seconds how many seconds between reports, or 0 for none
+     */
+    public void setMemoryLogSeconds(int seconds) {
+        this.memoryLogSeconds = seconds;
+    }
+
+    /**
+     * Stops the main program loop.
+     */
+    public void stop() {
+        running = false;
+        System.out.println("Stopping the Controller Loop.");
+    }
+
+    /**
+     * Asks for something to be done to the model on the thread stepping it, just before its next step. A renderer on
+     * another thread changes the model this way, so that the model is never changed partway through a step.
+     * @param command what to do
+     */
+    public void invokeLater(Runnable command) {
+        commands.add(command);
+    }
+
+    /**
+     * Steps the model, after carrying out any commands sent with invokeLater.
+     */
+    public void step() {
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            command.run();
+        }
+        model.step();
+        if (startup != null) {
+            startup.mark("first step");
+            startup.report();
+            startup = null;
+        }
+    }
+
+    /**
+     * A view event that gets handled by the controller.
+     */
+    public void viewEvent() {
+        //TODO for now this is hardcoded to add an object at a random location. this should interpret commands from View
+        Entity e = randomEntity();
+        if (model.addEntity(e)) { // The Scenario reports it if its heap budget turns the Entity away.
+            System.out.println("Added random entity #" + e.getId() + " to the model.");
+        }
+    }
+
+    /**
+     * Adds a number of random Entities to the model, like viewEvent does, for headless jobs to start from.
+     * @param count how many Entities to add
+     */
+    public void spawnRandom(int count) {
+        int added = 0;
+        for (int i = 0; i < count; i++) {
+            if (model.addEntity(randomEntity())) {
+                added++;
+            }
+        }
+        System.out.println("Added " + added + " random entities to the model.");
+    }
+
+    /**
+     * Makes an Entity at a random location near the origin, with a random number of sides.
+     */
+    private Entity randomEntity() {
+        Random r = model.getScenario().getRandom();
+        double x = (r.nextDouble() * 2) - 1;
+        double y = (r.nextDouble() * 2) - 1;
+        int sides = r.nextInt((10 - 3) + 1) + 3;
+        Entity e = new ConcreteEntity(new Vector2D(x,y), new ConcreteShape(sides ,.1), r);
+        //e.setVelocity(new Vector2D((r.nextDouble() - .5) * .01,(r.nextDouble() - .5) * .01));
+        //TODO: remove this. forcing mass to be large here.
+        e.setMass(5000.0);
+        return e;
+    }
+
+    /**
+     * Toggles the application of a Flat-Earth-Approximation gravity to all dynamic Entities.
+     */
+    public void toggleFEA() {
+        model.getScenario().toggleFEAgravity();
+    }
+
+    /**
+     * Toggle application of gravitational force between all Entities.
+     */
+    public void toggleGravity() {
+        model.getScenario().toggleGravity();
+    }
+
+    /**
+     * Toggle giving each Entity a timestep of its own under gravity, for orbits.
+     */
+    public void toggleBlockTimesteps() {
+        model.getScenario().toggleBlockTimesteps();
+    }
+
+    /**
+     * launches a ball from the right hand corner of the screen.
+     * @param cameraPosition
+     * @param cameraScale
+     */
+    public void launchBall(Vector2D cameraPosition, double cameraScale) {
+        Entity e = new ConcreteEntity(new Vector2D(-cameraPosition.getX() + (1 / cameraScale),-cameraPosition.getY()), new ConcreteShape(8 ,.1/cameraScale), model.getScenario().getRandom());
+        e.setVelocity(new Vector2D(-1 / cameraScale,0));
+        e.setMass(500 / cameraScale * 2);
+        if (model.addEntity(e)) { // The Scenario reports it if its heap budget turns the Entity away.
+            System.out.println("Added launched Entity #" + e.getId() + " to the scenario.");
+        }
+    }
+
+    /**
+     * creates an entity at the location of the click
+     * @param position
+     * @param cameraScale
+     */
+    public void createEntityClick(Vector2D position, double cameraScale) {
+        int sides = 12;
+        Entity e = new ConcreteEntity(new Vector2D(position.getX(),position.getY()), new ConcreteShape(sides ,.1 / cameraScale), model.getScenario().getRandom());
+        e.setMass(500 / cameraScale * 2);
+        if (model.addEntity(e)) { // The Scenario reports it if its heap budget turns the Entity away.
+            System.out.println("Added random Entity #" + e.getId() + " to the scenario.");
+        }
+    }
+
+    /**
+     * crates a force when clicking and dragging.
+     * @param applyTo
+     * @param position
+     * @param force
+     * @return the created force
+     */
+    public Force createForce(Entity applyTo, Vector2D position, Vector2D force) {
+        //TODO A verbose output flag should allow messages like the one below to be logged.
+        //System.out.printf("Applied force (%.3f, %.3f) to Entity #%d%n", force.getX(), force.getY(), applyTo.getId());
+        return new ForceGeneric(null, applyTo, force, position);
+    }
+
+    /**
+     * attempts to select and entity at the pointer's position
+     * @param position
+     * @return found entity or null
+     */
+    public Entity selectAtPosition(Vector2D position) {
+        System.out.println("Attempting to select an Entity.");
+        Entity found = model.getScenario().selectAtPosition(position);
+
+        if (found == null) {
+            System.out.println("\tNo Entity Found.");
+        } else {
+            System.out.println("\tFound Entity #" + found.getId());
+        }
+        return found;
+    }
+
+    /**
+     * attempts to select an entity at the pointer's position, going by a Snapshot rather than the model itself, so
+     * that it can be called while the model is being stepped on another thread.
+     * @param snapshot the Snapshot to look in
+     * @param position
+     * @return the ID of the found entity, or -1
+     */
+    public int selectAtPosition(Snapshot snapshot, Vector2D position) {
+        System.out.println("Attempting to select an Entity.");
+        int found = snapshot.find(position);
+
+        if (found < 0) {
+            System.out.println("\tNo Entity Found.");
+            return -1;
+        }
+        int id = snapshot.getRecords().getId(found);
+        System.out.println("\tFound Entity #" + id);
+        return id;
+    }
+
+    /**
+     * gets last entity created
+     * @return latest entity
+     */
+    public Entity getLatestEntity() {
+        System.out.println("Selecting the most recently created Entity.");
+        ArrayList<Entity> entities = model.getScenario().getEntities();
+        int highest = -1;
+        Entity latest = null;
+        for (Entity e : entities) {
+            if (e.getId() > highest) {
+                latest = e;
+            }
+        }
+
+        if (latest == null) {
+            System.out.println("\tNo Entity Found.");
+        } else {
+            System.out.println("\tFound Entity #" + latest.getId());
+        }
+       return latest;
+    }
+
+    /**
+     * gets the last entity created, going by a Snapshot rather than the model itself, so that it can be called while
+     * the model is being stepped on another thread.
+     * @param snapshot the Snapshot to look in
+     * @return the ID of the latest entity, or -1
+     */
+    public int getLatestEntity(Snapshot snapshot) {
+        System.out.println("Selecting the most recently created Entity.");
+        int latest = -1;
+        for (int i = 0; i < snapshot.size(); i++) {
+            latest = Math.max(latest, snapshot.getRecords().getId(i));
+        }
+
+        if (latest < 0) {
+            System.out.println("\tNo Entity Found.");
+        } else {
+            System.out.println("\tFound Entity #" + latest);
+        }
+        return latest;
+    }
+
+    /**
+     * creates a static object to represent the ground at the bottom of the screen
+     * @param cameraScale
+     */
+    public void createGround(double cameraScale) {
+        Entity e = new StaticEntity(new Vector2D(0,(-1 / cameraScale) - (2 / cameraScale)), new ConcreteShape(4, 3 / cameraScale), model.getScenario().getRandom());
+        e.setRotation(Math.PI/4);
+        model.addEntity(e);
+        e = new StaticEntity(new Vector2D((1 / cameraScale) - (3.5 / cameraScale),(1 / cameraScale) - (1 / cameraScale)), new ConcreteShape(4, 2 / cameraScale), model.getScenario().getRandom());
+        e.setRotation(Math.PI/4);
+        model.addEntity(e);
+
+        e = new StaticEntity(new Vector2D((1 / cameraScale) + (1.5 / cameraScale),0), new ConcreteShape(4, 2 / cameraScale), model.getScenario().getRandom());
+        e.setRotation(Math.PI/4);
+        model.addEntity(e);
+        System.out.println("Added static Entity #" + e.getId() + " to the scenario.");
+    }
+
+    /**
+     * clears all entities from the model.
+     */
+    public void clearEntities() {
+        model.getScenario().clearEntities();
+        System.out.println("Deleted all Entities from the scenario.");
+    }
+
+    /**
+     * deletes the selected entity
+     * @param entity
+     */
+    public void destroyEntity(Entity entity) {
+        model.removeEntity(entity);
+        System.out.println("Deleted Entity #" + entity.getId() + " from the scenario.");
+    }
+
+    /**
+     * deletes an entity by its ID, if it is still in the model
+     * @param id
+     */
+    public void destroyEntity(int id) {
+        Entity e = model.getScenario().getEntity(id);
+        if (e != null) {
+            destroyEntity(e);
+        }
+    }
+
+    /**
+     * Accessor for this controller's model
+     * @return model
+     */
+    public Model getModel(){
+        return model;
+    }
+
+    /**
+     * Accessor for actualTicksPerSecond, an estimate of program performance.
+     * @return the most recent actualTicksPerSecond value.
+     */
+    public double getActualTicksPerSecond() {
+        return actualTicksPerSecond;
+    }
+
+    /**
+     * Accessor for ticksPerSecond.
+     * @return the preset ticksPerSecond value.
+     */
+    public double getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+}
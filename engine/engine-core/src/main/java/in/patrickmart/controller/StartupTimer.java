@@ -0,0 +1,54 @@
+package in.patrickmart.controller;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+/**
+ * Times each phase of starting up, from the JVM launching to the end of the first step, so that the startup of short
+ * headless jobs can be tuned. Each phase runs from the end of the one before it to when it is marked.
+ */
+public class StartupTimer {
+    private final long startNanos; // When the timer was made, as early in main as it can be.
+    private final long startMillis;
+    private long lastNanos;
+    private ArrayList<String> phases;
+    private ArrayList<Long> durations; // How long each phase took, in nanoseconds.
+
+    /**
+     * Constructor for a StartupTimer. Make it first thing in main, since the JVM phase is measured up to this point.
+     */
+    public StartupTimer() {
+        this.startNanos = System.nanoTime();
+        this.startMillis = System.currentTimeMillis();
+        this.lastNanos = startNanos;
+        this.phases = new ArrayList<>();
+        this.durations = new ArrayList<>();
+    }
+
+    /**
+     * Marks the end of a phase, which began when the last phase ended.
+     * @param phase the name of the phase
+     */
+    public void mark(String phase) {
+        long now = System.nanoTime();
+        phases.add(phase);
+        durations.add(now - lastNanos);
+        lastNanos = now;
+    }
+
+    /**
+     * Prints how long each phase took, and how long it has been since the JVM was launched.
+     */
+    public void report() {
+        // Asking when the JVM started loads its management classes, so it is left until startup is over.
+        long jvm = startMillis - ManagementFactory.getRuntimeMXBean().getStartTime();
+        StringBuilder report = new StringBuilder("Startup: jvm ").append(jvm).append(" ms");
+        for (int i = 0; i < phases.size(); i++) {
+            report.append(", ").append(phases.get(i)).append(' ')
+                    .append(String.format("%.1f", durations.get(i) / 1e6)).append(" ms");
+        }
+        report.append(". Time to first step: ")
+                .append(String.format("%.1f", jvm + (lastNanos - startNanos) / 1e6)).append(" ms.");
+        System.out.println(report);
+    }
+}
@@ -0,0 +1,143 @@
+package in.patrickmart.controller;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Paces a loop at a fixed number of ticks per second without keeping a core busy. Between ticks the thread is parked,
+ * and only the last moments before a tick is due are spent spinning, since a parked thread can wake up late.
+ *
+ * Ticks are due at whole periods after the scheduler was started rather than a period after the last tick ended, so
+ * time lost to waking up late or to slow ticks is made up rather than building up as drift. How far behind each tick
+ * starts is kept as its jitter.
+ */
+public class TickScheduler {
+    /**
+     * What the scheduler does about ticks, and about falling behind.
+     */
+    public enum Policy {
+        HARD_REAL_TIME,     // Every tick is due at its own time. Ticks that were missed are run at once to catch up.
+        BEST_EFFORT,        // Ticks aim for the tick rate. After falling behind, the schedule restarts from now.
+        AS_FAST_AS_POSSIBLE // Ticks run one after another with no waiting.
+    }
+
+    private static final long SPIN_NANOS = 200_000; // How long before a tick is due to stop parking and start spinning.
+
+    private final long period; // The time between ticks, in nanoseconds.
+    private Policy policy;
+    private long due; // When the next tick is due, by System.nanoTime.
+    private long ticks;
+    private long overruns; // How many ticks started more than a whole period late.
+    private long totalJitter; // How late every tick started, summed, in nanoseconds.
+    private long maxJitter;
+
+    /**
+     * Constructor for objects of class TickScheduler.
+     * @param ticksPerSecond how many ticks are due each second
+     * @param policy what to do about ticks and about falling behind
+     */
+    public TickScheduler(int ticksPerSecond, Policy policy) {
+        this.period = 1_000_000_000L / ticksPerSecond;
+        this.policy = policy;
+        start();
+    }
+
+    /**
+     * Starts the schedule over, with the first tick due a period from now, and forgets all jitter so far.
+     */
+    public void start() {
+        due = System.nanoTime() + period;
+        ticks = 0;
+        overruns = 0;
+        totalJitter = 0;
+        maxJitter = 0;
+    }
+
+    /**
+     * Waits until the next tick is due, then moves the schedule on to the tick after.
+     */
+    public void awaitTick() {
+        if (policy == Policy.AS_FAST_AS_POSSIBLE) {
+            ticks++;
+            return;
+        }
+        long now = System.nanoTime();
+        while (due - now > SPIN_NANOS) {
+            LockSupport.parkNanos(due - now - SPIN_NANOS);
+            now = System.nanoTime();
+        }
+        while (due - now > 0) {
+            now = System.nanoTime(); // Thread.onSpinWait would be better here, but needs Java 9.
+        }
+
+        long late = now - due;
+        ticks++;
+        totalJitter += late;
+        maxJitter = Math.max(maxJitter, late);
+        if (late >= period) {
+            overruns++;
+            if (policy == Policy.BEST_EFFORT) {
+                due = now; // Missed ticks are dropped, rather than run all at once.
+            }
+        }
+        due += period;
+    }
+
+    /**
+     * Accessor for what the scheduler does about ticks and about falling behind.
+     * @return the policy
+     */
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Mutator for what the scheduler does about ticks and about falling behind. The schedule starts over.
+     * @param policy the policy
+     */
+    public void setPolicy(Policy policy) {
+        this.policy = policy;
+        start();
+    }
+
+    /**
+     * Accessor for how many ticks have been waited for since the schedule started.
+     * @return the number of ticks
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Accessor for how many ticks started more than a whole period late.
+     * @return the number of overruns
+     */
+    public long getOverruns() {
+        return overruns;
+    }
+
+    /**
+     * Accessor for how late ticks started, on average.
+     * @return the mean jitter in nanoseconds
+     */
+    public long getMeanJitter() {
+        return ticks == 0 ? 0 : totalJitter / ticks;
+    }
+
+    /**
+     * Accessor for how late the tick that started furthest behind was.
+     * @return the largest jitter in nanoseconds
+     */
+    public long getMaxJitter() {
+        return maxJitter;
+    }
+
+    /**
+     * Describes the jitter so far.
+     * @return a line of text, such as "Tick jitter: mean 0.052 ms, max 0.410 ms, 0 overruns in 600 ticks."
+     */
+    @Override
+    public String toString() {
+        return String.format("Tick jitter: mean %.3f ms, max %.3f ms, %d overruns in %d ticks.",
+                getMeanJitter() / 1e6, maxJitter / 1e6, overruns, ticks);
+    }
+}
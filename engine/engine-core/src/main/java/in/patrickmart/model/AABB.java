@@ -71,6 +71,28 @@ public class AABB {
         this.center = newCenter.copy();
     }
 
+    /**
+     * Moves this bounding box without allocating, by writing into the center it already holds.
+     * @param x The new x position of the center
+     * @param y The new y position of the center
+     */
+    public void setCenter(double x, double y) {
+        this.center.set(x, y);
+    }
+
+    /**
+     * Moves and resizes this bounding box without allocating.
+     * @param x The new x position of the center
+     * @param y The new y position of the center
+     * @param halfWidth Half the new total width
+     * @param halfHeight Half the new total height
+     */
+    public void set(double x, double y, double halfWidth, double halfHeight) {
+        this.center.set(x, y);
+        this.halfWidth = halfWidth;
+        this.halfHeight = halfHeight;
+    }
+
     /**
      * Accessor for the center vector of this bounding box.
      * @return a vector representing the position of the center of this bounding box.
@@ -0,0 +1,194 @@
+package in.patrickmart.model;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Body state laid out off the Java heap, as one fixed-size record per body in a direct ByteBuffer. The garbage
+ * collector never looks inside the buffer, so a million bodies cost it no more than ten do, and the memory does not
+ * count against the heap.
+ *
+ * Records are captured from a BodyStore, whose arrays the solvers step on, and can be restored into one again. The
+ * buffer is grown rarely and otherwise reused, so capturing every step allocates nothing. view() hands out the
+ * records without copying them, for a renderer or a snapshot writer to read: x and y sit side by side at the start
+ * of each record, so a view can be passed straight to OpenGL as vertex data with a stride of STRIDE bytes.
+ *
+ * Each record is laid out as below, in the platform's native byte order, with every double on an 8 byte boundary.
+ */
+public final class BodyRecords {
+    public static final int X = 0;
+    public static final int Y = 8;
+    public static final int VX = 16;
+    public static final int VY = 24;
+    public static final int ANGLE = 32;
+    public static final int OMEGA = 40;
+    public static final int MASS = 48;
+    public static final int INV_MASS = 56;
+    public static final int INV_INERTIA = 64;
+    public static final int RADIUS = 72;
+    public static final int HALF_WIDTH = 80;
+    public static final int HALF_HEIGHT = 88;
+    public static final int ID = 96; // The Entity's ID, as an int, or -1 for a row with no Entity.
+    public static final int FLAGS = 100; // An int holding STATIC for bodies that never move.
+    public static final int STRIDE = 104; // The size of one record, in bytes.
+
+    public static final int STATIC = 1;
+
+    private ByteBuffer buffer;
+    private int count;
+
+    /**
+     * Constructor for objects of class BodyRecords.
+     * @param capacity how many records there should be room for to begin with
+     */
+    public BodyRecords(int capacity) {
+        buffer = allocate(Math.max(1, capacity));
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(Math.multiplyExact(capacity, STRIDE)).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Makes sure there is room for at least some number of records, keeping the ones already written.
+     * @param capacity the number of records that must fit
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > getCapacity()) {
+            ByteBuffer fresh = allocate(Math.max(capacity, getCapacity() * 2));
+            // Calls through Buffer, whose limit and position return Buffer on every Java version.
+            ByteBuffer old = buffer.duplicate();
+            ((Buffer) old).limit(count * STRIDE);
+            ((Buffer) old).position(0);
+            fresh.put(old);
+            ((Buffer) fresh).clear();
+            buffer = fresh;
+        }
+    }
+
+    /**
+     * Writes the state of every body in a BodyStore into these records, replacing whatever was here before.
+     * @param b the bodies
+     * @param workers the pool used to share the copying between threads
+     */
+    public void capture(BodyStore b, WorkerPool workers) {
+        ensureCapacity(b.count);
+        count = b.count;
+        // Absolute puts never touch the buffer's position, so chunks can write their own records at once.
+        ByteBuffer out = buffer;
+        workers.forChunks(b.count, (chunk, from, to) -> {
+            for (int i = from; i < to; i++) {
+                int base = i * STRIDE;
+                out.putDouble(base + X, b.x[i]);
+                out.putDouble(base + Y, b.y[i]);
+                out.putDouble(base + VX, b.vx[i]);
+                out.putDouble(base + VY, b.vy[i]);
+                out.putDouble(base + ANGLE, b.angle[i]);
+                out.putDouble(base + OMEGA, b.omega[i]);
+                out.putDouble(base + MASS, b.mass[i]);
+                out.putDouble(base + INV_MASS, b.invMass[i]);
+                out.putDouble(base + INV_INERTIA, b.invInertia[i]);
+                out.putDouble(base + RADIUS, b.radius[i]);
+                out.putDouble(base + HALF_WIDTH, b.halfWidth[i]);
+                out.putDouble(base + HALF_HEIGHT, b.halfHeight[i]);
+                out.putInt(base + ID, b.entities[i] != null ? b.entities[i].getId() : -1);
+                out.putInt(base + FLAGS, b.invMass[i] == 0 ? STATIC : 0);
+            }
+        });
+    }
+
+    /**
+     * Writes these records back into the rows of a BodyStore. The store must already hold the same Entities in the
+     * same order, as it does after capturing from a Scenario that has not gained or lost Entities since. Shapes are
+     * not moved; call sync on the store afterwards.
+     * @param b the bodies to overwrite
+     * @param workers the pool used to share the copying between threads
+     */
+    public void restore(BodyStore b, WorkerPool workers) {
+        if (b.count != count) {
+            throw new IllegalArgumentException("There are " + count + " records but " + b.count + " bodies");
+        }
+        ByteBuffer in = buffer;
+        workers.forChunks(count, (chunk, from, to) -> {
+            for (int i = from; i < to; i++) {
+                int base = i * STRIDE;
+                b.x[i] = in.getDouble(base + X);
+                b.y[i] = in.getDouble(base + Y);
+                b.vx[i] = in.getDouble(base + VX);
+                b.vy[i] = in.getDouble(base + VY);
+                b.angle[i] = in.getDouble(base + ANGLE);
+                b.omega[i] = in.getDouble(base + OMEGA);
+                b.mass[i] = in.getDouble(base + MASS);
+                b.invMass[i] = in.getDouble(base + INV_MASS);
+                b.invInertia[i] = in.getDouble(base + INV_INERTIA);
+                b.radius[i] = in.getDouble(base + RADIUS);
+                b.halfWidth[i] = in.getDouble(base + HALF_WIDTH);
+                b.halfHeight[i] = in.getDouble(base + HALF_HEIGHT);
+            }
+        });
+    }
+
+    /**
+     * Hands out the records without copying them. The view shares memory with these records, so it shows whatever
+     * is captured next, and it reads in native byte order from position 0 to a limit of getCount() * STRIDE.
+     * @return a read only view of every record
+     */
+    public ByteBuffer view() {
+        ByteBuffer view = buffer.asReadOnlyBuffer().order(ByteOrder.nativeOrder());
+        ((Buffer) view).limit(count * STRIDE);
+        return view;
+    }
+
+    /**
+     * Reads one double from a record.
+     * @param i the index of the record
+     * @param field the offset of the field within the record, such as X or VY
+     * @return the value
+     */
+    public double get(int i, int field) {
+        return buffer.getDouble(i * STRIDE + field);
+    }
+
+    /**
+     * Reads the ID of the Entity a record was captured from.
+     * @param i the index of the record
+     * @return the ID, or -1 if the row had no Entity
+     */
+    public int getId(int i) {
+        return buffer.getInt(i * STRIDE + ID);
+    }
+
+    /**
+     * Checks whether a record belongs to a body that never moves.
+     * @param i the index of the record
+     * @return true for static bodies
+     */
+    public boolean isStatic(int i) {
+        return (buffer.getInt(i * STRIDE + FLAGS) & STATIC) != 0;
+    }
+
+    /**
+     * Accessor for how many records were last captured.
+     * @return the number of records
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Accessor for how many records there is room for before the buffer has to grow.
+     * @return the capacity, in records
+     */
+    public int getCapacity() {
+        return buffer.capacity() / STRIDE;
+    }
+
+    /**
+     * Accessor for how much memory the records take up off the heap.
+     * @return the size of the buffer, in bytes
+     */
+    public long getBytes() {
+        return buffer.capacity();
+    }
+}
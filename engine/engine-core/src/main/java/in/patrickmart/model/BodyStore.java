@@ -0,0 +1,403 @@
+package in.patrickmart.model;
+
+import in.patrickmart.model.trees.QuadTree;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Holds the state of every Entity in a Scenario as parallel arrays of primitives, so that solvers can sweep over
+ * thousands of bodies without chasing object references. Index i in every array belongs to the same Entity.
+ *
+ * These arrays are where an Entity's position, velocity, rotation and forces actually live: an Entity is a handle
+ * onto one row of a BodyStore, and its getters and setters read and write that row. An Entity that is not in any
+ * Scenario keeps a store of its own with a single row, and is moved into its Scenario's store the next time that
+ * Scenario steps. The arrays only grow, and are reused from step to step. Single row stores are handed back once
+ * their Entity moves out, and handed out again to the next Entity built or taken out of a store, so that spawning
+ * and despawning do not build a store each time.
+ */
+public class BodyStore {
+    private static final int SPARE_ROWS = 64; // The most single row stores kept for reuse.
+    private static final BodyStore[] spares = new BodyStore[SPARE_ROWS];
+    private static int spareCount; // Guarded by spares, as Entities may be built on any thread.
+
+    public int count; // How many bodies are currently stored. Only indices below count are meaningful.
+    public Entity[] entities;
+
+    public double[] x;
+    public double[] y;
+    public double[] vx;
+    public double[] vy;
+    public double[] ax;
+    public double[] ay;
+    public double[] fx; // Force applied since the last step, from every source.
+    public double[] fy;
+    public double[] torque; // Torque applied since the last step.
+    public double[] angle;
+    public double[] omega; // Angular velocity.
+    public double[] alpha; // Angular acceleration.
+    public double[] mass;
+    public double[] invMass; // Zero for bodies that never move.
+    public double[] invInertia; // Zero for bodies that never turn.
+    public double[] radius; // The radius of a circle roughly covering each body's shape.
+    public double[] halfWidth; // Half the width of each body's bounding box.
+    public double[] halfHeight; // Half the height of each body's bounding box.
+    public double[] minX; // The edges of each body's bounding box, kept up to date by sync.
+    public double[] minY;
+    public double[] maxX;
+    public double[] maxY;
+
+    private double[][] columns; // Every array above, so that whole rows can be copied at once.
+    private boolean single; // Whether this is the single row store of one Entity, to be reused once it moves out.
+    private boolean[] wanted = new boolean[0]; // Scratch space for adopt: which rows are still in the list.
+
+    /**
+     * Constructor for objects of class BodyStore.
+     * @param capacity how many bodies the arrays should have room for to begin with
+     */
+    public BodyStore(int capacity) {
+        allocate(Math.max(1, capacity));
+    }
+
+    /**
+     * Creates fresh arrays with room for some number of bodies, copying over any bodies already stored.
+     */
+    private void allocate(int capacity) {
+        entities = entities == null ? new Entity[capacity] : Arrays.copyOf(entities, capacity);
+        x = grow(x, capacity);
+        y = grow(y, capacity);
+        vx = grow(vx, capacity);
+        vy = grow(vy, capacity);
+        ax = grow(ax, capacity);
+        ay = grow(ay, capacity);
+        fx = grow(fx, capacity);
+        fy = grow(fy, capacity);
+        torque = grow(torque, capacity);
+        angle = grow(angle, capacity);
+        omega = grow(omega, capacity);
+        alpha = grow(alpha, capacity);
+        mass = grow(mass, capacity);
+        invMass = grow(invMass, capacity);
+        invInertia = grow(invInertia, capacity);
+        radius = grow(radius, capacity);
+        halfWidth = grow(halfWidth, capacity);
+        halfHeight = grow(halfHeight, capacity);
+        minX = grow(minX, capacity);
+        minY = grow(minY, capacity);
+        maxX = grow(maxX, capacity);
+        maxY = grow(maxY, capacity);
+        columns = new double[][] {x, y, vx, vy, ax, ay, fx, fy, torque, angle, omega, alpha, mass, invMass,
+                invInertia, radius, halfWidth, halfHeight, minX, minY, maxX, maxY};
+    }
+
+    private double[] grow(double[] old, int capacity) {
+        double[] fresh = new double[capacity];
+        if (old != null) {
+            System.arraycopy(old, 0, fresh, 0, Math.min(count, capacity));
+        }
+        return fresh;
+    }
+
+    /**
+     * Estimates how many bytes of the heap this store holds onto, counting the room it has for bodies it does not
+     * hold yet but not the Entities themselves.
+     * @return the estimated size in bytes
+     */
+    public long getRetainedBytes() {
+        int capacity = x.length;
+        // The Entity array, every column, the array of columns and adopt's scratch space, then count and single.
+        return MemoryLayout.object(columns.length + 3, 4 + 1) + MemoryLayout.references(capacity)
+                + columns.length * MemoryLayout.array(8, capacity) + MemoryLayout.references(columns.length)
+                + MemoryLayout.array(1, wanted.length);
+    }
+
+    /**
+     * Estimates how many bytes each body adds to a BodyStore, not counting any room left over as it grows.
+     * @return the size of one row in bytes
+     */
+    public int getBytesPerBody() {
+        return columns.length * 8 + MemoryLayout.REFERENCE;
+    }
+
+    /**
+     * Makes sure there is room for at least some number of bodies.
+     * @param capacity the number of bodies that must fit
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > x.length) {
+            allocate(Math.max(capacity, x.length * 2));
+        }
+    }
+
+    /**
+     * Gives an Entity a store of its own, holding the state it had wherever it lived before, or zeroes if it has no
+     * state yet. The store is a spare one if there are any.
+     * @param e the Entity
+     */
+    static void detach(Entity e) {
+        BodyStore row = null;
+        synchronized (spares) {
+            if (spareCount > 0) {
+                row = spares[--spareCount];
+                spares[spareCount] = null;
+            }
+        }
+        if (row == null) {
+            row = new BodyStore(1);
+            row.single = true;
+        }
+        row.append(e);
+    }
+
+    /**
+     * Takes back the single row store of an Entity that has just moved out of it, to hand out again.
+     */
+    private static void giveBack(BodyStore row) {
+        row.entities[0] = null;
+        row.count = 0;
+        synchronized (spares) {
+            if (spareCount < SPARE_ROWS) {
+                spares[spareCount++] = row;
+            }
+        }
+    }
+
+    /**
+     * Moves an Entity's state into the next free row of this store, wherever it lived before, and points the Entity
+     * at its new row. An Entity with no state yet gets a row of zeroes.
+     * @param e the Entity
+     */
+    void append(Entity e) {
+        ensureCapacity(count + 1);
+        place(e, count);
+        count++;
+    }
+
+    /**
+     * Moves an Entity's state into a row of this store, and points the Entity at it. Whatever was in the row is
+     * overwritten, so the row must be free.
+     */
+    private void place(Entity e, int row) {
+        BodyStore from = e.store;
+        for (int c = 0; c < columns.length; c++) {
+            columns[c][row] = from != null ? from.columns[c][e.index] : 0;
+        }
+        entities[row] = e;
+        e.store = this;
+        e.index = row;
+        if (from != null && from.single) {
+            giveBack(from);
+        }
+    }
+
+    /**
+     * Swaps two rows of this store, either of which may be empty.
+     */
+    private void swapRows(int i, int j) {
+        for (double[] column : columns) {
+            double value = column[i];
+            column[i] = column[j];
+            column[j] = value;
+        }
+        Entity e = entities[i];
+        entities[i] = entities[j];
+        entities[j] = e;
+        if (entities[i] != null) {
+            entities[i].index = i;
+        }
+        if (e != null) {
+            e.index = j;
+        }
+    }
+
+    /**
+     * Makes the rows of this store match a list of Entities, so that Entity i in the list is at index i. Rows that
+     * already match are left where they are, so this costs nothing when the list has not changed, and little when
+     * Entities have only been added to the end. Rows that are out of place are moved within this store rather than
+     * copied out. Entities that are no longer in the list keep their state in a store of their own.
+     * @param list the Entities this store should hold, in order
+     */
+    public void adopt(List<Entity> list) {
+        int n = list.size();
+        int k = 0;
+        int same = Math.min(n, count);
+        while (k < same && list.get(k).store == this && list.get(k).index == k) {
+            k++;
+        }
+        if (k == count) {
+            ensureCapacity(n);
+            for (int i = k; i < n; i++) {
+                append(list.get(i));
+            }
+            return;
+        }
+
+        // Every row from k on is out of place. Rows whose Entities have left the list are emptied first.
+        if (wanted.length < count) {
+            wanted = new boolean[x.length];
+        }
+        Arrays.fill(wanted, k, count, false);
+        for (int i = k; i < n; i++) {
+            Entity e = list.get(i);
+            if (e.store == this) {
+                wanted[e.index] = true;
+            }
+        }
+        for (int i = k; i < count; i++) {
+            if (!wanted[i]) {
+                detach(entities[i]);
+                entities[i] = null;
+            }
+        }
+        // Entities from elsewhere fill the empty rows, then go on the end.
+        ensureCapacity(Math.max(n, count));
+        int free = k;
+        for (int i = k; i < n; i++) {
+            Entity e = list.get(i);
+            if (e.store != this) {
+                while (free < count && entities[free] != null) {
+                    free++;
+                }
+                place(e, free);
+                if (free == count) {
+                    count++;
+                }
+            }
+        }
+        // Every Entity in the list is now somewhere in this store, so each can be swapped into its own row.
+        for (int i = k; i < n; i++) {
+            int at = list.get(i).index;
+            if (at != i) {
+                swapRows(i, at);
+            }
+        }
+        count = n;
+    }
+
+    /**
+     * Takes an Entity's row out of this store by moving the last row into its place, which costs the same however
+     * many bodies there are. The Entity keeps its state in a store of its own.
+     * @param i the row to take out
+     */
+    void swapRemove(int i) {
+        Entity gone = entities[i];
+        detach(gone);
+        int last = count - 1;
+        if (i != last) {
+            for (int c = 0; c < columns.length; c++) {
+                columns[c][i] = columns[c][last];
+            }
+            entities[i] = entities[last];
+            entities[i].index = i;
+        }
+        entities[last] = null;
+        count--;
+    }
+
+    /**
+     * Turns the forces applied since the last step into accelerations, then clears them.
+     * @param from the first body to work on
+     * @param to one past the last body to work on
+     */
+    public void accelerate(int from, int to) {
+        for (int i = from; i < to; i++) {
+            // Newton's Second law: acceleration = netForce / mass, and alpha = netTorque / moment.
+            ax[i] = fx[i] * invMass[i];
+            ay[i] = fy[i] * invMass[i];
+            alpha[i] = torque[i] * invInertia[i];
+            fx[i] = 0;
+            fy[i] = 0;
+            torque[i] = 0;
+        }
+    }
+
+    /**
+     * Speeds up every moving body by its acceleration over a step.
+     * @param dt the length of the step, in seconds
+     * @param from the first body to work on
+     * @param to one past the last body to work on
+     */
+    public void integrateVelocity(double dt, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (invMass[i] != 0) {
+                vx[i] += ax[i] * dt;
+                vy[i] += ay[i] * dt;
+                omega[i] -= alpha[i] * dt;
+            }
+        }
+    }
+
+    /**
+     * Moves and turns every moving body along its velocities over a step.
+     * @param dt the length of the step, in seconds
+     * @param from the first body to work on
+     * @param to one past the last body to work on
+     */
+    public void integratePosition(double dt, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (invMass[i] != 0) {
+                x[i] += vx[i] * dt;
+                y[i] += vy[i] * dt;
+                angle[i] = (angle[i] + omega[i] * dt) % (Math.PI * 2);
+            }
+        }
+    }
+
+    /**
+     * Clears the forces applied since the last step without using them.
+     * @param from the first body to work on
+     * @param to one past the last body to work on
+     */
+    public void clearForces(int from, int to) {
+        Arrays.fill(fx, from, to, 0);
+        Arrays.fill(fy, from, to, 0);
+        Arrays.fill(torque, from, to, 0);
+    }
+
+    /**
+     * Brings the bounding box edges, and the Shape and AABB objects of each Entity, up to date with the positions and
+     * rotations in these arrays. Call this after moving bodies by writing to the arrays directly.
+     * @param from the first body to work on
+     * @param to one past the last body to work on
+     */
+    public void sync(int from, int to) {
+        Kernels.bounds(x, y, halfWidth, halfHeight, minX, minY, maxX, maxY, from, to);
+        for (int i = from; i < to; i++) {
+            entities[i].sync();
+        }
+    }
+
+    /**
+     * Builds a QuadTree holding every Entity in this store. The tree's bounds are square and cover every body.
+     * @return the tree
+     */
+    public QuadTree<Entity> buildQuadTree() {
+        QuadTree<Entity> tree = new QuadTree<>(new AABB(0, 0, 0, 0));
+        fillQuadTree(tree);
+        return tree;
+    }
+
+    /**
+     * Empties a QuadTree and fills it with every Entity in this store, as buildQuadTree does, reusing the tree's
+     * nodes rather than building new ones.
+     * @param tree the tree to fill, whose bounds are moved to be square and cover every body
+     */
+    public void fillQuadTree(QuadTree<Entity> tree) {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            minX = Math.min(minX, x[i] - halfWidth[i]);
+            minY = Math.min(minY, y[i] - halfHeight[i]);
+            maxX = Math.max(maxX, x[i] + halfWidth[i]);
+            maxY = Math.max(maxY, y[i] + halfHeight[i]);
+        }
+        // A little larger than needed, so that nothing sits exactly on the outer edge.
+        double half = Math.max(maxX - minX, maxY - minY) / 2 + 1;
+        tree.clear((minX + maxX) / 2, (minY + maxY) / 2, half, half);
+        for (int i = 0; i < count; i++) {
+            tree.insert(entities[i]);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package in.patrickmart.model;
+
+/**
+ * What a Scenario does when adding an Entity would take its estimated memory use past its heap budget.
+ */
+public enum BudgetPolicy {
+    WARN,   // Add the Entity anyway, printing a warning the first time the budget is passed.
+    REFUSE  // Leave the Entity out, so that addEntity returns false.
+}
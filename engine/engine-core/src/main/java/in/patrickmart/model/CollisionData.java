@@ -0,0 +1,116 @@
+package in.patrickmart.model;
+
+import in.patrickmart.model.forces.*;
+import in.patrickmart.model.forces.ForceGeneric;
+
+public class CollisionData {
+    Entity first;
+    Entity second;
+	Vector2D mtv;
+	private final Vector2D scratch = new Vector2D(); // Reused for every vector handed to the Entities in resolve.
+	private boolean released = false; // Whether a CollisionPool has taken this back.
+	
+	public CollisionData(Entity first, Entity second, Vector2D mtv) {
+		this.first = first;
+		this.second = second;
+		this.mtv = mtv;
+	}
+
+	/**
+	 * Points this CollisionData at a new pair of Entities, for a CollisionPool handing it out again.
+	 */
+	void reuse(Entity first, Entity second) {
+		this.first = first;
+		this.second = second;
+		this.released = false;
+	}
+
+	/**
+	 * Lets go of the Entities this CollisionData refers to, for a CollisionPool taking it back.
+	 * @param poison true to also leave the mtv NaN, so that anything still using it goes wrong loudly
+	 */
+	void release(boolean poison) {
+		this.first = null;
+		this.second = null;
+		this.released = true;
+		if (poison) {
+			mtv.set(Double.NaN, Double.NaN);
+		}
+	}
+
+	/**
+	 * Throws if this CollisionData has been taken back by its pool and release checking is turned on.
+	 */
+	private void checkLive() {
+		if (released && CollisionPool.isCheckingReleases()) {
+			throw new IllegalStateException("CollisionData was used after its CollisionPool released it");
+		}
+	}
+
+	/**
+	 * Accessor for the minimum translation vector, which moves the first Entity out of the second.
+	 * @return the mtv
+	 */
+	public Vector2D getMtv() {
+		checkLive();
+		return mtv;
+	}
+	
+	public boolean equals(CollisionData other) {
+		checkLive();
+		return (this.first.equals(other.first) || this.first.equals(other.second))
+			&& (this.second.equals(other.second) || this.second.equals(other.first));
+	}
+	
+	public boolean resolve(boolean gravity, boolean FEAgravity) {
+		checkLive();
+		// Everything below is worked out in the components of the mtv's direction and the direction across it, read
+		// straight from each Entity's BodyStore, so that resolving a collision makes no copies of any vector.
+		BodyStore b1 = first.getStore();
+		BodyStore b2 = second.getStore();
+		int i1 = first.getIndex();
+		int i2 = second.getIndex();
+		double mag = mtv.mag();
+		double nx = mag == 0 ? 0 : mtv.getX() / mag; // The unit normal along the mtv.
+		double ny = mag == 0 ? 0 : mtv.getY() / mag;
+		double px = ny; // The unit vector across the mtv, as getPerpendicular gives it.
+		double py = -nx;
+		//get velocities along the mtv
+		double v2 = -(b2.vx[i2] * nx + b2.vy[i2] * ny);
+		double v1 = b1.vx[i1] * nx + b1.vy[i1] * ny + v2;	//add v2 to combine reference frames
+		//calculate massConstants
+		double massCons1 = (first.getMass() - second.getMass()) / (first.getMass() + second.getMass());
+		double massCons2 = (2 * first.getMass()) / (second.getMass() + first.getMass());
+		//multiply v1 by massconstants to get each entity's speed along the mtv
+		double s1 = (v1 * massCons1) - v2;
+		double s2 = (v1 * massCons2) - v2;
+		//conserve the velocity perpendicular to the mtv, then add the new velocity along the mtv
+		double across1 = b1.vx[i1] * px + b1.vy[i1] * py;
+		double across2 = b2.vx[i2] * px + b2.vy[i2] * py;
+		first.setVelocity(scratch.set(px * across1 + nx * s1, py * across1 + ny * s1));
+		second.setVelocity(scratch.set(px * across2 - nx * s2, py * across2 - ny * s2));
+		//calculate and apply the impulse for each entity, along the mtv and from the other's position
+		double p1 = Math.abs(s1) * first.getMass();
+		double p2 = Math.abs(s2) * second.getMass();
+		double impulse = (p1 + p2) * .0166;
+		first.applyForceAt(b2.x[i2], b2.y[i2], nx * impulse, ny * impulse);
+		second.applyForceAt(b1.x[i1], b1.y[i1], nx * impulse, ny * impulse);
+
+		//call each Entity's collision response
+		first.collisionResponse(second, scratch.set(mtv.getX() * -0.5, mtv.getY() * -0.5));
+		second.collisionResponse(first, scratch.set(mtv.getX() * 0.5, mtv.getY() * 0.5));
+		
+		if(gravity){ //
+			//apply the normal force while colliding
+			ForceNormal.apply(first, second);
+			ForceNormal.apply(second, first);
+		}
+		if(FEAgravity){
+			//apply gravity to each entity once more while it rests on the other.
+			first.applyForce(0, -ForceFEA.ACCELERATION * first.getMass());
+			second.applyForce(0, -ForceFEA.ACCELERATION * second.getMass());
+		}
+
+		return true;
+	}
+}
@@ -0,0 +1,107 @@
+package in.patrickmart.model;
+
+/**
+ * Hands out CollisionData for one chunk of the collision check, reusing the same objects step after step so that
+ * finding contacts allocates nothing once the pool has grown to fit. A Scenario keeps one pool for each chunk, and a
+ * chunk is only ever worked through by one thread at a time, so a pool is never shared between threads.
+ *
+ * The CollisionData a pool hands out is only good until releaseAll is called at the start of the next step. With
+ * release checking turned on, anything that holds onto one for longer finds it poisoned: its Entities are gone, its
+ * mtv is NaN, and resolving it throws an IllegalStateException.
+ */
+public final class CollisionPool {
+    private static volatile boolean checkingReleases = false; // Whether released CollisionData is poisoned.
+
+    private CollisionData[] items = new CollisionData[16];
+    private int used; // How many items have been handed out since the last releaseAll.
+    final double[] projection = new double[2]; // Scratch space for the collision checks of this pool's chunk.
+
+    /**
+     * Hands out a CollisionData for a pair of Entities, with its mtv left for the caller to fill in.
+     * @param first the first Entity
+     * @param second the second Entity
+     * @return a CollisionData that is good until the next releaseAll
+     */
+    public CollisionData acquire(Entity first, Entity second) {
+        if (used == items.length) {
+            CollisionData[] grown = new CollisionData[used * 2];
+            System.arraycopy(items, 0, grown, 0, used);
+            items = grown;
+        }
+        CollisionData c = items[used];
+        if (c == null) {
+            c = new CollisionData(null, null, new Vector2D());
+            items[used] = c;
+        }
+        used++;
+        c.reuse(first, second);
+        return c;
+    }
+
+    /**
+     * Takes back the CollisionData handed out most recently, for a pair that turned out not to touch.
+     */
+    public void releaseLast() {
+        items[--used].release(checkingReleases);
+    }
+
+    /**
+     * Takes back every CollisionData handed out since the last call, ready to hand them out again.
+     */
+    public void releaseAll() {
+        boolean poison = checkingReleases;
+        for (int i = 0; i < used; i++) {
+            items[i].release(poison);
+        }
+        used = 0;
+    }
+
+    /**
+     * Accessor for how many CollisionData are out, in the order they were handed out.
+     * @return the number handed out since the last releaseAll
+     */
+    public int size() {
+        return used;
+    }
+
+    /**
+     * Accessor for a CollisionData that is out.
+     * @param i its place in the order they were handed out, below size
+     * @return the CollisionData
+     */
+    public CollisionData get(int i) {
+        return items[i];
+    }
+
+    /**
+     * Estimates how many bytes of the heap this pool holds onto, counting every CollisionData it has built.
+     * @return the estimated size in bytes
+     */
+    public long getRetainedBytes() {
+        long bytes = MemoryLayout.object(2, 4) + MemoryLayout.references(items.length) + MemoryLayout.array(8, 2);
+        for (CollisionData c : items) {
+            if (c != null) {
+                // Both Entities, the mtv and the scratch vector, then the released flag.
+                bytes += MemoryLayout.object(4, 1) + 2 * MemoryLayout.VECTOR;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Turns the poisoning of released CollisionData on or off. This is meant for debugging, to catch anything that
+     * keeps a CollisionData past the end of its step.
+     * @param checking true to poison CollisionData as it is released, and to check for it on use
+     */
+    public static void setCheckingReleases(boolean checking) {
+        checkingReleases = checking;
+    }
+
+    /**
+     * Accessor for whether released CollisionData is being poisoned.
+     * @return true if using released CollisionData throws
+     */
+    public static boolean isCheckingReleases() {
+        return checkingReleases;
+    }
+}
@@ -52,10 +52,11 @@ public class CompositeShape {
         }
         x /= points.size();
         y /= points.size();
-        Vector2D offset = new Vector2D(x, y);
         // Subtract the offset vector from every point, effectively moving the origin to the center of gravity.
-        for (Vector2D p : points) {
-            p.sub(offset);
+        for (Shape m : shapes) {
+            if (m instanceof ConcreteShape) {
+                ((ConcreteShape) m).shiftPoints(-x, -y);
+            }
         }
     }
 
@@ -9,23 +9,16 @@ public class ConcreteEntity extends Entity {
 	protected int id;
 
 	
-    private Vector2D position;
-    private double rotation;
-    private Vector2D velocity;
-    private double netTorque;  // in Newton Meters
+    // Position, velocity, rotation, mass and the forces applied since the last step live in this Entity's row of
+    // its BodyStore. Only what the solvers never look at is kept here.
     private double momentOfInertiaCenter; // moment if rotating around the center of mass.
     private double momentOfInertiaEdge; // moment if rotating around a point on its edge.
-    private double angularVelocity;
-    private Vector2D acceleration;
-    private double angularAcceleration;
 
-    private ArrayList<Force> forces;
-    private ArrayList<Force> lastForces;
-    private Vector2D netForce;
+    private ArrayList<Force> forces; // Only filled while Forces are being recorded.
+    private ArrayList<Force> lastForces = new ArrayList<Force>();
     private ConcreteShape shape;
     private Material material;
     private AABB bounds;
-    private double mass;
 
 	private double[] color; // When no material is specified, this is the default color.
 	private boolean isColliding = false;
@@ -38,19 +31,22 @@ public class ConcreteEntity extends Entity {
         this.material = material;
         this.bounds = shape.calculateBounds();
 
-        this.mass = material.getDensity() * shape.getArea();
-        this.momentOfInertiaCenter = (Math.pow(shape.getDiameter(), 2) * this.mass) / 12; // Ic = (1/12)mL^2
-        this.momentOfInertiaEdge = (Math.pow(shape.getDiameter(), 2) * this.mass) / 3; // Ie = (1/3)mL^2
-
-        setPosition(position);
-        this.rotation = 0;
-        this.velocity = new Vector2D();
-        this.angularVelocity = 0;
-        acceleration = new Vector2D();
-        this.angularAcceleration = 0;
+        setMass(material.getDensity() * shape.getArea());
+        describe(position);
     }
 
     public ConcreteEntity(Vector2D position, ConcreteShape shape) {
+        this(position, shape, new Random());
+    }
+
+    /**
+     * Constructor for an Entity with no material, whose default color is drawn from the provided source of random
+     * numbers. Passing a Scenario's Random keeps seeded runs reproducible.
+     * @param position The starting position of this Entity
+     * @param shape The Shape of this Entity
+     * @param random The source of this Entity's default color
+     */
+    public ConcreteEntity(Vector2D position, ConcreteShape shape, Random random) {
         this.id = getNewId();
 
         this.forces = new ArrayList<Force>();
@@ -58,20 +54,11 @@ public class ConcreteEntity extends Entity {
         this.material = null;
         this.bounds = shape.calculateBounds();
 
-        this.mass = shape.getArea(); // With no material, we have no density.
-        this.momentOfInertiaCenter = (Math.pow(shape.getDiameter(), 2) * this.mass) / 12; // Ic = (1/12)mL^2
-        this.momentOfInertiaEdge = (Math.pow(shape.getDiameter(), 2) * this.mass) / 3; // Ie = (1/3)mL^2
-
-        setPosition(position);
-        this.rotation = 0;
-        this.velocity = new Vector2D();
-        this.angularVelocity = 0;
-        this.acceleration = new Vector2D();
-        this.angularAcceleration = 0;
+        setMass(shape.getArea()); // With no material, we have no density.
+        describe(position);
 
         // Calculate some random colors as defaults since no material was provided.
-        Random r = new Random();
-        this.color = new double[] {r.nextDouble(),0.65,0.80,0.75};
+        this.color = new double[] {random.nextDouble(),0.65,0.80,0.75};
     }
 
     public ConcreteEntity(Vector2D position, ConcreteShape shape, double[] color) {
@@ -81,26 +68,111 @@ public class ConcreteEntity extends Entity {
         this.shape = shape;
         this.bounds = shape.calculateBounds();
 
-        this.mass = shape.getArea(); // With no material, we have no density.
-        this.momentOfInertiaCenter = (Math.pow(shape.getDiameter(), 2) * this.mass) / 12; // Ic = (1/12)mL^2
-        this.momentOfInertiaEdge = (Math.pow(shape.getDiameter(), 2) * this.mass) / 3; // Ie = (1/3)mL^2
-
-        setPosition(position);
-        this.rotation = 0;
-        this.velocity = new Vector2D();
-        this.angularVelocity = 0;
-        this.acceleration = new Vector2D();
-        this.angularAcceleration = 0;
+        setMass(shape.getArea()); // With no material, we have no density.
+        describe(position);
 
 		this.color = color; // A color was specified rather than a material.
     }
 
+    /**
+     * Works out the moments of inertia from this Entity's starting mass, records the sizes the solvers need in its
+     * row of its BodyStore, and puts it at its starting position.
+     */
+    private void describe(Vector2D position) {
+        double mass = getMass();
+        this.momentOfInertiaCenter = (Math.pow(shape.getDiameter(), 2) * mass) / 12; // Ic = (1/12)mL^2
+        this.momentOfInertiaEdge = (Math.pow(shape.getDiameter(), 2) * mass) / 3; // Ie = (1/3)mL^2
+
+        store.invInertia[index] = 1 / getMomentOfInertia();
+        store.radius[index] = shape.getDiameter() / 2;
+        store.halfWidth[index] = bounds.getHalfWidth();
+        store.halfHeight[index] = bounds.getHalfHeight();
+        shape.setPosition(new Vector2D()); // The shape gets a position of its own, which sync then writes into.
+        setPosition(position);
+    }
+
     /**
      * Apply a Force to this Entity.
      * @param force the Force to be applied to this Entity
      */
 	public void applyForce(Force force) {
-        this.forces.add(force);
+        ImmutableVector2D f = force.getForceValue();
+        ImmutableVector2D p = force.getPositionValue();
+        accumulate(p.getX(), p.getY(), f.getX(), f.getY());
+        if (isRecordingForces()) {
+            this.forces.add(force);
+        }
+    }
+
+    /**
+     * Apply a force through this Entity's center of mass, which pushes it without turning it.
+     * @param fx the x component of the force, in Newtons
+     * @param fy the y component of the force, in Newtons
+     */
+    public void applyForce(double fx, double fy) {
+        store.fx[index] += fx;
+        store.fy[index] += fy;
+        if (isRecordingForces()) {
+            this.forces.add(ForceGeneric.record(null, this, new Vector2D(fx, fy), getPosition()));
+        }
+    }
+
+    /**
+     * Apply a force at some point in the Scenario, which turns this Entity as well as pushing it.
+     * @param x the x position the force acts at
+     * @param y the y position the force acts at
+     * @param fx the x component of the force, in Newtons
+     * @param fy the y component of the force, in Newtons
+     */
+    public void applyForceAt(double x, double y, double fx, double fy) {
+        accumulate(x, y, fx, fy);
+        if (isRecordingForces()) {
+            this.forces.add(ForceGeneric.record(null, this, new Vector2D(fx, fy), new Vector2D(x, y)));
+        }
+    }
+
+    /**
+     * Add a force into this Entity's net force and torque.
+     */
+    private void accumulate(double x, double y, double fx, double fy) {
+        store.fx[index] += fx;
+        store.fy[index] += fy;
+        // Torque = r x F, where r is the lever arm from the center of mass to the force. Positive torque is CCW.
+        store.torque[index] += (x - store.x[index]) * fy - (y - store.y[index]) * fx;
+    }
+
+    /**
+     * Keeps a Force that has already been added into this Entity's force sums, for getForces.
+     * @param force the Force
+     */
+    void record(Force force) {
+        if (isRecordingForces()) {
+            this.forces.add(force);
+        }
+    }
+
+    /**
+     * Moves the Forces recorded since the last step to where getForces can see them. The lists are swapped rather
+     * than replaced.
+     */
+    void rollForces() {
+        ArrayList<Force> recorded = forces;
+        forces = lastForces;
+        forces.clear();
+        lastForces = recorded;
+    }
+
+    /**
+     * Brings this Entity's Shape and bounding box up to date with its position and rotation in its BodyStore.
+     */
+    void sync() {
+        double x = store.x[index];
+        double y = store.y[index];
+        bounds.setCenter(x, y);
+        shape.setPosition(x, y);
+        if (shape.getRotation() != store.angle[index]) {
+            shape.setRotation(store.angle[index]);
+        }
     }
 	
 	/**
@@ -114,32 +186,9 @@ public class ConcreteEntity extends Entity {
 	 * Calculate the angular and linear acceleration of this entity.
 	 */
     public void calculateAcceleration() {
-        // Start by finding netForce and netTorque.
-        netForce = new Vector2D();
-        netTorque = 0;
-
-        // Calculate the net force and net rotation from forces.
-        for (Force f : forces) {
-            // Calculate the new Net Force.
-            netForce.add(f.getForce());
-
-            // Calculate the new Net Torque.
-            Vector2D leverArm = f.getPosition().sub(getPosition()); // A vector from the center of mass to the location of the force.
-            double theta = leverArm.angleBetween(f.getForce()); // theta is the angle between the lever arm and the force being applied.
-
-            //Torque = rFsin(theta);
-            netTorque += leverArm.mag() * f.getForce().mag() * Math.sin(theta); // Positive torque is CCW.
-        }
-
-        // Newton's Second law: netForce = mass * acceleration -> acceleration = netForce / mass
-        acceleration = new Vector2D(netForce.getX() / this.mass, netForce.getY() / this.mass);
-
-        // Newton's Second law for Rotation: netTorque = moment * angularAcceleration -> alpha = netTorque / moment
-        angularAcceleration = netTorque / (momentOfInertiaCenter * 1000); // TODO Stop artificially inflating moment.
-
-        // Clear the list of forces so that they don't build up step after step.
-        lastForces = forces;
-        forces = new ArrayList<>();
+        // The net force and net torque have been summed as each force arrived, and are cleared once used.
+        store.accelerate(index, index + 1);
+        rollForces();
     }
 
     /**
@@ -148,16 +197,15 @@ public class ConcreteEntity extends Entity {
     public void calculateVelocity() {
         //acceleration * time + velocity
         //every step should be about 1/60th of a second
-        velocity = velocity.add(getAcceleration().mult(0.01666));
-        angularVelocity -= (angularAcceleration * 0.01666);
+        store.integrateVelocity(Scenario.TIMESTEP, index, index + 1);
     }
 
     /**
      * Move this entity along its velocity vector, update its rotation.
      */
     public void calculatePosition() {
-        setPosition(this.position.add(getVelocity().mult(.01666)));
-        setRotation((rotation + angularVelocity * 0.01666) % (Math.PI * 2));
+        store.integratePosition(Scenario.TIMESTEP, index, index + 1);
+        store.sync(index, index + 1);
     }
 	
 	/**
@@ -198,7 +246,7 @@ public class ConcreteEntity extends Entity {
      */
     public void collisionResponse(Entity other, Vector2D mtv) {
         isColliding = true;
-		this.position.add(mtv);
+        translate(mtv.getX(), mtv.getY());
     }
 
     /**
@@ -206,7 +254,16 @@ public class ConcreteEntity extends Entity {
      * @param mass the overriding mass value
      */
     public void setMass(double mass) {
-        this.mass = mass;
+        store.mass[index] = mass;
+        store.invMass[index] = mass > 0 ? 1 / mass : 0;
+    }
+
+    /**
+     * Sets the angular velocity of this Entity manually with no regard for real physics.
+     * @param angularVelocity the new angular velocity of this Entity, in Radians/second
+     */
+    public void setAngularVelocity(double angularVelocity) {
+        store.omega[index] = angularVelocity;
     }
 
     /**
@@ -214,7 +271,8 @@ public class ConcreteEntity extends Entity {
      * @param velocity the new velocity Vector2D of this Entity.
      */
     public void setVelocity(Vector2D velocity){
-        this.velocity = velocity;
+        store.vx[index] = velocity.getX();
+        store.vy[index] = velocity.getY();
     }
 
     /**
@@ -222,9 +280,9 @@ public class ConcreteEntity extends Entity {
      * @param position The new position value of this Entity
      */
     public void setPosition(Vector2D position) {
-        this.position = position;
-        this.bounds.setCenter(position);
-        this.shape.setPosition(position);
+        store.x[index] = position.getX();
+        store.y[index] = position.getY();
+        store.sync(index, index + 1);
     }
 
     /**
@@ -232,7 +290,7 @@ public class ConcreteEntity extends Entity {
      * @param rotation The new rotation value of this Entity
      */
     public void setRotation(double rotation) {
-        this.rotation = rotation;
+        store.angle[index] = rotation;
         this.shape.setRotation(rotation);
     }
 
@@ -244,6 +302,23 @@ public class ConcreteEntity extends Entity {
         return material;
     }
 
+    /**
+     * Estimates how many bytes of the heap this Entity holds onto: itself, its bounding box, its color and its lists
+     * of Forces. Its Shape, its Material, the Forces themselves and its row of its BodyStore are accounted for
+     * separately.
+     * @return the estimated size in bytes
+     */
+    public long getRetainedBytes() {
+        // The store and index from Entity, then the fields below: 7 references, 2 ints, 2 doubles and a boolean.
+        long bytes = MemoryLayout.object(7, 4 + 4 + 16 + 1);
+        bytes += MemoryLayout.object(1, 16) + MemoryLayout.VECTOR; // The bounding box and its center.
+        bytes += MemoryLayout.arrayList(forces.size()) + MemoryLayout.arrayList(lastForces.size());
+        if (color != null) {
+            bytes += MemoryLayout.array(8, color.length);
+        }
+        return bytes;
+    }
+
     /**
      * Accessor for this Entity's color.
      * @return an array of doubles representing RGBA values.
@@ -277,7 +352,7 @@ public class ConcreteEntity extends Entity {
      * @return The mass calculated from this Entity's Shape and Material
      */
     public double getMass(){
-        return mass;
+        return store.mass[index];
     }
 
     /**
@@ -285,7 +360,7 @@ public class ConcreteEntity extends Entity {
      * @return This Rntity's net force.
      */
     public Vector2D getNetForce(){
-        return this.netForce;
+        return new Vector2D(store.ax[index] * getMass(), store.ay[index] * getMass());
     }
 
     /**
@@ -293,11 +368,12 @@ public class ConcreteEntity extends Entity {
      * @return This Entity's net torque.
      */
     public double getNetTorque() {
-        return this.netTorque;
+        return store.alpha[index] * getMomentOfInertia();
     }
 
     /**
-     * Accessor for all Forces that are currently acting on this Entity.
+     * Accessor for all Forces that acted on this Entity during the last step. Forces are only kept while
+     * Entity.isRecordingForces() is true, so this list is empty otherwise.
      * @return an ArrayList of Forces.
      */
     public ArrayList<Force> getForces(){
@@ -309,7 +385,7 @@ public class ConcreteEntity extends Entity {
      * @return a Vector2D with the exact same values as this Entity's acceleration vector
      */
     public Vector2D getAcceleration() {
-        return acceleration.copy();
+        return new Vector2D(store.ax[index], store.ay[index]);
     }
 
     /**
@@ -317,7 +393,7 @@ public class ConcreteEntity extends Entity {
      * @return a Vector2D with the exact same values as this Entity's velocity vector
      */
     public Vector2D getVelocity() {
-        return velocity.copy();
+        return new Vector2D(store.vx[index], store.vy[index]);
     }
 
     /**
@@ -325,7 +401,7 @@ public class ConcreteEntity extends Entity {
      * @return position vector
      */
     public Vector2D getPosition() {
-        return position.copy();
+        return new Vector2D(store.x[index], store.y[index]);
     }
 
     /**
@@ -333,7 +409,7 @@ public class ConcreteEntity extends Entity {
      * @return this Entity's angular velocity, in Radians/second^2 (counter clockwise is positive)
      */
     public double getAngularAcceleration() {
-        return angularAcceleration;
+        return store.alpha[index];
     }
 
     /**
@@ -341,7 +417,15 @@ public class ConcreteEntity extends Entity {
      * @return this Entity's angular velocity, in Radians/second (counter clockwise is positive)
      */
     public double getAngularVelocity() {
-        return angularVelocity;
+        return store.omega[index];
+    }
+
+    /**
+     * Accessor for the moment of inertia used when turning torque into angular acceleration.
+     * @return the moment of inertia about this Entity's center of mass
+     */
+    public double getMomentOfInertia() {
+        return momentOfInertiaCenter * 1000; // Matches the inflated moment used in calculateAcceleration.
     }
 
     /**
@@ -349,7 +433,7 @@ public class ConcreteEntity extends Entity {
      * @return the angle that this entity is rotated by
      */
     public double getRotation() {
-        return rotation;
+        return store.angle[index];
     }
 
     /**
@@ -383,11 +467,12 @@ public class ConcreteEntity extends Entity {
      */
     public String toString()
     {
-        return "Entity ID [" + id + "]\n\tPos: " + position.toString() + "\n\tRotation: " + rotation + "\n\tVel: " + velocity.toString() + "\n\tAngular Vel: " + angularVelocity;
+        return "Entity ID [" + id + "]\n\tPos: " + getPosition().toString() + "\n\tRotation: " + getRotation() + "\n\tVel: " + getVelocity().toString() + "\n\tAngular Vel: " + getAngularVelocity();
     }
 
     /**
-     * Sets id for when we remove entities
+     * Sets id for when we remove entities. Do not change the ID of an Entity that is in a Scenario, which finds it
+     * by ID.
      * @param id
      */
     public void setId(int id){
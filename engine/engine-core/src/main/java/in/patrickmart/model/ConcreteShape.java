@@ -0,0 +1,401 @@
+package in.patrickmart.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *	@author Patrick Martin
+ *	@version 0.1
+ *  Uses a set of Vector2Ds to define a convex shape.
+ */
+public class ConcreteShape implements Shape {
+    // The points, normals, area and the rest, shared with every other shape built to the same template. This shape
+    // holds only where it is and how far it has turned.
+    private ShapeTemplate template;
+    private Vector2D position;
+    private double rotation;
+    private double cos = 1; // The cosine and sine of rotation, worked out once each time it changes.
+    private double sin = 0;
+
+    /**
+     * Constructor for objects of Class Shape
+     * @param points an already-constructed list of Vector2D objects defining the points that make up this shape.
+     *               The points are copied, so the caller's list and vectors are left as they were.
+     */
+    public ConcreteShape(List<Vector2D> points) {
+		//Construct this model from a set of vectors or x/y pairs, with its center of gravity corrected.
+        this(ShapeTemplate.of(points));
+    }
+
+    /**
+     * Constructor for objects of Class Shape, constructs an n-sided polygon. Every polygon with the same number of
+     * vertices and radius shares one ShapeTemplate.
+     * @param n number of vertices to construct this model from.
+     * @param radius how far each vertex is from the center of gravity.
+     */
+    public ConcreteShape(int n, double radius) {
+        this(ShapeTemplate.polygon(n, radius));
+    }
+
+    /**
+     * Default Constructor for objects of Class Shape, constructs a triangle with a 1m "radius".
+     */
+    public ConcreteShape() {
+        this(3, 1);
+    }
+
+    /**
+     * Constructor for a shape built to a template, which may be shared with any number of other shapes.
+     * @param template the geometry of this shape
+     */
+    public ConcreteShape(ShapeTemplate template) {
+        this.template = template;
+        this.rotation = 0; // No rotation provided, default is zero.
+    }
+
+	/**
+	 * Calculate the bounding box of this model at its current rotation.
+	 */
+	public AABB calculateBounds() {
+		double furthestX = 0;
+		double furthestY = 0;
+
+		for (int i = 0; i < template.pointX.length; i++) {
+			double x = template.pointX[i] * cos + template.pointY[i] * sin;
+			double y = template.pointY[i] * cos - template.pointX[i] * sin;
+			if (Math.abs(x) > furthestX) {
+				furthestX = Math.abs(x);
+			}
+			if (Math.abs(y) > furthestY) {
+				furthestY = Math.abs(y);
+			}
+		}
+
+		return new AABB(new Vector2D(), furthestX, furthestY);
+	}
+
+    /**
+     * Unimplemented, Use AABB containsPoint instead. Determines if a point is within the model.
+     * @param point
+     * @return true if point is within model.
+     */
+    public boolean containsPoint(Vector2D point) {
+        return false;
+    }
+
+    /**
+     * Implements Hyperplane Separation Theorem, the best named theorem in existence, to determine intersection.
+     * Rather than turning every point to the shape's rotation, each axis is turned the other way into the shape's
+     * own space, where its template's points already are. Along its own axes a shape's extent is already known.
+     * @param other The model to check collision against
+     * @return true if this model and the other model are intersecting
+     */
+    public Vector2D intersectsShape(Shape other) {
+        Vector2D mtv = new Vector2D();
+        return intersectsShape(other, mtv) ? mtv : null;
+    }
+
+    /**
+     * The same check as intersectsShape(Shape), writing the minimum translation vector into one the caller owns.
+     * @param other The model to check collision against
+     * @param mtv where the minimum translation vector is written, if the shapes intersect
+     * @return true if this model and the other model are intersecting
+     */
+    public boolean intersectsShape(Shape other, Vector2D mtv) {
+        return intersectsShape(other, mtv, new double[2]);
+    }
+
+    /**
+     * The same check as intersectsShape(Shape, Vector2D), projecting the shapes into scratch space the caller owns,
+     * so that nothing at all is allocated.
+     * @param other The model to check collision against
+     * @param mtv where the minimum translation vector is written, if the shapes intersect
+     * @param projection scratch space for at least two doubles, which is overwritten
+     * @return true if this model and the other model are intersecting
+     */
+    public boolean intersectsShape(Shape other, Vector2D mtv, double[] projection) {
+        ConcreteShape them = other instanceof ConcreteShape ? (ConcreteShape) other : null;
+        Vector2D origin = getPosition();
+        Vector2D otherOrigin = other.getPosition();
+        double ox = origin.getX();
+        double oy = origin.getY();
+        double otherX = otherOrigin.getX();
+        double otherY = otherOrigin.getY();
+
+        ShapeTemplate mine = template;
+        ShapeTemplate theirs = them != null ? them.template : null;
+        if (theirs != null) {
+            // Shapes further apart than their furthest points reach cannot touch.
+            double reach = mine.getRadius() + theirs.getRadius();
+            double dx = otherX - ox;
+            double dy = otherY - oy;
+            if (dx * dx + dy * dy > reach * reach) {
+                return false;
+            }
+        }
+
+        // Our separating axes, then those of the other shape. Parallel normals were left out of each template.
+        List<Vector2D> otherNormals = theirs == null ? other.getNormals() : null;
+        int n = mine.axisX.length;
+        int count = n + (theirs != null ? theirs.axisX.length : otherNormals.size());
+
+        double minOverlap = Double.MAX_VALUE; //Biggest possible double.
+        double mtvX = 0;
+        double mtvY = 0;
+        // For each axis, find the min and max dot product of that axis with each point in this shape and the other
+        for (int a = 0; a < count; a++) {
+            double axisX;
+            double axisY;
+            double min;
+            double max;
+            double oMin;
+            double oMax;
+            if (a < n) {
+                axisX = mine.axisX[a] * cos + mine.axisY[a] * sin;
+                axisY = mine.axisY[a] * cos - mine.axisX[a] * sin;
+                double offset = ox * axisX + oy * axisY;
+                min = mine.axisMin[a] + offset;
+                max = mine.axisMax[a] + offset;
+            } else {
+                if (theirs != null) {
+                    int k = a - n;
+                    axisX = theirs.axisX[k] * them.cos + theirs.axisY[k] * them.sin;
+                    axisY = theirs.axisY[k] * them.cos - theirs.axisX[k] * them.sin;
+                } else {
+                    axisX = otherNormals.get(a - n).getX();
+                    axisY = otherNormals.get(a - n).getY();
+                }
+                projectOnto(axisX, axisY, projection);
+                min = projection[0];
+                max = projection[1];
+            }
+
+            if (theirs == null) {
+                double[] otherProjection = other.project(new Vector2D(axisX, axisY));
+                oMin = otherProjection[0];
+                oMax = otherProjection[1];
+            } else if (a >= n) {
+                double offset = otherX * axisX + otherY * axisY;
+                oMin = theirs.axisMin[a - n] + offset;
+                oMax = theirs.axisMax[a - n] + offset;
+            } else {
+                them.projectOnto(axisX, axisY, projection);
+                oMin = projection[0];
+                oMax = projection[1];
+            }
+
+            // Determine if there is any overlap between the min/max of this and the other shape. if not, return false
+            // seems to say there is no collision only when the objects have space between them on the x axis.
+            if (!(min <= oMax && oMin <= max)) {
+                return false;
+            } else {
+                // If there is any overlap, find out how much. Keep track of the minimum so we can return it in the mtv.
+                // overlap = maximum(0, minimum(oMax, max) - maximum(oMin, min))
+                double overlap = Math.max(0, Math.min(max, oMax) - Math.max(min, oMin));
+                // Determine if we have the mtv backwards.
+                if (overlap < minOverlap) {
+                    minOverlap = overlap;
+                    mtvX = min < oMin ? axisX : -axisX;
+                    mtvY = min < oMin ? axisY : -axisY;
+                }
+            }
+        }
+        if (count == 0) {
+            return false;
+        }
+        mtv.set(mtvX, mtvY).setMag(minOverlap); // The minimum translation vector.
+        return true;
+    }
+
+    /**
+     * Projects this model onto an axis, and returns the interval of that projection.
+     * @param axis A normal vector to project this model onto.
+     * @return The minimum and maximum dot product of the points in this model.
+     */
+    public double[] project(Vector2D axis) {
+        double[] projection = new double[2];
+        projectOnto(axis.getX(), axis.getY(), projection);
+        return projection;
+    }
+
+    /**
+     * Projects this model onto an axis without allocating. The axis is turned into this shape's own space, along with
+     * its position, so that the template's points can be projected as they are: p' . a = p . (R^T a) for a point p
+     * turned by R.
+     * @param axisX the x component of the axis
+     * @param axisY the y component of the axis
+     * @param out where the smallest and largest projections are written
+     */
+    private void projectOnto(double axisX, double axisY, double[] out) {
+        double localX = axisX * cos - axisY * sin;
+        double localY = axisX * sin + axisY * cos;
+        Vector2D origin = getPosition();
+        double originX = origin.getX() * cos - origin.getY() * sin;
+        double originY = origin.getX() * sin + origin.getY() * cos;
+        Kernels.project(template.pointX, template.pointY, template.pointX.length, originX, originY,
+                localX, localY, out);
+    }
+
+    /**
+     * Moves every point of this shape by the same offset, which moves its center of gravity the other way. Used by
+     * CompositeShape to center a group of shapes on their shared center of gravity. The offset is turned into this
+     * shape's own space and this shape is given a template of its own, so other shapes sharing the old one are left
+     * as they were.
+     * @param dx how far to move each point along x
+     * @param dy how far to move each point along y
+     */
+    void shiftPoints(double dx, double dy) {
+        template = template.shifted(dx * cos - dy * sin, dx * sin + dy * cos);
+    }
+
+    /**
+     * Calculates the normal vectors that define this shape. A normal vector is perpendicular to an edge vector.
+     * @return An ArrayList of every normal vector in this model.
+     */
+    public ArrayList<Vector2D> getNormals() {
+        ArrayList<Vector2D> normals = new ArrayList<>();
+        for (int i = 0; i < template.normalX.length; i++) {
+            // Turn each normal of the template to this shape's rotation.
+            normals.add(new Vector2D(template.normalX[i] * cos + template.normalY[i] * sin,
+                    template.normalY[i] * cos - template.normalX[i] * sin));
+        }
+        return normals;
+    }
+
+    /**
+     * setter for position
+     * @param position
+     */
+    public void setPosition(Vector2D position) {
+        this.position = position;
+    }
+
+    /**
+     * Moves this shape without allocating, by writing into the position it already holds.
+     * @param x the new x position
+     * @param y the new y position
+     */
+    public void setPosition(double x, double y) {
+        if (position == null) {
+            position = new Vector2D(x, y);
+        } else {
+            position.set(x, y);
+        }
+    }
+
+    /**
+     * getter for position.
+     * @return shape position
+     */
+    public Vector2D getPosition() {
+        if (position != null) {
+            return position;
+        }
+        return new Vector2D();
+    }
+
+    /**
+     * setter for rotation
+     * @param rotation
+     */
+    public void setRotation(double rotation) {
+        this.rotation = rotation;
+        this.cos = Math.cos(rotation);
+        this.sin = Math.sin(rotation);
+    }
+
+    /**
+     * apply rotation.
+     * @param rotation
+     */
+    public void rotate(double rotation) {
+        setRotation(this.rotation + rotation);
+    }
+
+    /**
+     * getter for rotation
+     * @return rotation
+     */
+    public double getRotation() {
+        return rotation;
+    }
+
+    /**
+     * getter for points of a shape, as offsets from its center of gravity at its current rotation. The list is built
+     * fresh from the template on each call, so callers drawing a shape should ask for it once.
+     * @return list of points
+     */
+    public List<Vector2D> getPoints() {
+        ArrayList<Vector2D> points = new ArrayList<>(template.pointX.length);
+        for (int i = 0; i < template.pointX.length; i++) {
+            Vector2D point = template.getPoint(i);
+            points.add(rotation == 0 ? point : point.rotate(rotation));
+        }
+        return points;
+    }
+
+    /**
+     * getter for the template this shape was built to.
+     * @return template
+     */
+    public ShapeTemplate getTemplate() {
+        return template;
+    }
+
+    /**
+     * Estimates how many bytes of the heap this shape holds onto. Its template is usually shared, so it is accounted
+     * for separately.
+     * @return the estimated size in bytes
+     */
+    public long getRetainedBytes() {
+        // The template and position, then rotation, cos and sin.
+        return MemoryLayout.object(2, 24) + (position != null ? MemoryLayout.VECTOR : 0);
+    }
+
+    /**
+     * getter for area.
+     * @return area
+     */
+    public double getArea() {
+        return template.getArea();
+    }
+
+    /**
+     * getter for diameter.
+     * @return diameter
+     */
+    public double getDiameter() {
+        return template.getDiameter();
+    }
+
+    /**
+     * getter for subShapes
+     * @return singletonSubShape
+     */
+    public ArrayList<Shape> getSubShapes(){
+        ArrayList<Shape> singletonSubShape = new ArrayList<>();
+        singletonSubShape.add(this);
+        return singletonSubShape;
+    }
+
+    /**
+     * will create a complex shape when implemented
+     * @param shape
+     */
+    public void addShape(Shape shape) { }
+
+    /**
+     * getter for shape object.
+     * @param index
+     * @return shape object
+     */
+    public Shape getShape(int index) {
+        return this;
+    }
+
+    /**
+     * for composite shapes only.
+     * @param shape
+     */
+    public void removeShape(Shape shape) { }
+}
@@ -0,0 +1,162 @@
+package in.patrickmart.model;
+import in.patrickmart.model.forces.Force;
+import in.patrickmart.model.trees.Boundable;
+
+import java.util.ArrayList;
+import java.util.Vector;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public abstract class Entity implements Boundable {
+    private static final AtomicInteger nextId = new AtomicInteger(); // Entities may be built on any thread.
+    private static volatile boolean recordingForces = false; // Whether Force objects are kept around for drawing.
+
+    // Where this Entity's state lives: a row of its Scenario's BodyStore, or of a small store of its own.
+    BodyStore store;
+    int index;
+
+    public abstract void step();
+    public abstract void applyForce(Force force);
+    public abstract void applyForce(double fx, double fy);
+    public abstract void applyForceAt(double x, double y, double fx, double fy);
+    public abstract void calculateAcceleration();
+    public abstract void calculateVelocity();
+    public abstract void calculatePosition();
+    public abstract CollisionData collisionCheck(Entity other);
+    public abstract void collisionResponse(Entity other, Vector2D mtv);
+    public abstract Shape getShape();
+    public abstract AABB getBounds();
+    public abstract Vector2D getPosition();
+    public abstract double[] getColor();
+    public abstract int getId();
+    public abstract void setVelocity(Vector2D velocity);
+    public abstract boolean equals(Entity e);
+    public abstract Material getMaterial();
+    public abstract Vector2D getVelocity();
+    public abstract Vector2D getNetForce();
+    public abstract ArrayList<Force> getForces();
+    public abstract void setPosition(Vector2D position);
+    public abstract void setRotation(double rotation);
+    public abstract double getMass();
+    public abstract void setMass(double mass);
+    public abstract Vector2D getAcceleration();
+    public abstract boolean isColliding();
+    public abstract void setId(int id);
+    public abstract double getRotation();
+    public abstract double getAngularVelocity();
+    public abstract void setAngularVelocity(double angularVelocity);
+    public abstract double getMomentOfInertia();
+    public abstract long getRetainedBytes();
+
+    /**
+     * Constructor for an Entity, whose state starts out in a store of its own until a Scenario takes it in.
+     */
+    protected Entity() {
+        BodyStore.detach(this);
+    }
+
+    /**
+     * Accessor for the BodyStore this Entity's state lives in.
+     * @return the store
+     */
+    public BodyStore getStore() {
+        return store;
+    }
+
+    /**
+     * Accessor for this Entity's row in its BodyStore.
+     * @return the index of this Entity's state
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Copies this Entity's position into a vector the caller owns, rather than allocating a new one.
+     * @param out the vector to write into
+     * @return out, holding this Entity's position
+     */
+    public Vector2D getPosition(Vector2D out) {
+        return out.set(store.x[index], store.y[index]);
+    }
+
+    /**
+     * Copies this Entity's velocity into a vector the caller owns, rather than allocating a new one.
+     * @param out the vector to write into
+     * @return out, holding this Entity's velocity
+     */
+    public Vector2D getVelocity(Vector2D out) {
+        return out.set(store.vx[index], store.vy[index]);
+    }
+
+    /**
+     * Moves this Entity by some offset, keeping its Shape and bounding box up to date.
+     * @param dx how far to move along x
+     * @param dy how far to move along y
+     */
+    public void translate(double dx, double dy) {
+        store.x[index] += dx;
+        store.y[index] += dy;
+        store.sync(index, index + 1);
+    }
+
+    /**
+     * Checks whether this Entity's Shape touches another's, taking the CollisionData from a pool rather than building
+     * a new one. The caller must already know that their bounding boxes overlap.
+     * @param other another Entity to check collision against
+     * @param pool where the CollisionData comes from
+     * @return null if there is no collision, otherwise CollisionData that is good until the pool is next released
+     */
+    CollisionData collisionCheck(Entity other, CollisionPool pool) {
+        CollisionData c = pool.acquire(this, other);
+        if (getShape().intersectsShape(other.getShape(), c.mtv, pool.projection)) {
+            return c;
+        }
+        pool.releaseLast();
+        return null;
+    }
+
+    /**
+     * Brings this Entity's Shape and bounding box up to date with its position and rotation in its BodyStore.
+     */
+    abstract void sync();
+
+    /**
+     * Keeps a Force that has already been added into this Entity's force sums, for getForces. Does nothing unless
+     * Forces are being recorded.
+     * @param force the Force
+     */
+    void record(Force force) {
+    }
+
+    /**
+     * Moves the Forces recorded since the last step to where getForces can see them, ready for the next step.
+     */
+    void rollForces() {
+    }
+
+    /**
+     * Turns the recording of individual Forces on or off. Forces are always added into each Entity's net force and
+     * torque, but they are only kept as objects for getForces when recording, since doing so costs an allocation for
+     * every Force applied. This is meant for debugging and drawing.
+     * @param recording true to keep every applied Force until the next step
+     */
+    public static void setRecordingForces(boolean recording) {
+        recordingForces = recording;
+    }
+
+    /**
+     * Accessor for whether individual Forces are being recorded.
+     * @return true if getForces will list the Forces applied during the last step
+     */
+    public static boolean isRecordingForces() {
+        return recordingForces;
+    }
+
+    /**
+     * Creates a new unique ID for an entity. Prevents duplicate IDs.
+     * @return a unique Entity ID
+     */
+    protected static int getNewId() {
+        return nextId.getAndIncrement();
+    }
+}
@@ -0,0 +1,202 @@
+package in.patrickmart.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Keeps the Entities of a Scenario in a dense list, and finds any of them by ID without searching. Removing an
+ * Entity moves the last one into its place rather than shifting everything after it down, so adding and removing
+ * take the same short time however many Entities there are. This does change the order of the list, which is why
+ * the BodyStore makes the same move when an Entity leaves.
+ *
+ * Each Entity also gets a handle when it is added: a slot number, together with how many times that slot had been
+ * freed. Slots are reused once their Entity is removed, so a handle kept after its Entity is gone refers to nothing
+ * instead of to whichever Entity took the slot over. Handles suit anything that holds onto Entities which may
+ * despawn, like the target of a projectile.
+ */
+public class EntityRegistry {
+    public static final long NO_HANDLE = -1; // Never a valid handle, since generations never go negative.
+
+    private final ArrayList<Entity> entities = new ArrayList<Entity>();
+    private final IdIndexMap indices = new IdIndexMap(16); // Entity ID to index in entities.
+
+    private int[] slotOf = new int[16]; // The handle slot of the Entity at each index.
+    private int[] indexOf = new int[16]; // The index of the Entity in each slot, or -1 for a free slot.
+    private int[] generation = new int[16]; // How many times each slot has been freed.
+    private int slots; // How many slots have ever been used.
+    private int[] free = new int[16]; // Freed slots, ready to be reused.
+    private int freeCount;
+
+    /**
+     * Adds an Entity to the end of the list.
+     * @param e the Entity, whose ID must not already be in this registry
+     * @return the Entity's handle
+     */
+    public long add(Entity e) {
+        int index = entities.size();
+        if (indices.get(e.getId()) >= 0) {
+            throw new IllegalArgumentException("An Entity with ID " + e.getId() + " is already registered");
+        }
+        int slot;
+        if (freeCount > 0) {
+            slot = free[--freeCount];
+        } else {
+            if (slots == indexOf.length) {
+                indexOf = Arrays.copyOf(indexOf, slots * 2);
+                generation = Arrays.copyOf(generation, slots * 2);
+            }
+            slot = slots++;
+        }
+        if (index == slotOf.length) {
+            slotOf = Arrays.copyOf(slotOf, index * 2);
+        }
+        entities.add(e);
+        indices.put(e.getId(), index);
+        slotOf[index] = slot;
+        indexOf[slot] = index;
+        return handle(slot);
+    }
+
+    /**
+     * Removes an Entity by moving the last Entity in the list into its place.
+     * @param e the Entity
+     * @return the index the Entity was at, which the last Entity now has, or -1 if it was not registered
+     */
+    public int remove(Entity e) {
+        int index = indices.get(e.getId());
+        if (index < 0 || entities.get(index) != e) {
+            return -1;
+        }
+        indices.remove(e.getId());
+        int slot = slotOf[index];
+        indexOf[slot] = -1;
+        generation[slot]++;
+        if (free.length == freeCount) {
+            free = Arrays.copyOf(free, freeCount * 2);
+        }
+        free[freeCount++] = slot;
+
+        int last = entities.size() - 1;
+        if (index != last) {
+            Entity moved = entities.get(last);
+            entities.set(index, moved);
+            indices.put(moved.getId(), index);
+            slotOf[index] = slotOf[last];
+            indexOf[slotOf[index]] = index;
+        }
+        entities.remove(last);
+        return index;
+    }
+
+    /**
+     * Finds an Entity by its ID.
+     * @param id the ID
+     * @return the Entity, or null if no registered Entity has that ID
+     */
+    public Entity get(int id) {
+        int index = indices.get(id);
+        return index < 0 ? null : entities.get(index);
+    }
+
+    /**
+     * Finds an Entity by its handle.
+     * @param handle a handle returned by add or getHandle
+     * @return the Entity, or null if it has since been removed
+     */
+    public Entity get(long handle) {
+        int slot = (int) handle;
+        if (handle < 0 || slot >= slots || generation[slot] != (int) (handle >>> 32) || indexOf[slot] < 0) {
+            return null;
+        }
+        return entities.get(indexOf[slot]);
+    }
+
+    /**
+     * Accessor for the handle of a registered Entity.
+     * @param e the Entity
+     * @return its handle, or NO_HANDLE if it is not registered
+     */
+    public long getHandle(Entity e) {
+        int index = indexOf(e);
+        return index < 0 ? NO_HANDLE : handle(slotOf[index]);
+    }
+
+    private long handle(int slot) {
+        return ((long) generation[slot] << 32) | slot;
+    }
+
+    /**
+     * Finds where an Entity is in the list.
+     * @param e the Entity
+     * @return its index, or -1 if it is not registered
+     */
+    public int indexOf(Entity e) {
+        int index = indices.get(e.getId());
+        return index >= 0 && entities.get(index) == e ? index : -1;
+    }
+
+    /**
+     * Checks whether an Entity is registered.
+     * @param e the Entity
+     * @return true if it is in the list
+     */
+    public boolean contains(Entity e) {
+        return indexOf(e) >= 0;
+    }
+
+    /**
+     * Removes every Entity. Every handle handed out so far stops referring to anything.
+     */
+    public void clear() {
+        for (int index = 0; index < entities.size(); index++) {
+            int slot = slotOf[index];
+            indexOf[slot] = -1;
+            generation[slot]++;
+        }
+        // Every slot is free now, so hand them out again from the lowest.
+        if (free.length < slots) {
+            free = new int[slots];
+        }
+        for (int k = 0; k < slots; k++) {
+            free[k] = slots - 1 - k;
+        }
+        freeCount = slots;
+        entities.clear();
+        indices.clear();
+    }
+
+    /**
+     * Accessor for how many Entities are registered.
+     * @return the number of Entities
+     */
+    public int size() {
+        return entities.size();
+    }
+
+    /**
+     * Accessor for the dense list of Entities. It must only be changed through this registry.
+     * @return every registered Entity, in order
+     */
+    public ArrayList<Entity> getEntities() {
+        return entities;
+    }
+
+    /**
+     * Estimates how many bytes each Entity adds to a registry: its place in the list, its entry in the table of IDs,
+     * which is kept at most three quarters full, and its slot.
+     * @return the size of one entry in bytes
+     */
+    public int getBytesPerEntity() {
+        return MemoryLayout.REFERENCE + 8 * 4 / 3 + 4 * 4;
+    }
+
+    /**
+     * Estimates how many bytes of the heap this registry holds onto, not counting the Entities themselves.
+     * @return the estimated size in bytes
+     */
+    public long getRetainedBytes() {
+        return MemoryLayout.object(6, 8) + MemoryLayout.arrayList(entities.size()) + indices.getRetainedBytes()
+                + MemoryLayout.array(4, slotOf.length) + MemoryLayout.array(4, indexOf.length)
+                + MemoryLayout.array(4, generation.length) + MemoryLayout.array(4, free.length);
+    }
+}
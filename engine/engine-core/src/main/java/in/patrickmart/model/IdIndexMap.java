@@ -0,0 +1,153 @@
+package in.patrickmart.model;
+
+import java.util.Arrays;
+
+/**
+ * Maps int keys to non-negative int values without boxing either, using open addressing with linear probing. Used by
+ * EntityRegistry to find where each Entity ID sits in its dense list.
+ *
+ * Removal shifts the entries that follow back into the gap, rather than leaving a marker behind, so a map that sees
+ * constant adding and removing never slows down from a buildup of markers.
+ */
+final class IdIndexMap {
+    private static final int ABSENT = -1;
+
+    private int[] keys;
+    private int[] values; // ABSENT marks an empty slot, so values must never be negative.
+    private int size;
+    private int shift; // 32 minus the log2 of the table's length, for spreading hashes over the table.
+
+    /**
+     * Constructor for objects of class IdIndexMap.
+     * @param capacity how many entries there should be room for before the table grows
+     */
+    IdIndexMap(int capacity) {
+        int length = 8;
+        while (length * 3 / 4 < capacity) {
+            length <<= 1;
+        }
+        allocate(length);
+    }
+
+    private void allocate(int length) {
+        keys = new int[length];
+        values = new int[length];
+        Arrays.fill(values, ABSENT);
+        shift = 32 - Integer.numberOfTrailingZeros(length);
+    }
+
+    /**
+     * Finds the slot a key's probe starts at. IDs are handed out in order, so they are spread over the table by
+     * Fibonacci hashing rather than used as they are.
+     */
+    private int home(int key) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+
+    /**
+     * Looks up the value stored for a key.
+     * @param key the key
+     * @return the value, or -1 if the key is not in the map
+     */
+    int get(int key) {
+        int mask = keys.length - 1;
+        for (int slot = home(key); values[slot] != ABSENT; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return ABSENT;
+    }
+
+    /**
+     * Stores a value for a key, replacing any value already stored for it.
+     * @param key the key
+     * @param value the value, which must not be negative
+     */
+    void put(int key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Values must not be negative, not " + value);
+        }
+        if ((size + 1) * 4 > keys.length * 3) {
+            grow();
+        }
+        int mask = keys.length - 1;
+        int slot = home(key);
+        while (values[slot] != ABSENT) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    /**
+     * Removes a key and its value from the map.
+     * @param key the key
+     * @return the value that was stored, or -1 if the key was not in the map
+     */
+    int remove(int key) {
+        int mask = keys.length - 1;
+        int slot = home(key);
+        while (values[slot] != ABSENT && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        int removed = values[slot];
+        if (removed == ABSENT) {
+            return ABSENT;
+        }
+        // Move back every following entry whose probe would otherwise have to cross the new gap.
+        int gap = slot;
+        for (int next = (gap + 1) & mask; values[next] != ABSENT; next = (next + 1) & mask) {
+            int wanted = home(keys[next]);
+            if (((next - wanted) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        values[gap] = ABSENT;
+        size--;
+        return removed;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(keys.length * 2);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != ABSENT) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Removes every entry, keeping the table at its current size.
+     */
+    void clear() {
+        Arrays.fill(values, ABSENT);
+        size = 0;
+    }
+
+    /**
+     * Accessor for how many keys are in the map.
+     * @return the number of entries
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Estimates how many bytes of the heap this map holds onto.
+     * @return the estimated size in bytes
+     */
+    long getRetainedBytes() {
+        return MemoryLayout.object(2, 8) + 2 * MemoryLayout.array(4, keys.length);
+    }
+}
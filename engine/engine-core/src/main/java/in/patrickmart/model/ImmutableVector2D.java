@@ -0,0 +1,175 @@
+package in.patrickmart.model;
+
+/**
+ *	A 2 dimensional vector whose components can never change. Every operation returns a new vector instead.
+ *
+ *	Vector2D changes in place, which makes it cheap to reuse as scratch space but means anything holding one has to
+ *	copy it before handing it out. An ImmutableVector2D can be stored and shared freely, with no copies at all. Use
+ *	this for values that are kept, like the position and size of a Force, and Vector2D for working space that a
+ *	caller owns and writes into.
+ */
+public final class ImmutableVector2D {
+    public static final ImmutableVector2D ZERO = new ImmutableVector2D(0, 0);
+
+    private final double x;
+    private final double y;
+
+    /**
+     *	Class Constructor.
+     */
+    public ImmutableVector2D(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     *	Takes a snapshot of a mutable vector.
+     *	@param vector	The vector to copy.
+     *	@return 		An immutable vector with the same components.
+     */
+    public static ImmutableVector2D of(Vector2D vector) {
+        return new ImmutableVector2D(vector.getX(), vector.getY());
+    }
+
+    /**
+     *	Returns the x component of this vector.
+     *	@return This vector's x value.
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     *	Returns the y component of this vector.
+     *	@return This vector's y value.
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     *	Adds another vector to this one.
+     *	@param vector	A vector to be added to this one.
+     *	@return 		A new vector holding the sum.
+     */
+    public ImmutableVector2D add(ImmutableVector2D vector) {
+        return new ImmutableVector2D(x + vector.x, y + vector.y);
+    }
+
+    /**
+     *	Subtracts another vector from this one.
+     *	@param vector	A vector to be subtracted from this one.
+     *	@return 		A new vector holding the difference.
+     */
+    public ImmutableVector2D sub(ImmutableVector2D vector) {
+        return new ImmutableVector2D(x - vector.x, y - vector.y);
+    }
+
+    /**
+     *	Multiplies the x and y components of this vector by a scalar.
+     *	@param scalar	A scalar to multiply by.
+     *	@return 		A new, scaled vector.
+     */
+    public ImmutableVector2D mult(double scalar) {
+        return new ImmutableVector2D(x * scalar, y * scalar);
+    }
+
+    /**
+     *	Calculates the magnitude of this vector.
+     *	@return The magnitude of this vector.
+     */
+    public double mag() {
+        return Math.sqrt(x * x + y * y);
+    }
+
+    /**
+     *	Calculates the squared magnitude of this vector.
+     *	@return The square of the magnitude of this vector.
+     */
+    public double magSq() {
+        return x * x + y * y;
+    }
+
+    /**
+     *	Calculates the dot product of this vector and another.
+     *	@param vector	The vector to project this vector onto.
+     *	@return 		The dot product.
+     */
+    public double dot(ImmutableVector2D vector) {
+        return x * vector.x + y * vector.y;
+    }
+
+    /**
+     *	Calculates the "z" component of the cross product of this vector and another.
+     *	@param vector	The vector to cross with this one.
+     *	@return 		The z component of the cross product.
+     */
+    public double cross(ImmutableVector2D vector) {
+        return x * vector.y - y * vector.x;
+    }
+
+    /**
+     *	Calculates the distance between the end of this vector and the end of another.
+     *	@param vector	The vector to calculate distance to.
+     *	@return 		The distance between the two.
+     */
+    public double dist(ImmutableVector2D vector) {
+        double dx = x - vector.x;
+        double dy = y - vector.y;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     *	Works out a vector pointing the same way as this one, with a length of 1.
+     *	@return A new unit vector, or this vector if it has no length.
+     */
+    public ImmutableVector2D normalize() {
+        double mag = mag();
+        return mag == 0 ? this : new ImmutableVector2D(x / mag, y / mag);
+    }
+
+    /**
+     * Returns a vector which is perpendicular to this one and just as long, the same one Vector2D.getPerpendicular
+     * gives.
+     * @return A new vector perpendicular to this one.
+     */
+    public ImmutableVector2D getPerpendicular() {
+        return new ImmutableVector2D(y, -x);
+    }
+
+    /**
+     *	Makes a mutable copy of this vector, for a caller that wants to change it.
+     *	@return A new Vector2D with the same components.
+     */
+    public Vector2D toVector2D() {
+        return new Vector2D(x, y);
+    }
+
+    /**
+     *	Checks whether this vector has the same components as another.
+     *	@param o	The object to compare to.
+     *	@return 	True if the other object is an ImmutableVector2D with the same components.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof ImmutableVector2D)) {
+            return false;
+        }
+        ImmutableVector2D other = (ImmutableVector2D) o;
+        return Double.compare(x, other.x) == 0 && Double.compare(y, other.y) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(x) + Double.hashCode(y);
+    }
+
+    /**
+     *	Converts this vector into a readable string, in the same form as Vector2D.
+     *	@return this vector represented as a String.
+     */
+    @Override
+    public String toString() {
+        return "(" + x + ", " + y + ")";
+    }
+}
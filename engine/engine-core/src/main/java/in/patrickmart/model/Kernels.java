@@ -0,0 +1,203 @@
+package in.patrickmart.model;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * The small loops that most of a step's time goes into, written over plain arrays of primitives. Each loop counts
+ * straight through its arrays with no calls, object reads or branches inside, which is the shape the JIT compiler
+ * needs before it will turn a loop into packed SIMD instructions that work on several bodies at once.
+ *
+ * Some loops only pay off when they really are turned into SIMD instructions, since they take extra passes and
+ * copies to keep branches out of the way. Callers ask isVectorized() and fall back to a plain scalar loop when it is
+ * false. The two forms add things up in a different order, so their results can differ in the last few bits, but
+ * each form on its own always gives the same results.
+ */
+public final class Kernels {
+    // Null until first asked for. Asking the JVM loads its management classes, which is a large part of startup.
+    private static volatile Boolean vectorized;
+
+    private Kernels() {
+    }
+
+    /**
+     * Asks the JVM whether it will turn loops into SIMD instructions. The engine.kernels system property can force
+     * the choice, set to vector or scalar.
+     */
+    private static boolean detect() {
+        String forced = System.getProperty("engine.kernels");
+        if (forced != null) {
+            return forced.equalsIgnoreCase("vector");
+        }
+        try {
+            HotSpotDiagnosticMXBean vm = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return Boolean.parseBoolean(vm.getVMOption("UseSuperWord").getValue())
+                    && Integer.parseInt(vm.getVMOption("MaxVectorSize").getValue()) >= 16;
+        } catch (Throwable t) {
+            // Not a HotSpot VM, or the options are hidden. Plain loops are the safe choice.
+            return false;
+        }
+    }
+
+    /**
+     * Accessor for whether the kernel form was chosen by the engine.kernels system property, rather than from the
+     * JVM's options.
+     * @return true if the property is set
+     */
+    public static boolean isForced() {
+        return System.getProperty("engine.kernels") != null;
+    }
+
+    /**
+     * Accessor for whether the SIMD friendly forms of the kernels are in use.
+     * @return true if loops are expected to be turned into SIMD instructions
+     */
+    public static boolean isVectorized() {
+        Boolean selected = vectorized;
+        if (selected == null) {
+            selected = detect();
+            vectorized = selected;
+        }
+        return selected;
+    }
+
+    /**
+     * Mutator for whether the SIMD friendly forms of the kernels are in use, for comparing the two.
+     * @param vectorized true for the SIMD friendly forms, false for plain scalar loops
+     */
+    public static void setVectorized(boolean vectorized) {
+        Kernels.vectorized = vectorized;
+    }
+
+    /**
+     * Speeds up every moving body by its acceleration, then predicts where its new velocity will take it.
+     * @param moving 1 for bodies that move and 0 for those that do not, so that no branch is needed
+     * @param dt the length of the step, in seconds
+     * @param px where the predicted x positions are written
+     * @param py where the predicted y positions are written
+     */
+    public static void integrate(double[] x, double[] y, double[] vx, double[] vy, double[] ax, double[] ay,
+                                 double[] moving, double dt, double[] px, double[] py, int from, int to) {
+        for (int i = from; i < to; i++) {
+            vx[i] += ax[i] * (dt * moving[i]);
+            vy[i] += ay[i] * (dt * moving[i]);
+            px[i] = x[i] + vx[i] * dt;
+            py[i] = y[i] + vy[i] * dt;
+        }
+    }
+
+    /**
+     * Works out the edges of every body's bounding box from its center and half sizes.
+     */
+    public static void bounds(double[] x, double[] y, double[] halfWidth, double[] halfHeight,
+                              double[] minX, double[] minY, double[] maxX, double[] maxY, int from, int to) {
+        for (int i = from; i < to; i++) {
+            minX[i] = x[i] - halfWidth[i];
+            maxX[i] = x[i] + halfWidth[i];
+            minY[i] = y[i] - halfHeight[i];
+            maxY[i] = y[i] + halfHeight[i];
+        }
+    }
+
+    /**
+     * Projects the points of a shape onto an axis, for the separating axis test.
+     * @param xs the x offsets of the points from the shape's position
+     * @param ys the y offsets of the points from the shape's position
+     * @param n how many points there are
+     * @param originX the x position of the shape
+     * @param originY the y position of the shape
+     * @param out where the smallest and largest projections are written
+     */
+    public static void project(double[] xs, double[] ys, int n, double originX, double originY,
+                               double axisX, double axisY, double[] out) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int k = 0; k < n; k++) {
+            double dot = (xs[k] + originX) * axisX + (ys[k] + originY) * axisY;
+            // Plain comparisons, since Math.min and Math.max take a slow path to handle NaN and -0.
+            min = dot < min ? dot : min;
+            max = dot > max ? dot : max;
+        }
+        out[0] = min;
+        out[1] = max;
+    }
+
+    /**
+     * Pulls one body and a run of other bodies toward each other, adding the pull on the one body into sums and
+     * taking the pull on the others away from their force sums. Every array is read at the same index, which the
+     * JIT compiler needs before it will vectorize a loop, so callers copy a block of bodies into scratch arrays
+     * first. The pulls are worked out in one pass and summed up in another, four at a time. If any two bodies sit on
+     * top of each other the sums come out NaN, and the run is worked out again by pullRowScalar, which skips them.
+     * @param xi the x position of the one body
+     * @param yi the y position of the one body
+     * @param gm G times the mass of the one body
+     * @param eps2 the squared softening length
+     * @param tx scratch space as long as the other arrays, as is ty
+     * @param sums where the pull on the one body is written, x then y
+     */
+    public static void pullRow(double[] x, double[] y, double[] m, int from, int to, double xi, double yi, double gm,
+                               double eps2, double[] fx, double[] fy, double[] tx, double[] ty, double[] sums) {
+        for (int k = from; k < to; k++) {
+            double dx = x[k] - xi;
+            double dy = y[k] - yi;
+            double d2 = dx * dx + dy * dy + eps2;
+            double s = gm * m[k] / (d2 * Math.sqrt(d2));
+            tx[k] = s * dx;
+            ty[k] = s * dy;
+        }
+        double x0 = 0, x1 = 0, x2 = 0, x3 = 0;
+        double y0 = 0, y1 = 0, y2 = 0, y3 = 0;
+        int k = from;
+        for (; k + 3 < to; k += 4) {
+            x0 += tx[k];
+            x1 += tx[k + 1];
+            x2 += tx[k + 2];
+            x3 += tx[k + 3];
+            y0 += ty[k];
+            y1 += ty[k + 1];
+            y2 += ty[k + 2];
+            y3 += ty[k + 3];
+        }
+        for (; k < to; k++) {
+            x0 += tx[k];
+            y0 += ty[k];
+        }
+        double sumX = (x0 + x1) + (x2 + x3);
+        double sumY = (y0 + y1) + (y2 + y3);
+        if (Double.isNaN(sumX) || Double.isNaN(sumY)) {
+            pullRowScalar(x, y, m, from, to, xi, yi, gm, eps2, fx, fy, sums);
+            return;
+        }
+        for (k = from; k < to; k++) {
+            fx[k] -= tx[k];
+            fy[k] -= ty[k];
+        }
+        sums[0] = sumX;
+        sums[1] = sumY;
+    }
+
+    /**
+     * The plain form of pullRow, which sums as it goes and skips bodies on top of the one body.
+     */
+    public static void pullRowScalar(double[] x, double[] y, double[] m, int from, int to, double xi, double yi,
+                                     double gm, double eps2, double[] fx, double[] fy, double[] sums) {
+        double sumX = 0;
+        double sumY = 0;
+        for (int j = from; j < to; j++) {
+            double dx = x[j] - xi;
+            double dy = y[j] - yi;
+            double d2 = dx * dx + dy * dy + eps2;
+            if (d2 == 0) {
+                continue;
+            }
+            double s = gm * m[j] / (d2 * Math.sqrt(d2));
+            sumX += s * dx;
+            sumY += s * dy;
+            fx[j] -= s * dx;
+            fy[j] -= s * dy;
+        }
+        sums[0] = sumX;
+        sums[1] = sumY;
+    }
+}
@@ -0,0 +1,89 @@
+package in.patrickmart.model;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Estimates how many bytes objects take up on the heap, for memory accounting. The estimates follow the layout the
+ * HotSpot JVM uses: every object starts with a header, fields follow it, and the whole object is padded out to a
+ * multiple of 8 bytes. Whether references take 4 bytes or 8 depends on whether the JVM compresses them, which it
+ * does by default for heaps under 32 GB.
+ *
+ * These are estimates of the objects each class owns, not measurements. Objects shared between many owners, like
+ * Materials and interned ShapeTemplates, are left to whoever accounts for them once.
+ */
+public final class MemoryLayout {
+    public static final boolean COMPRESSED = compressedReferences();
+    public static final int REFERENCE = COMPRESSED ? 4 : 8; // The size of a reference field.
+    public static final int HEADER = COMPRESSED ? 12 : 16; // The size of the header every object starts with.
+    public static final int ARRAY_HEADER = HEADER + 4; // Arrays also hold their length.
+    public static final int VECTOR = object(0, 16); // A Vector2D or ImmutableVector2D: two doubles.
+
+    private MemoryLayout() {
+    }
+
+    /**
+     * Asks the JVM whether it compresses references, guessing from the heap size if it will not say.
+     */
+    private static boolean compressedReferences() {
+        try {
+            HotSpotDiagnosticMXBean vm = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return Boolean.parseBoolean(vm.getVMOption("UseCompressedOops").getValue());
+        } catch (Throwable t) {
+            // Not a HotSpot VM, or the option is hidden. HotSpot compresses references for any heap under 32 GB.
+            return Runtime.getRuntime().maxMemory() < (32L << 30);
+        }
+    }
+
+    /**
+     * Pads a size out to the next multiple of 8 bytes.
+     * @param bytes the size
+     * @return the padded size
+     */
+    public static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Estimates the size of one object, not counting anything its fields refer to.
+     * @param references how many reference fields it has, including any inherited
+     * @param primitiveBytes the total size of its primitive fields, including any inherited
+     * @return the size in bytes
+     */
+    public static int object(int references, int primitiveBytes) {
+        return (int) align(HEADER + (long) references * REFERENCE + primitiveBytes);
+    }
+
+    /**
+     * Estimates the size of an array of primitives.
+     * @param elementBytes the size of each element
+     * @param length how many elements it has
+     * @return the size in bytes
+     */
+    public static long array(int elementBytes, int length) {
+        // Elements of 8 bytes start on an 8 byte boundary, after the header.
+        long header = elementBytes == 8 ? align(ARRAY_HEADER) : ARRAY_HEADER;
+        return align(header + (long) elementBytes * length);
+    }
+
+    /**
+     * Estimates the size of an array of references, not counting the objects it refers to.
+     * @param length how many elements it has
+     * @return the size in bytes
+     */
+    public static long references(int length) {
+        return array(REFERENCE, length);
+    }
+
+    /**
+     * Estimates the size of an ArrayList, not counting its elements. Its backing array is taken to be full, since an
+     * ArrayList does not say how much room it has.
+     * @param size how many elements it holds
+     * @return the size in bytes
+     */
+    public static long arrayList(int size) {
+        // An ArrayList holds its backing array, its size and the modCount it inherits. An empty one shares its array.
+        return object(1, 8) + (size == 0 ? 0 : references(size));
+    }
+}
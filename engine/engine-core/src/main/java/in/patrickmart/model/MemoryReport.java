@@ -0,0 +1,148 @@
+package in.patrickmart.model;
+
+import java.util.EnumMap;
+import java.util.Locale;
+
+/**
+ * An estimate of how much of the heap a Scenario holds onto, broken down by subsystem. Each figure is worked out from
+ * the layout of the objects involved (see MemoryLayout) rather than measured, so it is meant for sizing JVMs and
+ * spotting growth, not for exact accounting. Objects shared between Scenarios, like interned ShapeTemplates, are
+ * counted in full by every Scenario that uses them.
+ */
+public final class MemoryReport {
+    /**
+     * The parts of a Scenario that memory is accounted to.
+     */
+    public enum Subsystem {
+        ENTITIES,   // Entities themselves, with their bounding boxes, colors and lists of Forces.
+        SHAPES,     // The position and rotation each Shape keeps for its Entity.
+        TEMPLATES,  // The geometry of each distinct ShapeTemplate in use.
+        FORCES,     // Forces recorded for drawing, kept only while Forces are being recorded.
+        CONTACTS,   // The collision pools, with the CollisionData kept in them for reuse.
+        BODY_STORE, // The arrays every solver steps on, including room for bodies not yet added.
+        REGISTRY    // The list of Entities and the tables that find them by ID and handle.
+    }
+
+    private final EnumMap<Subsystem, Long> bytes = new EnumMap<>(Subsystem.class);
+    private final EnumMap<Subsystem, Integer> counts = new EnumMap<>(Subsystem.class);
+    private final int entities;
+    private final long budget;
+
+    /**
+     * Constructor for an empty report, which the Scenario then fills in.
+     * @param entities how many Entities the Scenario holds
+     * @param budget the Scenario's heap budget in bytes, or 0 for none
+     */
+    MemoryReport(int entities, long budget) {
+        this.entities = entities;
+        this.budget = budget;
+        for (Subsystem s : Subsystem.values()) {
+            bytes.put(s, 0L);
+            counts.put(s, 0);
+        }
+    }
+
+    /**
+     * Accounts some objects to a subsystem.
+     */
+    void add(Subsystem subsystem, int objects, long size) {
+        bytes.put(subsystem, bytes.get(subsystem) + size);
+        counts.put(subsystem, counts.get(subsystem) + objects);
+    }
+
+    /**
+     * Accessor for the estimated size of one subsystem.
+     * @param subsystem the subsystem
+     * @return its estimated size in bytes
+     */
+    public long getBytes(Subsystem subsystem) {
+        return bytes.get(subsystem);
+    }
+
+    /**
+     * Accessor for how many objects were accounted to a subsystem, like the number of Forces or distinct templates.
+     * @param subsystem the subsystem
+     * @return the number of objects
+     */
+    public int getCount(Subsystem subsystem) {
+        return counts.get(subsystem);
+    }
+
+    /**
+     * Accessor for the estimated size of every subsystem together.
+     * @return the estimated size in bytes
+     */
+    public long getTotal() {
+        long total = 0;
+        for (long b : bytes.values()) {
+            total += b;
+        }
+        return total;
+    }
+
+    /**
+     * Accessor for how many Entities the Scenario held.
+     * @return the number of Entities
+     */
+    public int getEntities() {
+        return entities;
+    }
+
+    /**
+     * Accessor for the estimated total divided among the Entities.
+     * @return the estimated bytes per Entity, or 0 with no Entities
+     */
+    public long getBytesPerEntity() {
+        return entities == 0 ? 0 : getTotal() / entities;
+    }
+
+    /**
+     * Accessor for the heap budget in force when this report was made.
+     * @return the budget in bytes, or 0 for none
+     */
+    public long getBudget() {
+        return budget;
+    }
+
+    /**
+     * Checks whether the estimated total is over the heap budget.
+     * @return true if there is a budget and the total is past it
+     */
+    public boolean isOverBudget() {
+        return budget > 0 && getTotal() > budget;
+    }
+
+    /**
+     * Formats a number of bytes for people to read.
+     * @param bytes the number of bytes
+     * @return the size in B, KB or MB
+     */
+    public static String format(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        }
+        return String.format(Locale.ROOT, "%.2f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    /**
+     * Lays the report out as a table, one subsystem per line, for logs.
+     * @return the report
+     */
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "Memory estimate: %s for %d Entities (%s each)",
+                format(getTotal()), entities, format(getBytesPerEntity())));
+        if (budget > 0) {
+            out.append(", budget ").append(format(budget)).append(isOverBudget() ? " EXCEEDED" : "");
+        }
+        for (Subsystem s : Subsystem.values()) {
+            out.append(String.format(Locale.ROOT, "%n\t%-10s %8d objects %12s", s.name().toLowerCase(Locale.ROOT),
+                    counts.get(s), format(bytes.get(s))));
+        }
+        return out.toString();
+    }
+}
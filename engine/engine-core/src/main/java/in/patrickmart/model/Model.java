@@ -0,0 +1,109 @@
+package in.patrickmart.model;
+
+import in.patrickmart.view.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Vector;
+
+public class Model extends Subject{
+
+    private Scenario scenario;
+    private volatile SnapshotBuffer snapshots; // Only made once a renderer asks for it, as capturing costs a pass.
+
+    public Model(){
+        this.scenario = new Scenario();
+    }
+
+    /**
+     * Constructor for a deterministic Model, whose runs can be replayed exactly from the same seed and inputs.
+     * @param seed the seed for the Scenario's random numbers
+     */
+    public Model(long seed){
+        this.scenario = new Scenario(seed);
+    }
+
+    /**
+     * Step the model forward. TODO implement delta time to allow the model to step by variable amounts.
+     */
+    public void step() {
+		scenario.step();
+        if (snapshots != null) {
+            snapshots.publish(scenario);
+        }
+        updateObservers();
+    }
+
+    /**
+     * Accessor for the Snapshots of the Model, which a renderer on another thread can draw from while the Model
+     * steps. A Snapshot is published after every step from the first call on.
+     * @return the buffer holding the newest Snapshot
+     */
+    public synchronized SnapshotBuffer getSnapshots() {
+        if (snapshots == null) {
+            snapshots = new SnapshotBuffer();
+        }
+        return snapshots;
+    }
+
+    /**
+     * notifies Observers of changes.
+     */
+    public void updateObservers() {
+        for (Observer o: observers) {
+            o.update(scenario);
+        }
+    }
+
+    /**
+     * Add a new entity to the model.
+     * @param e the entity to add to the model
+     * @return true if it was added, false if the Scenario's heap budget refused it
+     */
+    public boolean addEntity(Entity e) {
+        return scenario.addEntity(e);
+    }
+
+    /**
+     * Estimates how much of the heap the Model's Scenario holds onto.
+     * @return the report, broken down by subsystem
+     */
+    public MemoryReport measureMemory() {
+        return scenario.measureMemory();
+    }
+
+    /**
+     * Sets the most memory the Model's Scenario should hold onto.
+     * @param bytes the budget in bytes, or 0 for no limit
+     * @param policy whether to warn about or refuse Entities that would pass the budget
+     */
+    public void setHeapBudget(long bytes, BudgetPolicy policy) {
+        scenario.setHeapBudget(bytes, policy);
+    }
+
+    /**
+     * Remove a specific Entity from the Model.
+     * @param e The Entity to remove
+     */
+    public void removeEntity(Entity e) {
+        scenario.removeEntity(e);
+    }
+
+    /**
+     * Remove an Entity from the Model by searching for its ID.
+     * @param id the ID of the Entity to remove
+     */
+    public void removeEntity(int id) {
+        Entity e = scenario.getEntity(id);
+        if (e != null) {
+            scenario.removeEntity(e);
+        }
+    }
+
+    /**
+     * Accessor for the current Scenario.
+     * @return The Scenario as it currently exists
+     */
+    public Scenario getScenario(){
+        return scenario;
+    }
+}
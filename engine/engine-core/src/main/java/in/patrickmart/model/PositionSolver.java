@@ -0,0 +1,396 @@
+package in.patrickmart.model;
+
+import in.patrickmart.model.joints.JointSolver;
+
+import java.util.Arrays;
+
+/**
+ * Steps bodies with position-based dynamics. Each step predicts where every body will be, pushes overlapping bodies
+ * apart for a fixed number of iterations, and then works out velocities from how far each body actually moved.
+ * Dynamic bodies are treated as circles and static bodies as their bounding boxes, which trades exact impulses for
+ * speed and stability in scenes with many small bodies. Joints are projected in the same iterations as contacts.
+ */
+public class PositionSolver {
+    /**
+     * How contact corrections are applied within each iteration.
+     */
+    public enum Method {
+        JACOBI,       // Every body gathers its corrections from the same positions, then all move at once. Parallel.
+        GAUSS_SEIDEL  // Corrections are applied as soon as they are found. Converges faster, but runs on one thread.
+    }
+
+    private Method method;
+    private int iterations;
+    private double relaxation; // Scales the averaged Jacobi correction. Values a little over 1 speed up convergence.
+
+    // Predicted positions and per-iteration corrections for every body.
+    private double[] px = new double[0];
+    private double[] py = new double[0];
+    private double[] pa = new double[0];
+    private double[] dx = new double[0];
+    private double[] dy = new double[0];
+    private int[] corrections = new int[0];
+    private double[] moving = new double[0]; // 1 for bodies that move and 0 for the rest, for Kernels.integrate.
+
+    // A hashed uniform grid over the predicted positions of dynamic bodies, stored as linked lists in arrays.
+    private int[] cellHead = new int[0];
+    private int[] cellNext = new int[0];
+    private int[] cellX = new int[0];
+    private int[] cellY = new int[0];
+    private double cellSize;
+
+    // Static bodies are kept out of the grid, as they are usually much larger than the dynamic ones.
+    private int[] statics = new int[0];
+    private int staticCount;
+
+    // The step being worked on, kept here so that the tasks below are built once rather than every step.
+    private BodyStore bodies;
+    private double dt;
+    private final WorkerPool.ChunkTask predictTask = (chunk, from, to) -> {
+        BodyStore b = bodies;
+        for (int i = from; i < to; i++) {
+            moving[i] = b.invMass[i] != 0 ? 1 : 0;
+            pa[i] = b.angle[i] + b.omega[i] * dt;
+        }
+        Kernels.integrate(b.x, b.y, b.vx, b.vy, b.ax, b.ay, moving, dt, px, py, from, to);
+    };
+    private final WorkerPool.ChunkTask finishTask = (chunk, from, to) -> {
+        BodyStore b = bodies;
+        for (int i = from; i < to; i++) {
+            if (b.invMass[i] != 0) {
+                b.vx[i] = (px[i] - b.x[i]) / dt;
+                b.vy[i] = (py[i] - b.y[i]) / dt;
+                b.x[i] = px[i];
+                b.y[i] = py[i];
+            }
+            if (b.invInertia[i] != 0) {
+                b.omega[i] = (pa[i] - b.angle[i]) / dt;
+                b.angle[i] = pa[i];
+            }
+        }
+    };
+    private final WorkerPool.ChunkTask gatherTask = (chunk, from, to) -> {
+        BodyStore b = bodies;
+        for (int i = from; i < to; i++) {
+            dx[i] = 0;
+            dy[i] = 0;
+            corrections[i] = 0;
+            if (b.invMass[i] == 0) {
+                continue;
+            }
+            for (int ox = -1; ox <= 1; ox++) {
+                for (int oy = -1; oy <= 1; oy++) {
+                    int cx = cellX[i] + ox;
+                    int cy = cellY[i] + oy;
+                    for (int j = cellHead[hash(cx, cy)]; j != -1; j = cellNext[j]) {
+                        if (j != i && cellX[j] == cx && cellY[j] == cy) {
+                            gatherContact(b, i, j);
+                        }
+                    }
+                }
+            }
+            for (int s = 0; s < staticCount; s++) {
+                if (projectStatic(b, i, statics[s], px[i], py[i])) {
+                    corrections[i]++;
+                }
+            }
+        }
+    };
+    private final WorkerPool.ChunkTask relaxTask = (chunk, from, to) -> {
+        for (int i = from; i < to; i++) {
+            if (corrections[i] > 0) {
+                px[i] += dx[i] * relaxation / corrections[i];
+                py[i] += dy[i] * relaxation / corrections[i];
+            }
+        }
+    };
+
+    /**
+     * Constructor for a PositionSolver using Jacobi iterations.
+     */
+    public PositionSolver() {
+        this(Method.JACOBI, 4);
+    }
+
+    /**
+     * Constructor for objects of class PositionSolver.
+     * @param method how corrections are applied within an iteration
+     * @param iterations how many times contacts are projected each step
+     */
+    public PositionSolver(Method method, int iterations) {
+        this.method = method;
+        this.iterations = iterations;
+        this.relaxation = 1.0;
+    }
+
+    /**
+     * Advances every body by one timestep.
+     * @param b the bodies to step
+     * @param dt the length of the step, in seconds
+     * @param workers the pool used for the parallel parts of the step
+     * @param joints the Joints to project alongside contacts, already prepared against these bodies
+     */
+    public void solve(BodyStore b, double dt, WorkerPool workers, JointSolver joints) {
+        int n = b.count;
+        ensureCapacity(n);
+        bodies = b;
+        this.dt = dt;
+
+        // Predict each position from its velocity after applying acceleration.
+        workers.forChunks(n, predictTask);
+
+        buildGrid(b);
+
+        for (int k = 0; k < iterations; k++) {
+            if (method == Method.JACOBI) {
+                jacobiIteration(b, workers);
+            } else {
+                gaussSeidelIteration(b);
+            }
+            if (joints != null) {
+                joints.iterate(px, py, pa, b, workers);
+            }
+        }
+
+        // The velocity is however far the body ended up moving over the step.
+        workers.forChunks(n, finishTask);
+        bodies = null;
+    }
+
+    /**
+     * Makes room in the scratch arrays for some number of bodies.
+     */
+    private void ensureCapacity(int n) {
+        if (px.length < n) {
+            int capacity = Math.max(n, px.length * 2);
+            px = new double[capacity];
+            py = new double[capacity];
+            pa = new double[capacity];
+            dx = new double[capacity];
+            dy = new double[capacity];
+            corrections = new int[capacity];
+            moving = new double[capacity];
+            cellNext = new int[capacity];
+            cellX = new int[capacity];
+            cellY = new int[capacity];
+            statics = new int[capacity];
+            // The table is kept at a power of two at least twice the size of the body count.
+            cellHead = new int[Integer.highestOneBit(capacity) * 4];
+        }
+    }
+
+    /**
+     * Places every dynamic body into a grid cell by its predicted position, and makes a list of static bodies.
+     */
+    private void buildGrid(BodyStore b) {
+        double largest = 0;
+        staticCount = 0;
+        for (int i = 0; i < b.count; i++) {
+            if (b.invMass[i] == 0) {
+                statics[staticCount++] = i;
+            } else if (b.radius[i] > largest) {
+                largest = b.radius[i];
+            }
+        }
+        // Any two touching bodies are at most one cell apart.
+        cellSize = Math.max(largest * 2, 1e-9);
+
+        Arrays.fill(cellHead, -1);
+        for (int i = 0; i < b.count; i++) {
+            if (b.invMass[i] == 0) {
+                continue;
+            }
+            int cx = (int) Math.floor(px[i] / cellSize);
+            int cy = (int) Math.floor(py[i] / cellSize);
+            int h = hash(cx, cy);
+            cellX[i] = cx;
+            cellY[i] = cy;
+            cellNext[i] = cellHead[h];
+            cellHead[h] = i;
+        }
+    }
+
+    private int hash(int cx, int cy) {
+        return ((cx * 73856093) ^ (cy * 19349663)) & (cellHead.length - 1);
+    }
+
+    /**
+     * Every dynamic body sums up the corrections it needs from its neighbours, then all bodies move at once. Each
+     * body only writes to its own slots, so chunks of bodies can be worked through in parallel.
+     */
+    private void jacobiIteration(BodyStore b, WorkerPool workers) {
+        workers.forChunks(b.count, gatherTask);
+        workers.forChunks(b.count, relaxTask);
+    }
+
+    /**
+     * Adds the correction body i needs to stop overlapping body j.
+     */
+    private void gatherContact(BodyStore b, int i, int j) {
+        double nx = px[i] - px[j];
+        double ny = py[i] - py[j];
+        double minimum = b.radius[i] + b.radius[j];
+        double d2 = nx * nx + ny * ny;
+        if (d2 >= minimum * minimum) {
+            return;
+        }
+        double d = Math.sqrt(d2);
+        if (d == 0) {
+            // Perfectly stacked bodies need some direction to separate in. Lower indices go up, higher go down.
+            nx = 0;
+            ny = i < j ? 1 : -1;
+        } else {
+            nx /= d;
+            ny /= d;
+        }
+        double push = (minimum - d) * b.invMass[i] / (b.invMass[i] + b.invMass[j]);
+        dx[i] += nx * push;
+        dy[i] += ny * push;
+        corrections[i]++;
+    }
+
+    /**
+     * Corrections are applied as soon as each contact is found, moving both bodies. Each pair is only visited from
+     * its lower index.
+     */
+    private void gaussSeidelIteration(BodyStore b) {
+        for (int i = 0; i < b.count; i++) {
+            if (b.invMass[i] == 0) {
+                continue;
+            }
+            for (int ox = -1; ox <= 1; ox++) {
+                for (int oy = -1; oy <= 1; oy++) {
+                    int cx = cellX[i] + ox;
+                    int cy = cellY[i] + oy;
+                    for (int j = cellHead[hash(cx, cy)]; j != -1; j = cellNext[j]) {
+                        if (j > i && cellX[j] == cx && cellY[j] == cy) {
+                            projectContact(b, i, j);
+                        }
+                    }
+                }
+            }
+            for (int s = 0; s < staticCount; s++) {
+                dx[i] = 0;
+                dy[i] = 0;
+                if (projectStatic(b, i, statics[s], px[i], py[i])) {
+                    px[i] += dx[i];
+                    py[i] += dy[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves two dynamic bodies apart until they just touch, in proportion to their inverse masses.
+     */
+    private void projectContact(BodyStore b, int i, int j) {
+        double nx = px[i] - px[j];
+        double ny = py[i] - py[j];
+        double minimum = b.radius[i] + b.radius[j];
+        double d2 = nx * nx + ny * ny;
+        if (d2 >= minimum * minimum) {
+            return;
+        }
+        double d = Math.sqrt(d2);
+        if (d == 0) {
+            nx = 0;
+            ny = 1;
+        } else {
+            nx /= d;
+            ny /= d;
+        }
+        double w = b.invMass[i] + b.invMass[j];
+        double overlap = minimum - d;
+        px[i] += nx * overlap * b.invMass[i] / w;
+        py[i] += ny * overlap * b.invMass[i] / w;
+        px[j] -= nx * overlap * b.invMass[j] / w;
+        py[j] -= ny * overlap * b.invMass[j] / w;
+    }
+
+    /**
+     * Finds the correction that pushes dynamic body i out of static body s's bounding box, and adds it to i's slots.
+     * @return true if the bodies were overlapping
+     */
+    private boolean projectStatic(BodyStore b, int i, int s, double x, double y) {
+        double left = b.x[s] - b.halfWidth[s];
+        double right = b.x[s] + b.halfWidth[s];
+        double bottom = b.y[s] - b.halfHeight[s];
+        double top = b.y[s] + b.halfHeight[s];
+        double r = b.radius[i];
+        if (x + r <= left || x - r >= right || y + r <= bottom || y - r >= top) {
+            return false;
+        }
+
+        // Find the closest point on the box. If the centre is inside, push out through the nearest side.
+        double cx = Math.max(left, Math.min(x, right));
+        double cy = Math.max(bottom, Math.min(y, top));
+        if (cx == x && cy == y) {
+            double toLeft = x - left;
+            double toRight = right - x;
+            double toBottom = y - bottom;
+            double toTop = top - y;
+            double nearest = Math.min(Math.min(toLeft, toRight), Math.min(toBottom, toTop));
+            if (nearest == toTop) {
+                dy[i] += toTop + r;
+            } else if (nearest == toBottom) {
+                dy[i] -= toBottom + r;
+            } else if (nearest == toLeft) {
+                dx[i] -= toLeft + r;
+            } else {
+                dx[i] += toRight + r;
+            }
+            return true;
+        }
+
+        double nx = x - cx;
+        double ny = y - cy;
+        double d2 = nx * nx + ny * ny;
+        if (d2 >= r * r) {
+            return false;
+        }
+        double d = Math.sqrt(d2);
+        dx[i] += nx / d * (r - d);
+        dy[i] += ny / d * (r - d);
+        return true;
+    }
+
+    /**
+     * Accessor for the method used within each iteration.
+     * @return the iteration method
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Mutator for the method used within each iteration.
+     * @param method JACOBI to iterate in parallel, GAUSS_SEIDEL to iterate on one thread
+     */
+    public void setMethod(Method method) {
+        this.method = method;
+    }
+
+    /**
+     * Accessor for the iteration budget.
+     * @return how many times contacts are projected each step
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Mutator for the iteration budget. More iterations give stiffer contacts at a linear cost.
+     * @param iterations how many times contacts are projected each step
+     */
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * Mutator for the Jacobi relaxation factor.
+     * @param relaxation how much of the averaged correction is applied each iteration, usually between 1 and 2
+     */
+    public void setRelaxation(double relaxation) {
+        this.relaxation = relaxation;
+    }
+}
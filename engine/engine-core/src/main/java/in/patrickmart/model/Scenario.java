@@ -0,0 +1,732 @@
+package in.patrickmart.model;
+
+import in.patrickmart.model.forces.Force;
+import in.patrickmart.model.forces.ForceFEA;
+import in.patrickmart.model.forces.ForceGeneric;
+import in.patrickmart.model.forces.ForceField;
+import in.patrickmart.model.forces.UniformGravityField;
+import in.patrickmart.model.gravity.BlockTimesteps;
+import in.patrickmart.model.gravity.DirectSumGravity;
+import in.patrickmart.model.gravity.GravitySolver;
+import in.patrickmart.model.joints.Joint;
+import in.patrickmart.model.joints.JointSolver;
+import in.patrickmart.model.pairs.PairPotential;
+import in.patrickmart.model.pairs.PairSolver;
+import in.patrickmart.model.trees.QuadTree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class Scenario {
+    public static final double TIMESTEP = 0.01666; // Every step should be about 1/60th of a second.
+    private static final GravitySolver NO_GRAVITY = (b, pool) -> { }; // What block timesteps use with gravity off.
+
+    private EntityRegistry registry; // Every Entity in this Scenario, found by ID or handle.
+    private ArrayList<Entity> entities; // The registry's list. TODO implement Quadtree.
+    private ArrayList<Entity> selectedEntities;
+    private ArrayList<ForceField> fields; // Fields applied to every Entity they reach, each step.
+    private UniformGravityField surfaceGravity; // The field behind FEAgravity.
+    private ArrayList<Entity> fieldHits; // Entities found within a bounded field's region, reused each step.
+    private boolean FEAgravity;
+    private boolean gravity;
+    private boolean blockTimestepsOn; // Step under gravity alone, with a timestep for each body.
+
+    private final long seed; // The seed behind every random number this Scenario hands out.
+    private final boolean deterministic;
+    private Random random;
+    private WorkerPool workers;
+    // Collisions found by each chunk, resolved in chunk order. The CollisionData in them is reused every step.
+    private CollisionPool[] collisionPools = new CollisionPool[0];
+    private int collisionChunks; // How many of the pools were used in the last collision check.
+    // The forces applied before the batched passes, kept only while Forces are being recorded.
+    private double[] recordedX = new double[0];
+    private double[] recordedY = new double[0];
+
+    private SolverMode solverMode;
+    private PositionSolver positionSolver;
+    private JointSolver jointSolver;
+    private GravitySolver gravitySolver;
+    private PairSolver pairSolver;
+    private BlockTimesteps blockTimesteps;
+    private BodyStore bodies; // Where the state of every Entity in this Scenario lives, in the same order.
+    private long heapBudget = 0; // The most memory this Scenario's Entities should take, in bytes, or 0 for no limit.
+    private BudgetPolicy budgetPolicy = BudgetPolicy.WARN;
+    private long entityBytes; // The estimated memory each Entity added costs, summed over every Entity held.
+    private long overheadBytes; // What the last memory report found beyond the cost of each Entity.
+    private boolean overBudget; // Whether the budget has been passed, so that it is only reported once.
+    // The work done for each chunk of a step, built once rather than as a new lambda every step.
+    private final WorkerPool.ChunkTask surfaceGravityTask = (chunk, from, to) -> surfaceGravity.apply(bodies, from, to);
+    private ForceField field; // The field being applied by fieldTask and fieldHitsTask.
+    private final WorkerPool.ChunkTask fieldTask = (chunk, from, to) -> field.apply(bodies, from, to);
+    // Every Entity is found at most once per field, so each chunk writes to different bodies.
+    private final WorkerPool.ChunkTask fieldHitsTask = (chunk, from, to) -> {
+        for (int k = from; k < to; k++) {
+            field.apply(bodies, fieldHits.get(k).getIndex());
+        }
+    };
+    private QuadTree<Entity> fieldIndex; // Finds the Entities within a bounded field's region, refilled each step.
+    private final WorkerPool.ChunkTask accelerateTask = (chunk, from, to) -> bodies.accelerate(from, to);
+    private final WorkerPool.ChunkTask syncTask = (chunk, from, to) -> bodies.sync(from, to);
+    // Once the solvers have moved every body, brings each Entity's Shape up to date and readies it for the next step.
+    private final WorkerPool.ChunkTask settleTask = (chunk, from, to) -> {
+        bodies.sync(from, to);
+        for (int i = from; i < to; i++) {
+            Entity e = bodies.entities[i];
+            e.rollForces();
+            e.step();
+        }
+    };
+    private final WorkerPool.ChunkTask blockSettleTask = (chunk, from, to) -> {
+        bodies.clearForces(from, to);
+        bodies.sync(from, to);
+        for (int i = from; i < to; i++) {
+            Entity e = bodies.entities[i];
+            e.rollForces();
+            e.step();
+        }
+    };
+    private final WorkerPool.ChunkTask moveTask = (chunk, from, to) -> {
+        bodies.accelerate(from, to);
+        bodies.integrateVelocity(TIMESTEP, from, to);
+        bodies.integratePosition(TIMESTEP, from, to);
+        bodies.sync(from, to);
+        for (int i = from; i < to; i++) {
+            Entity e = bodies.entities[i];
+            e.rollForces();
+            e.step();
+        }
+    };
+    private final WorkerPool.ChunkTask collisionTask = (chunk, from, to) -> {
+        int n = bodies.count;
+        // The bounding box edges in the BodyStore were brought up to date when the bodies last moved.
+        double[] minX = bodies.minX;
+        double[] minY = bodies.minY;
+        double[] maxX = bodies.maxX;
+        double[] maxY = bodies.maxY;
+        CollisionPool found = collisionPools[chunk];
+        // Only test each pair once, with the lower index first, so the pair order never depends on scheduling.
+        for (int i = from; i < to; i++) {
+            Entity e = bodies.entities[i];
+            for (int j = i + 1; j < n; j++) {
+                // The same test as AABB.intersectsAABB, so only pairs that collisionCheck could accept get to it.
+                if (!(minX[i] <= maxX[j] && maxX[i] > minX[j] && minY[i] < maxY[j] && maxY[i] >= minY[j])) {
+                    continue;
+                }
+                e.collisionCheck(bodies.entities[j], found);
+            }
+        }
+    };
+
+    /**
+     * Constructor for a Scenario whose random numbers differ from run to run.
+     */
+    public Scenario() {
+        this(System.nanoTime(), false);
+    }
+
+    /**
+     * Constructor for a deterministic Scenario. Two Scenarios built with the same seed and fed the same inputs will
+     * end up in bit-identical states, no matter how many threads either one steps with. Unless the engine.kernels
+     * system property picks a kernel form, direct summation keeps to its scalar loops, so that the JVM's options do
+     * not change the results either.
+     * @param seed the seed for every random number this Scenario hands out
+     */
+    public Scenario(long seed) {
+        this(seed, true);
+    }
+
+    private Scenario(long seed, boolean deterministic) {
+        registry = new EntityRegistry();
+        entities = registry.getEntities();
+        selectedEntities = new ArrayList<Entity>();
+        fields = new ArrayList<ForceField>();
+        surfaceGravity = new UniformGravityField(0, -ForceFEA.ACCELERATION);
+        fieldHits = new ArrayList<Entity>();
+
+        this.seed = seed;
+        this.deterministic = deterministic;
+        this.random = new Random(seed);
+        this.workers = new WorkerPool(1);
+
+        this.solverMode = SolverMode.IMPULSE;
+        // The other solvers are made the first time they are needed, so that a short job never loads the ones it
+        // does not use.
+        this.jointSolver = new JointSolver();
+        this.bodies = new BodyStore(16);
+    }
+
+    /**
+     * Adds an Entity to this Scenario, unless a heap budget is set and adding it would pass the budget under
+     * BudgetPolicy.REFUSE.
+     * @param e the Entity to add
+     * @return true if the Entity was added
+     */
+    public boolean addEntity(Entity e) {
+        long cost = heapBudget > 0 ? costOf(e) : 0;
+        if (heapBudget > 0 && overheadBytes + entityBytes + cost > heapBudget) {
+            if (!overBudget) {
+                overBudget = true;
+                System.out.println("Heap budget of " + MemoryReport.format(heapBudget) + " exceeded by Entity #"
+                        + e.getId() + (budgetPolicy == BudgetPolicy.REFUSE ? "; refusing new Entities." : "."));
+            }
+            if (budgetPolicy == BudgetPolicy.REFUSE) {
+                return false;
+            }
+        }
+        registry.add(e);
+        entityBytes += cost;
+        return true;
+    }
+
+    /**
+     * Estimates how much memory an Entity costs this Scenario: the Entity, its Shape, its row of the BodyStore and its
+     * entry in the registry. Shared templates and room the BodyStore keeps for growth are left to measureMemory.
+     */
+    private long costOf(Entity e) {
+        return e.getRetainedBytes() + e.getShape().getRetainedBytes() + bodies.getBytesPerBody()
+                + registry.getBytesPerEntity();
+    }
+
+    /**
+     * Removes an Entity from this Scenario, moving the last Entity into its place in the list of Entities.
+     * @param e the Entity to remove
+     */
+    public void removeEntity(Entity e) {
+        int index = registry.remove(e);
+        if (index >= 0 && heapBudget > 0) {
+            entityBytes = Math.max(0, entityBytes - costOf(e));
+            overBudget = overBudget && overheadBytes + entityBytes > heapBudget;
+        }
+        if (index >= 0 && e.store == bodies && e.index == index) {
+            // Make the same move in the BodyStore, so that it still matches the list without being rebuilt.
+            bodies.swapRemove(index);
+        }
+        jointSolver.removeJointsOf(e);
+    }
+
+    /**
+     * Finds an Entity in this Scenario by its ID.
+     * @param id the ID
+     * @return the Entity, or null if there is none with that ID
+     */
+    public Entity getEntity(int id) {
+        return registry.get(id);
+    }
+
+    /**
+     * Accessor for the registry behind the list of Entities, which also hands out handles to them.
+     * @return the registry
+     */
+    public EntityRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Adds a Joint between two Entities that are already in this Scenario.
+     * @param joint the Joint to solve each step
+     */
+    public void addJoint(Joint joint) {
+        jointSolver.addJoint(joint);
+    }
+
+    /**
+     * Stops solving a Joint.
+     * @param joint the Joint to remove
+     */
+    public void removeJoint(Joint joint) {
+        jointSolver.removeJoint(joint);
+    }
+
+    /**
+     * Adds a ForceField that will push on every Entity it reaches, each step.
+     * @param field the field
+     */
+    public void addForceField(ForceField field) {
+        fields.add(field);
+    }
+
+    /**
+     * Stops applying a ForceField.
+     * @param field the field
+     */
+    public void removeForceField(ForceField field) {
+        fields.remove(field);
+    }
+
+    /**
+     * Adds a PairPotential that will act between every two Entities within its cutoff, each step.
+     * @param potential the potential
+     */
+    public void addPairPotential(PairPotential potential) {
+        getPairSolver().addPotential(potential);
+    }
+
+    /**
+     * Stops applying a PairPotential.
+     * @param potential the potential
+     */
+    public void removePairPotential(PairPotential potential) {
+        if (pairSolver != null) {
+            pairSolver.removePotential(potential);
+        }
+    }
+
+    /**
+     * Accessor for the BodyStore holding the state of every Entity in this Scenario. Its rows are brought into line
+     * with getEntities() at the start of every step.
+     * @return the body store
+     */
+    public BodyStore getBodies() {
+        bodies.adopt(entities);
+        return bodies;
+    }
+
+    /**
+     * Copies the state of every Entity into off-heap records, which a renderer or snapshot writer can then read
+     * without holding up the next step.
+     * @param records the records to overwrite
+     */
+    public void capture(BodyRecords records) {
+        bodies.adopt(entities);
+        records.capture(bodies, workers);
+    }
+
+    /**
+     * Puts every Entity back into the state held in off-heap records, captured from this Scenario while it held the
+     * same Entities in the same order.
+     * @param records the records to restore
+     */
+    public void restore(BodyRecords records) {
+        bodies.adopt(entities);
+        records.restore(bodies, workers);
+        workers.forChunks(bodies.count, syncTask);
+    }
+
+    /**
+     * Applies every ForceField in one batched pass over the BodyStore. Fields that act everywhere sweep over every
+     * body in parallel chunks, while fields with a bounded region only visit the Entities a QuadTree finds within
+     * that region. The forces are added into the fx and fy arrays of the BodyStore, which must already be in line with
+     * getEntities(), as it is during a step.
+     */
+    public void applyForces() {
+        if (FEAgravity) {
+            workers.forChunks(bodies.count, surfaceGravityTask);
+        }
+
+        boolean indexed = false;
+        for (int f = 0; f < fields.size(); f++) { // By index, since an iterator would be allocated every step.
+            field = fields.get(f);
+            AABB region = field.getRegion();
+            if (region == null) {
+                workers.forChunks(bodies.count, fieldTask);
+                continue;
+            }
+            if (!indexed) {
+                if (fieldIndex == null) {
+                    fieldIndex = bodies.buildQuadTree();
+                } else {
+                    bodies.fillQuadTree(fieldIndex);
+                }
+                indexed = true;
+            }
+            fieldHits.clear();
+            fieldIndex.query(region, fieldHits);
+            workers.forChunks(fieldHits.size(), fieldHitsTask);
+        }
+        field = null;
+    }
+
+    public void step() {
+        // Take back the collisions from the last step, ready to be found again.
+        for (int c = 0; c < collisionChunks; c++) {
+            collisionPools[c].releaseAll();
+        }
+        collisionChunks = 0;
+
+        // Bring the BodyStore into line with the list of Entities. This is free unless Entities came or went.
+        bodies.adopt(entities);
+        if (blockTimestepsOn) {
+            blockStep();
+            return;
+        }
+
+        // Gather every force before anything moves, so that no Entity sees another one's position from this step.
+        // Every pass adds straight into the force sums in the BodyStore, which already hold any Force applied since
+        // the last step.
+        boolean fieldsOn = FEAgravity || !fields.isEmpty();
+        boolean pairsOn = pairSolver != null && !pairSolver.getPotentials().isEmpty();
+        if (gravity || fieldsOn || pairsOn) {
+            boolean recording = Entity.isRecordingForces();
+            if (recording) {
+                keepForces();
+            }
+            if (fieldsOn) {
+                applyForces();
+            }
+            if (gravity) {
+                getGravitySolver().accumulate(bodies, workers);
+            }
+            if (pairsOn) {
+                pairSolver.accumulate(bodies, workers);
+            }
+            if (recording) {
+                recordForces();
+            }
+        }
+
+        if (solverMode == SolverMode.POSITION_BASED) {
+            positionStep();
+            return;
+        }
+
+        // Move each object in the scenario along its velocity vector. The arrays are swept a chunk at a time, and
+        // only then is each Entity's Shape moved to match, ready for the collision check.
+        workers.forChunks(bodies.count, moveTask);
+        // Check if any collisions have occurred.
+        collisionCheck();
+        // For each collision that has happened, use the resulting collision data to adjust object locations, apply forces.
+        collisionResponse();
+        // Pull jointed Entities back into line after everything else has moved them.
+        if (!jointSolver.getJoints().isEmpty()) {
+            jointSolver.solve(bodies, TIMESTEP, workers);
+            workers.forChunks(bodies.count, syncTask);
+        }
+    }
+
+    /**
+     * Keeps a copy of the forces applied since the last step, so that recordForces can tell what the batched passes
+     * added.
+     */
+    private void keepForces() {
+        if (recordedX.length < bodies.count) {
+            recordedX = new double[bodies.x.length];
+            recordedY = new double[bodies.x.length];
+        }
+        System.arraycopy(bodies.fx, 0, recordedX, 0, bodies.count);
+        System.arraycopy(bodies.fy, 0, recordedY, 0, bodies.count);
+    }
+
+    /**
+     * Records the total force the batched passes added to each Entity as a single Force, for drawing.
+     */
+    private void recordForces() {
+        for (int i = 0; i < bodies.count; i++) {
+            double fx = bodies.fx[i] - recordedX[i];
+            double fy = bodies.fy[i] - recordedY[i];
+            if (fx != 0 || fy != 0) {
+                Entity e = bodies.entities[i];
+                e.record(ForceGeneric.record(null, e, new Vector2D(fx, fy), e.getPosition()));
+            }
+        }
+    }
+
+    /**
+     * Steps the scenario with position-based dynamics. Contacts are handled by the PositionSolver rather than by
+     * collisionCheck and collisionResponse.
+     */
+    private void positionStep() {
+        workers.forChunks(bodies.count, accelerateTask);
+        jointSolver.prepare(bodies);
+        getPositionSolver().solve(bodies, TIMESTEP, workers, jointSolver);
+        workers.forChunks(bodies.count, settleTask);
+    }
+
+    /**
+     * Steps the scenario under gravity alone, with each body taking steps as short as its own motion needs. Other
+     * forces and collisions are left out.
+     */
+    private void blockStep() {
+        getBlockTimesteps().step(bodies, TIMESTEP, gravity ? getGravitySolver() : NO_GRAVITY, workers);
+        workers.forChunks(bodies.count, blockSettleTask);
+    }
+
+    /**
+     * Look for entities that are close to each other, check if they are close enough to touch.
+     */
+    private void collisionCheck() {
+        int n = bodies.count;
+        int chunks = WorkerPool.chunkCount(n);
+        if (collisionPools.length < chunks) {
+            CollisionPool[] grown = Arrays.copyOf(collisionPools, chunks);
+            for (int c = collisionPools.length; c < chunks; c++) {
+                grown[c] = new CollisionPool();
+            }
+            collisionPools = grown;
+        }
+        workers.forChunks(n, collisionTask);
+        collisionChunks = chunks;
+    }
+
+    public Entity selectAtPosition(Vector2D point) {
+        Entity selected = null;
+        for (Entity e: entities){
+            if(!(e instanceof StaticEntity) && e.getBounds().containsPoint(point)) {
+                selected = e;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * For each collision pair resulting from the collision check, make necessary adjustments.
+     */
+    private void collisionResponse() {
+        for (int c = 0; c < collisionChunks; c++) {
+            CollisionPool found = collisionPools[c];
+            for (int k = 0; k < found.size(); k++) {
+                found.get(k).resolve(gravity, FEAgravity);
+            }
+        }
+    }
+
+    /**
+     * accessor for entities
+     * @return An ArrayList of all Entities in this Scenario
+     */
+    public ArrayList<Entity> getEntities() {
+        return entities;
+    }
+
+    /**
+     * Accessor for every ForceField in this Scenario, not counting the one behind FEAgravity.
+     * @return list of fields
+     */
+    public ArrayList<ForceField> getForceFields(){
+        return fields;
+    }
+
+    /**
+     * toggles FEAgravity boolean.
+     */
+    public void toggleFEAgravity(){
+        FEAgravity = !FEAgravity;
+    }
+
+    /**
+     * Mutator for how the pull of every Entity on every other is worked out while gravity is on.
+     * @param gravitySolver the solver, such as DirectSumGravity or BarnesHutGravity
+     */
+    public void setGravitySolver(GravitySolver gravitySolver) {
+        this.gravitySolver = gravitySolver;
+        pinKernels(gravitySolver);
+    }
+
+    /**
+     * Accessor for the solver used for gravity between Entities.
+     * @return the gravity solver
+     */
+    public GravitySolver getGravitySolver() {
+        if (gravitySolver == null) {
+            gravitySolver = new DirectSumGravity();
+            pinKernels(gravitySolver);
+        }
+        return gravitySolver;
+    }
+
+    /**
+     * Keeps a deterministic Scenario's direct summation on one kernel form, since the SIMD friendly form adds forces
+     * up in a different order and is only selected on some JVMs.
+     */
+    private void pinKernels(GravitySolver solver) {
+        if (deterministic && solver instanceof DirectSumGravity && !Kernels.isForced()) {
+            ((DirectSumGravity) solver).setScalar(true);
+        }
+    }
+
+    /**
+     * Accessor for the solver behind every PairPotential, so that its skin can be tuned.
+     * @return the pair solver
+     */
+    public PairSolver getPairSolver() {
+        if (pairSolver == null) {
+            pairSolver = new PairSolver();
+        }
+        return pairSolver;
+    }
+
+    /**
+     * toggles gravity boolean.
+     */
+    public void toggleGravity() {
+        gravity = !gravity;
+    }
+
+    /**
+     * toggles block timesteps. While on, each step moves Entities under gravity between them alone, with each one
+     * taking steps as short as its own motion needs; fields, pair potentials, joints and collisions are left out.
+     */
+    public void toggleBlockTimesteps() {
+        blockTimestepsOn = !blockTimestepsOn;
+        getBlockTimesteps().reset();
+    }
+
+    /**
+     * clears all entities
+     */
+    public void clearEntities() {
+        registry.clear();
+        entityBytes = 0;
+        overBudget = false;
+        jointSolver.clear();
+    }
+
+    /**
+     * Sets how many threads may work on each step at once. The results of a step do not depend on this value.
+     * @param threads the number of worker threads, 1 to step on the calling thread only
+     */
+    public void setThreads(int threads) {
+        workers.shutdown();
+        workers = new WorkerPool(threads);
+    }
+
+    /**
+     * Accessor for the number of threads each step may use.
+     * @return the number of worker threads
+     */
+    public int getThreads() {
+        return workers.getThreads();
+    }
+
+    /**
+     * Estimates how much of the heap this Scenario holds onto, broken down by subsystem. This visits every Entity, so
+     * it is meant to be called now and then rather than every step. It also brings the heap budget's estimate of
+     * shared memory, like templates and room kept for growth, up to date.
+     * @return the report
+     */
+    public MemoryReport measureMemory() {
+        bodies.adopt(entities); // Entities added since the last step take up room in the BodyStore once it does.
+        MemoryReport report = new MemoryReport(entities.size(), heapBudget);
+        Map<ShapeTemplate, Boolean> templates = new IdentityHashMap<>();
+        long perEntity = 0;
+        for (int i = 0; i < entities.size(); i++) {
+            Entity e = entities.get(i);
+            Shape shape = e.getShape();
+            report.add(MemoryReport.Subsystem.ENTITIES, 1, e.getRetainedBytes());
+            report.add(MemoryReport.Subsystem.SHAPES, 1, shape.getRetainedBytes());
+            if (shape instanceof ConcreteShape) {
+                ShapeTemplate template = ((ConcreteShape) shape).getTemplate();
+                if (templates.put(template, true) == null) {
+                    report.add(MemoryReport.Subsystem.TEMPLATES, 1, template.getRetainedBytes());
+                }
+            }
+            ArrayList<Force> forces = e.getForces(); // Null for Entities that never move.
+            for (int f = 0; forces != null && f < forces.size(); f++) {
+                report.add(MemoryReport.Subsystem.FORCES, 1, forces.get(f).getRetainedBytes());
+            }
+            perEntity += costOf(e);
+        }
+        for (CollisionPool pool : collisionPools) {
+            report.add(MemoryReport.Subsystem.CONTACTS, 1, pool.getRetainedBytes());
+        }
+        report.add(MemoryReport.Subsystem.BODY_STORE, bodies.count, bodies.getRetainedBytes());
+        report.add(MemoryReport.Subsystem.REGISTRY, registry.size(), registry.getRetainedBytes());
+
+        entityBytes = perEntity;
+        overheadBytes = Math.max(0, report.getTotal() - perEntity);
+        return report;
+    }
+
+    /**
+     * Sets the most memory this Scenario should hold onto, as estimated by measureMemory. Adding an Entity checks the
+     * estimated cost of every Entity held, plus whatever else the last memory report found, against the budget.
+     * @param bytes the budget in bytes, or 0 for no limit
+     * @param policy whether to warn about or refuse Entities that would pass the budget
+     */
+    public void setHeapBudget(long bytes, BudgetPolicy policy) {
+        this.heapBudget = bytes;
+        this.budgetPolicy = policy;
+        this.overBudget = false;
+        measureMemory(); // Brings the estimates the budget is checked against up to date.
+    }
+
+    /**
+     * Accessor for the heap budget.
+     * @return the budget in bytes, or 0 for no limit
+     */
+    public long getHeapBudget() {
+        return heapBudget;
+    }
+
+    /**
+     * Accessor for what happens to Entities that would pass the heap budget.
+     * @return the policy
+     */
+    public BudgetPolicy getBudgetPolicy() {
+        return budgetPolicy;
+    }
+
+    /**
+     * Mutator for the way this Scenario moves its Entities each step.
+     * @param solverMode IMPULSE for exact shapes and collision impulses, POSITION_BASED for large crowds of bodies
+     */
+    public void setSolverMode(SolverMode solverMode) {
+        this.solverMode = solverMode;
+    }
+
+    /**
+     * Accessor for the way this Scenario moves its Entities each step.
+     * @return the current solver mode
+     */
+    public SolverMode getSolverMode() {
+        return solverMode;
+    }
+
+    /**
+     * Accessor for the solver used in POSITION_BASED mode, so that its iteration budget and method can be tuned.
+     * @return the position solver
+     */
+    public PositionSolver getPositionSolver() {
+        if (positionSolver == null) {
+            positionSolver = new PositionSolver();
+        }
+        return positionSolver;
+    }
+
+    /**
+     * Accessor for the integrator used while block timesteps are on, so that its rungs and accuracy can be tuned.
+     * @return the block timestep integrator
+     */
+    public BlockTimesteps getBlockTimesteps() {
+        if (blockTimesteps == null) {
+            blockTimesteps = new BlockTimesteps();
+        }
+        return blockTimesteps;
+    }
+
+    /**
+     * Accessor for the solver that holds every Joint in this Scenario.
+     * @return the joint solver
+     */
+    public JointSolver getJointSolver() {
+        return jointSolver;
+    }
+
+    /**
+     * Accessor for this Scenario's source of random numbers. Anything random that ends up in the simulation, such as
+     * spawn locations or colors, should be drawn from here so that seeded runs can be replayed.
+     * @return this Scenario's seeded Random
+     */
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Accessor for the seed behind this Scenario's random numbers.
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Accessor for deterministic mode.
+     * @return true if this Scenario was created with a fixed seed
+     */
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+
+}
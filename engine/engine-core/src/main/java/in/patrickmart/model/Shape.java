@@ -12,6 +12,8 @@ public interface Shape {
     AABB calculateBounds();
     boolean containsPoint(Vector2D point);
     Vector2D intersectsShape(Shape other);
+    boolean intersectsShape(Shape other, Vector2D mtv);
+    boolean intersectsShape(Shape other, Vector2D mtv, double[] projection);
     void setPosition(Vector2D point);
     void setRotation(double rotation);
     void rotate(double rotation);
@@ -21,4 +23,5 @@ public interface Shape {
     ArrayList<Shape> getSubShapes();
     ArrayList<Vector2D> getNormals();
     double[]project(Vector2D axis);
+    long getRetainedBytes();
 }
@@ -0,0 +1,297 @@
+package in.patrickmart.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The geometry of a convex shape in its own space, worked out once and shared by every ConcreteShape built to it.
+ * Ten thousand Entities that are all the same 12-gon share one ShapeTemplate, and each of their shapes holds only a
+ * position, a rotation and a reference to the template.
+ *
+ * A template holds the offsets of its points from its center of gravity, at a rotation of zero, along with its area,
+ * diameter, radius, the unit normal of each edge, and the separating axes for collision checks. Normals that point
+ * in opposite directions give the same separating axis, so each axis is kept only once: a regular polygon with an
+ * even number of sides has half as many axes as edges. How far the template stretches along each axis is worked out
+ * ahead of time as well, so a shape never projects its own points onto its own axes.
+ *
+ * Templates never change once built. Regular polygons are interned, so asking for the same one twice returns the
+ * same template.
+ */
+public final class ShapeTemplate {
+    private static final ConcurrentHashMap<Key, ShapeTemplate> polygons = new ConcurrentHashMap<>();
+
+    // Offsets of each point from the center of gravity. Package-private so that ConcreteShape can read them without
+    // copying; nothing may write to them.
+    final double[] pointX;
+    final double[] pointY;
+    final double[] normalX; // The unit normal of the edge from each point to the next.
+    final double[] normalY;
+    final double[] axisX; // The normals again, leaving out any that are zero or parallel to one already kept.
+    final double[] axisY;
+    final double[] axisMin; // The smallest projection of the points onto each axis.
+    final double[] axisMax;
+    private final double area;
+    private final double diameter; // Twice the average distance of the points from the center of gravity.
+    private final double radius; // The distance of the furthest point from the center of gravity.
+
+    /**
+     * Builds a template from offsets that have already been moved to center on their center of gravity.
+     */
+    private ShapeTemplate(double[] pointX, double[] pointY) {
+        this(pointX, pointY, area(pointX, pointY));
+    }
+
+    /**
+     * Builds a template from offsets, with an area worked out beforehand.
+     */
+    private ShapeTemplate(double[] pointX, double[] pointY, double area) {
+        int n = pointX.length;
+        this.pointX = pointX;
+        this.pointY = pointY;
+        this.area = area;
+
+        double sum = 0;
+        double furthest = 0;
+        for (int i = 0; i < n; i++) {
+            double mag = new Vector2D(pointX[i], pointY[i]).mag();
+            sum += mag;
+            furthest = Math.max(furthest, mag);
+        }
+        this.diameter = (sum / n) * 2;
+        this.radius = furthest;
+
+        normalX = new double[n];
+        normalY = new double[n];
+        double[] axisX = new double[n];
+        double[] axisY = new double[n];
+        int axes = 0;
+        for (int i = 0; i < n; i++) {
+            int next = (i + 1) % n;
+            double edgeX = pointX[next] - pointX[i];
+            double edgeY = pointY[next] - pointY[i];
+            double multiplier = edgeX == 0 && edgeY == 0 ? 1 : 1 / Math.sqrt(edgeY * edgeY + edgeX * edgeX);
+            normalX[i] = edgeY * multiplier;
+            normalY[i] = -edgeX * multiplier;
+            boolean parallel = edgeX == 0 && edgeY == 0; // Two points in the same place give no axis at all.
+            for (int k = 0; k < axes && !parallel; k++) {
+                parallel = Math.abs(axisX[k] * normalY[i] - axisY[k] * normalX[i]) < 1e-12;
+            }
+            if (!parallel) {
+                axisX[axes] = normalX[i];
+                axisY[axes] = normalY[i];
+                axes++;
+            }
+        }
+        this.axisX = Arrays.copyOf(axisX, axes);
+        this.axisY = Arrays.copyOf(axisY, axes);
+        axisMin = new double[axes];
+        axisMax = new double[axes];
+        double[] projection = new double[2];
+        for (int k = 0; k < axes; k++) {
+            Kernels.project(pointX, pointY, n, 0, 0, this.axisX[k], this.axisY[k], projection);
+            axisMin[k] = projection[0];
+            axisMax[k] = projection[1];
+        }
+    }
+
+    /**
+     * Calculate the area of a shape by calculating triangular area between the center and every 2 adjacent points.
+     */
+    private static double area(double[] pointX, double[] pointY) {
+        int n = pointX.length;
+        double area = 0;
+        //If there are less than 3 points, you have a line or dot instead of a shape.
+        if (n < 3) {
+            return area;
+        }
+        for (int i = 0; i < n; i++) {
+            int next = (i + 1) % n;
+            area += Math.abs(pointX[i] * pointY[next] - pointY[i] * pointX[next]) / 2;
+        }
+        return area;
+    }
+
+    /**
+     * Finds the template for a regular polygon, building it the first time it is asked for.
+     * @param n number of vertices. The first is directly above the center of gravity.
+     * @param radius how far each vertex is from the center of gravity.
+     * @return the shared template
+     */
+    public static ShapeTemplate polygon(int n, double radius) {
+        Key key = new Key(n, radius);
+        ShapeTemplate template = polygons.get(key);
+        if (template == null) {
+            template = polygons.computeIfAbsent(key, k -> build(n, radius));
+        }
+        return template;
+    }
+
+    private static ShapeTemplate build(int n, double radius) {
+        //Calculate the angle (in radians) between each vector and the next.
+        double rotation = Math.PI * 2 / n;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            Vector2D p = new Vector2D(0, radius).rotate(rotation * i);
+            x[i] = p.getX();
+            y[i] = p.getY();
+        }
+        return centered(x, y);
+    }
+
+    /**
+     * Builds a template from a list of points, moving them to center on their center of gravity. The points are
+     * copied, so the caller's list and vectors are left as they were. Templates built from points are not interned.
+     * @param points the points making up the shape, in order around it
+     * @return a new template
+     */
+    public static ShapeTemplate of(List<Vector2D> points) {
+        double[] x = new double[points.size()];
+        double[] y = new double[points.size()];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = points.get(i).getX();
+            y[i] = points.get(i).getY();
+        }
+        return centered(x, y);
+    }
+
+    /**
+     * Moves points so that their origin is their center of gravity (centroid = (x1 + x2 + ... + xk) / k).
+     */
+    private static ShapeTemplate centered(double[] x, double[] y) {
+        double cx = 0;
+        double cy = 0;
+        for (int i = 0; i < x.length; i++) {
+            cx += x[i];
+            cy += y[i];
+        }
+        cx /= x.length;
+        cy /= y.length;
+        for (int i = 0; i < x.length; i++) {
+            x[i] -= cx;
+            y[i] -= cy;
+        }
+        return new ShapeTemplate(x, y);
+    }
+
+    /**
+     * Builds a template with every point moved by the same offset, which is no longer centered on its own center of
+     * gravity. Used by CompositeShape to center a group of shapes on the center of gravity they share.
+     * @param dx how far to move each point along x
+     * @param dy how far to move each point along y
+     * @return a new template
+     */
+    ShapeTemplate shifted(double dx, double dy) {
+        double[] x = new double[pointX.length];
+        double[] y = new double[pointY.length];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = pointX[i] + dx;
+            y[i] = pointY[i] + dy;
+        }
+        return new ShapeTemplate(x, y, area); // The area was worked out about the center of gravity.
+    }
+
+    /**
+     * Accessor for how many points make up this shape.
+     * @return the number of points
+     */
+    public int getPointCount() {
+        return pointX.length;
+    }
+
+    /**
+     * Accessor for the offset of one point from the center of gravity, at a rotation of zero.
+     * @param i the index of the point
+     * @return a new vector holding the offset
+     */
+    public Vector2D getPoint(int i) {
+        return new Vector2D(pointX[i], pointY[i]);
+    }
+
+    /**
+     * Accessor for how many separating axes this shape has, after leaving out parallel ones.
+     * @return the number of axes
+     */
+    public int getAxisCount() {
+        return axisX.length;
+    }
+
+    /**
+     * Accessor for area.
+     * @return area
+     */
+    public double getArea() {
+        return area;
+    }
+
+    /**
+     * Accessor for diameter.
+     * @return twice the average distance of the points from the center of gravity
+     */
+    public double getDiameter() {
+        return diameter;
+    }
+
+    /**
+     * Accessor for the radius of the smallest circle about the center of gravity that holds every point.
+     * @return the distance of the furthest point from the center of gravity
+     */
+    public double getRadius() {
+        return radius;
+    }
+
+    /**
+     * Accessor for the moment of inertia of this shape about its center of gravity, for each unit of mass, the same
+     * way ConcreteEntity works it out: Ic = (1/12)mL^2, taking the diameter as L.
+     * @return the moment of inertia per kilogram
+     */
+    public double getInertiaPerMass() {
+        return Math.pow(diameter, 2) / 12;
+    }
+
+    /**
+     * Estimates how many bytes of the heap this template holds onto: itself and its arrays.
+     * @return the estimated size in bytes
+     */
+    public long getRetainedBytes() {
+        // 8 arrays, then area, diameter and radius.
+        return MemoryLayout.object(8, 24) + 4 * MemoryLayout.array(8, pointX.length)
+                + 4 * MemoryLayout.array(8, axisX.length);
+    }
+
+    /**
+     * Accessor for how many regular polygon templates have been interned.
+     * @return the number of shared polygon templates
+     */
+    public static int getInternedCount() {
+        return polygons.size();
+    }
+
+    /**
+     * What polygons are interned by: their number of vertices and their radius.
+     */
+    private static final class Key {
+        private final int n;
+        private final double radius;
+
+        Key(int n, double radius) {
+            this.n = n;
+            this.radius = radius;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return n == other.n && Double.compare(radius, other.radius) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * n + Double.hashCode(radius);
+        }
+    }
+}
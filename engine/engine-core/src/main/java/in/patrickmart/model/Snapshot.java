@@ -0,0 +1,218 @@
+package in.patrickmart.model;
+
+import in.patrickmart.model.forces.Force;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The state of a Scenario after one step, as far as a renderer needs it. Body state is held in BodyRecords, and the
+ * rest of what gets drawn (acceleration, collisions, colors, shapes and recorded forces) sits in plain arrays beside
+ * them, indexed the same way.
+ *
+ * A Snapshot is only ever written by the simulation thread, and only while no reader can see it, so readers never
+ * need a lock. Snapshots are handed between threads by a SnapshotBuffer, which reuses them, so nothing here is
+ * allocated once the arrays have grown to fit.
+ */
+public final class Snapshot {
+    private final BodyRecords records = new BodyRecords(16);
+    private long step; // Which step this is a Snapshot of, counting from 1, or 0 if it has not been captured yet.
+    private double[] ax = new double[16];
+    private double[] ay = new double[16];
+    private boolean[] colliding = new boolean[16];
+    private double[][] colors = new double[16][]; // Shared with each Entity, which never changes its color once made.
+    private ShapeTemplate[] templates = new ShapeTemplate[16]; // Immutable, so shared rather than copied.
+    private int[] forceStart = new int[17]; // The forces of body i are at forceStart[i] up to forceStart[i + 1].
+    private double[] forceX = new double[16];
+    private double[] forceY = new double[16];
+
+    /**
+     * Copies the state of every Entity in a Scenario into this Snapshot, replacing whatever was here before.
+     * @param s the Scenario, which must not be stepped while it is captured
+     * @param step the number to give this Snapshot, higher than any captured before it
+     */
+    void capture(Scenario s, long step) {
+        s.capture(records);
+        BodyStore b = s.getBodies();
+        int n = b.count;
+        if (n > ax.length) {
+            int capacity = Math.max(n, ax.length * 2);
+            ax = new double[capacity];
+            ay = new double[capacity];
+            colliding = new boolean[capacity];
+            colors = new double[capacity][];
+            templates = new ShapeTemplate[capacity];
+            forceStart = new int[capacity + 1];
+        }
+        int forces = 0;
+        for (int i = 0; i < n; i++) {
+            Entity e = b.entities[i];
+            ax[i] = b.ax[i];
+            ay[i] = b.ay[i];
+            colliding[i] = e.isColliding();
+            colors[i] = e.getColor();
+            templates[i] = e.getShape() instanceof ConcreteShape ? ((ConcreteShape) e.getShape()).getTemplate() : null;
+            forceStart[i] = forces;
+            ArrayList<Force> recorded = Entity.isRecordingForces() ? e.getForces() : null;
+            if (recorded != null) { // Null for Entities that never move.
+                if (forces + recorded.size() > forceX.length) {
+                    int capacity = Math.max(forces + recorded.size(), forceX.length * 2);
+                    forceX = Arrays.copyOf(forceX, capacity);
+                    forceY = Arrays.copyOf(forceY, capacity);
+                }
+                for (Force f : recorded) {
+                    Vector2D force = f.getForce();
+                    forceX[forces] = force.getX();
+                    forceY[forces] = force.getY();
+                    forces++;
+                }
+            }
+        }
+        forceStart[n] = forces;
+        Arrays.fill(colors, n, colors.length, null); // Let go of Materials and templates that are no longer used.
+        Arrays.fill(templates, n, templates.length, null);
+        this.step = step;
+    }
+
+    /**
+     * Accessor for which step this is a Snapshot of. Later Snapshots have higher numbers.
+     * @return the step number, or 0 if nothing has been captured yet
+     */
+    public long getStep() {
+        return step;
+    }
+
+    /**
+     * Accessor for how many bodies were captured.
+     * @return the number of bodies
+     */
+    public int size() {
+        return records.getCount();
+    }
+
+    /**
+     * Accessor for the state of every body, such as its position, velocity, rotation and bounds.
+     * @return the records, which must not be kept beyond the next call to SnapshotBuffer.latest()
+     */
+    public BodyRecords getRecords() {
+        return records;
+    }
+
+    /**
+     * Accessor for a body's acceleration along the x axis.
+     * @param i the index of the body
+     * @return the acceleration
+     */
+    public double getAccelerationX(int i) {
+        return ax[i];
+    }
+
+    /**
+     * Accessor for a body's acceleration along the y axis.
+     * @param i the index of the body
+     * @return the acceleration
+     */
+    public double getAccelerationY(int i) {
+        return ay[i];
+    }
+
+    /**
+     * Checks whether a body was colliding with another during the step.
+     * @param i the index of the body
+     * @return true if it was colliding
+     */
+    public boolean isColliding(int i) {
+        return colliding[i];
+    }
+
+    /**
+     * Accessor for a body's color, as red, green, blue and alpha from 0 to 1. The array must not be changed.
+     * @param i the index of the body
+     * @return the color
+     */
+    public double[] getColor(int i) {
+        return colors[i];
+    }
+
+    /**
+     * Accessor for the template a body's shape was built to, whose points are offsets from the body's position
+     * before it is rotated.
+     * @param i the index of the body
+     * @return the template, or null if the body's shape was not built to one
+     */
+    public ShapeTemplate getTemplate(int i) {
+        return templates[i];
+    }
+
+    /**
+     * Accessor for where a body's recorded forces start. Forces are only recorded while Entity.isRecordingForces().
+     * @param i the index of the body
+     * @return the index of its first force
+     */
+    public int getForceStart(int i) {
+        return forceStart[i];
+    }
+
+    /**
+     * Accessor for where a body's recorded forces end.
+     * @param i the index of the body
+     * @return one past the index of its last force
+     */
+    public int getForceEnd(int i) {
+        return forceStart[i + 1];
+    }
+
+    /**
+     * Accessor for a recorded force along the x axis.
+     * @param k the index of the force, from getForceStart up to getForceEnd
+     * @return the force
+     */
+    public double getForceX(int k) {
+        return forceX[k];
+    }
+
+    /**
+     * Accessor for a recorded force along the y axis.
+     * @param k the index of the force, from getForceStart up to getForceEnd
+     * @return the force
+     */
+    public double getForceY(int k) {
+        return forceY[k];
+    }
+
+    /**
+     * Finds a body by the ID of the Entity it was captured from.
+     * @param id the ID to look for
+     * @return the index of the body, or -1 if no body has that ID
+     */
+    public int indexOf(int id) {
+        for (int i = 0; i < size(); i++) {
+            if (records.getId(i) == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the body a point falls in, going by bounding boxes, as Scenario.selectAtPosition does. Static bodies are
+     * passed over, and where boxes overlap the body captured last is chosen.
+     * @param point the point to look at
+     * @return the index of the body, or -1 if the point is in no body's box
+     */
+    public int find(Vector2D point) {
+        int found = -1;
+        for (int i = 0; i < size(); i++) {
+            double x = records.get(i, BodyRecords.X);
+            double y = records.get(i, BodyRecords.Y);
+            double halfWidth = records.get(i, BodyRecords.HALF_WIDTH);
+            double halfHeight = records.get(i, BodyRecords.HALF_HEIGHT);
+            if (!records.isStatic(i)
+                    && point.getX() < x + halfWidth && point.getX() >= x - halfWidth
+                    && point.getY() < y + halfHeight && point.getY() >= y - halfHeight) {
+                found = i;
+            }
+        }
+        return found;
+    }
+}
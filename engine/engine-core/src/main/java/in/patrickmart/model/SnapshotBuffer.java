@@ -0,0 +1,52 @@
+package in.patrickmart.model;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands Snapshots from the simulation thread to a renderer without either one waiting on the other, using three
+ * Snapshots in turn. The simulation captures into the back Snapshot, then swaps it for the one in the middle. The
+ * renderer reads the front Snapshot, and swaps it for the one in the middle whenever that is newer. Neither side ever
+ * holds the other up, and each Snapshot is only ever seen by one side at a time.
+ *
+ * The simulation can publish many times between frames, and the renderer can draw the same Snapshot for many frames.
+ * Only the newest Snapshot is ever drawn. Steps in between are not, since a renderer only wants to show the present.
+ */
+public final class SnapshotBuffer {
+    private final AtomicReference<Snapshot> middle = new AtomicReference<>(new Snapshot());
+    private Snapshot back = new Snapshot(); // Only touched by the simulation thread.
+    private Snapshot front = new Snapshot(); // Only touched by the renderer.
+    private volatile long published; // How many Snapshots have been published, which is the step of the newest.
+
+    /**
+     * Captures the state of a Scenario and makes it the newest Snapshot. Only the thread stepping the Scenario should
+     * call this, between steps.
+     * @param s the Scenario to capture
+     */
+    public void publish(Scenario s) {
+        long step = published + 1;
+        back.capture(s, step);
+        back = middle.getAndSet(back); // The swap also makes everything written to the Snapshot visible to the reader.
+        published = step;
+    }
+
+    /**
+     * Accessor for the newest Snapshot published, for the renderer. Only one thread should call this. The Snapshot
+     * returned stays as it is until the next call, however many times the simulation publishes meanwhile.
+     * @return the newest Snapshot, which is empty with a step of 0 until something has been published
+     */
+    public Snapshot latest() {
+        // The middle Snapshot is not looked into until it is swapped out, as the simulation could take it at any moment.
+        if (published > front.getStep()) {
+            front = middle.getAndSet(front);
+        }
+        return front;
+    }
+
+    /**
+     * Accessor for how many Snapshots have been published.
+     * @return the number of Snapshots published
+     */
+    public long getPublished() {
+        return published;
+    }
+}
@@ -0,0 +1,9 @@
+package in.patrickmart.model;
+
+/**
+ * The ways a Scenario can move its Entities forward each step.
+ */
+public enum SolverMode {
+    IMPULSE,        // Exact shapes, with velocities exchanged along the minimum translation vector of each collision.
+    POSITION_BASED  // Circles and boxes pushed apart by position projection. Built for large crowds of small bodies.
+}
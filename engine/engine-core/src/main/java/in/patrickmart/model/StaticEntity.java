@@ -7,20 +7,12 @@ import java.util.Random;
 
 public class StaticEntity extends Entity {
     protected int id;
-    private static int nextId = 0;
 
-    private Vector2D position;
-    private double rotation;
-    private Vector2D velocity;
-    private double angularVelocity;
-    private Vector2D acceleration;
-    private double angularAcceleration;
-
-    private ArrayList<Force> forces;
+    // Position, rotation and mass live in this Entity's row of its BodyStore, where its inverse mass and inverse
+    // moment of inertia stay zero so that no solver ever moves it.
     private ConcreteShape shape;
     private Material material;
     private AABB bounds;
-    private double mass;
 
     private double[] color; // When no material is specified, this is the default color.
     private boolean isColliding = false;
@@ -28,60 +20,73 @@ public class StaticEntity extends Entity {
     public StaticEntity(Vector2D position, ConcreteShape shape, Material material) {
         this.id = getNewId();
 
-        this.forces = new ArrayList<Force>();
         this.shape = shape;
         this.material = material;
         this.bounds = shape.calculateBounds();
 
-        this.mass = material.getDensity() * shape.getArea();
-
-        setPosition(position);
-        this.rotation = 0;
-        this.velocity = new Vector2D();
-        this.angularVelocity = 0;
-        acceleration = new Vector2D();
-        this.angularAcceleration = 0;
+        setMass(material.getDensity() * shape.getArea());
+        describe(position);
     }
 
     public StaticEntity(Vector2D position, ConcreteShape shape) {
+        this(position, shape, new Random());
+    }
+
+    /**
+     * Constructor for an Entity with no material, whose default color is drawn from the provided source of random
+     * numbers. Passing a Scenario's Random keeps seeded runs reproducible.
+     * @param position The starting position of this Entity
+     * @param shape The Shape of this Entity
+     * @param random The source of this Entity's default color
+     */
+    public StaticEntity(Vector2D position, ConcreteShape shape, Random random) {
         this.id = getNewId();
 
-        this.forces = new ArrayList<Force>();
         this.shape = shape;
         this.material = null;
         this.bounds = shape.calculateBounds();
 
-        this.mass = shape.getArea(); // With no material, we have no density.
-
-        setPosition(position);
-        this.rotation = 0;
-        this.velocity = new Vector2D();
-        this.angularVelocity = 0;
-        this.acceleration = new Vector2D();
-        this.angularAcceleration = 0;
+        setMass(shape.getArea()); // With no material, we have no density.
+        describe(position);
 
         // Calculate some random colors as defaults since no material was provided.
-        Random r = new Random();
-        this.color = new double[] {r.nextDouble(),0.65,0.80,0.75};
+        this.color = new double[] {random.nextDouble(),0.65,0.80,0.75};
     }
 
     public StaticEntity(Vector2D position, ConcreteShape shape, double[] color) {
         this.id = getNewId();
 
-        this.forces = new ArrayList<Force>();
         this.shape = shape;
         this.bounds = shape.calculateBounds();
 
-        this.mass = shape.getArea(); // With no material, we have no density.
+        setMass(shape.getArea()); // With no material, we have no density.
+        describe(position);
+
+        this.color = color; // A color was specified rather than a material.
+    }
 
+    /**
+     * Records the sizes the solvers need in this Entity's row of its BodyStore, and puts it at its starting position.
+     */
+    private void describe(Vector2D position) {
+        store.radius[index] = shape.getDiameter() / 2;
+        store.halfWidth[index] = bounds.getHalfWidth();
+        store.halfHeight[index] = bounds.getHalfHeight();
+        shape.setPosition(new Vector2D()); // The shape gets a position of its own, which sync then writes into.
         setPosition(position);
-        this.rotation = 0;
-        this.velocity = new Vector2D();
-        this.angularVelocity = 0;
-        this.acceleration = new Vector2D();
-        this.angularAcceleration = 0;
+    }
 
-        this.color = color; // A color was specified rather than a material.
+    /**
+     * Brings this Entity's Shape and bounding box up to date with its position and rotation in its BodyStore.
+     */
+    void sync() {
+        double x = store.x[index];
+        double y = store.y[index];
+        bounds.setCenter(x, y);
+        shape.setPosition(x, y);
+        if (shape.getRotation() != store.angle[index]) {
+            shape.setRotation(store.angle[index]);
+        }
     }
 
     /**
@@ -89,7 +94,27 @@ public class StaticEntity extends Entity {
      * @param force the Force to be applied to this Entity
      */
     public void applyForce(Force force) {
-        this.forces.add(force);
+        // Static Entities never move, so there is nothing to add the force to.
+    }
+
+    /**
+     * Apply a force through this Entity's center of mass. Static Entities ignore it.
+     * @param fx the x component of the force, in Newtons
+     * @param fy the y component of the force, in Newtons
+     */
+    public void applyForce(double fx, double fy) {
+        // we dont move
+    }
+
+    /**
+     * Apply a force at some point in the Scenario. Static Entities ignore it.
+     * @param x the x position the force acts at
+     * @param y the y position the force acts at
+     * @param fx the x component of the force, in Newtons
+     * @param fy the y component of the force, in Newtons
+     */
+    public void applyForceAt(double x, double y, double fx, double fy) {
+        // we dont move
     }
 
     /**
@@ -160,7 +185,7 @@ public class StaticEntity extends Entity {
         isColliding = true;
         // have the other entity move since this one shouldn't
         if(!(other instanceof StaticEntity)) {
-            other.setPosition(other.getPosition().add(mtv.mult(-1)));
+            other.translate(-mtv.getX(), -mtv.getY());
         }
     }
 
@@ -169,7 +194,7 @@ public class StaticEntity extends Entity {
      * @param mass the overriding mass value
      */
     public void setMass(double mass) {
-        this.mass = mass;
+        store.mass[index] = mass;
     }
 
     /**
@@ -177,7 +202,7 @@ public class StaticEntity extends Entity {
      * @param velocity the new velocity Vector2D of this Entity.
      */
     public void setVelocity(Vector2D velocity){
-        this.velocity = new Vector2D();
+        // we dont move
     }
 
     /**
@@ -185,9 +210,9 @@ public class StaticEntity extends Entity {
      * @param position The new position value of this Entity
      */
     public void setPosition(Vector2D position) {
-        this.position = position;
-        this.bounds.setCenter(position);
-        this.shape.setPosition(position);
+        store.x[index] = position.getX();
+        store.y[index] = position.getY();
+        store.sync(index, index + 1);
     }
 
     /**
@@ -195,7 +220,7 @@ public class StaticEntity extends Entity {
      * @param rotation The new rotation value of this Entity
      */
     public void setRotation(double rotation) {
-        this.rotation = rotation;
+        store.angle[index] = rotation;
         this.shape.setRotation(rotation);
     }
 
@@ -240,7 +265,7 @@ public class StaticEntity extends Entity {
      * @return The mass calculated from this Entity's Shape and Material
      */
     public double getMass(){
-        return mass;
+        return store.mass[index];
     }
 
     /**
@@ -272,7 +297,7 @@ public class StaticEntity extends Entity {
      * @return a Vector2D with the exact same values as this Entity's acceleration vector
      */
     public Vector2D getAcceleration() {
-        return acceleration.copy();
+        return new Vector2D();
     }
 
     /**
@@ -280,7 +305,7 @@ public class StaticEntity extends Entity {
      * @return a Vector2D with the exact same values as this Entity's velocity vector
      */
     public Vector2D getVelocity() {
-        return velocity.copy();
+        return new Vector2D();
     }
 
     /**
@@ -288,7 +313,7 @@ public class StaticEntity extends Entity {
      * @return position vector
      */
     public Vector2D getPosition() {
-        return position.copy();
+        return new Vector2D(store.x[index], store.y[index]);
     }
 
     /**
@@ -296,7 +321,7 @@ public class StaticEntity extends Entity {
      * @return this Entity's angular velocity, in Radians/second^2 (counter clockwise is positive)
      */
     public double getAngularAcceleration() {
-        return angularAcceleration;
+        return 0;
     }
 
     /**
@@ -304,7 +329,23 @@ public class StaticEntity extends Entity {
      * @return this Entity's angular velocity, in Radians/second (counter clockwise is positive)
      */
     public double getAngularVelocity() {
-        return angularVelocity;
+        return 0;
+    }
+
+    /**
+     * Static Entities can not be spun.
+     * @param angularVelocity ignored
+     */
+    public void setAngularVelocity(double angularVelocity) {
+        //we dont move
+    }
+
+    /**
+     * Static Entities can not be turned by any torque.
+     * @return an infinite moment of inertia
+     */
+    public double getMomentOfInertia() {
+        return Double.POSITIVE_INFINITY;
     }
 
     /**
@@ -312,7 +353,7 @@ public class StaticEntity extends Entity {
      * @return the angle that this entity is rotated by
      */
     public double getRotation() {
-        return rotation;
+        return store.angle[index];
     }
 
     /**
@@ -340,17 +381,33 @@ public class StaticEntity extends Entity {
         return this.id == e.getId();
     }
 
+    /**
+     * Estimates how many bytes of the heap this Entity holds onto: itself, its bounding box and its color. Its Shape,
+     * its Material and its row of its BodyStore are accounted for separately.
+     * @return the estimated size in bytes
+     */
+    public long getRetainedBytes() {
+        // The store and index from Entity, then the fields below: 5 references, 2 ints and a boolean.
+        long bytes = MemoryLayout.object(5, 4 + 4 + 1);
+        bytes += MemoryLayout.object(1, 16) + MemoryLayout.VECTOR; // The bounding box and its center.
+        if (color != null) {
+            bytes += MemoryLayout.array(8, color.length);
+        }
+        return bytes;
+    }
+
     /**
      * Overrides toString().
      * @return String of the entity's components for debugging i guess
      */
     public String toString()
     {
-        return position.toString() + ", " + shape.toString() +", " + velocity.toString() + ", " + color.toString();
+        return getPosition().toString() + ", " + shape.toString() +", " + getVelocity().toString() + ", " + color.toString();
     }
 
     /**
-     * Sets id for when we remove entities
+     * Sets id for when we remove entities. Do not change the ID of an Entity that is in a Scenario, which finds it
+     * by ID.
      * @param id
      */
     public void setId(int id){
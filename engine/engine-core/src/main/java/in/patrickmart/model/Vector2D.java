@@ -4,6 +4,8 @@ package in.patrickmart.model;
  *	@author Patrick Martin
  *	@version 0.1
  *	Vector2D implements 2 dimensional vectors, and many of the mathematical functions using these vectors.
+ *	Vector2Ds change in place, so they make good scratch space for a caller to reuse. A value that will be kept and
+ *	handed out should be an ImmutableVector2D instead, which never needs a defensive copy.
  */
 public class Vector2D {
     private double x;
@@ -45,6 +47,28 @@ public class Vector2D {
         return this;
     }
 
+    /**
+     *	Copies the components of another vector into this one.
+     *	@param vector	The vector to copy from.
+     *	@return 		This vector with its new x and y values.
+     */
+    public Vector2D set(Vector2D vector) {
+        this.x = vector.x;
+        this.y = vector.y;
+        return this;
+    }
+
+    /**
+     *	Copies the components of an immutable vector into this one.
+     *	@param vector	The vector to copy from.
+     *	@return 		This vector with its new x and y values.
+     */
+    public Vector2D set(ImmutableVector2D vector) {
+        this.x = vector.getX();
+        this.y = vector.getY();
+        return this;
+    }
+
     /**
      *	Sets the x component of this vector to some new value.
      *	@param x 	The new x component of this vector.
@@ -111,6 +135,18 @@ public class Vector2D {
         return this;
     }
 
+    /**
+     *	Adds some multiple of another vector to this vector, without making a scaled copy of the other.
+     *	@param vector	A vector to be scaled and added to this one.
+     *	@param scalar	How much to scale the other vector by.
+     *	@return 		This newly modified vector.
+     */
+    public Vector2D addScaled(Vector2D vector, double scalar) {
+        this.x += vector.x * scalar;
+        this.y += vector.y * scalar;
+        return this;
+    }
+
     /**
      *	Takes 2 Vector2D objects and subtracts the second from the first.
      *	@param first	A vector.
@@ -283,6 +319,26 @@ public class Vector2D {
         return new Vector2D(this.y, -this.x).normalize();
     }
 
+    /**
+     * Turns this vector a quarter turn clockwise, into the same vector getPerpendicular would return. Its length is
+     * kept, so callers that want a unit axis, as getNormal gives, must normalize it themselves.
+     * @return This newly modified vector.
+     */
+    public Vector2D perpendicular() {
+        double oldX = this.x;
+        this.x = this.y;
+        this.y = -oldX;
+        return this;
+    }
+
+    /**
+     *	Takes a snapshot of this vector that can be kept and shared without copying it again.
+     *	@return An immutable vector with the same components.
+     */
+    public ImmutableVector2D toImmutable() {
+        return new ImmutableVector2D(this.x, this.y);
+    }
+
     /**
      *	Calculates the angle between this vector and another vector.
      *	@return The angle between this vector and another vector.
@@ -0,0 +1,115 @@
+package in.patrickmart.model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs the parallel phases of a Scenario step. Work is always cut into chunks of a fixed size, no matter how many
+ * threads are available, so any per-chunk results can be reduced in chunk order and give bit-identical answers at
+ * every thread count.
+ */
+public class WorkerPool {
+    public static final int CHUNK_SIZE = 256; // How many items each task works through.
+
+    private final int threads;
+    private final ForkJoinPool pool;
+
+    /**
+     * A piece of work over the range [from, to) of some list of items.
+     */
+    public interface ChunkTask {
+        void run(int chunk, int from, int to);
+    }
+
+    /**
+     * Constructor for objects of class WorkerPool.
+     * @param threads How many threads may work at once. 1 or less runs everything on the calling thread.
+     */
+    public WorkerPool(int threads) {
+        this.threads = Math.max(1, threads);
+        this.pool = this.threads > 1 ? new ForkJoinPool(this.threads) : null;
+    }
+
+    /**
+     * How many chunks a range of n items will be cut into.
+     * @param n the number of items
+     * @return the number of chunks
+     */
+    public static int chunkCount(int n) {
+        return (n + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    /**
+     * Runs a task over every chunk of the range [0, n), waiting for all of them to finish.
+     * @param n the number of items to work through
+     * @param task the work to do for each chunk
+     */
+    public void forChunks(int n, ChunkTask task) {
+        forChunks(n, CHUNK_SIZE, task);
+    }
+
+    /**
+     * Runs a task over every chunk of the range [0, n), waiting for all of them to finish.
+     * @param n the number of items to work through
+     * @param chunkSize how many items each chunk holds
+     * @param task the work to do for each chunk
+     */
+    public void forChunks(int n, int chunkSize, ChunkTask task) {
+        int chunks = (n + chunkSize - 1) / chunkSize;
+        if (pool == null || chunks < 2) {
+            for (int c = 0; c < chunks; c++) {
+                task.run(c, c * chunkSize, Math.min(n, (c + 1) * chunkSize));
+            }
+        } else {
+            pool.invoke(new ChunkAction(task, n, chunkSize, 0, chunks));
+        }
+    }
+
+    /**
+     * Accessor for the number of threads this pool will use.
+     * @return the number of worker threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Stops the worker threads. The pool should not be used afterwards.
+     */
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Splits a range of chunks in half until each action holds a single chunk.
+     */
+    private static class ChunkAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final ChunkTask task;
+        private final int n;
+        private final int chunkSize;
+        private final int first;
+        private final int last;
+
+        ChunkAction(ChunkTask task, int n, int chunkSize, int first, int last) {
+            this.task = task;
+            this.n = n;
+            this.chunkSize = chunkSize;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first == 1) {
+                task.run(first, first * chunkSize, Math.min(n, (first + 1) * chunkSize));
+            } else {
+                int mid = (first + last) >>> 1;
+                invokeAll(new ChunkAction(task, n, chunkSize, first, mid),
+                        new ChunkAction(task, n, chunkSize, mid, last));
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package in.patrickmart.model.forces;
+
+import in.patrickmart.model.AABB;
+import in.patrickmart.model.BodyStore;
+
+/**
+ * Pulls bodies toward a fixed point, more strongly the closer they get. Bodies further away than the field's radius
+ * are not affected. A negative strength pushes bodies away instead.
+ */
+public class AttractorField extends ForceField {
+    private double x;
+    private double y;
+    private double strength;
+    private double radius;
+    private double softening; // Keeps the pull finite for bodies sitting right on the point.
+    private AABB region;
+
+    /**
+     * Constructor for objects of class AttractorField.
+     * @param x the x position of the point bodies are pulled toward
+     * @param y the y position of the point bodies are pulled toward
+     * @param strength the acceleration felt by a body one unit away, in m/s^2
+     * @param radius how far from the point the field reaches
+     */
+    public AttractorField(double x, double y, double strength, double radius) {
+        this.x = x;
+        this.y = y;
+        this.strength = strength;
+        this.radius = radius;
+        this.softening = 0.01;
+        this.region = new AABB(x, y, radius, radius);
+    }
+
+    @Override
+    public void apply(BodyStore b, int i) {
+        double dx = x - b.x[i];
+        double dy = y - b.y[i];
+        double d2 = dx * dx + dy * dy;
+        if (d2 > radius * radius) {
+            return;
+        }
+        // The acceleration falls off with the square of distance: a = strength / d^2, directed along (dx, dy) / d.
+        double soft = d2 + softening * softening;
+        double scale = strength * b.mass[i] / (soft * Math.sqrt(soft));
+        b.fx[i] += scale * dx;
+        b.fy[i] += scale * dy;
+    }
+
+    @Override
+    public AABB getRegion() {
+        return region;
+    }
+
+    /**
+     * Mutator for how close to the point the pull stops growing.
+     * @param softening the softening length
+     */
+    public void setSoftening(double softening) {
+        this.softening = softening;
+    }
+}
@@ -0,0 +1,49 @@
+package in.patrickmart.model.forces;
+
+import in.patrickmart.model.AABB;
+import in.patrickmart.model.BodyStore;
+
+/**
+ * Slows down moving bodies, like air or water resistance. The drag has a linear part which dominates at low speeds
+ * and a quadratic part which dominates at high speeds: F = -(linear + quadratic * |v|) * v
+ */
+public class DragField extends ForceField {
+    private double linear;
+    private double quadratic;
+    private AABB region;
+
+    /**
+     * Constructor for a DragField that acts everywhere.
+     * @param linear the linear drag coefficient, in N*s/m
+     * @param quadratic the quadratic drag coefficient, in N*s^2/m^2
+     */
+    public DragField(double linear, double quadratic) {
+        this(linear, quadratic, null);
+    }
+
+    /**
+     * Constructor for a DragField that only acts within some region, such as a pool of water.
+     * @param linear the linear drag coefficient, in N*s/m
+     * @param quadratic the quadratic drag coefficient, in N*s^2/m^2
+     * @param region the area this field acts within, or null for everywhere
+     */
+    public DragField(double linear, double quadratic, AABB region) {
+        this.linear = linear;
+        this.quadratic = quadratic;
+        this.region = region;
+    }
+
+    @Override
+    public void apply(BodyStore b, int i) {
+        double vx = b.vx[i];
+        double vy = b.vy[i];
+        double k = linear + quadratic * Math.sqrt(vx * vx + vy * vy);
+        b.fx[i] -= k * vx;
+        b.fy[i] -= k * vy;
+    }
+
+    @Override
+    public AABB getRegion() {
+        return region;
+    }
+}
@@ -1,13 +1,16 @@
 package in.patrickmart.model.forces;
 
 import in.patrickmart.model.Entity;
+import in.patrickmart.model.ImmutableVector2D;
+import in.patrickmart.model.MemoryLayout;
 import in.patrickmart.model.Vector2D;
 
 import java.util.ArrayList;
 
 public abstract class Force {
-    protected Vector2D position;
-    protected Vector2D force;
+    // Immutable, so that the accessors can hand them out without copying them.
+    protected ImmutableVector2D position;
+    protected ImmutableVector2D force;
 
     //Store the source and destination entities in order to provide data for our calculate methods.
     protected Entity source;
@@ -23,9 +26,8 @@ public abstract class Force {
         this.source = source;
         this.destination = destination;
 
-        position = calculatePosition();
-        force = calculateDirection();
-        force.setMag(calculateNewtons());
+        position = calculatePosition().toImmutable();
+        force = calculateDirection().setMag(calculateNewtons()).toImmutable();
         applyTo(destination);
     }
 
@@ -40,12 +42,13 @@ public abstract class Force {
 
         for (Entity destination : destinations) {
             this.destination = destination;
-            position = calculatePosition();
-            force = calculateDirection();
-            force.setMag(calculateNewtons());
+            Vector2D position = calculatePosition();
+            Vector2D force = calculateDirection().setMag(calculateNewtons());
 
-            // Rather than use applyTo, we create a singular Force, whose constructor uses applyTo.
-            new ForceGeneric(source, destination, force, position);
+            // Each destination gets its own share directly, rather than through a Force object of its own.
+            destination.applyForceAt(position.getX(), position.getY(), force.getX(), force.getY());
+            this.position = position.toImmutable();
+            this.force = force.toImmutable();
         }
     }
 
@@ -85,7 +88,15 @@ public abstract class Force {
      * @return This force as a positionless vector.
      */
     public Vector2D getForce() {
-        return force.copy();
+        return force.toVector2D();
+    }
+
+    /**
+     * Accessor for this force as a vector, without copying it.
+     * @return This force as a positionless vector.
+     */
+    public ImmutableVector2D getForceValue() {
+        return force;
     }
 
     /**
@@ -93,6 +104,23 @@ public abstract class Force {
      * @return This force's position in the scenario.
      */
     public Vector2D getPosition() {
-        return position.copy();
+        return position.toVector2D();
+    }
+
+    /**
+     * Accessor for the position of this force, without copying it.
+     * @return This force's position in the scenario.
+     */
+    public ImmutableVector2D getPositionValue() {
+        return position;
+    }
+
+    /**
+     * Estimates how many bytes of the heap this Force holds onto: itself and its vectors. Forces that keep more than
+     * these should add it on.
+     * @return the estimated size in bytes
+     */
+    public long getRetainedBytes() {
+        return MemoryLayout.object(4, 0) + 2 * MemoryLayout.VECTOR;
     }
 }
@@ -4,6 +4,7 @@ import in.patrickmart.model.Entity;
 import in.patrickmart.model.Vector2D;
 
 public class ForceFEA extends Force {
+    public static final double ACCELERATION = 9.8; // Acceleration due to gravity at the Earth's surface, in m/s^2.
 
     public ForceFEA(Entity destination){
         super(null, destination);
@@ -19,13 +20,13 @@ public class ForceFEA extends Force {
      * What direction is this force being applied in?
      */
     public Vector2D calculateDirection(){
-        return new Vector2D(0, -9.8);
+        return new Vector2D(0, -ACCELERATION);
     }
 
     /**
      * How much force is being applied?
      */
     public double calculateNewtons(){
-        return 9.8 * destination.getMass();
+        return ACCELERATION * destination.getMass();
     }
 }
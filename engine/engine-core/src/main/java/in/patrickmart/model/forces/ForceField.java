@@ -0,0 +1,39 @@
+package in.patrickmart.model.forces;
+
+import in.patrickmart.model.AABB;
+import in.patrickmart.model.BodyStore;
+
+/**
+ * A ForceField pushes on many Entities at once, such as gravity near the ground or the wind blowing through some
+ * area. Rather than creating a Force object for each Entity it touches, a field adds its force straight into the
+ * fx and fy sums of the BodyStore, so that applying it to every Entity is a single tight loop.
+ */
+public abstract class ForceField {
+    /**
+     * Adds this field's force on a single body into that body's force sums.
+     * @param b the bodies being pushed
+     * @param i the index of the body to push
+     */
+    public abstract void apply(BodyStore b, int i);
+
+    /**
+     * Adds this field's force on a range of bodies into their force sums.
+     * @param b the bodies being pushed
+     * @param from the first index to push
+     * @param to one past the last index to push
+     */
+    public void apply(BodyStore b, int from, int to) {
+        for (int i = from; i < to; i++) {
+            apply(b, i);
+        }
+    }
+
+    /**
+     * Accessor for the area this field acts within. Bodies whose bounds fall entirely outside of it are never
+     * visited, so the Scenario can look up just the bodies inside with its spatial index.
+     * @return the region this field acts within, or null if it acts everywhere
+     */
+    public AABB getRegion() {
+        return null;
+    }
+}
@@ -1,10 +1,9 @@
 package in.patrickmart.model.forces;
 
 import in.patrickmart.model.Entity;
+import in.patrickmart.model.ImmutableVector2D;
 import in.patrickmart.model.Vector2D;
 
-import java.util.Random;
-
 public class ForceGeneric extends Force {
 
     /**
@@ -15,19 +14,38 @@ public class ForceGeneric extends Force {
      * @param position This Force's position in the Scenario.
      */
     public ForceGeneric(Entity source, Entity destination, Vector2D force, Vector2D position) {
+        this(source, destination, force, position, true);
+    }
+
+    private ForceGeneric(Entity source, Entity destination, Vector2D force, Vector2D position, boolean apply) {
         super();
         this.source = source;
         this.destination = destination;
-        this.position = position;
-        this.force = force;
-        applyTo(destination);
+        this.position = position.toImmutable();
+        this.force = force.toImmutable();
+        if (apply) {
+            applyTo(destination);
+        }
+    }
+
+    /**
+     * Creates a record of a force that has already been added to its destination, so that it can be drawn. Unlike
+     * the constructors, this does not apply the force a second time.
+     * @param source The source of this force, may be null
+     * @param destination The Entity this force was applied to
+     * @param force A vector representing this force.
+     * @param position This Force's position in the Scenario.
+     * @return the record
+     */
+    public static ForceGeneric record(Entity source, Entity destination, Vector2D force, Vector2D position) {
+        return new ForceGeneric(source, destination, force, position, false);
     }
     public ForceGeneric(Entity destination, Vector2D force) {
         super();
         this.source = null;
         this.destination = destination;
-        this.position = new Vector2D();
-        this.force = force;
+        this.position = ImmutableVector2D.ZERO;
+        this.force = force.toImmutable();
         applyTo(destination);
     }
 
@@ -4,7 +4,7 @@ import in.patrickmart.model.Entity;
 import in.patrickmart.model.Vector2D;
 
 public class ForceGravity extends Force{
-    static final double G = .0000000667;
+    public static final double G = .0000000667;
 
     public ForceGravity(Entity source, Entity destination){
         super(source, destination);
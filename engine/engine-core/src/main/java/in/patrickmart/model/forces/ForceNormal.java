@@ -0,0 +1,57 @@
+package in.patrickmart.model.forces;
+
+import in.patrickmart.model.BodyStore;
+import in.patrickmart.model.Entity;
+import in.patrickmart.model.Vector2D;
+
+public class ForceNormal extends Force{
+    static final double G = .0000000000667;
+
+    public ForceNormal(Entity source, Entity destination){
+        super(source, destination);
+    }
+
+    /**
+     * Adds the force a ForceNormal would apply straight into its destination's net force, without building the
+     * ForceNormal or any of the vectors it works with.
+     * @param source The Entity that is generating this force
+     * @param destination The Entity that this force is being applied to.
+     */
+    public static void apply(Entity source, Entity destination) {
+        BodyStore s = source.getStore();
+        BodyStore d = destination.getStore();
+        double sx = s.x[source.getIndex()];
+        double sy = s.y[source.getIndex()];
+        double dx = d.x[destination.getIndex()] - sx;
+        double dy = d.y[destination.getIndex()] - sy;
+        double distSq = dx * dx + dy * dy;
+        if (distSq == 0) {
+            return; // With no direction to push in, the ForceNormal has no size either.
+        }
+        double newtons = G * ((source.getMass() * destination.getMass()) / distSq);
+        double multiplier = newtons / Math.sqrt(distSq);
+        destination.applyForceAt(sx, sy, dx * multiplier, dy * multiplier);
+    }
+
+    /**
+     * Where does this force interact with its destination from?
+     */
+    public Vector2D calculatePosition(){
+        return source.getPosition();
+    }
+
+    /**
+     * What direction is this force being applied in?
+     */
+    public Vector2D calculateDirection(){
+        Vector2D dir = source.getPosition().sub(destination.getPosition());
+        return dir.mult(-1);
+    }
+
+    /**
+     * How much force is being applied?
+     */
+    public double calculateNewtons(){
+        return G * ((source.getMass() * destination.getMass())/ Math.pow((destination.getPosition().dist(source.getPosition())), 2));
+    }
+}
\ No newline at end of file
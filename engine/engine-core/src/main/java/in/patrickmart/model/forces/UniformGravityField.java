@@ -0,0 +1,37 @@
+package in.patrickmart.model.forces;
+
+import in.patrickmart.model.BodyStore;
+
+/**
+ * Accelerates every body by the same amount regardless of its mass, like gravity near the surface of a planet.
+ */
+public class UniformGravityField extends ForceField {
+    private double gx;
+    private double gy;
+
+    /**
+     * Constructor for objects of class UniformGravityField.
+     * @param gx the x component of the acceleration, in m/s^2
+     * @param gy the y component of the acceleration, in m/s^2
+     */
+    public UniformGravityField(double gx, double gy) {
+        this.gx = gx;
+        this.gy = gy;
+    }
+
+    @Override
+    public void apply(BodyStore b, int i) {
+        b.fx[i] += gx * b.mass[i];
+        b.fy[i] += gy * b.mass[i];
+    }
+
+    /**
+     * Mutator for the acceleration this field causes.
+     * @param gx the x component of the acceleration, in m/s^2
+     * @param gy the y component of the acceleration, in m/s^2
+     */
+    public void setAcceleration(double gx, double gy) {
+        this.gx = gx;
+        this.gy = gy;
+    }
+}
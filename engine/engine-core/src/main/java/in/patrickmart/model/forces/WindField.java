@@ -0,0 +1,50 @@
+package in.patrickmart.model.forces;
+
+import in.patrickmart.model.AABB;
+import in.patrickmart.model.BodyStore;
+
+/**
+ * Blows bodies within some region along with a moving current of air. Bodies are pushed in proportion to how much
+ * faster the wind is moving than they are, so they settle at the wind's own velocity rather than speeding up forever.
+ */
+public class WindField extends ForceField {
+    private double windX;
+    private double windY;
+    private double coefficient;
+    private AABB region;
+
+    /**
+     * Constructor for objects of class WindField.
+     * @param windX the x component of the wind's velocity, in m/s
+     * @param windY the y component of the wind's velocity, in m/s
+     * @param coefficient how hard the wind pushes per m/s of difference in velocity, in N*s/m
+     * @param region the area the wind blows through, or null for everywhere
+     */
+    public WindField(double windX, double windY, double coefficient, AABB region) {
+        this.windX = windX;
+        this.windY = windY;
+        this.coefficient = coefficient;
+        this.region = region;
+    }
+
+    @Override
+    public void apply(BodyStore b, int i) {
+        b.fx[i] += coefficient * (windX - b.vx[i]);
+        b.fy[i] += coefficient * (windY - b.vy[i]);
+    }
+
+    @Override
+    public AABB getRegion() {
+        return region;
+    }
+
+    /**
+     * Mutator for the wind's velocity.
+     * @param windX the x component of the wind's velocity, in m/s
+     * @param windY the y component of the wind's velocity, in m/s
+     */
+    public void setWind(double windX, double windY) {
+        this.windX = windX;
+        this.windY = windY;
+    }
+}
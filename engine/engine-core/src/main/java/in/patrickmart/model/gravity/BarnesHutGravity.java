@@ -0,0 +1,192 @@
+package in.patrickmart.model.gravity;
+
+import in.patrickmart.model.AABB;
+import in.patrickmart.model.BodyStore;
+import in.patrickmart.model.Entity;
+import in.patrickmart.model.WorkerPool;
+import in.patrickmart.model.forces.ForceGravity;
+import in.patrickmart.model.trees.QuadTree;
+
+import java.util.List;
+
+/**
+ * Approximates gravity in O(n log n) using a QuadTree. Each node of the tree knows the total mass and center of mass
+ * of everything inside it, and a node that looks small enough from where a body sits is treated as one heavy object
+ * rather than being opened up. How small is small enough is set by the opening angle theta: a node is used as a whole
+ * when its width divided by its distance from the body is less than theta. A theta of 0 opens every node and gives
+ * the same answer as direct summation, while larger values are faster and less accurate.
+ */
+public class BarnesHutGravity implements GravitySolver {
+    private double theta;
+    private int errorSamples; // How many bodies to check against direct summation each step. 0 turns checking off.
+    private double lastError;
+
+    /**
+     * Constructor for objects of class BarnesHutGravity.
+     * @param theta the opening angle. 0.5 is a common choice.
+     */
+    public BarnesHutGravity(double theta) {
+        this.theta = theta;
+        this.errorSamples = 0;
+        this.lastError = 0;
+    }
+
+    @Override
+    public void accumulate(BodyStore b, WorkerPool workers) {
+        if (b.count == 0) {
+            return;
+        }
+        QuadTree<Entity> tree = build(b);
+        workers.forChunks(b.count, (chunk, from, to) -> {
+            double[] pull = new double[2];
+            for (int i = from; i < to; i++) {
+                pull(tree, b, i, pull);
+                b.fx[i] += pull[0];
+                b.fy[i] += pull[1];
+            }
+        });
+        if (errorSamples > 0) {
+            lastError = measureError(tree, b, errorSamples);
+        }
+    }
+
+    /**
+     * Measures how far this solver's forces are from those of direct summation, on an evenly spread sample of bodies.
+     * @param b the bodies
+     * @param samples how many bodies to check
+     * @return the root mean square of the relative error in force over the sample
+     */
+    public double measureError(BodyStore b, int samples) {
+        if (b.count == 0) {
+            return 0;
+        }
+        return measureError(build(b), b, samples);
+    }
+
+    private double measureError(QuadTree<Entity> tree, BodyStore b, int samples) {
+        double[] approximate = new double[2];
+        double[] exact = new double[2];
+        int stride = Math.max(1, b.count / samples);
+        double sum = 0;
+        int measured = 0;
+        for (int i = 0; i < b.count && measured < samples; i += stride) {
+            pull(tree, b, i, approximate);
+            DirectSumGravity.pull(b, i, exact);
+            double magnitude = Math.hypot(exact[0], exact[1]);
+            if (magnitude == 0) {
+                continue;
+            }
+            double error = Math.hypot(approximate[0] - exact[0], approximate[1] - exact[1]) / magnitude;
+            sum += error * error;
+            measured++;
+        }
+        return measured == 0 ? 0 : Math.sqrt(sum / measured);
+    }
+
+    /**
+     * Builds a QuadTree of every body, and works out the mass totals of each node.
+     */
+    private QuadTree<Entity> build(BodyStore b) {
+        QuadTree<Entity> tree = b.buildQuadTree();
+        tree.aggregate(e -> b.mass[e.getIndex()], e -> b.x[e.getIndex()], e -> b.y[e.getIndex()]);
+        return tree;
+    }
+
+    /**
+     * Works out the pull of every other body on one body by walking the tree.
+     * @param out where the x and y components of the force are written
+     */
+    private void pull(QuadTree<Entity> tree, BodyStore b, int i, double[] out) {
+        out[0] = 0;
+        out[1] = 0;
+        walk(tree, b, i, out);
+        out[0] *= ForceGravity.G * b.mass[i];
+        out[1] *= ForceGravity.G * b.mass[i];
+    }
+
+    /**
+     * Adds the pull of one node on body i into out, divided by G and by the body's own mass.
+     */
+    private void walk(QuadTree<Entity> node, BodyStore b, int i, double[] out) {
+        if (node.getMass() == 0) {
+            return;
+        }
+        double x = b.x[i];
+        double y = b.y[i];
+        AABB bounds = node.getBounds();
+        double width = bounds.getHalfWidth() * 2;
+        double dx = node.getCenterOfMassX() - x;
+        double dy = node.getCenterOfMassY() - y;
+        double d2 = dx * dx + dy * dy;
+
+        // Never summarize a node the body is inside of, since the body would then pull on itself.
+        boolean inside = Math.abs(x - bounds.getCenter().getX()) <= bounds.getHalfWidth()
+                && Math.abs(y - bounds.getCenter().getY()) <= bounds.getHalfHeight();
+        if (!inside && width * width < theta * theta * d2) {
+            addPull(out, dx, dy, d2, node.getMass());
+            return;
+        }
+
+        List<Entity> objects = node.getObjects();
+        if (objects != null) {
+            for (int k = 0; k < objects.size(); k++) {
+                int j = objects.get(k).getIndex();
+                if (j != i) {
+                    double ox = b.x[j] - x;
+                    double oy = b.y[j] - y;
+                    addPull(out, ox, oy, ox * ox + oy * oy, b.mass[j]);
+                }
+            }
+        }
+        QuadTree<Entity>[] children = node.getChildren();
+        if (children != null) {
+            for (QuadTree<Entity> child : children) {
+                walk(child, b, i, out);
+            }
+        }
+    }
+
+    /**
+     * Adds m / d^2 along the direction (dx, dy) into out.
+     */
+    private static void addPull(double[] out, double dx, double dy, double d2, double m) {
+        if (d2 == 0) {
+            return;
+        }
+        double scale = m / (d2 * Math.sqrt(d2));
+        out[0] += dx * scale;
+        out[1] += dy * scale;
+    }
+
+    /**
+     * Mutator for the opening angle.
+     * @param theta the opening angle, where 0 gives the same result as direct summation
+     */
+    public void setTheta(double theta) {
+        this.theta = theta;
+    }
+
+    /**
+     * Accessor for the opening angle.
+     * @return the opening angle
+     */
+    public double getTheta() {
+        return theta;
+    }
+
+    /**
+     * Mutator for how many bodies are checked against direct summation every step. Checking costs O(n) per sample.
+     * @param errorSamples the number of bodies to check, or 0 to stop checking
+     */
+    public void setErrorSamples(int errorSamples) {
+        this.errorSamples = errorSamples;
+    }
+
+    /**
+     * Accessor for the error found the last time bodies were checked against direct summation.
+     * @return the root mean square of the relative error in force, or 0 if nothing has been checked
+     */
+    public double getLastError() {
+        return lastError;
+    }
+}
@@ -0,0 +1,250 @@
+package in.patrickmart.model.gravity;
+
+import in.patrickmart.model.BodyStore;
+import in.patrickmart.model.Entity;
+import in.patrickmart.model.WorkerPool;
+
+/**
+ * Moves bodies under gravity with a timestep of their own, so that a few bodies in close orbits do not force
+ * everything else to take tiny steps as well.
+ *
+ * Each body sits on a rung, and a body on rung r takes steps of frame / 2^r. The frame is cut into 2^maxRung ticks,
+ * and at each tick only the bodies whose step ends there have their forces worked out. Every body drifts at every
+ * tick, which is cheap, so the bodies that are due always see everyone else where they really are. Bodies are moved
+ * with kick-drift-kick leapfrog, which keeps orbits from slowly gaining or losing energy.
+ *
+ * A body's step is chosen from how quickly its motion changes: accuracy * max(|v| / |a|, sqrt(lengthScale / |a|)).
+ * The first term is a small part of an orbit and the second a small part of a fall from rest. A body may move to a
+ * shorter step whenever one of its steps ends, but only to a longer step at a tick that the longer step also ends on,
+ * so that bodies on the same rung always stay in step with each other.
+ */
+public class BlockTimesteps {
+    private int maxRung; // The shortest step is the frame divided by 2^maxRung.
+    private double accuracy;
+    private double lengthScale;
+
+    private int[] rung = new int[0];
+    private double[] accX = new double[0]; // The acceleration of each body at the end of its last step.
+    private double[] accY = new double[0];
+    private Entity[] known = new Entity[0]; // The Entities the accelerations above belong to.
+    private int knownCount = -1;
+    private int[] active = new int[0];
+    private long forceEvaluations; // How many times the force on one body has been worked out.
+
+    /**
+     * Constructor for a BlockTimesteps whose shortest step is a sixteenth of a frame.
+     */
+    public BlockTimesteps() {
+        this(4, 0.05, 0.1);
+    }
+
+    /**
+     * Constructor for objects of class BlockTimesteps.
+     * @param maxRung how many times the frame may be halved, so the shortest step is the frame divided by 2^maxRung
+     * @param accuracy the fraction of each body's time scale it may take as one step. Smaller is more accurate.
+     * @param lengthScale the distance, in meters, used to turn acceleration alone into a time scale
+     */
+    public BlockTimesteps(int maxRung, double accuracy, double lengthScale) {
+        setMaxRung(maxRung);
+        this.accuracy = accuracy;
+        this.lengthScale = lengthScale;
+    }
+
+    /**
+     * Moves every body forward by one frame.
+     * @param b the bodies. Positions and velocities are left in the arrays, and Shapes are not synced.
+     * @param frame the length of the frame, in seconds
+     * @param solver the gravity solver used to work out forces
+     * @param workers the pool used to share the work between threads
+     */
+    public void step(BodyStore b, double frame, GravitySolver solver, WorkerPool workers) {
+        int n = b.count;
+        int ticks = 1 << maxRung;
+        double tick = frame / ticks;
+        if (!isKnown(b)) {
+            // New or different bodies: work out every force and start every body off on its own rung.
+            ensureCapacity(b);
+            for (int i = 0; i < n; i++) {
+                active[i] = i;
+            }
+            evaluate(b, n, solver, workers);
+            for (int i = 0; i < n; i++) {
+                rung[i] = chooseRung(b, i, frame);
+            }
+            System.arraycopy(b.entities, 0, known, 0, n);
+            knownCount = n;
+        }
+
+        for (int t = 0; t < ticks; t++) {
+            // Half a kick for every body starting a step, using the acceleration from the end of its last one.
+            int starting = due(b, t);
+            kick(b, starting, frame, workers);
+
+            workers.forChunks(n, (chunk, from, to) -> {
+                for (int i = from; i < to; i++) {
+                    if (b.invMass[i] != 0) {
+                        b.x[i] += b.vx[i] * tick;
+                        b.y[i] += b.vy[i] * tick;
+                    }
+                }
+            });
+
+            // Work out fresh forces for every body finishing a step, and give them the other half of their kick.
+            int ending = due(b, t + 1);
+            evaluate(b, ending, solver, workers);
+            kick(b, ending, frame, workers);
+
+            for (int k = 0; k < ending; k++) {
+                int i = active[k];
+                int r = chooseRung(b, i, frame);
+                // A longer step is only allowed if it also ends on this tick.
+                while ((t + 1) % (ticks >> r) != 0) {
+                    r++;
+                }
+                rung[i] = r;
+            }
+        }
+    }
+
+    /**
+     * Lists the bodies whose steps start or end at a tick in the active array.
+     * @return how many bodies were listed
+     */
+    private int due(BodyStore b, int t) {
+        int ticks = 1 << maxRung;
+        int count = 0;
+        for (int i = 0; i < b.count; i++) {
+            if (t % (ticks >> rung[i]) == 0) {
+                active[count++] = i;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Works out the acceleration of each listed body from the pull of every body where it currently is.
+     */
+    private void evaluate(BodyStore b, int count, GravitySolver solver, WorkerPool workers) {
+        for (int k = 0; k < count; k++) {
+            b.fx[active[k]] = 0;
+            b.fy[active[k]] = 0;
+        }
+        solver.accumulate(b, active, count, workers);
+        for (int k = 0; k < count; k++) {
+            int i = active[k];
+            accX[i] = b.fx[i] * b.invMass[i];
+            accY[i] = b.fy[i] * b.invMass[i];
+        }
+        forceEvaluations += count;
+    }
+
+    /**
+     * Gives each listed body half of the change in velocity its step calls for.
+     */
+    private void kick(BodyStore b, int count, double frame, WorkerPool workers) {
+        workers.forChunks(count, (chunk, from, to) -> {
+            for (int k = from; k < to; k++) {
+                int i = active[k];
+                double half = frame / (1 << rung[i]) / 2;
+                b.vx[i] += accX[i] * half;
+                b.vy[i] += accY[i] * half;
+            }
+        });
+    }
+
+    /**
+     * Picks the longest step that is no longer than a body's time scale allows.
+     */
+    private int chooseRung(BodyStore b, int i, double frame) {
+        double a = Math.hypot(accX[i], accY[i]);
+        if (a == 0) {
+            return 0;
+        }
+        double v = Math.hypot(b.vx[i], b.vy[i]);
+        double allowed = accuracy * Math.max(v / a, Math.sqrt(lengthScale / a));
+        int r = 0;
+        while (r < maxRung && frame / (1 << r) > allowed) {
+            r++;
+        }
+        return r;
+    }
+
+    /**
+     * Checks whether the bodies are the same ones the stored accelerations and rungs belong to.
+     */
+    private boolean isKnown(BodyStore b) {
+        if (b.count != knownCount) {
+            return false;
+        }
+        for (int i = 0; i < b.count; i++) {
+            if (b.entities[i] != known[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ensureCapacity(BodyStore b) {
+        if (rung.length < b.count) {
+            int capacity = b.x.length;
+            rung = new int[capacity];
+            accX = new double[capacity];
+            accY = new double[capacity];
+            known = new Entity[capacity];
+            active = new int[capacity];
+        }
+    }
+
+    /**
+     * Forgets every body's acceleration and rung, so that they are all worked out afresh on the next step. Call this
+     * after moving bodies by hand.
+     */
+    public void reset() {
+        knownCount = -1;
+    }
+
+    /**
+     * Mutator for how many times a frame may be halved.
+     * @param maxRung the number of halvings, from 0 to 20
+     */
+    public void setMaxRung(int maxRung) {
+        if (maxRung < 0 || maxRung > 20) {
+            throw new IllegalArgumentException("The deepest rung must be between 0 and 20, not " + maxRung);
+        }
+        this.maxRung = maxRung;
+        reset();
+    }
+
+    /**
+     * Accessor for how many times a frame may be halved.
+     * @return the number of halvings
+     */
+    public int getMaxRung() {
+        return maxRung;
+    }
+
+    /**
+     * Mutator for the fraction of each body's time scale it may take as one step.
+     * @param accuracy the fraction, where 0 puts every body on the deepest rung
+     */
+    public void setAccuracy(double accuracy) {
+        this.accuracy = accuracy;
+    }
+
+    /**
+     * Accessor for the rung a body is currently on.
+     * @param i the index of the body
+     * @return the rung, where the body takes steps of the frame divided by 2^rung
+     */
+    public int getRung(int i) {
+        return rung[i];
+    }
+
+    /**
+     * Accessor for how many times the force on one body has been worked out, over every step so far.
+     * @return the number of force evaluations
+     */
+    public long getForceEvaluations() {
+        return forceEvaluations;
+    }
+}
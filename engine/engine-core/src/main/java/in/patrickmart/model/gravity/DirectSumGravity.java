@@ -0,0 +1,234 @@
+package in.patrickmart.model.gravity;
+
+import in.patrickmart.model.BodyStore;
+import in.patrickmart.model.Kernels;
+import in.patrickmart.model.WorkerPool;
+import in.patrickmart.model.forces.ForceGravity;
+
+import java.util.Arrays;
+
+/**
+ * Sums the pull of every other body on each body exactly. This costs O(n^2) per step, but it is the reference that
+ * faster solvers are measured against.
+ *
+ * Each pair of bodies is only visited once, with the force added to one body and taken away from the other. Bodies
+ * are split into blocks, and pairs are worked through one block against another so that both blocks stay in cache.
+ * Pairs of blocks are scheduled in rounds, as in a round-robin tournament, so that no block plays twice in a round.
+ * Every tile in a round can then add its forces straight into the BodyStore at once, with no per-thread copies of
+ * the force sums to clear and add up, and the order each force is added in is fixed by the schedule, so the results
+ * do not depend on how many threads run them. Where the JVM turns loops into SIMD instructions, each column block is
+ * copied out so that Kernels.pullRow can work on several bodies at once.
+ */
+public class DirectSumGravity implements GravitySolver {
+    private static final int BLOCK = 256; // Bodies per block. Two blocks of positions and masses fit in L1 cache.
+    private static final int LANES = 16; // The most tasks the tiles of each round are split into, each with scratch.
+    // Rows of each lane's scratch space: a column block's positions, masses and force sums, then pulls for one row.
+    private static final int SCRATCH = 7;
+
+    private double softening; // Plummer softening length, which keeps the pull finite when bodies get very close.
+    private boolean scalar; // Whether to keep to the plain scalar loops, whichever form Kernels has selected.
+    private double[][][] scratch = new double[LANES][SCRATCH][BLOCK]; // A column block copied out for each lane.
+    private double[][] laneSums = new double[LANES][2]; // The pull on one body, summed up by each lane.
+
+    // The step being worked on, kept here so that the tasks below are built once rather than every round.
+    private BodyStore bodies;
+    private double eps2;
+    private int blocks;
+    private int players; // The number of blocks, made even with a stand-in.
+    private int round;
+    private final WorkerPool.ChunkTask roundTask = (lane, from, to) -> {
+        for (int k = from; k < to; k++) {
+            // The circle method: one player stays put while the rest turn one place each round.
+            int first = k == 0 ? players - 1 : (round + k) % (players - 1);
+            int second = (round - k + players - 1) % (players - 1);
+            if (first == blocks || second == blocks) {
+                int self = first == blocks ? second : first;
+                tile(bodies, self, self, eps2, lane);
+            } else {
+                tile(bodies, Math.min(first, second), Math.max(first, second), eps2, lane);
+            }
+        }
+    };
+    private final WorkerPool.ChunkTask selfTask = (lane, from, to) -> {
+        for (int k = from; k < to; k++) {
+            tile(bodies, k, k, eps2, lane);
+        }
+    };
+
+    /**
+     * Constructor for a DirectSumGravity that follows the inverse square law exactly.
+     */
+    public DirectSumGravity() {
+        this(0);
+    }
+
+    /**
+     * Constructor for a DirectSumGravity with Plummer softening. Bodies are pulled as though every distance were
+     * sqrt(d^2 + softening^2), which changes little at long range but stops close encounters from flinging bodies
+     * apart.
+     * @param softening the softening length
+     */
+    public DirectSumGravity(double softening) {
+        this.softening = softening;
+    }
+
+    @Override
+    public void accumulate(BodyStore b, WorkerPool workers) {
+        int n = b.count;
+        if (n < 2) {
+            return;
+        }
+        bodies = b;
+        eps2 = softening * softening;
+        blocks = (n + BLOCK - 1) / BLOCK;
+
+        // With an odd number of blocks a stand-in makes the count even, and each block's round against the stand-in is
+        // spent on the pairs within itself. With an even number there are no such rounds, so those get one at the end.
+        players = blocks + (blocks & 1);
+        int pairs = players / 2;
+        for (round = 0; round < players - 1; round++) {
+            workers.forChunks(pairs, (pairs + LANES - 1) / LANES, roundTask);
+        }
+        if ((blocks & 1) == 0) {
+            workers.forChunks(blocks, (blocks + LANES - 1) / LANES, selfTask);
+        }
+        bodies = null;
+    }
+
+    /**
+     * Sums the pull of every body on each of the active bodies only, which costs O(n) per active body.
+     */
+    @Override
+    public void accumulate(BodyStore b, int[] active, int count, WorkerPool workers) {
+        double eps2 = softening * softening;
+        workers.forChunks(count, (chunk, from, to) -> {
+            for (int k = from; k < to; k++) {
+                int i = active[k];
+                double x = b.x[i];
+                double y = b.y[i];
+                double sumX = 0;
+                double sumY = 0;
+                for (int j = 0; j < b.count; j++) {
+                    double dx = b.x[j] - x;
+                    double dy = b.y[j] - y;
+                    double d2 = dx * dx + dy * dy + eps2;
+                    if (j == i || d2 == 0) {
+                        continue;
+                    }
+                    double s = b.mass[j] / (d2 * Math.sqrt(d2));
+                    sumX += s * dx;
+                    sumY += s * dy;
+                }
+                b.fx[i] += ForceGravity.G * b.mass[i] * sumX;
+                b.fy[i] += ForceGravity.G * b.mass[i] * sumY;
+            }
+        });
+    }
+
+    /**
+     * Works out every pair between two blocks of bodies, adding each force to one body and taking it from the other.
+     */
+    private void tile(BodyStore b, int row, int column, double eps2, int lane) {
+        double[] fx = b.fx;
+        double[] fy = b.fy;
+        double[] sums = laneSums[lane];
+        int rowEnd = Math.min((row + 1) * BLOCK, b.count);
+        int columnStart = column * BLOCK;
+        int columnEnd = Math.min((column + 1) * BLOCK, b.count);
+        if (scalar || !Kernels.isVectorized()) {
+            for (int i = row * BLOCK; i < rowEnd; i++) {
+                int from = row == column ? i + 1 : columnStart;
+                Kernels.pullRowScalar(b.x, b.y, b.mass, from, columnEnd, b.x[i], b.y[i], ForceGravity.G * b.mass[i],
+                        eps2, fx, fy, sums);
+                fx[i] += sums[0];
+                fy[i] += sums[1];
+            }
+            return;
+        }
+
+        double[][] s = scratch[lane];
+        double[] x = s[0];
+        double[] y = s[1];
+        double[] m = s[2];
+        double[] columnX = s[3];
+        double[] columnY = s[4];
+        int width = columnEnd - columnStart;
+        System.arraycopy(b.x, columnStart, x, 0, width);
+        System.arraycopy(b.y, columnStart, y, 0, width);
+        System.arraycopy(b.mass, columnStart, m, 0, width);
+        Arrays.fill(columnX, 0, width, 0);
+        Arrays.fill(columnY, 0, width, 0);
+        for (int i = row * BLOCK; i < rowEnd; i++) {
+            int from = row == column ? i + 1 - columnStart : 0;
+            Kernels.pullRow(x, y, m, from, width, b.x[i], b.y[i], ForceGravity.G * b.mass[i], eps2,
+                    columnX, columnY, s[5], s[6], sums);
+            fx[i] += sums[0];
+            fy[i] += sums[1];
+        }
+        for (int k = 0; k < width; k++) {
+            fx[columnStart + k] += columnX[k];
+            fy[columnStart + k] += columnY[k];
+        }
+    }
+
+    /**
+     * Sums the pull of every other body on one body, without softening. Used to check other solvers against.
+     * @param b the bodies
+     * @param i the index of the body being pulled
+     * @param out where the x and y components of the force are written
+     */
+    public static void pull(BodyStore b, int i, double[] out) {
+        double x = b.x[i];
+        double y = b.y[i];
+        double m = b.mass[i];
+        double fx = 0;
+        double fy = 0;
+        for (int j = 0; j < b.count; j++) {
+            double dx = b.x[j] - x;
+            double dy = b.y[j] - y;
+            double d2 = dx * dx + dy * dy;
+            if (j == i || d2 == 0) {
+                continue;
+            }
+            double d = Math.sqrt(d2);
+            double newtons = ForceGravity.G * ((b.mass[j] * m) / d2);
+            fx += dx / d * newtons;
+            fy += dy / d * newtons;
+        }
+        out[0] = fx;
+        out[1] = fy;
+    }
+
+    /**
+     * Mutator for the Plummer softening length.
+     * @param softening the softening length, or 0 for the exact inverse square law
+     */
+    public void setSoftening(double softening) {
+        this.softening = softening;
+    }
+
+    /**
+     * Accessor for the Plummer softening length.
+     * @return the softening length
+     */
+    public double getSoftening() {
+        return softening;
+    }
+
+    /**
+     * Mutator for whether this solver keeps to the plain scalar loops. Its results then no longer depend on which
+     * kernel form the JVM it runs on would have selected.
+     * @param scalar true for the scalar loops, false to follow Kernels.isVectorized
+     */
+    public void setScalar(boolean scalar) {
+        this.scalar = scalar;
+    }
+
+    /**
+     * Accessor for whether this solver keeps to the plain scalar loops.
+     * @return true if the kernel form Kernels selected is ignored
+     */
+    public boolean isScalar() {
+        return scalar;
+    }
+}
@@ -0,0 +1,605 @@
+package in.patrickmart.model.gravity;
+
+import in.patrickmart.model.BodyStore;
+import in.patrickmart.model.WorkerPool;
+import in.patrickmart.model.forces.ForceGravity;
+
+import java.util.Arrays;
+
+/**
+ * Approximates gravity in O(n) with the fast multipole method, for scenes with up to millions of bodies.
+ *
+ * Bodies are sorted into an adaptive quadtree, which only splits cells holding more than a handful of bodies. Each
+ * cell summarizes the bodies inside it with a multipole expansion about its center of mass. Two cells that are far
+ * apart compared to their sizes interact through a local expansion, which describes the pull of the far cell
+ * anywhere inside the near one, and those local expansions are passed down the tree to every body. Cells that are too
+ * close are opened up, and neighbouring leaves are summed directly.
+ *
+ * The engine pulls bodies with an inverse square law, which in the plane is the 1/r potential rather than the
+ * logarithmic potential of true 2D gravity. That potential is not analytic in the complex plane, so the expansions are
+ * Cartesian Taylor series of 1/r, whose coefficients come from a simple recurrence.
+ *
+ * Accuracy is set by the expansion order and by the opening ratio theta: two cells interact through expansions when
+ * the sum of their radii divided by the distance between them is below theta. Every interaction done that way has a
+ * relative error of at most ratio^(order + 1) / (1 - ratio), and the worst such bound from the last step is kept.
+ */
+public class FastMultipoleGravity implements GravitySolver {
+    private static final int LEAF_SIZE = 16; // Cells holding more bodies than this are split.
+    private static final int MAX_DEPTH = 48; // Stops bodies sitting on the same point from splitting forever.
+    private static final int TASK_DEPTH = 4; // Subtrees at this depth are handed out as separate parallel tasks.
+
+    private final int order;
+    private double theta;
+
+    // The terms of an expansion, ordered by total degree. Term t stands for x^termX[t] * y^termY[t].
+    private final int terms;
+    private final int[] termX;
+    private final int[] termY;
+
+    // Precomputed (first, second, shifted, coefficient) tables for each kind of translation.
+    private final int[][] m2m; // Moments of a child into its parent.
+    private final int[][] m2l; // Moments of one cell into the local expansion of another.
+    private final int[][] l2l; // Local expansion of a parent into its child.
+    private final double[] m2mCoefficient;
+    private final double[] m2lCoefficient;
+    private final double[] l2lCoefficient;
+
+    // The tree. Each cell owns a contiguous range of perm, and children always come after their parent.
+    private int[] perm = new int[0];
+    private int[] scratch = new int[0];
+    private int nodeCount;
+    private int[] start = new int[0];
+    private int[] end = new int[0];
+    private int[] firstChild = new int[0];
+    private int[] childCount = new int[0];
+    private int[] depth = new int[0];
+    private double[] cellX = new double[0];
+    private double[] cellY = new double[0];
+    private double[] cellHalf = new double[0];
+    private double[] mass = new double[0];
+    private double[] centerX = new double[0];
+    private double[] centerY = new double[0];
+    private double[] radius = new double[0];
+    private double[] multipole = new double[0];
+    private double[] local = new double[0];
+
+    private int[] tasks = new int[0];
+    private int taskCount;
+    private double[] taskRatio = new double[0]; // The largest ratio accepted by each task.
+    private double errorBound;
+
+    /**
+     * Constructor for objects of class FastMultipoleGravity.
+     * @param order the highest degree kept in each expansion. Higher orders are more accurate and slower.
+     * @param theta the opening ratio, below 1. 0.5 is a common choice.
+     */
+    public FastMultipoleGravity(int order, double theta) {
+        this.order = order;
+        this.theta = theta;
+        this.terms = (order + 1) * (order + 2) / 2;
+        this.termX = new int[terms];
+        this.termY = new int[terms];
+        for (int n = 0; n <= order; n++) {
+            for (int ky = 0; ky <= n; ky++) {
+                termX[index(n - ky, ky)] = n - ky;
+                termY[index(n - ky, ky)] = ky;
+            }
+        }
+
+        double[][] binomial = new double[order + 1][order + 1];
+        for (int n = 0; n <= order; n++) {
+            binomial[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                binomial[n][k] = binomial[n - 1][k - 1] + (k <= n - 1 ? binomial[n - 1][k] : 0);
+            }
+        }
+
+        // M2M and L2L pair a term with every term it contains, M2L pairs terms whose degrees add up to order or less.
+        int contained = 0;
+        int summed = 0;
+        for (int a = 0; a < terms; a++) {
+            for (int c = 0; c < terms; c++) {
+                if (termX[c] <= termX[a] && termY[c] <= termY[a]) {
+                    contained++;
+                }
+                if (termX[a] + termY[a] + termX[c] + termY[c] <= order) {
+                    summed++;
+                }
+            }
+        }
+        m2m = new int[3][contained];
+        l2l = new int[3][contained];
+        m2l = new int[3][summed];
+        m2mCoefficient = new double[contained];
+        l2lCoefficient = new double[contained];
+        m2lCoefficient = new double[summed];
+        contained = 0;
+        summed = 0;
+        for (int a = 0; a < terms; a++) {
+            for (int c = 0; c < terms; c++) {
+                if (termX[c] <= termX[a] && termY[c] <= termY[a]) {
+                    // Parent moment a gets child moment c times the shift to the power a - c.
+                    int shift = index(termX[a] - termX[c], termY[a] - termY[c]);
+                    double coefficient = binomial[termX[a]][termX[c]] * binomial[termY[a]][termY[c]];
+                    m2m[0][contained] = a;
+                    m2m[1][contained] = c;
+                    m2m[2][contained] = shift;
+                    m2mCoefficient[contained] = coefficient;
+                    // Child local term c gets parent local term a times the shift to the power a - c.
+                    l2l[0][contained] = c;
+                    l2l[1][contained] = a;
+                    l2l[2][contained] = shift;
+                    l2lCoefficient[contained] = coefficient;
+                    contained++;
+                }
+                if (termX[a] + termY[a] + termX[c] + termY[c] <= order) {
+                    // Local term a gets moment c times derivative a + c of 1/r.
+                    m2l[0][summed] = a;
+                    m2l[1][summed] = c;
+                    m2l[2][summed] = index(termX[a] + termX[c], termY[a] + termY[c]);
+                    m2lCoefficient[summed] = binomial[termX[a] + termX[c]][termX[a]]
+                            * binomial[termY[a] + termY[c]][termY[a]];
+                    summed++;
+                }
+            }
+        }
+    }
+
+    /**
+     * The position of term x^kx * y^ky in an expansion.
+     */
+    private static int index(int kx, int ky) {
+        int n = kx + ky;
+        return n * (n + 1) / 2 + ky;
+    }
+
+    @Override
+    public void accumulate(BodyStore b, WorkerPool workers) {
+        if (b.count < 2) {
+            errorBound = 0;
+            return;
+        }
+        build(b);
+
+        // Sum up each cell's mass, then its multipole moments, from the leaves up.
+        workers.forChunks(nodeCount, (chunk, from, to) -> {
+            for (int node = from; node < to; node++) {
+                measure(b, node);
+            }
+        });
+        workers.forChunks(taskCount, 1, (chunk, from, to) -> {
+            double[] powers = new double[terms];
+            for (int t = from; t < to; t++) {
+                upward(b, tasks[t], powers);
+            }
+        });
+        double[] powers = new double[terms];
+        for (int node = nodeCount - 1; node >= 0; node--) {
+            if (depth[node] < TASK_DEPTH && childCount[node] > 0) {
+                gatherChildren(node, powers);
+            }
+        }
+
+        // Each task owns a subtree, and only ever writes to the cells and bodies within it.
+        workers.forChunks(taskCount, 1, (chunk, from, to) -> {
+            double[][] work = {new double[terms], new double[terms]};
+            for (int t = from; t < to; t++) {
+                int task = tasks[t];
+                taskRatio[t] = 0;
+                interact(b, task, 0, t, work);
+                downward(b, task, work[0]);
+            }
+        });
+
+        double ratio = 0;
+        for (int t = 0; t < taskCount; t++) {
+            ratio = Math.max(ratio, taskRatio[t]);
+        }
+        errorBound = ratio == 0 ? 0 : Math.pow(ratio, order + 1) / (1 - ratio);
+    }
+
+    /**
+     * Sorts the bodies into an adaptive quadtree, and picks out the subtrees that will be handed out as tasks.
+     */
+    private void build(BodyStore b) {
+        int n = b.count;
+        if (perm.length < n) {
+            perm = new int[b.x.length];
+            scratch = new int[b.x.length];
+        }
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            perm[i] = i;
+            minX = Math.min(minX, b.x[i]);
+            minY = Math.min(minY, b.y[i]);
+            maxX = Math.max(maxX, b.x[i]);
+            maxY = Math.max(maxY, b.y[i]);
+        }
+
+        nodeCount = 0;
+        double half = Math.max(maxX - minX, maxY - minY) / 2 + 1e-9;
+        addNode(0, n, (minX + maxX) / 2, (minY + maxY) / 2, half, 0);
+
+        // Nodes are split in the order they were added, so children always end up after their parents.
+        int[] count = new int[4];
+        for (int node = 0; node < nodeCount; node++) {
+            firstChild[node] = nodeCount;
+            childCount[node] = 0;
+            if (end[node] - start[node] <= LEAF_SIZE || depth[node] >= MAX_DEPTH) {
+                continue;
+            }
+            double cx = cellX[node];
+            double cy = cellY[node];
+            count[0] = count[1] = count[2] = count[3] = 0;
+            for (int k = start[node]; k < end[node]; k++) {
+                count[quadrant(b, perm[k], cx, cy)]++;
+            }
+            // A stable counting sort keeps the order of bodies within each quadrant the same from run to run.
+            int[] offset = {start[node], 0, 0, 0};
+            for (int q = 1; q < 4; q++) {
+                offset[q] = offset[q - 1] + count[q - 1];
+            }
+            int[] next = offset.clone();
+            for (int k = start[node]; k < end[node]; k++) {
+                scratch[next[quadrant(b, perm[k], cx, cy)]++] = perm[k];
+            }
+            System.arraycopy(scratch, start[node], perm, start[node], end[node] - start[node]);
+
+            double quarter = cellHalf[node] / 2;
+            for (int q = 0; q < 4; q++) {
+                if (count[q] > 0) {
+                    double x = (q & 1) == 0 ? cx - quarter : cx + quarter;
+                    double y = (q & 2) == 0 ? cy - quarter : cy + quarter;
+                    addNode(offset[q], offset[q] + count[q], x, y, quarter, depth[node] + 1);
+                    childCount[node]++;
+                }
+            }
+        }
+
+        taskCount = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            if (depth[node] == TASK_DEPTH || (depth[node] < TASK_DEPTH && childCount[node] == 0)) {
+                if (taskCount == tasks.length) {
+                    tasks = grow(tasks, taskCount * 2 + 16);
+                    taskRatio = new double[tasks.length];
+                }
+                tasks[taskCount++] = node;
+            }
+        }
+
+        if (multipole.length < nodeCount * terms) {
+            multipole = new double[cellX.length * terms];
+            local = new double[cellX.length * terms];
+        }
+        Arrays.fill(multipole, 0, nodeCount * terms, 0);
+        Arrays.fill(local, 0, nodeCount * terms, 0);
+    }
+
+    private static int quadrant(BodyStore b, int i, double cx, double cy) {
+        return (b.x[i] >= cx ? 1 : 0) | (b.y[i] >= cy ? 2 : 0);
+    }
+
+    private void addNode(int from, int to, double x, double y, double half, int level) {
+        if (nodeCount == start.length) {
+            int capacity = nodeCount * 2 + 16;
+            start = grow(start, capacity);
+            end = grow(end, capacity);
+            firstChild = grow(firstChild, capacity);
+            childCount = grow(childCount, capacity);
+            depth = grow(depth, capacity);
+            cellX = grow(cellX, capacity);
+            cellY = grow(cellY, capacity);
+            cellHalf = grow(cellHalf, capacity);
+            mass = grow(mass, capacity);
+            centerX = grow(centerX, capacity);
+            centerY = grow(centerY, capacity);
+            radius = grow(radius, capacity);
+        }
+        start[nodeCount] = from;
+        end[nodeCount] = to;
+        cellX[nodeCount] = x;
+        cellY[nodeCount] = y;
+        cellHalf[nodeCount] = half;
+        depth[nodeCount] = level;
+        nodeCount++;
+    }
+
+    private static int[] grow(int[] old, int capacity) {
+        int[] fresh = new int[capacity];
+        System.arraycopy(old, 0, fresh, 0, old.length);
+        return fresh;
+    }
+
+    private static double[] grow(double[] old, int capacity) {
+        double[] fresh = new double[capacity];
+        System.arraycopy(old, 0, fresh, 0, old.length);
+        return fresh;
+    }
+
+    /**
+     * Works out the mass, center of mass, and radius around that center of one cell.
+     */
+    private void measure(BodyStore b, int node) {
+        double m = 0;
+        double mx = 0;
+        double my = 0;
+        for (int k = start[node]; k < end[node]; k++) {
+            int i = perm[k];
+            m += b.mass[i];
+            mx += b.mass[i] * b.x[i];
+            my += b.mass[i] * b.y[i];
+        }
+        // A cell with no mass still needs a center for the geometry to work, so use the middle of its bodies.
+        double x = m == 0 ? b.x[perm[start[node]]] : mx / m;
+        double y = m == 0 ? b.y[perm[start[node]]] : my / m;
+        double r2 = 0;
+        for (int k = start[node]; k < end[node]; k++) {
+            int i = perm[k];
+            double dx = b.x[i] - x;
+            double dy = b.y[i] - y;
+            r2 = Math.max(r2, dx * dx + dy * dy);
+        }
+        mass[node] = m;
+        centerX[node] = x;
+        centerY[node] = y;
+        radius[node] = Math.sqrt(r2);
+    }
+
+    /**
+     * Works out the multipole moments of every cell in a subtree, children first.
+     */
+    private void upward(BodyStore b, int node, double[] powers) {
+        if (childCount[node] == 0) {
+            // Moment k is the sum of m * (center - position)^k over the bodies in the leaf.
+            int base = node * terms;
+            for (int k = start[node]; k < end[node]; k++) {
+                int i = perm[k];
+                monomials(centerX[node] - b.x[i], centerY[node] - b.y[i], powers);
+                for (int t = 0; t < terms; t++) {
+                    multipole[base + t] += b.mass[i] * powers[t];
+                }
+            }
+            return;
+        }
+        for (int c = firstChild[node]; c < firstChild[node] + childCount[node]; c++) {
+            upward(b, c, powers);
+        }
+        gatherChildren(node, powers);
+    }
+
+    /**
+     * Shifts the moments of every child of a cell onto the cell's own center of mass.
+     */
+    private void gatherChildren(int node, double[] powers) {
+        int base = node * terms;
+        for (int c = firstChild[node]; c < firstChild[node] + childCount[node]; c++) {
+            monomials(centerX[node] - centerX[c], centerY[node] - centerY[c], powers);
+            int childBase = c * terms;
+            for (int p = 0; p < m2mCoefficient.length; p++) {
+                multipole[base + m2m[0][p]] += m2mCoefficient[p] * powers[m2m[2][p]] * multipole[childBase + m2m[1][p]];
+            }
+        }
+    }
+
+    /**
+     * Adds the pull of source cell onto target cell. Far enough apart, the source's moments are turned into a local
+     * expansion about the target. Otherwise the larger of the two is opened up, and two leaves are summed directly.
+     * @param work scratch space for derivatives and powers
+     */
+    private void interact(BodyStore b, int target, int source, int task, double[][] work) {
+        double dx = centerX[target] - centerX[source];
+        double dy = centerY[target] - centerY[source];
+        double d2 = dx * dx + dy * dy;
+        double reach = radius[target] + radius[source];
+        if (reach * reach < theta * theta * d2) {
+            translate(source, target, dx, dy, work[0]);
+            taskRatio[task] = Math.max(taskRatio[task], reach / Math.sqrt(d2));
+            return;
+        }
+
+        boolean targetLeaf = childCount[target] == 0;
+        boolean sourceLeaf = childCount[source] == 0;
+        if (targetLeaf && sourceLeaf) {
+            direct(b, target, source);
+        } else if (sourceLeaf || (!targetLeaf && radius[target] >= radius[source])) {
+            for (int c = firstChild[target]; c < firstChild[target] + childCount[target]; c++) {
+                interact(b, c, source, task, work);
+            }
+        } else {
+            for (int c = firstChild[source]; c < firstChild[source] + childCount[source]; c++) {
+                interact(b, target, c, task, work);
+            }
+        }
+    }
+
+    /**
+     * Turns the moments of a source cell into a local expansion about a target cell. (dx, dy) runs from the source's
+     * center to the target's.
+     */
+    private void translate(int source, int target, double dx, double dy, double[] derivatives) {
+        derivatives(dx, dy, derivatives);
+        int sourceBase = source * terms;
+        int targetBase = target * terms;
+        for (int p = 0; p < m2lCoefficient.length; p++) {
+            local[targetBase + m2l[0][p]] += m2lCoefficient[p] * derivatives[m2l[2][p]]
+                    * multipole[sourceBase + m2l[1][p]];
+        }
+    }
+
+    /**
+     * Fills in the Taylor coefficients of 1/r at (x, y), that is d^k(1/r) / k! for every term k, using the
+     * recurrence |k| r^2 T_k + (2|k| - 1) (x T_{k - ex} + y T_{k - ey}) + (|k| - 1) (T_{k - 2ex} + T_{k - 2ey}) = 0.
+     */
+    private void derivatives(double x, double y, double[] out) {
+        double r2 = x * x + y * y;
+        out[0] = 1 / Math.sqrt(r2);
+        for (int n = 1; n <= order; n++) {
+            for (int ky = 0; ky <= n; ky++) {
+                int kx = n - ky;
+                double sum = 0;
+                if (kx >= 1) {
+                    sum += (2 * n - 1) * x * out[index(kx - 1, ky)];
+                }
+                if (ky >= 1) {
+                    sum += (2 * n - 1) * y * out[index(kx, ky - 1)];
+                }
+                if (kx >= 2) {
+                    sum += (n - 1) * out[index(kx - 2, ky)];
+                }
+                if (ky >= 2) {
+                    sum += (n - 1) * out[index(kx, ky - 2)];
+                }
+                out[index(kx, ky)] = -sum / (n * r2);
+            }
+        }
+    }
+
+    /**
+     * Fills in x^kx * y^ky for every term.
+     */
+    private void monomials(double x, double y, double[] out) {
+        out[0] = 1;
+        for (int n = 1; n <= order; n++) {
+            for (int ky = 0; ky < n; ky++) {
+                out[index(n - ky, ky)] = out[index(n - 1 - ky, ky)] * x;
+            }
+            out[index(0, n)] = out[index(0, n - 1)] * y;
+        }
+    }
+
+    /**
+     * Sums the pull of every body in one leaf on every body in another.
+     */
+    private void direct(BodyStore b, int target, int source) {
+        for (int k = start[target]; k < end[target]; k++) {
+            int i = perm[k];
+            double xi = b.x[i];
+            double yi = b.y[i];
+            double sumX = 0;
+            double sumY = 0;
+            for (int l = start[source]; l < end[source]; l++) {
+                int j = perm[l];
+                double dx = b.x[j] - xi;
+                double dy = b.y[j] - yi;
+                double d2 = dx * dx + dy * dy;
+                if (d2 == 0) {
+                    continue;
+                }
+                double s = b.mass[j] / (d2 * Math.sqrt(d2));
+                sumX += s * dx;
+                sumY += s * dy;
+            }
+            b.fx[i] += ForceGravity.G * b.mass[i] * sumX;
+            b.fy[i] += ForceGravity.G * b.mass[i] * sumY;
+        }
+    }
+
+    /**
+     * Passes local expansions down a subtree, and evaluates them at every body in its leaves.
+     */
+    private void downward(BodyStore b, int node, double[] powers) {
+        int base = node * terms;
+        if (childCount[node] == 0) {
+            // The potential is the sum of L_n * h^n, and the pull is its gradient.
+            for (int k = start[node]; k < end[node]; k++) {
+                int i = perm[k];
+                monomials(b.x[i] - centerX[node], b.y[i] - centerY[node], powers);
+                double gx = 0;
+                double gy = 0;
+                for (int t = 1; t < terms; t++) {
+                    double l = local[base + t];
+                    if (termX[t] > 0) {
+                        gx += l * termX[t] * powers[index(termX[t] - 1, termY[t])];
+                    }
+                    if (termY[t] > 0) {
+                        gy += l * termY[t] * powers[index(termX[t], termY[t] - 1)];
+                    }
+                }
+                b.fx[i] += ForceGravity.G * b.mass[i] * gx;
+                b.fy[i] += ForceGravity.G * b.mass[i] * gy;
+            }
+            return;
+        }
+        for (int c = firstChild[node]; c < firstChild[node] + childCount[node]; c++) {
+            monomials(centerX[c] - centerX[node], centerY[c] - centerY[node], powers);
+            int childBase = c * terms;
+            for (int p = 0; p < l2lCoefficient.length; p++) {
+                local[childBase + l2l[0][p]] += l2lCoefficient[p] * powers[l2l[2][p]] * local[base + l2l[1][p]];
+            }
+            downward(b, c, powers);
+        }
+    }
+
+    /**
+     * Measures how far this solver's forces are from those of direct summation, on an evenly spread sample of bodies.
+     * @param b the bodies
+     * @param samples how many bodies to check
+     * @return the root mean square of the relative error in force over the sample
+     */
+    public double measureError(BodyStore b, int samples) {
+        double[] fx = new double[b.count];
+        double[] fy = new double[b.count];
+        System.arraycopy(b.fx, 0, fx, 0, b.count);
+        System.arraycopy(b.fy, 0, fy, 0, b.count);
+        Arrays.fill(b.fx, 0, b.count, 0);
+        Arrays.fill(b.fy, 0, b.count, 0);
+        WorkerPool single = new WorkerPool(1);
+        accumulate(b, single);
+
+        double[] exact = new double[2];
+        int stride = Math.max(1, b.count / samples);
+        double sum = 0;
+        int measured = 0;
+        for (int i = 0; i < b.count && measured < samples; i += stride) {
+            DirectSumGravity.pull(b, i, exact);
+            double magnitude = Math.hypot(exact[0], exact[1]);
+            if (magnitude == 0) {
+                continue;
+            }
+            double error = Math.hypot(b.fx[i] - exact[0], b.fy[i] - exact[1]) / magnitude;
+            sum += error * error;
+            measured++;
+        }
+
+        // Leave the force sums the way they were found.
+        System.arraycopy(fx, 0, b.fx, 0, b.count);
+        System.arraycopy(fy, 0, b.fy, 0, b.count);
+        return measured == 0 ? 0 : Math.sqrt(sum / measured);
+    }
+
+    /**
+     * Accessor for the worst error bound of the last step: every interaction done through expansions had a relative
+     * error in potential no larger than this.
+     * @return the error bound, or 0 if every pair was summed directly
+     */
+    public double getErrorBound() {
+        return errorBound;
+    }
+
+    /**
+     * Mutator for the opening ratio.
+     * @param theta the opening ratio, below 1
+     */
+    public void setTheta(double theta) {
+        this.theta = theta;
+    }
+
+    /**
+     * Accessor for the opening ratio.
+     * @return the opening ratio
+     */
+    public double getTheta() {
+        return theta;
+    }
+
+    /**
+     * Accessor for the highest degree kept in each expansion.
+     * @return the expansion order
+     */
+    public int getOrder() {
+        return order;
+    }
+}
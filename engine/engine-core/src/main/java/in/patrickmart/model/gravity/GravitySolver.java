@@ -0,0 +1,30 @@
+package in.patrickmart.model.gravity;
+
+import in.patrickmart.model.BodyStore;
+import in.patrickmart.model.WorkerPool;
+
+/**
+ * Works out the gravitational pull of every body on every other body. Different solvers trade accuracy for speed,
+ * which matters once a Scenario holds thousands of bodies.
+ */
+public interface GravitySolver {
+    /**
+     * Adds the gravitational force on each body into the fx and fy sums of the BodyStore.
+     * @param b the bodies
+     * @param workers the pool used to share the work between threads
+     */
+    void accumulate(BodyStore b, WorkerPool workers);
+
+    /**
+     * Adds the gravitational force on some of the bodies into their fx and fy sums, for integrators that only move
+     * the bodies that are due. Solvers that can work out the pull on one body at a time should override this to skip
+     * the rest. By default every body's force is worked out, so the sums of bodies that were not asked for change too.
+     * @param b the bodies, which may have moved since their Shapes were last synced
+     * @param active the indices of the bodies whose forces are needed
+     * @param count how many of the indices in active are used
+     * @param workers the pool used to share the work between threads
+     */
+    default void accumulate(BodyStore b, int[] active, int count, WorkerPool workers) {
+        accumulate(b, workers);
+    }
+}
@@ -0,0 +1,413 @@
+package in.patrickmart.model.gravity;
+
+import in.patrickmart.model.BodyStore;
+import in.patrickmart.model.WorkerPool;
+import in.patrickmart.model.forces.ForceGravity;
+
+import java.util.Arrays;
+
+/**
+ * Approximates gravity on a grid, which beats tree codes for dense and roughly even spreads of bodies.
+ *
+ * Each step, the mass of every body is shared out between the four nearest grid points (cloud-in-cell), the pull at
+ * every grid point is found by convolving those masses with the pull of a single mass using FFTs, and the pull is
+ * read back at every body with the same four point weights. Convolving with the exact slope of the potential, rather
+ * than taking differences of the potential on the grid, avoids a large error a few cells out. The x and y slopes ride
+ * along together as the real and imaginary parts of one transform. The grid is padded to twice its size with zeros
+ * so that the far side of the grid does not wrap around and pull on the near side. In the plane, the engine's inverse
+ * square law comes from a 1/r potential rather than the logarithm that solves the 2D Poisson equation, so that is the
+ * kernel the masses are convolved with.
+ *
+ * A grid can not resolve anything closer than a few cells, so the pull is split in two: a smooth long range part,
+ * erf(r / s) / r, which the grid handles well, and the short range remainder, erfc(r / s) / r, which is summed directly
+ * between close pairs when short range correction (P3M) is on. With it off, pulls are simply softened below a few
+ * cells.
+ *
+ * All grids are kept between steps, so stepping does not allocate once the grid size stops changing.
+ */
+public class ParticleMeshGravity implements GravitySolver {
+    private static final double CUTOFF = 3.5; // Short range pairs are summed out to this many split lengths.
+    private static final int ROWS_PER_CHUNK = 8;
+
+    private int size; // Grid points along each side of the area holding bodies.
+    private int padded; // Grid points along each side once padded, always twice size.
+    private boolean shortRange;
+    private double split; // The split length s, in grid cells.
+
+    // Origin and spacing of the grid for the current step.
+    private double originX;
+    private double originY;
+    private double spacing;
+
+    // The padded grid, holding masses and then the pull, with x in the real part and y in the imaginary part.
+    private double[] real = new double[0];
+    private double[] imaginary = new double[0];
+    // The transformed slope of the kernel, rebuilt only when the spacing or split length changes.
+    private double[] kernelReal = new double[0];
+    private double[] kernelImaginary = new double[0];
+    private double kernelSpacing = -1;
+    private double kernelSplit = -1;
+
+    // FFT tables, and a line of scratch space for each chunk of rows.
+    private double[] cos = new double[0];
+    private double[] sin = new double[0];
+    private int[] reversed = new int[0];
+    private double[][] lineReal = new double[0][];
+    private double[][] lineImaginary = new double[0][];
+
+    // Buckets of bodies for finding close pairs.
+    private int[] bucketStart = new int[0];
+    private int[] bucketBodies = new int[0];
+    private int[] bucketOf = new int[0];
+
+    /**
+     * Constructor for a ParticleMeshGravity with short range correction.
+     * @param size the number of grid points along each side, a power of two
+     */
+    public ParticleMeshGravity(int size) {
+        this(size, true);
+    }
+
+    /**
+     * Constructor for objects of class ParticleMeshGravity.
+     * @param size the number of grid points along each side, a power of two
+     * @param shortRange whether close pairs are summed directly (P3M), rather than softened
+     */
+    public ParticleMeshGravity(int size, boolean shortRange) {
+        setSize(size);
+        this.shortRange = shortRange;
+        this.split = 2.5;
+    }
+
+    @Override
+    public void accumulate(BodyStore b, WorkerPool workers) {
+        int n = b.count;
+        if (n < 2) {
+            return;
+        }
+        place(b);
+        double s = split * spacing;
+        if (spacing != kernelSpacing || split != kernelSplit) {
+            buildKernel(s, workers);
+        }
+
+        deposit(b);
+        transform(real, imaginary, false, workers);
+        // Convolve with the kernel, folding in the 1 / padded^2 the inverse transform needs.
+        double scale = 1.0 / ((double) padded * padded);
+        workers.forChunks(padded * padded, (chunk, from, to) -> {
+            for (int k = from; k < to; k++) {
+                double re = real[k] * kernelReal[k] - imaginary[k] * kernelImaginary[k];
+                double im = real[k] * kernelImaginary[k] + imaginary[k] * kernelReal[k];
+                real[k] = re * scale;
+                imaginary[k] = im * scale;
+            }
+        });
+        transform(real, imaginary, true, workers);
+
+        workers.forChunks(n, (chunk, from, to) -> {
+            for (int i = from; i < to; i++) {
+                double u = (b.x[i] - originX) / spacing;
+                double v = (b.y[i] - originY) / spacing;
+                int x = (int) u;
+                int y = (int) v;
+                double wx = u - x;
+                double wy = v - y;
+                int k = y * padded + x;
+                double gx = (1 - wx) * (1 - wy) * real[k] + wx * (1 - wy) * real[k + 1]
+                        + (1 - wx) * wy * real[k + padded] + wx * wy * real[k + padded + 1];
+                double gy = (1 - wx) * (1 - wy) * imaginary[k] + wx * (1 - wy) * imaginary[k + 1]
+                        + (1 - wx) * wy * imaginary[k + padded] + wx * wy * imaginary[k + padded + 1];
+                b.fx[i] += ForceGravity.G * b.mass[i] * gx;
+                b.fy[i] += ForceGravity.G * b.mass[i] * gy;
+            }
+        });
+
+        if (shortRange) {
+            correct(b, s, workers);
+        }
+    }
+
+    /**
+     * Lays the grid over the bodies.
+     */
+    private void place(BodyStore b) {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < b.count; i++) {
+            minX = Math.min(minX, b.x[i]);
+            minY = Math.min(minY, b.y[i]);
+            maxX = Math.max(maxX, b.x[i]);
+            maxY = Math.max(maxY, b.y[i]);
+        }
+        // Bodies land between grid points 0 and size - 2, so all four of their points fit.
+        double extent = Math.max(Math.max(maxX - minX, maxY - minY), 1e-9);
+        spacing = extent / (size - 2) * (1 + 1e-9);
+        originX = minX;
+        originY = minY;
+    }
+
+    /**
+     * Shares the mass of every body out between its four nearest grid points.
+     */
+    private void deposit(BodyStore b) {
+        Arrays.fill(real, 0);
+        Arrays.fill(imaginary, 0);
+        for (int i = 0; i < b.count; i++) {
+            double u = (b.x[i] - originX) / spacing;
+            double v = (b.y[i] - originY) / spacing;
+            int x = (int) u;
+            int y = (int) v;
+            double wx = u - x;
+            double wy = v - y;
+            double m = b.mass[i];
+            int k = y * padded + x;
+            real[k] += m * (1 - wx) * (1 - wy);
+            real[k + 1] += m * wx * (1 - wy);
+            real[k + padded] += m * (1 - wx) * wy;
+            real[k + padded + 1] += m * wx * wy;
+        }
+    }
+
+    /**
+     * Fills in and transforms the long range pull of a unit mass at every offset the padded grid can hold, with the
+     * x part as the real part and the y part as the imaginary part.
+     */
+    private void buildKernel(double s, WorkerPool workers) {
+        for (int y = 0; y < padded; y++) {
+            // Offsets past halfway wrap around to negative ones.
+            double dy = (y < size ? y : y - padded) * spacing;
+            for (int x = 0; x < padded; x++) {
+                double dx = (x < size ? x : x - padded) * spacing;
+                double r = Math.sqrt(dx * dx + dy * dy);
+                double slope = r == 0 ? 0 : longRangeSlope(r, s) / r;
+                // The pull points back toward the mass, against the offset.
+                kernelReal[y * padded + x] = -slope * dx;
+                kernelImaginary[y * padded + x] = -slope * dy;
+            }
+        }
+        transform(kernelReal, kernelImaginary, false, workers);
+        kernelSpacing = spacing;
+        kernelSplit = split;
+    }
+
+    /**
+     * How fast the smooth long range part of 1/r, erf(r / s) / r, falls away with distance. This is the pull of a
+     * unit mass at distance r: erf(r / s) / r^2 - 2 / (s sqrt(pi)) * e^(-r^2 / s^2) / r
+     */
+    private static double longRangeSlope(double r, double s) {
+        return (1 - erfc(r / s)) / (r * r) - 2 / (s * Math.sqrt(Math.PI)) * Math.exp(-r * r / (s * s)) / r;
+    }
+
+    /**
+     * The complementary error function, accurate to about 1e-7 (Abramowitz and Stegun 7.1.26).
+     */
+    static double erfc(double x) {
+        double t = 1 / (1 + 0.3275911 * x);
+        double poly = t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 + t * 1.061405429))));
+        return poly * Math.exp(-x * x);
+    }
+
+    /**
+     * Adds the short range remainder of the pull between every pair of bodies closer than the cutoff, found by
+     * sorting bodies into buckets as wide as the cutoff.
+     */
+    private void correct(BodyStore b, double s, WorkerPool workers) {
+        int n = b.count;
+        double cutoff = CUTOFF * s;
+        // Buckets cover the same area as the grid.
+        int across = Math.max(1, (int) Math.ceil(size * spacing / cutoff));
+        int buckets = across * across;
+        if (bucketStart.length < buckets + 1) {
+            bucketStart = new int[buckets + 1];
+        }
+        if (bucketBodies.length < n) {
+            bucketBodies = new int[b.x.length];
+            bucketOf = new int[b.x.length];
+        }
+        Arrays.fill(bucketStart, 0, buckets + 1, 0);
+        for (int i = 0; i < n; i++) {
+            int bx = Math.min(across - 1, (int) ((b.x[i] - originX) / cutoff));
+            int by = Math.min(across - 1, (int) ((b.y[i] - originY) / cutoff));
+            bucketOf[i] = by * across + bx;
+            bucketStart[bucketOf[i] + 1]++;
+        }
+        for (int k = 0; k < buckets; k++) {
+            bucketStart[k + 1] += bucketStart[k];
+        }
+        // Fill each bucket from the back, so that bodies within a bucket stay in index order.
+        for (int i = n - 1; i >= 0; i--) {
+            bucketBodies[--bucketStart[bucketOf[i] + 1]] = i;
+        }
+        // bucketStart[k + 1] now marks the start of bucket k, and bucketStart[0] is still 0.
+        double cutoff2 = cutoff * cutoff;
+        double gaussian = 2 / (s * Math.sqrt(Math.PI));
+        workers.forChunks(n, (chunk, from, to) -> {
+            for (int i = from; i < to; i++) {
+                int bx = bucketOf[i] % across;
+                int by = bucketOf[i] / across;
+                double sumX = 0;
+                double sumY = 0;
+                for (int y = Math.max(0, by - 1); y <= Math.min(across - 1, by + 1); y++) {
+                    for (int x = Math.max(0, bx - 1); x <= Math.min(across - 1, bx + 1); x++) {
+                        int bucket = y * across + x;
+                        int last = bucket + 2 <= buckets ? bucketStart[bucket + 2] : n;
+                        for (int k = bucketStart[bucket + 1]; k < last; k++) {
+                            int j = bucketBodies[k];
+                            double dx = b.x[j] - b.x[i];
+                            double dy = b.y[j] - b.y[i];
+                            double d2 = dx * dx + dy * dy;
+                            if (d2 == 0 || d2 > cutoff2) {
+                                continue;
+                            }
+                            // The pull of erfc(r / s) / r is -d/dr of it: erfc(r / s) / r^2 + gaussian * e^(-r^2 / s^2) / r
+                            double r = Math.sqrt(d2);
+                            double pull = erfc(r / s) / d2 + gaussian * Math.exp(-d2 / (s * s)) / r;
+                            sumX += b.mass[j] * pull * dx / r;
+                            sumY += b.mass[j] * pull * dy / r;
+                        }
+                    }
+                }
+                b.fx[i] += ForceGravity.G * b.mass[i] * sumX;
+                b.fy[i] += ForceGravity.G * b.mass[i] * sumY;
+            }
+        });
+    }
+
+    /**
+     * Transforms a padded grid in place, first along every row and then along every column.
+     * @param inverse true to transform back, without scaling
+     */
+    private void transform(double[] re, double[] im, boolean inverse, WorkerPool workers) {
+        workers.forChunks(padded, ROWS_PER_CHUNK, (chunk, from, to) -> {
+            double[] lineRe = lineReal[chunk];
+            double[] lineIm = lineImaginary[chunk];
+            for (int row = from; row < to; row++) {
+                System.arraycopy(re, row * padded, lineRe, 0, padded);
+                System.arraycopy(im, row * padded, lineIm, 0, padded);
+                fft(lineRe, lineIm, inverse);
+                System.arraycopy(lineRe, 0, re, row * padded, padded);
+                System.arraycopy(lineIm, 0, im, row * padded, padded);
+            }
+        });
+        workers.forChunks(padded, ROWS_PER_CHUNK, (chunk, from, to) -> {
+            double[] lineRe = lineReal[chunk];
+            double[] lineIm = lineImaginary[chunk];
+            for (int column = from; column < to; column++) {
+                for (int k = 0; k < padded; k++) {
+                    lineRe[k] = re[k * padded + column];
+                    lineIm[k] = im[k * padded + column];
+                }
+                fft(lineRe, lineIm, inverse);
+                for (int k = 0; k < padded; k++) {
+                    re[k * padded + column] = lineRe[k];
+                    im[k * padded + column] = lineIm[k];
+                }
+            }
+        });
+    }
+
+    /**
+     * An iterative radix-2 FFT of one line.
+     */
+    private void fft(double[] re, double[] im, boolean inverse) {
+        int n = padded;
+        for (int i = 0; i < n; i++) {
+            int j = reversed[i];
+            if (j > i) {
+                double t = re[i];
+                re[i] = re[j];
+                re[j] = t;
+                t = im[i];
+                im[i] = im[j];
+                im[j] = t;
+            }
+        }
+        double sign = inverse ? 1 : -1;
+        for (int length = 2; length <= n; length <<= 1) {
+            int half = length >> 1;
+            int step = n / length;
+            for (int startIndex = 0; startIndex < n; startIndex += length) {
+                for (int k = 0; k < half; k++) {
+                    double wr = cos[k * step];
+                    double wi = sign * sin[k * step];
+                    int a = startIndex + k;
+                    int c = a + half;
+                    double tr = re[c] * wr - im[c] * wi;
+                    double ti = re[c] * wi + im[c] * wr;
+                    re[c] = re[a] - tr;
+                    im[c] = im[a] - ti;
+                    re[a] += tr;
+                    im[a] += ti;
+                }
+            }
+        }
+    }
+
+    /**
+     * Mutator for the grid size. Grids are only reallocated here.
+     * @param size the number of grid points along each side, a power of two of at least 8
+     */
+    public void setSize(int size) {
+        if (size < 8 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Grid size must be a power of two of at least 8, not " + size);
+        }
+        this.size = size;
+        this.padded = size * 2;
+        real = new double[padded * padded];
+        imaginary = new double[padded * padded];
+        kernelReal = new double[padded * padded];
+        kernelImaginary = new double[padded * padded];
+        kernelSpacing = -1;
+
+        cos = new double[padded / 2];
+        sin = new double[padded / 2];
+        for (int k = 0; k < padded / 2; k++) {
+            cos[k] = Math.cos(2 * Math.PI * k / padded);
+            sin[k] = Math.sin(2 * Math.PI * k / padded);
+        }
+        reversed = new int[padded];
+        int bits = Integer.numberOfTrailingZeros(padded);
+        for (int i = 0; i < padded; i++) {
+            reversed[i] = Integer.reverse(i) >>> (32 - bits);
+        }
+        int chunks = (padded + ROWS_PER_CHUNK - 1) / ROWS_PER_CHUNK;
+        lineReal = new double[chunks][padded];
+        lineImaginary = new double[chunks][padded];
+    }
+
+    /**
+     * Accessor for the grid size.
+     * @return the number of grid points along each side
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Mutator for whether close pairs are summed directly (P3M).
+     * @param shortRange true to sum close pairs directly, false to leave them softened
+     */
+    public void setShortRange(boolean shortRange) {
+        this.shortRange = shortRange;
+    }
+
+    /**
+     * Accessor for whether close pairs are summed directly (P3M).
+     * @return true if close pairs are summed directly
+     */
+    public boolean isShortRange() {
+        return shortRange;
+    }
+
+    /**
+     * Mutator for the length below which the grid stops being trusted, in grid cells. Longer splits make the grid
+     * more accurate and the short range sum slower.
+     * @param split the split length, in grid cells
+     */
+    public void setSplit(double split) {
+        this.split = split;
+    }
+}
@@ -0,0 +1,63 @@
+package in.patrickmart.model.joints;
+
+import in.patrickmart.model.Entity;
+import in.patrickmart.model.Vector2D;
+
+/**
+ * Keeps two anchor points a fixed distance apart, like a rigid rod or a taut rope link.
+ */
+public class DistanceJoint extends Joint {
+    private double length;
+
+    /**
+     * Constructor for a DistanceJoint that keeps its anchors as far apart as they are now.
+     * @param first The first Entity held by this Joint
+     * @param firstAnchor Where the Joint attaches to the first Entity, in Scenario coordinates
+     * @param second The second Entity held by this Joint
+     * @param secondAnchor Where the Joint attaches to the second Entity, in Scenario coordinates
+     */
+    public DistanceJoint(Entity first, Vector2D firstAnchor, Entity second, Vector2D secondAnchor) {
+        super(first, firstAnchor, second, secondAnchor);
+        this.length = firstAnchor.dist(secondAnchor);
+    }
+
+    /**
+     * Constructor for a DistanceJoint between the centers of two Entities.
+     * @param first The first Entity held by this Joint
+     * @param second The second Entity held by this Joint
+     * @param length The distance to keep between the two centers
+     */
+    public DistanceJoint(Entity first, Entity second, double length) {
+        super(first, first.getPosition(), second, second.getPosition());
+        this.length = length;
+    }
+
+    @Override
+    void project(double[] x, double[] y, double[] angle, double[] invMass, double[] invInertia) {
+        double dx = x[a] + anchorX(firstAnchorX, firstAnchorY, angle[a])
+                - x[b] - anchorX(secondAnchorX, secondAnchorY, angle[b]);
+        double dy = y[a] + anchorY(firstAnchorX, firstAnchorY, angle[a])
+                - y[b] - anchorY(secondAnchorX, secondAnchorY, angle[b]);
+        double d = Math.sqrt(dx * dx + dy * dy);
+        if (d < 1e-12) {
+            return; // No direction to push along.
+        }
+        projectLinear(x, y, angle, invMass, invInertia, dx / d, dy / d, d - length);
+    }
+
+    /**
+     * Accessor for the distance kept between the anchors.
+     * @return the length of this Joint
+     */
+    public double getLength() {
+        return length;
+    }
+
+    /**
+     * Mutator for the distance kept between the anchors.
+     * @param length the new length of this Joint
+     */
+    public void setLength(double length) {
+        this.length = length;
+    }
+}
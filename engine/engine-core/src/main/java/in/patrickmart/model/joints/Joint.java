@@ -0,0 +1,167 @@
+package in.patrickmart.model.joints;
+
+import in.patrickmart.model.Entity;
+import in.patrickmart.model.Vector2D;
+
+/**
+ * A Joint constrains how two Entities may move relative to one another. Joints are solved by projecting the
+ * positions and rotations of both Entities until the constraint holds, which stays stable at the normal step size
+ * where an equivalent spring made of Forces would need a far smaller one.
+ *
+ * Anchors are stored in each Entity's local space, rotated the same way that Shapes rotate their points.
+ */
+public abstract class Joint {
+    protected final Entity first;
+    protected final Entity second;
+
+    // Where the joint attaches to each Entity, relative to its center of mass at zero rotation.
+    protected final double firstAnchorX;
+    protected final double firstAnchorY;
+    protected final double secondAnchorX;
+    protected final double secondAnchorY;
+
+    // Where each Entity's state sits in the arrays being solved. Refreshed by the JointSolver every step.
+    int a;
+    int b;
+
+    /**
+     * Constructor for objects of class Joint.
+     * @param first The first Entity held by this Joint
+     * @param firstAnchor Where the Joint attaches to the first Entity, in Scenario coordinates
+     * @param second The second Entity held by this Joint
+     * @param secondAnchor Where the Joint attaches to the second Entity, in Scenario coordinates
+     */
+    protected Joint(Entity first, Vector2D firstAnchor, Entity second, Vector2D secondAnchor) {
+        this.first = first;
+        this.second = second;
+
+        double[] local = toLocal(first, firstAnchor);
+        firstAnchorX = local[0];
+        firstAnchorY = local[1];
+        local = toLocal(second, secondAnchor);
+        secondAnchorX = local[0];
+        secondAnchorY = local[1];
+    }
+
+    /**
+     * Converts a point in Scenario coordinates into an offset in an Entity's unrotated frame.
+     */
+    private static double[] toLocal(Entity e, Vector2D point) {
+        Vector2D position = e.getPosition();
+        double rx = point.getX() - position.getX();
+        double ry = point.getY() - position.getY();
+        double c = Math.cos(e.getRotation());
+        double s = Math.sin(e.getRotation());
+        return new double[] {c * rx - s * ry, s * rx + c * ry};
+    }
+
+    /**
+     * Moves the positions and rotations of both Entities so that this Joint's constraint holds.
+     * @param x the x position of every body
+     * @param y the y position of every body
+     * @param angle the rotation of every body
+     * @param invMass the inverse mass of every body
+     * @param invInertia the inverse moment of inertia of every body
+     */
+    abstract void project(double[] x, double[] y, double[] angle, double[] invMass, double[] invInertia);
+
+    /**
+     * Pushes both anchors along a direction to remove some error. The error must grow by 1 for every unit the
+     * first anchor moves along the direction, and shrink by 1 for every unit the second anchor does.
+     * @param nx the x component of the unit direction
+     * @param ny the y component of the unit direction
+     * @param error how far the constraint currently is from holding
+     */
+    protected void projectLinear(double[] x, double[] y, double[] angle, double[] invMass, double[] invInertia,
+                                 double nx, double ny, double error) {
+        double rax = anchorX(firstAnchorX, firstAnchorY, angle[a]);
+        double ray = anchorY(firstAnchorX, firstAnchorY, angle[a]);
+        double rbx = anchorX(secondAnchorX, secondAnchorY, angle[b]);
+        double rby = anchorY(secondAnchorX, secondAnchorY, angle[b]);
+
+        // How far each anchor moves along the direction when its body turns by one radian.
+        double ga = nx * ray - ny * rax;
+        double gb = nx * rby - ny * rbx;
+
+        double w = invMass[a] + invInertia[a] * ga * ga + invMass[b] + invInertia[b] * gb * gb;
+        if (w == 0) {
+            return;
+        }
+        double lambda = -error / w;
+
+        // Bodies that can not move are shared between Joints of the same color, so they are never written to.
+        if (invMass[a] != 0) {
+            x[a] += invMass[a] * lambda * nx;
+            y[a] += invMass[a] * lambda * ny;
+        }
+        if (invInertia[a] != 0) {
+            angle[a] += invInertia[a] * lambda * ga;
+        }
+        if (invMass[b] != 0) {
+            x[b] -= invMass[b] * lambda * nx;
+            y[b] -= invMass[b] * lambda * ny;
+        }
+        if (invInertia[b] != 0) {
+            angle[b] -= invInertia[b] * lambda * gb;
+        }
+    }
+
+    /**
+     * Turns both bodies so that the second is rotated a fixed amount relative to the first.
+     * @param reference the rotation of the second body relative to the first when the constraint holds
+     */
+    protected void projectAngular(double[] angle, double[] invInertia, double reference) {
+        double w = invInertia[a] + invInertia[b];
+        if (w == 0) {
+            return;
+        }
+        // Rotations wrap around at a full turn, so find the shortest way back to the reference.
+        double error = Math.IEEEremainder((angle[b] - angle[a]) - reference, Math.PI * 2);
+        double lambda = -error / w;
+        if (invInertia[a] != 0) {
+            angle[a] -= invInertia[a] * lambda;
+        }
+        if (invInertia[b] != 0) {
+            angle[b] += invInertia[b] * lambda;
+        }
+    }
+
+    /**
+     * The x component of a local anchor once its body is rotated.
+     */
+    protected static double anchorX(double localX, double localY, double angle) {
+        return localX * Math.cos(angle) + localY * Math.sin(angle);
+    }
+
+    /**
+     * The y component of a local anchor once its body is rotated.
+     */
+    protected static double anchorY(double localX, double localY, double angle) {
+        return -localX * Math.sin(angle) + localY * Math.cos(angle);
+    }
+
+    /**
+     * Accessor for the first Entity held by this Joint.
+     * @return the first Entity
+     */
+    public Entity getFirst() {
+        return first;
+    }
+
+    /**
+     * Accessor for the second Entity held by this Joint.
+     * @return the second Entity
+     */
+    public Entity getSecond() {
+        return second;
+    }
+
+    /**
+     * Determines whether this Joint holds some Entity.
+     * @param e the Entity to look for
+     * @return true if e is either end of this Joint
+     */
+    public boolean holds(Entity e) {
+        return first.equals(e) || second.equals(e);
+    }
+}
@@ -0,0 +1,261 @@
+package in.patrickmart.model.joints;
+
+import in.patrickmart.model.BodyStore;
+import in.patrickmart.model.Entity;
+import in.patrickmart.model.WorkerPool;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Solves every Joint in a Scenario. Joints are split into colored batches in which no two Joints share a moving
+ * body, so every Joint within a batch can be projected at the same time without any locking. Batches are solved
+ * one after another, in a fixed order, so results never depend on how many threads are used.
+ */
+public class JointSolver {
+    private static final int MAX_COLORS = 64; // Joints that can not fit in a colored batch are solved on one thread.
+    private static final int BATCH_CHUNK = 64; // How many Joints each parallel task projects.
+
+    private ArrayList<Joint> joints;
+    private int iterations;
+
+    private int[] colors = new int[0]; // The color of each Joint.
+    private int[] order = new int[0]; // Joint indices sorted by color.
+    private int[] colorStart = new int[MAX_COLORS + 2];
+    private int[] colorNext = new int[MAX_COLORS + 1];
+    private long[] usedColors = new long[0]; // Which colors already touch each body.
+    private boolean[] isTouched = new boolean[0];
+    private int[] touched = new int[0]; // Every moving body held by at least one Joint.
+    private int touchedCount;
+
+    // The state of every body before the Joints were solved, used to work out velocity changes.
+    private double[] startX = new double[0];
+    private double[] startY = new double[0];
+    private double[] startAngle = new double[0];
+
+    // The batch being projected by batchTask, kept here so that the task is built once rather than every batch.
+    private double[] x;
+    private double[] y;
+    private double[] angle;
+    private BodyStore bodies;
+    private int batchStart;
+    private final WorkerPool.ChunkTask batchTask = (chunk, from, to) -> {
+        for (int k = from; k < to; k++) {
+            joints.get(order[batchStart + k]).project(x, y, angle, bodies.invMass, bodies.invInertia);
+        }
+    };
+
+    /**
+     * Constructor for objects of class JointSolver.
+     */
+    public JointSolver() {
+        joints = new ArrayList<>();
+        iterations = 8;
+    }
+
+    /**
+     * Looks up where each Joint's bodies sit in the arrays, and sorts the Joints into colored batches.
+     * @param b the bodies the Joints will be solved against
+     */
+    public void prepare(BodyStore b) {
+        int n = joints.size();
+        if (order.length < n) {
+            order = new int[Math.max(n, order.length * 2)];
+            colors = new int[order.length];
+        }
+        if (usedColors.length < b.count) {
+            usedColors = new long[Math.max(b.count, usedColors.length * 2)];
+            isTouched = new boolean[usedColors.length];
+            touched = new int[usedColors.length];
+        }
+        Arrays.fill(usedColors, 0, b.count, 0);
+        Arrays.fill(isTouched, 0, b.count, false);
+        Arrays.fill(colorStart, 0);
+        touchedCount = 0;
+
+        // Greedily give each Joint the lowest color that neither of its moving bodies is part of yet.
+        for (int i = 0; i < n; i++) {
+            Joint j = joints.get(i);
+            j.a = j.first.getIndex();
+            j.b = j.second.getIndex();
+            boolean movesA = moves(b, j.a);
+            boolean movesB = moves(b, j.b);
+            long used = (movesA ? usedColors[j.a] : 0) | (movesB ? usedColors[j.b] : 0);
+            int color = used == -1L ? MAX_COLORS : Long.numberOfTrailingZeros(~used);
+            if (color < MAX_COLORS) {
+                touch(j.a, movesA, 1L << color);
+                touch(j.b, movesB, 1L << color);
+            } else {
+                touch(j.a, movesA, 0);
+                touch(j.b, movesB, 0);
+            }
+            colors[i] = color;
+            colorStart[color + 1]++;
+        }
+
+        // Sort the Joints by color, keeping their original order within each color.
+        for (int c = 0; c <= MAX_COLORS; c++) {
+            colorStart[c + 1] += colorStart[c];
+        }
+        System.arraycopy(colorStart, 0, colorNext, 0, MAX_COLORS + 1);
+        for (int i = 0; i < n; i++) {
+            order[colorNext[colors[i]]++] = i;
+        }
+    }
+
+    /**
+     * Whether a Joint can move a body at all. Bodies that can not move, such as static ones, are left out of coloring
+     * so that any number of Joints in a batch can share them, which Joint.project allows by never writing to them.
+     */
+    private boolean moves(BodyStore b, int i) {
+        return b.invMass[i] != 0 || b.invInertia[i] != 0;
+    }
+
+    /**
+     * Marks a moving body as held by a Joint of some color.
+     */
+    private void touch(int body, boolean moves, long color) {
+        if (!moves) {
+            return;
+        }
+        if (!isTouched[body]) {
+            isTouched[body] = true;
+            touched[touchedCount++] = body;
+        }
+        usedColors[body] |= color;
+    }
+
+    /**
+     * Projects every Joint once, batch by batch.
+     * @param x the x position of every body
+     * @param y the y position of every body
+     * @param angle the rotation of every body
+     * @param b the bodies, for their inverse masses
+     * @param workers the pool used to project each batch in parallel
+     */
+    public void iterate(double[] x, double[] y, double[] angle, BodyStore b, WorkerPool workers) {
+        this.x = x;
+        this.y = y;
+        this.angle = angle;
+        this.bodies = b;
+        for (int c = 0; c < MAX_COLORS; c++) {
+            batchStart = colorStart[c];
+            int size = colorStart[c + 1] - batchStart;
+            if (size == 0) {
+                break; // Colors are handed out lowest first, so an empty batch means there are no more.
+            }
+            workers.forChunks(size, BATCH_CHUNK, batchTask);
+        }
+        for (int k = colorStart[MAX_COLORS]; k < colorStart[MAX_COLORS + 1]; k++) {
+            joints.get(order[k]).project(x, y, angle, b.invMass, b.invInertia);
+        }
+        this.x = null;
+        this.y = null;
+        this.angle = null;
+        this.bodies = null;
+    }
+
+    /**
+     * Solves every Joint against bodies that have already been moved this step, then adds whatever extra movement
+     * the Joints caused to each body's velocity so that the correction carries on into the next step.
+     * @param b the bodies
+     * @param dt the length of the step, in seconds
+     * @param workers the pool used to project each batch in parallel
+     */
+    public void solve(BodyStore b, double dt, WorkerPool workers) {
+        if (joints.isEmpty()) {
+            return;
+        }
+        prepare(b);
+        if (startX.length < b.count) {
+            startX = new double[b.x.length];
+            startY = new double[b.x.length];
+            startAngle = new double[b.x.length];
+        }
+        for (int t = 0; t < touchedCount; t++) {
+            int i = touched[t];
+            startX[i] = b.x[i];
+            startY[i] = b.y[i];
+            startAngle[i] = b.angle[i];
+        }
+
+        for (int k = 0; k < iterations; k++) {
+            iterate(b.x, b.y, b.angle, b, workers);
+        }
+
+        for (int t = 0; t < touchedCount; t++) {
+            int i = touched[t];
+            b.vx[i] += (b.x[i] - startX[i]) / dt;
+            b.vy[i] += (b.y[i] - startY[i]) / dt;
+            b.omega[i] += (b.angle[i] - startAngle[i]) / dt;
+        }
+    }
+
+    /**
+     * Adds a Joint to be solved.
+     * @param joint the Joint
+     */
+    public void addJoint(Joint joint) {
+        joints.add(joint);
+    }
+
+    /**
+     * Stops solving a Joint.
+     * @param joint the Joint
+     */
+    public void removeJoint(Joint joint) {
+        joints.remove(joint);
+    }
+
+    /**
+     * Stops solving every Joint that holds some Entity, such as when that Entity leaves the Scenario.
+     * @param e the Entity
+     */
+    public void removeJointsOf(Entity e) {
+        joints.removeIf(j -> j.holds(e));
+    }
+
+    /**
+     * Removes every Joint.
+     */
+    public void clear() {
+        joints.clear();
+    }
+
+    /**
+     * Accessor for every Joint being solved.
+     * @return the list of Joints
+     */
+    public ArrayList<Joint> getJoints() {
+        return joints;
+    }
+
+    /**
+     * Accessor for the number of batches Joints were split into at the last prepare, not counting Joints solved on
+     * a single thread.
+     * @return the number of colors in use
+     */
+    public int getColorCount() {
+        int c = 0;
+        while (c < MAX_COLORS && colorStart[c + 1] > colorStart[c]) {
+            c++;
+        }
+        return c;
+    }
+
+    /**
+     * Mutator for how many times each Joint is projected per step.
+     * @param iterations the iteration budget
+     */
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * Accessor for how many times each Joint is projected per step.
+     * @return the iteration budget
+     */
+    public int getIterations() {
+        return iterations;
+    }
+}
@@ -0,0 +1,45 @@
+package in.patrickmart.model.joints;
+
+import in.patrickmart.model.Entity;
+import in.patrickmart.model.Vector2D;
+
+/**
+ * Lets the second Entity slide along an axis fixed to the first, like a piston in its cylinder. Neither Entity may
+ * turn relative to the other.
+ */
+public class PrismaticJoint extends Joint {
+    private final double axisX; // The sliding axis in the first Entity's unrotated frame.
+    private final double axisY;
+    private final double referenceAngle;
+
+    /**
+     * Constructor for objects of class PrismaticJoint.
+     * @param first The Entity that carries the sliding axis
+     * @param second The Entity that slides along it
+     * @param anchor A point on the axis, in Scenario coordinates
+     * @param axis The direction of the axis, in Scenario coordinates
+     */
+    public PrismaticJoint(Entity first, Entity second, Vector2D anchor, Vector2D axis) {
+        super(first, anchor, second, anchor);
+        Vector2D unit = axis.copy().normalize();
+        double c = Math.cos(first.getRotation());
+        double s = Math.sin(first.getRotation());
+        this.axisX = c * unit.getX() - s * unit.getY();
+        this.axisY = s * unit.getX() + c * unit.getY();
+        this.referenceAngle = second.getRotation() - first.getRotation();
+    }
+
+    @Override
+    void project(double[] x, double[] y, double[] angle, double[] invMass, double[] invInertia) {
+        projectAngular(angle, invInertia, referenceAngle);
+
+        // Remove any offset between the anchors that is perpendicular to the axis.
+        double nx = -anchorY(axisX, axisY, angle[a]);
+        double ny = anchorX(axisX, axisY, angle[a]);
+        double dx = x[a] + anchorX(firstAnchorX, firstAnchorY, angle[a])
+                - x[b] - anchorX(secondAnchorX, secondAnchorY, angle[b]);
+        double dy = y[a] + anchorY(firstAnchorX, firstAnchorY, angle[a])
+                - y[b] - anchorY(secondAnchorX, secondAnchorY, angle[b]);
+        projectLinear(x, y, angle, invMass, invInertia, nx, ny, dx * nx + dy * ny);
+    }
+}
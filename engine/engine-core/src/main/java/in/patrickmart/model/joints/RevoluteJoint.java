@@ -0,0 +1,41 @@
+package in.patrickmart.model.joints;
+
+import in.patrickmart.model.Entity;
+import in.patrickmart.model.Vector2D;
+
+/**
+ * Pins two Entities together at a single point, around which they are free to turn. Hinges and pendulum pivots are
+ * revolute joints.
+ */
+public class RevoluteJoint extends Joint {
+
+    /**
+     * Constructor for objects of class RevoluteJoint.
+     * @param first The first Entity held by this Joint
+     * @param second The second Entity held by this Joint
+     * @param pivot The shared point both Entities turn around, in Scenario coordinates
+     */
+    public RevoluteJoint(Entity first, Entity second, Vector2D pivot) {
+        super(first, pivot, second, pivot);
+    }
+
+    @Override
+    void project(double[] x, double[] y, double[] angle, double[] invMass, double[] invInertia) {
+        projectPivot(this, x, y, angle, invMass, invInertia);
+    }
+
+    /**
+     * Pulls the two anchors of a Joint onto each other. Shared with joints that also pin their bodies together.
+     */
+    static void projectPivot(Joint j, double[] x, double[] y, double[] angle, double[] invMass, double[] invInertia) {
+        double dx = x[j.a] + anchorX(j.firstAnchorX, j.firstAnchorY, angle[j.a])
+                - x[j.b] - anchorX(j.secondAnchorX, j.secondAnchorY, angle[j.b]);
+        double dy = y[j.a] + anchorY(j.firstAnchorX, j.firstAnchorY, angle[j.a])
+                - y[j.b] - anchorY(j.secondAnchorX, j.secondAnchorY, angle[j.b]);
+        double d = Math.sqrt(dx * dx + dy * dy);
+        if (d < 1e-12) {
+            return;
+        }
+        j.projectLinear(x, y, angle, invMass, invInertia, dx / d, dy / d, d);
+    }
+}
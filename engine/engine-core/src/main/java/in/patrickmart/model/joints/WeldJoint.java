@@ -0,0 +1,28 @@
+package in.patrickmart.model.joints;
+
+import in.patrickmart.model.Entity;
+import in.patrickmart.model.Vector2D;
+
+/**
+ * Glues two Entities together at a point, so that they neither separate nor turn relative to one another.
+ */
+public class WeldJoint extends Joint {
+    private final double referenceAngle; // The rotation of the second Entity relative to the first.
+
+    /**
+     * Constructor for objects of class WeldJoint. The Entities are held at their current relative rotation.
+     * @param first The first Entity held by this Joint
+     * @param second The second Entity held by this Joint
+     * @param point Where the two Entities are welded together, in Scenario coordinates
+     */
+    public WeldJoint(Entity first, Entity second, Vector2D point) {
+        super(first, point, second, point);
+        this.referenceAngle = second.getRotation() - first.getRotation();
+    }
+
+    @Override
+    void project(double[] x, double[] y, double[] angle, double[] invMass, double[] invInertia) {
+        projectAngular(angle, invInertia, referenceAngle);
+        RevoluteJoint.projectPivot(this, x, y, angle, invMass, invInertia);
+    }
+}
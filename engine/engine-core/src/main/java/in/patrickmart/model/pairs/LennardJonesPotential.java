@@ -0,0 +1,43 @@
+package in.patrickmart.model.pairs;
+
+/**
+ * The Lennard-Jones potential, 4 * epsilon * ((sigma / r)^12 - (sigma / r)^6), under which bodies pull on each other
+ * gently from a distance and push apart hard once closer than sigma. The force simply stops at the cutoff.
+ */
+public class LennardJonesPotential extends PairPotential {
+    private final double epsilon;
+    private final double sigma2;
+
+    /**
+     * Constructor for a LennardJonesPotential cut off at the usual 2.5 sigma.
+     * @param epsilon the depth of the energy well, in J
+     * @param sigma the distance at which the energy crosses zero
+     */
+    public LennardJonesPotential(double epsilon, double sigma) {
+        this(epsilon, sigma, 2.5 * sigma);
+    }
+
+    /**
+     * Constructor for objects of class LennardJonesPotential.
+     * @param epsilon the depth of the energy well, in J
+     * @param sigma the distance at which the energy crosses zero
+     * @param cutoff the distance past which bodies no longer feel each other
+     */
+    public LennardJonesPotential(double epsilon, double sigma, double cutoff) {
+        super(cutoff);
+        this.epsilon = epsilon;
+        this.sigma2 = sigma * sigma;
+    }
+
+    @Override
+    public double force(double r2) {
+        double s6 = sigma2 * sigma2 * sigma2 / (r2 * r2 * r2);
+        return 24 * epsilon * (2 * s6 * s6 - s6) / r2;
+    }
+
+    @Override
+    public double energy(double r2) {
+        double s6 = sigma2 * sigma2 * sigma2 / (r2 * r2 * r2);
+        return 4 * epsilon * (s6 * s6 - s6);
+    }
+}
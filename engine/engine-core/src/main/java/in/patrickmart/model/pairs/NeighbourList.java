@@ -0,0 +1,233 @@
+package in.patrickmart.model.pairs;
+
+import in.patrickmart.model.BodyStore;
+import in.patrickmart.model.Entity;
+import in.patrickmart.model.WorkerPool;
+
+import java.util.Arrays;
+
+/**
+ * Lists, for every body, the other bodies close enough to it to matter (a Verlet list). Pairs are listed out to the
+ * cutoff plus a skin, so that bodies can wander a little before the list needs building again: until some body has
+ * moved more than half the skin, no two bodies that were further apart than that can have come within the cutoff.
+ *
+ * The list is built by sorting bodies into cells at least as wide as the cutoff plus the skin, so each body only has
+ * to look through the cell it is in and the eight around it, and building costs O(n) rather than O(n^2).
+ *
+ * Each body lists all of its neighbours, so every pair appears twice. That lets each body sum its own forces without
+ * writing to any other body, so chunks of bodies can be worked through in parallel with no locking.
+ */
+public class NeighbourList {
+    private int rebuilds; // How many times the list has been built.
+
+    // What the list was last built for.
+    private Entity[] builtEntities = new Entity[0];
+    private double[] builtX = new double[0];
+    private double[] builtY = new double[0];
+    private int builtCount = -1;
+    private double builtCutoff = -1;
+    private double builtSkin = -1;
+    private boolean[] chunkMoved = new boolean[0];
+
+    // Bodies sorted by cell. The bodies in cell c are cellBodies[cellStart[c]] up to cellBodies[cellStart[c + 1]].
+    private int[] cellStart = new int[0];
+    private int[] cellFill = new int[0];
+    private int[] cellBodies = new int[0];
+    private int[] cellOf = new int[0];
+
+    // The neighbours of body i are neighbours[start[i]] up to neighbours[start[i + 1]].
+    int[] start = new int[1];
+    int[] neighbours = new int[0];
+    private int[][] chunkNeighbours = new int[0][];
+    private int[] chunkLength = new int[0];
+
+    /**
+     * Builds the list again if it might have gone stale: if bodies were added or removed, if the cutoff or skin
+     * changed, or if any body has moved more than half the skin since the last build.
+     * @param b the bodies
+     * @param cutoff the distance past which bodies no longer feel each other
+     * @param skin how much further than the cutoff pairs are listed
+     * @param workers the threads to work with
+     * @return true if the list was built again
+     */
+    public boolean update(BodyStore b, double cutoff, double skin, WorkerPool workers) {
+        if (!stale(b, cutoff, skin, workers)) {
+            return false;
+        }
+        build(b, cutoff, skin, workers);
+        return true;
+    }
+
+    /**
+     * Checks whether the list can still be trusted.
+     */
+    private boolean stale(BodyStore b, double cutoff, double skin, WorkerPool workers) {
+        if (b.count != builtCount || cutoff != builtCutoff || skin != builtSkin) {
+            return true;
+        }
+        int chunks = WorkerPool.chunkCount(b.count);
+        if (chunkMoved.length < chunks) {
+            chunkMoved = new boolean[chunks];
+        }
+        double limit2 = skin * skin / 4;
+        workers.forChunks(b.count, (chunk, from, to) -> {
+            boolean moved = false;
+            for (int i = from; i < to && !moved; i++) {
+                double dx = b.x[i] - builtX[i];
+                double dy = b.y[i] - builtY[i];
+                moved = dx * dx + dy * dy > limit2 || b.entities[i] != builtEntities[i];
+            }
+            chunkMoved[chunk] = moved;
+        });
+        for (int c = 0; c < chunks; c++) {
+            if (chunkMoved[c]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sorts bodies into cells, then lists every body's neighbours from the nine cells around it.
+     */
+    private void build(BodyStore b, double cutoff, double skin, WorkerPool workers) {
+        int n = b.count;
+        double reach = cutoff + skin;
+        if (builtX.length < n) {
+            builtEntities = new Entity[b.x.length];
+            builtX = new double[b.x.length];
+            builtY = new double[b.x.length];
+            cellBodies = new int[b.x.length];
+            cellOf = new int[b.x.length];
+            start = new int[b.x.length + 1];
+        }
+
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            minX = Math.min(minX, b.x[i]);
+            minY = Math.min(minY, b.y[i]);
+            maxX = Math.max(maxX, b.x[i]);
+            maxY = Math.max(maxY, b.y[i]);
+        }
+        // Cells are never narrower than the reach, and there are never many more cells than bodies.
+        int columns = Math.max(1, (int) Math.min((maxX - minX) / reach, Integer.MAX_VALUE));
+        int rows = Math.max(1, (int) Math.min((maxY - minY) / reach, Integer.MAX_VALUE));
+        while ((long) columns * rows > 2L * n + 1) {
+            columns = (columns + 1) / 2;
+            rows = (rows + 1) / 2;
+        }
+        double width = Math.max((maxX - minX) / columns, reach);
+        double height = Math.max((maxY - minY) / rows, reach);
+        int cells = columns * rows;
+
+        // Counting sort, which keeps the bodies in each cell in index order.
+        if (cellStart.length < cells + 1) {
+            cellStart = new int[cells + 1];
+            cellFill = new int[cells];
+        }
+        Arrays.fill(cellStart, 0, cells + 1, 0);
+        for (int i = 0; i < n; i++) {
+            int column = Math.min(columns - 1, (int) ((b.x[i] - minX) / width));
+            int row = Math.min(rows - 1, (int) ((b.y[i] - minY) / height));
+            cellOf[i] = row * columns + column;
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < cells; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        System.arraycopy(cellStart, 0, cellFill, 0, cells);
+        for (int i = 0; i < n; i++) {
+            cellBodies[cellFill[cellOf[i]]++] = i;
+        }
+
+        // Each chunk lists the neighbours of its own bodies, which are then joined up in chunk order.
+        int chunks = WorkerPool.chunkCount(n);
+        if (chunkNeighbours.length < chunks) {
+            chunkNeighbours = Arrays.copyOf(chunkNeighbours, chunks);
+            chunkLength = new int[chunks];
+        }
+        double reach2 = reach * reach;
+        int columnCount = columns;
+        int rowCount = rows;
+        workers.forChunks(n, (chunk, from, to) -> {
+            int[] list = chunkNeighbours[chunk];
+            if (list == null) {
+                list = new int[WorkerPool.CHUNK_SIZE * 8];
+            }
+            int length = 0;
+            for (int i = from; i < to; i++) {
+                int column = cellOf[i] % columnCount;
+                int row = cellOf[i] / columnCount;
+                int before = length;
+                for (int y = Math.max(0, row - 1); y <= Math.min(rowCount - 1, row + 1); y++) {
+                    for (int x = Math.max(0, column - 1); x <= Math.min(columnCount - 1, column + 1); x++) {
+                        int cell = y * columnCount + x;
+                        for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                            int j = cellBodies[k];
+                            double dx = b.x[j] - b.x[i];
+                            double dy = b.y[j] - b.y[i];
+                            if (j == i || dx * dx + dy * dy >= reach2) {
+                                continue;
+                            }
+                            if (length == list.length) {
+                                list = Arrays.copyOf(list, length * 2);
+                            }
+                            list[length++] = j;
+                        }
+                    }
+                }
+                start[i + 1] = length - before;
+            }
+            chunkNeighbours[chunk] = list;
+            chunkLength[chunk] = length;
+        });
+
+        start[0] = 0;
+        for (int i = 0; i < n; i++) {
+            start[i + 1] += start[i];
+        }
+        if (neighbours.length < start[n]) {
+            neighbours = new int[start[n] + start[n] / 4];
+        }
+        int offset = 0;
+        for (int c = 0; c < chunks; c++) {
+            System.arraycopy(chunkNeighbours[c], 0, neighbours, offset, chunkLength[c]);
+            offset += chunkLength[c];
+        }
+
+        System.arraycopy(b.entities, 0, builtEntities, 0, n);
+        System.arraycopy(b.x, 0, builtX, 0, n);
+        System.arraycopy(b.y, 0, builtY, 0, n);
+        builtCount = n;
+        builtCutoff = cutoff;
+        builtSkin = skin;
+        rebuilds++;
+    }
+
+    /**
+     * Forces the list to be built again on the next update.
+     */
+    public void invalidate() {
+        builtCount = -1;
+    }
+
+    /**
+     * Accessor for how many bodies one body has listed as neighbours.
+     * @param i the index of the body
+     * @return the number of listed neighbours, which may include some just past the cutoff
+     */
+    public int countNeighbours(int i) {
+        return start[i + 1] - start[i];
+    }
+
+    /**
+     * Accessor for how many times the list has been built.
+     * @return the number of builds so far
+     */
+    public int getRebuilds() {
+        return rebuilds;
+    }
+}
@@ -0,0 +1,41 @@
+package in.patrickmart.model.pairs;
+
+/**
+ * A force between every two bodies closer together than some cutoff, such as the Lennard-Jones pull between atoms or
+ * the push between overlapping soft spheres. Potentials are handed squared distances, so that the common ones can be
+ * worked out without a square root, and are only ever asked about pairs closer than their cutoff.
+ */
+public abstract class PairPotential {
+    private double cutoff;
+
+    /**
+     * Constructor for objects of class PairPotential.
+     * @param cutoff the distance past which bodies no longer feel each other
+     */
+    protected PairPotential(double cutoff) {
+        this.cutoff = cutoff;
+    }
+
+    /**
+     * The force between two bodies, divided by the distance between them, so that multiplying it by the offset from
+     * one body to the other gives the push on that other body.
+     * @param r2 the squared distance between the bodies, never 0 and always below the squared cutoff
+     * @return the force over the distance, positive when the bodies push apart and negative when they pull together
+     */
+    public abstract double force(double r2);
+
+    /**
+     * The potential energy held between two bodies.
+     * @param r2 the squared distance between the bodies, never 0 and always below the squared cutoff
+     * @return the energy, in J
+     */
+    public abstract double energy(double r2);
+
+    /**
+     * Accessor for the cutoff.
+     * @return the distance past which bodies no longer feel each other
+     */
+    public double getCutoff() {
+        return cutoff;
+    }
+}
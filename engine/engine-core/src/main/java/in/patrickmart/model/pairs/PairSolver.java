@@ -0,0 +1,147 @@
+package in.patrickmart.model.pairs;
+
+import in.patrickmart.model.BodyStore;
+import in.patrickmart.model.WorkerPool;
+
+import java.util.ArrayList;
+
+/**
+ * Applies every PairPotential in a Scenario. All potentials share one NeighbourList, built out to the longest cutoff,
+ * so the cost of a step grows with the number of bodies rather than the number of pairs. Each body sums the pull of
+ * its own neighbours, so the results do not depend on how many threads do the work.
+ */
+public class PairSolver {
+    private static final double DEFAULT_SKIN = 0.3; // Skin as a fraction of the longest cutoff, unless set.
+
+    private ArrayList<PairPotential> potentials;
+    private NeighbourList neighbours;
+    private double skin; // How much further than the cutoff pairs are listed. Negative to use DEFAULT_SKIN.
+
+    /**
+     * Constructor for objects of class PairSolver.
+     */
+    public PairSolver() {
+        potentials = new ArrayList<PairPotential>();
+        neighbours = new NeighbourList();
+        skin = -1;
+    }
+
+    /**
+     * Adds the force of every PairPotential between every two bodies within its cutoff into their force sums.
+     * @param b the bodies
+     * @param workers the threads to work with
+     */
+    public void accumulate(BodyStore b, WorkerPool workers) {
+        if (potentials.isEmpty() || b.count < 2) {
+            return;
+        }
+        double cutoff = getCutoff();
+        neighbours.update(b, cutoff, skin < 0 ? cutoff * DEFAULT_SKIN : skin, workers);
+        int[] start = neighbours.start;
+        int[] list = neighbours.neighbours;
+        for (PairPotential potential : potentials) {
+            double cutoff2 = potential.getCutoff() * potential.getCutoff();
+            workers.forChunks(b.count, (chunk, from, to) -> {
+                for (int i = from; i < to; i++) {
+                    double x = b.x[i];
+                    double y = b.y[i];
+                    double sumX = 0;
+                    double sumY = 0;
+                    for (int k = start[i]; k < start[i + 1]; k++) {
+                        int j = list[k];
+                        double dx = x - b.x[j];
+                        double dy = y - b.y[j];
+                        double r2 = dx * dx + dy * dy;
+                        if (r2 >= cutoff2 || r2 == 0) {
+                            continue;
+                        }
+                        double f = potential.force(r2);
+                        sumX += f * dx;
+                        sumY += f * dy;
+                    }
+                    b.fx[i] += sumX;
+                    b.fy[i] += sumY;
+                }
+            });
+        }
+    }
+
+    /**
+     * Adds up the energy held between every pair of bodies within reach of each other. This walks the NeighbourList
+     * from the last accumulate, so the bodies must not have moved further than half the skin since then.
+     * @param b the bodies
+     * @return the total potential energy, in J
+     */
+    public double energy(BodyStore b) {
+        double total = 0;
+        for (PairPotential potential : potentials) {
+            double cutoff2 = potential.getCutoff() * potential.getCutoff();
+            for (int i = 0; i < b.count; i++) {
+                for (int k = neighbours.start[i]; k < neighbours.start[i + 1]; k++) {
+                    int j = neighbours.neighbours[k];
+                    double dx = b.x[i] - b.x[j];
+                    double dy = b.y[i] - b.y[j];
+                    double r2 = dx * dx + dy * dy;
+                    // Every pair is listed twice, so only count it from its lower index.
+                    if (j > i && r2 < cutoff2 && r2 != 0) {
+                        total += potential.energy(r2);
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Adds a PairPotential to apply between every two bodies within its cutoff.
+     * @param potential the potential
+     */
+    public void addPotential(PairPotential potential) {
+        potentials.add(potential);
+    }
+
+    /**
+     * Stops applying a PairPotential.
+     * @param potential the potential
+     */
+    public void removePotential(PairPotential potential) {
+        potentials.remove(potential);
+    }
+
+    /**
+     * Accessor for every PairPotential being applied.
+     * @return list of potentials
+     */
+    public ArrayList<PairPotential> getPotentials() {
+        return potentials;
+    }
+
+    /**
+     * Accessor for the longest cutoff of any PairPotential.
+     * @return the cutoff the NeighbourList is built for
+     */
+    public double getCutoff() {
+        double cutoff = 0;
+        for (PairPotential potential : potentials) {
+            cutoff = Math.max(cutoff, potential.getCutoff());
+        }
+        return cutoff;
+    }
+
+    /**
+     * Mutator for the skin. A thicker skin means the NeighbourList is built less often, but holds more pairs that
+     * are out of reach.
+     * @param skin how much further than the cutoff pairs are listed, or a negative number for 0.3 of the cutoff
+     */
+    public void setSkin(double skin) {
+        this.skin = skin;
+    }
+
+    /**
+     * Accessor for the NeighbourList shared by every PairPotential.
+     * @return the neighbour list
+     */
+    public NeighbourList getNeighbours() {
+        return neighbours;
+    }
+}
@@ -0,0 +1,33 @@
+package in.patrickmart.model.pairs;
+
+/**
+ * Pushes apart bodies that overlap, like springy balls of some diameter. Bodies further apart than the diameter do
+ * not feel each other at all, so the diameter is also the cutoff.
+ */
+public class SoftSpherePotential extends PairPotential {
+    private final double stiffness;
+    private final double diameter;
+
+    /**
+     * Constructor for objects of class SoftSpherePotential.
+     * @param stiffness how hard the spheres push per meter of overlap, in N/m
+     * @param diameter the distance at which two spheres start to touch
+     */
+    public SoftSpherePotential(double stiffness, double diameter) {
+        super(diameter);
+        this.stiffness = stiffness;
+        this.diameter = diameter;
+    }
+
+    @Override
+    public double force(double r2) {
+        double r = Math.sqrt(r2);
+        return stiffness * (diameter - r) / r;
+    }
+
+    @Override
+    public double energy(double r2) {
+        double overlap = diameter - Math.sqrt(r2);
+        return 0.5 * stiffness * overlap * overlap;
+    }
+}
@@ -0,0 +1,34 @@
+package in.patrickmart.model.pairs;
+
+/**
+ * Ties every body to each of its neighbours within the cutoff with a spring, which pulls them together when they are
+ * further apart than its rest length and pushes them apart when closer. Useful for soft lattices and blobs.
+ */
+public class SpringPotential extends PairPotential {
+    private final double stiffness;
+    private final double restLength;
+
+    /**
+     * Constructor for objects of class SpringPotential.
+     * @param stiffness how hard the spring pulls per meter it is stretched, in N/m
+     * @param restLength the distance the spring holds its bodies at
+     * @param cutoff the distance past which bodies are no longer tied together
+     */
+    public SpringPotential(double stiffness, double restLength, double cutoff) {
+        super(cutoff);
+        this.stiffness = stiffness;
+        this.restLength = restLength;
+    }
+
+    @Override
+    public double force(double r2) {
+        double r = Math.sqrt(r2);
+        return stiffness * (restLength - r) / r;
+    }
+
+    @Override
+    public double energy(double r2) {
+        double stretch = Math.sqrt(r2) - restLength;
+        return 0.5 * stiffness * stretch * stretch;
+    }
+}
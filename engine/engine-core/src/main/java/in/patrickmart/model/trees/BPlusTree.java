@@ -0,0 +1,383 @@
+package in.patrickmart.model.trees;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A B+ tree, which keeps values in order of their int keys, such as Entities by ID. Looking up, inserting and
+ * removing a key each take O(log n) time, and a range of keys can be read in order by walking along the leaves.
+ *
+ * Keys are kept as primitives in wide nodes, so a lookup in a tree of a million keys touches only a few nodes and
+ * binary searches a short int array in each, rather than following a pointer for every comparison as a TreeMap does.
+ * Every value sits in a leaf, and each leaf points to the next, so range scans never climb back up the tree.
+ * @param <V> the type of the values. Null values are not allowed, so that get can return null for a missing key.
+ */
+public class BPlusTree<V> {
+    private static final int ORDER = 64; // The most keys a node holds. Nodes overflow by one before they split.
+    private static final int MIN = ORDER / 2; // The fewest keys a node other than the root holds.
+
+    private Node root = new Leaf();
+    private int size;
+    private Object previous; // The value replaced or removed by the last put or remove.
+    private int separator; // The key that files the right half of the last node to split under its parent.
+
+    /**
+     * Every node holds its keys sorted, in an array with room for one more than ORDER.
+     */
+    private abstract static class Node {
+        final int[] keys = new int[ORDER + 1];
+        int size;
+    }
+
+    /**
+     * A leaf holds a value for each of its keys, and a link to the leaf holding the next keys.
+     */
+    private static final class Leaf extends Node {
+        final Object[] values = new Object[ORDER + 1];
+        Leaf next;
+    }
+
+    /**
+     * An inner node holds one more child than it has keys. Every key in children[i] is below keys[i], and every key
+     * in children[i + 1] is at or above it.
+     */
+    private static final class Inner extends Node {
+        final Node[] children = new Node[ORDER + 2];
+    }
+
+    /**
+     * Finds which child of an inner node could hold a key.
+     */
+    private static int childIndex(Inner inner, int key) {
+        // The number of keys at or below the key, found by binary search.
+        int low = 0;
+        int high = inner.size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (inner.keys[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private Leaf findLeaf(int key) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[childIndex(inner, key)];
+        }
+        return (Leaf) node;
+    }
+
+    /**
+     * Looks up the value stored for a key.
+     * @param key the key
+     * @return the value, or null if the key is not in the tree
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        Leaf leaf = findLeaf(key);
+        int i = Arrays.binarySearch(leaf.keys, 0, leaf.size, key);
+        return i >= 0 ? (V) leaf.values[i] : null;
+    }
+
+    /**
+     * Checks whether a key is in the tree.
+     * @param key the key
+     * @return true if a value is stored for it
+     */
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Stores a value for a key, replacing any value already stored for it.
+     * @param key the key
+     * @param value the value, which must not be null
+     * @return the value that was replaced, or null if the key is new
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("A BPlusTree cannot hold null values");
+        }
+        previous = null;
+        Node sibling = insert(root, key, value);
+        if (sibling != null) {
+            // The root split, so the tree grows a level.
+            Inner top = new Inner();
+            top.keys[0] = separator;
+            top.children[0] = root;
+            top.children[1] = sibling;
+            top.size = 1;
+            root = top;
+        }
+        if (previous == null) {
+            size++;
+        }
+        return (V) previous;
+    }
+
+    /**
+     * Inserts a key below some node.
+     * @return the new right half of the node if it had to split, or null. Its key is left in separator.
+     */
+    private Node insert(Node node, int key, Object value) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int i = Arrays.binarySearch(leaf.keys, 0, leaf.size, key);
+            if (i >= 0) {
+                previous = leaf.values[i];
+                leaf.values[i] = value;
+                return null;
+            }
+            i = -i - 1;
+            System.arraycopy(leaf.keys, i, leaf.keys, i + 1, leaf.size - i);
+            System.arraycopy(leaf.values, i, leaf.values, i + 1, leaf.size - i);
+            leaf.keys[i] = key;
+            leaf.values[i] = value;
+            leaf.size++;
+            return leaf.size > ORDER ? splitLeaf(leaf) : null;
+        }
+
+        Inner inner = (Inner) node;
+        int c = childIndex(inner, key);
+        Node sibling = insert(inner.children[c], key, value);
+        if (sibling == null) {
+            return null;
+        }
+        System.arraycopy(inner.keys, c, inner.keys, c + 1, inner.size - c);
+        System.arraycopy(inner.children, c + 1, inner.children, c + 2, inner.size - c);
+        inner.keys[c] = separator;
+        inner.children[c + 1] = sibling;
+        inner.size++;
+        return inner.size > ORDER ? splitInner(inner) : null;
+    }
+
+    private Leaf splitLeaf(Leaf leaf) {
+        Leaf right = new Leaf();
+        int mid = leaf.size / 2;
+        right.size = leaf.size - mid;
+        System.arraycopy(leaf.keys, mid, right.keys, 0, right.size);
+        System.arraycopy(leaf.values, mid, right.values, 0, right.size);
+        Arrays.fill(leaf.values, mid, leaf.size, null);
+        leaf.size = mid;
+        right.next = leaf.next;
+        leaf.next = right;
+        separator = right.keys[0];
+        return right;
+    }
+
+    private Inner splitInner(Inner inner) {
+        // The middle key moves up to the parent, so it is kept in neither half.
+        Inner right = new Inner();
+        int mid = inner.size / 2;
+        right.size = inner.size - mid - 1;
+        System.arraycopy(inner.keys, mid + 1, right.keys, 0, right.size);
+        System.arraycopy(inner.children, mid + 1, right.children, 0, right.size + 1);
+        Arrays.fill(inner.children, mid + 1, inner.size + 1, null);
+        separator = inner.keys[mid];
+        inner.size = mid;
+        return right;
+    }
+
+    /**
+     * Removes a key and its value from the tree.
+     * @param key the key
+     * @return the value that was removed, or null if the key was not in the tree
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        previous = null;
+        delete(root, key);
+        if (root instanceof Inner && root.size == 0) {
+            root = ((Inner) root).children[0]; // The root's last two children merged, so the tree shrinks a level.
+        }
+        if (previous != null) {
+            size--;
+        }
+        return (V) previous;
+    }
+
+    /**
+     * Removes a key below some node, then tops up whichever child it came from if that child has too few keys left.
+     */
+    private void delete(Node node, int key) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int i = Arrays.binarySearch(leaf.keys, 0, leaf.size, key);
+            if (i >= 0) {
+                previous = leaf.values[i];
+                System.arraycopy(leaf.keys, i + 1, leaf.keys, i, leaf.size - i - 1);
+                System.arraycopy(leaf.values, i + 1, leaf.values, i, leaf.size - i - 1);
+                leaf.size--;
+                leaf.values[leaf.size] = null;
+            }
+            return;
+        }
+
+        Inner inner = (Inner) node;
+        int c = childIndex(inner, key);
+        Node child = inner.children[c];
+        delete(child, key);
+        if (child.size >= MIN) {
+            return;
+        }
+        Node left = c > 0 ? inner.children[c - 1] : null;
+        Node right = c < inner.size ? inner.children[c + 1] : null;
+        if (left != null && left.size > MIN) {
+            borrowFromLeft(inner, c, left, child);
+        } else if (right != null && right.size > MIN) {
+            borrowFromRight(inner, c, child, right);
+        } else if (left != null) {
+            merge(inner, c - 1, left, child);
+        } else if (right != null) {
+            merge(inner, c, child, right);
+        }
+    }
+
+    private static void borrowFromLeft(Inner parent, int c, Node left, Node child) {
+        System.arraycopy(child.keys, 0, child.keys, 1, child.size);
+        if (child instanceof Leaf) {
+            Leaf l = (Leaf) left;
+            Leaf leaf = (Leaf) child;
+            System.arraycopy(leaf.values, 0, leaf.values, 1, leaf.size);
+            leaf.keys[0] = l.keys[l.size - 1];
+            leaf.values[0] = l.values[l.size - 1];
+            l.values[l.size - 1] = null;
+            parent.keys[c - 1] = leaf.keys[0];
+        } else {
+            Inner l = (Inner) left;
+            Inner inner = (Inner) child;
+            System.arraycopy(inner.children, 0, inner.children, 1, inner.size + 1);
+            inner.keys[0] = parent.keys[c - 1];
+            inner.children[0] = l.children[l.size];
+            l.children[l.size] = null;
+            parent.keys[c - 1] = l.keys[l.size - 1];
+        }
+        left.size--;
+        child.size++;
+    }
+
+    private static void borrowFromRight(Inner parent, int c, Node child, Node right) {
+        if (child instanceof Leaf) {
+            Leaf leaf = (Leaf) child;
+            Leaf r = (Leaf) right;
+            leaf.keys[leaf.size] = r.keys[0];
+            leaf.values[leaf.size] = r.values[0];
+            System.arraycopy(r.keys, 1, r.keys, 0, r.size - 1);
+            System.arraycopy(r.values, 1, r.values, 0, r.size - 1);
+            r.values[r.size - 1] = null;
+            parent.keys[c] = r.keys[0];
+        } else {
+            Inner inner = (Inner) child;
+            Inner r = (Inner) right;
+            inner.keys[inner.size] = parent.keys[c];
+            inner.children[inner.size + 1] = r.children[0];
+            parent.keys[c] = r.keys[0];
+            System.arraycopy(r.keys, 1, r.keys, 0, r.size - 1);
+            System.arraycopy(r.children, 1, r.children, 0, r.size);
+            r.children[r.size] = null;
+        }
+        right.size--;
+        child.size++;
+    }
+
+    /**
+     * Moves everything in a node into its left neighbour, and removes the key between them from their parent.
+     * @param k the index of the key between the two nodes in their parent
+     */
+    private static void merge(Inner parent, int k, Node left, Node right) {
+        if (left instanceof Leaf) {
+            Leaf l = (Leaf) left;
+            Leaf r = (Leaf) right;
+            System.arraycopy(r.keys, 0, l.keys, l.size, r.size);
+            System.arraycopy(r.values, 0, l.values, l.size, r.size);
+            l.size += r.size;
+            l.next = r.next;
+        } else {
+            Inner l = (Inner) left;
+            Inner r = (Inner) right;
+            l.keys[l.size] = parent.keys[k]; // The parent's key comes back down between the two halves.
+            System.arraycopy(r.keys, 0, l.keys, l.size + 1, r.size);
+            System.arraycopy(r.children, 0, l.children, l.size + 1, r.size + 1);
+            l.size += r.size + 1;
+        }
+        System.arraycopy(parent.keys, k + 1, parent.keys, k, parent.size - k - 1);
+        System.arraycopy(parent.children, k + 2, parent.children, k + 1, parent.size - k - 1);
+        parent.children[parent.size] = null;
+        parent.size--;
+    }
+
+    /**
+     * Adds the values of every key in a range to a list, in order of their keys.
+     * @param fromKey the lowest key to include
+     * @param toKey the highest key to include
+     * @param results the list to add the values to
+     */
+    @SuppressWarnings("unchecked")
+    public void range(int fromKey, int toKey, List<V> results) {
+        Leaf leaf = findLeaf(fromKey);
+        int i = Arrays.binarySearch(leaf.keys, 0, leaf.size, fromKey);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        while (leaf != null) {
+            for (; i < leaf.size; i++) {
+                if (leaf.keys[i] > toKey) {
+                    return;
+                }
+                results.add((V) leaf.values[i]);
+            }
+            leaf = leaf.next;
+            i = 0;
+        }
+    }
+
+    /**
+     * Adds every value in the tree to a list, in order of their keys.
+     * @param results the list to add the values to
+     */
+    public void values(List<V> results) {
+        range(Integer.MIN_VALUE, Integer.MAX_VALUE, results);
+    }
+
+    /**
+     * Accessor for how many keys are in the tree.
+     * @return the number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the tree is empty.
+     * @return true if there are no keys
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every key.
+     */
+    public void clear() {
+        root = new Leaf();
+        size = 0;
+    }
+
+    /**
+     * Accessor for how many levels the tree has, counting the leaves.
+     * @return the height, which is 1 while every key fits in one leaf
+     */
+    public int getHeight() {
+        int height = 1;
+        for (Node node = root; node instanceof Inner; node = ((Inner) node).children[0]) {
+            height++;
+        }
+        return height;
+    }
+}
@@ -0,0 +1,262 @@
+package in.patrickmart.model.trees;
+
+import in.patrickmart.model.AABB;
+import in.patrickmart.model.Vector2D;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Quadtrees store contents by location, allowing for quick retrieval of objects near some point.
+ * @param <T> Boundable objects can be placed in 2D space, and have some height and width
+ */
+public class QuadTree<T extends Boundable> {
+    private AABB bounds; // The outer bounds of this QuadTree.
+    private ArrayList<T> objects; // A list of objects that are located within the bounds of this QuadTree.
+    private QuadTree<T>[] children; // An array of 4 smaller QuadTrees that together make up the same area as this one.
+                                    //  1 | 0
+                                    //  --+--
+                                    //  2 | 3
+    private QuadTree<T>[] spareChildren; // Children kept from before the last clear, to be used again by split().
+
+    // Totals over every object in this node and its children, filled in by aggregate().
+    private double mass;
+    private double centerOfMassX;
+    private double centerOfMassY;
+
+    private static final int OBJECTS_PER_NODE = 32;
+
+    /**
+     * Constructor for objects of class QuadTree.
+     * @param bounds The Axis-Aligned Bounding Box that defines this QuadTree's covered area
+     */
+    public QuadTree(AABB bounds) {
+        this.bounds = bounds;
+    }
+
+    /**
+     * Creates 4 children in order to store more objects.
+     */
+    private void split() {
+        double halfWidth = bounds.getHalfWidth();
+        double quarterWidth = halfWidth / 2;
+        double halfHeight = bounds.getHalfHeight();
+        double quarterHeight = halfHeight / 2;
+        double x = bounds.getCenter().getX();
+        double y = bounds.getCenter().getY();
+
+        if (spareChildren != null) {
+            children = spareChildren;
+            spareChildren = null;
+            children[0].clear(x + quarterWidth, y + quarterHeight, quarterWidth, quarterHeight);
+            children[1].clear(x - quarterWidth, y + quarterHeight, quarterWidth, quarterHeight);
+            children[2].clear(x - quarterWidth, y - quarterHeight, quarterWidth, quarterHeight);
+            children[3].clear(x + quarterWidth, y - quarterHeight, quarterWidth, quarterHeight);
+            return;
+        }
+        children = new QuadTree[4];
+        children[0] = new QuadTree<>(new AABB(x + quarterWidth, y + quarterHeight, quarterWidth, quarterHeight));
+        children[1] = new QuadTree<>(new AABB(x - quarterWidth, y + quarterHeight, quarterWidth, quarterHeight));
+        children[2] = new QuadTree<>(new AABB(x - quarterWidth, y - quarterHeight, quarterWidth, quarterHeight));
+        children[3] = new QuadTree<>(new AABB(x + quarterWidth, y - quarterHeight, quarterWidth, quarterHeight));
+    }
+
+    /**
+     * Empties this QuadTree and gives it new bounds, so that it can be filled again without being built anew. Its
+     * nodes and their lists are kept, and used again as objects are inserted.
+     * @param x The x position of the center of the new bounds
+     * @param y The y position of the center of the new bounds
+     * @param halfWidth Half the width of the new bounds
+     * @param halfHeight Half the height of the new bounds
+     */
+    public void clear(double x, double y, double halfWidth, double halfHeight) {
+        bounds.set(x, y, halfWidth, halfHeight);
+        if (objects != null) {
+            objects.clear();
+        }
+        if (children != null) {
+            // The children are only cleared once they are used again, so each clear costs no more than the insertions.
+            spareChildren = children;
+            children = null;
+        }
+    }
+
+    /**
+     * Attempts to insert an object into this QuadTree node or one of its child nodes if it has them.
+     * @param object The boundable object to be inserted
+     * @return whether or not the insertion was successful
+     */
+    public boolean insert(T object) {
+        // First see if there is a more specific node for this object to be in.
+        if (children != null && insertToChild(object)) {
+            return true;
+        }
+
+        // If this node is full, we have some work to do.
+        if (objects != null && objects.size() == OBJECTS_PER_NODE) {
+            if (children == null) {
+                // Split this node and redistribute its objects to the children.
+                split();
+                for (int i = 0; i < objects.size(); i++) {
+                    if (insertToChild(objects.get(i))) {
+                        objects.remove(i);
+                        i--;
+                    }
+                }
+            }
+
+            // Now try to throw the object to a child. Objects that straddle the children's borders have nowhere
+            // more specific to go, so they stay in this node even if it is over its limit.
+            if (!insertToChild(object)) {
+                objects.add(object);
+            }
+        } else {
+            // Put the object in this node.
+            if (objects == null) {
+                objects = new ArrayList<T>();
+            }
+            objects.add(object);
+        }
+        return true;
+    }
+
+    /**
+     * Tests whether an object belongs in one of this node's children, and passes it to that child.
+     * @param object The object to be inserted
+     * @return Whether or not the insertion was successful
+     */
+    private boolean insertToChild(T object) {
+        AABB objectBounds = object.getBounds();
+        boolean success = false;
+       	double midX = bounds.getCenter().getX();
+		double midY = bounds.getCenter().getY();
+		double halfWidth = bounds.getHalfWidth();
+		double halfHeight = bounds.getHalfHeight();
+
+		double top = objectBounds.getCenter().getY() + objectBounds.getHalfHeight();
+		double bottom = objectBounds.getCenter().getY() - objectBounds.getHalfHeight();
+		double left = objectBounds.getCenter().getX() - objectBounds.getHalfWidth();
+		double right = objectBounds.getCenter().getX() + objectBounds.getHalfWidth();
+
+		if (left > midX && right <= midX + halfWidth) {
+			if (bottom > midY && top <= midY + halfHeight) {
+				success = children[0].insert(object);
+			} else if (bottom > midY - halfHeight && top <= midY) {
+				success = children[3].insert(object);
+			}
+		} else if (left > midX - halfWidth && right <= midX) {
+			if ( bottom > midY && top <= midY + halfHeight) {
+				success = children[1].insert(object);
+			} else if (bottom > midY - halfHeight && top <= midY) {
+				success = children[2].insert(object);
+			}
+		}
+        return success;
+    }
+
+    /**
+     * Finds every object in this QuadTree whose bounds overlap some area.
+     * @param area The area to search
+     * @param results A list that every overlapping object is added to
+     */
+    public void query(AABB area, List<T> results) {
+        // Objects that were inserted outside of the root's bounds are kept at the root, so this node's own objects
+        // are always checked. Children only hold objects within their bounds, so they can be skipped.
+        if (objects != null) {
+            for (int i = 0; i < objects.size(); i++) { // By index, since an iterator would be allocated every query.
+                T object = objects.get(i);
+                if (object.getBounds().intersectsAABB(area)) {
+                    results.add(object);
+                }
+            }
+        }
+        if (children != null) {
+            for (QuadTree<T> child : children) {
+                if (child.bounds.intersectsAABB(area)) {
+                    child.query(area, results);
+                }
+            }
+        }
+    }
+
+    /**
+     * Works out the total mass and center of mass of every node, from the leaves up. Used by Barnes-Hut gravity to
+     * treat a far away node as a single heavy object.
+     * @param massOf The mass of an object
+     * @param xOf The x position of an object
+     * @param yOf The y position of an object
+     */
+    public void aggregate(ToDoubleFunction<T> massOf, ToDoubleFunction<T> xOf, ToDoubleFunction<T> yOf) {
+        double m = 0;
+        double mx = 0;
+        double my = 0;
+        if (objects != null) {
+            for (T object : objects) {
+                double om = massOf.applyAsDouble(object);
+                m += om;
+                mx += om * xOf.applyAsDouble(object);
+                my += om * yOf.applyAsDouble(object);
+            }
+        }
+        if (children != null) {
+            for (QuadTree<T> child : children) {
+                child.aggregate(massOf, xOf, yOf);
+                m += child.mass;
+                mx += child.mass * child.centerOfMassX;
+                my += child.mass * child.centerOfMassY;
+            }
+        }
+        mass = m;
+        centerOfMassX = m == 0 ? bounds.getCenter().getX() : mx / m;
+        centerOfMassY = m == 0 ? bounds.getCenter().getY() : my / m;
+    }
+
+    /**
+     * Accessor for the outer bounds of this node.
+     * @return The area this node covers
+     */
+    public AABB getBounds() {
+        return bounds;
+    }
+
+    /**
+     * Accessor for the objects stored directly in this node, not counting those in its children.
+     * @return The objects in this node, or null if it has never held any
+     */
+    public List<T> getObjects() {
+        return objects;
+    }
+
+    /**
+     * Accessor for this node's children.
+     * @return The 4 children of this node, or null if it has not been split
+     */
+    public QuadTree<T>[] getChildren() {
+        return children;
+    }
+
+    /**
+     * Accessor for the total mass in this node, as of the last aggregate().
+     * @return The mass of every object in this node and its children
+     */
+    public double getMass() {
+        return mass;
+    }
+
+    /**
+     * Accessor for the x position of the center of mass in this node, as of the last aggregate().
+     * @return The x component of the center of mass
+     */
+    public double getCenterOfMassX() {
+        return centerOfMassX;
+    }
+
+    /**
+     * Accessor for the y position of the center of mass in this node, as of the last aggregate().
+     * @return The y component of the center of mass
+     */
+    public double getCenterOfMassY() {
+        return centerOfMassY;
+    }
+}
@@ -1,7 +1,6 @@
 package in.patrickmart.controller;
 
 import in.patrickmart.model.Model;
-import in.patrickmart.view.Viewer;
 import junit.framework.Test;
 import junit.framework.TestCase;
 import junit.framework.TestSuite;
@@ -43,4 +42,25 @@ public class ControllerTest
         assertTrue(c.getActualTicksPerSecond() > c.getTicksPerSecond() - acceptableVariance
             && c.getTicksPerSecond() < c.getTicksPerSecond() + acceptableVariance);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test that commands sent with invokeLater wait for the next step, and are carried out before it.
+     */
+    public void testInvokeLater()
+    {
+        Model m = new Model(1);
+        Controller c = new Controller(m);
+        c.invokeLater(c::viewEvent);
+        c.invokeLater(c::viewEvent);
+        assertEquals(0, m.getScenario().getEntities().size());
+
+        c.step();
+        assertEquals(2, m.getScenario().getEntities().size());
+
+        // Entities added from another thread, such as a Viewer's, show up in the Snapshot of the step they were added in.
+        c.invokeLater(c::viewEvent);
+        m.getSnapshots();
+        c.step();
+        assertEquals(3, m.getSnapshots().latest().size());
+    }
+}
@@ -0,0 +1,85 @@
+package in.patrickmart.controller;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+public class TickSchedulerTest extends TestCase
+{
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public TickSchedulerTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( TickSchedulerTest.class );
+    }
+
+    /**
+     * Test that ticks keep to the tick rate without drifting, while the waiting thread mostly sleeps.
+     */
+    public void testParksBetweenTicks() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        TickScheduler scheduler = new TickScheduler(100, TickScheduler.Policy.BEST_EFFORT);
+        long cpu = threads.getCurrentThreadCpuTime();
+        long start = System.nanoTime();
+        scheduler.start();
+        for (int i = 0; i < 50; i++) {
+            scheduler.awaitTick();
+        }
+        long wall = System.nanoTime() - start;
+        cpu = threads.getCurrentThreadCpuTime() - cpu;
+
+        assertEquals(50, scheduler.getTicks());
+        assertTrue("Took " + wall / 1e6 + " ms", wall >= 500_000_000L && wall < 600_000_000L);
+        assertTrue("Used " + cpu / 1e6 + " ms of CPU", cpu < wall / 4);
+    }
+
+    /**
+     * Test that ticks missed under hard real-time are run straight away to catch up, while under best effort they are
+     * dropped.
+     */
+    public void testFallingBehind() throws InterruptedException {
+        TickScheduler hard = new TickScheduler(100, TickScheduler.Policy.HARD_REAL_TIME);
+        Thread.sleep(45); // Four ticks late.
+        long start = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            hard.awaitTick();
+        }
+        assertTrue(System.nanoTime() - start < 5_000_000L);
+        assertTrue(hard.getOverruns() >= 3);
+        assertTrue(hard.getMaxJitter() >= 30_000_000L);
+
+        TickScheduler best = new TickScheduler(100, TickScheduler.Policy.BEST_EFFORT);
+        Thread.sleep(45);
+        best.awaitTick();
+        start = System.nanoTime();
+        best.awaitTick();
+        assertTrue(System.nanoTime() - start >= 9_000_000L);
+        assertEquals(1, best.getOverruns());
+    }
+
+    /**
+     * Test that ticks as fast as possible never wait.
+     */
+    public void testAsFastAsPossible() {
+        TickScheduler fast = new TickScheduler(1, TickScheduler.Policy.AS_FAST_AS_POSSIBLE);
+        long start = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            fast.awaitTick();
+        }
+        assertTrue(System.nanoTime() - start < 100_000_000L);
+        assertEquals(1000, fast.getTicks());
+    }
+}
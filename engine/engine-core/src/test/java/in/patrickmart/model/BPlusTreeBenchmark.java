@@ -0,0 +1,119 @@
+package in.patrickmart.model;
+
+import in.patrickmart.model.trees.BPlusTree;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Times a BPlusTree of Entities by ID against a TreeMap of the same. This is not a unit test, so it is not run with
+ * the rest of the tests. Run it with the test classpath:
+ *
+ *   java -cp target/classes:target/test-classes in.patrickmart.model.BPlusTreeBenchmark
+ */
+public class BPlusTreeBenchmark {
+    private static final int KEYS = 1 << 20;
+    private static final int RANGE = 1000; // How many keys each range scan covers.
+    private static volatile Object sink; // Keeps the JIT from throwing results away.
+
+    public static void main(String[] args) {
+        Entity entity = new ConcreteEntity(new Vector2D(), new ConcreteShape(3, 1));
+        int[] keys = new int[KEYS];
+        Random random = new Random(1);
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = random.nextInt(KEYS * 4);
+        }
+        int[] probes = new int[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            probes[i] = keys[random.nextInt(KEYS)];
+        }
+
+        System.out.println("operation              TreeMap (ns/op)   BPlusTree (ns/op)   speedup");
+        TreeMap<Integer, Entity> map = new TreeMap<>();
+        BPlusTree<Entity> tree = new BPlusTree<>();
+        report("insert", KEYS,
+                () -> {
+                    map.clear();
+                    for (int key : keys) {
+                        map.put(key, entity);
+                    }
+                },
+                () -> {
+                    tree.clear();
+                    for (int key : keys) {
+                        tree.put(key, entity);
+                    }
+                });
+        report("lookup", KEYS,
+                () -> {
+                    for (int key : probes) {
+                        sink = map.get(key);
+                    }
+                },
+                () -> {
+                    for (int key : probes) {
+                        sink = tree.get(key);
+                    }
+                });
+        ArrayList<Entity> results = new ArrayList<>(RANGE);
+        int scans = 10000;
+        // Keys are spread over four times as many values as there are keys, so each scan finds about RANGE / 4.
+        report("range scan (per key)", (long) scans * RANGE / 4,
+                () -> {
+                    for (int s = 0; s < scans; s++) {
+                        results.clear();
+                        int from = probes[s];
+                        results.addAll(map.subMap(from, true, from + RANGE - 1, true).values());
+                    }
+                    sink = results;
+                },
+                () -> {
+                    for (int s = 0; s < scans; s++) {
+                        results.clear();
+                        int from = probes[s];
+                        tree.range(from, from + RANGE - 1, results);
+                    }
+                    sink = results;
+                });
+        report("remove and reinsert", KEYS,
+                () -> {
+                    for (int key : probes) {
+                        map.remove(key);
+                        map.put(key, entity);
+                    }
+                },
+                () -> {
+                    for (int key : probes) {
+                        tree.remove(key);
+                        tree.put(key, entity);
+                    }
+                });
+    }
+
+    private static void report(String name, long operations, Runnable before, Runnable after) {
+        double slow = time(before, operations);
+        double fast = time(after, operations);
+        System.out.printf("%-22s %15.1f %19.1f %9.2fx%n", name, slow, fast, slow / fast);
+    }
+
+    /**
+     * Warms a piece of work up, then times it until about a second has passed.
+     * @return the nanoseconds taken per operation
+     */
+    private static double time(Runnable work, long operations) {
+        long warm = System.nanoTime();
+        while (System.nanoTime() - warm < 1_000_000_000L) {
+            work.run();
+        }
+        int runs = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            work.run();
+            runs++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < 1_000_000_000L);
+        return (double) elapsed / runs / operations;
+    }
+}
@@ -0,0 +1,119 @@
+package in.patrickmart.model;
+
+import in.patrickmart.model.trees.BPlusTree;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class BPlusTreeTest extends TestCase
+{
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public BPlusTreeTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( BPlusTreeTest.class );
+    }
+
+    /**
+     * Test a tree against a TreeMap through enough random puts and removes to split and merge nodes at every level.
+     */
+    public void testMatchesTreeMap() {
+        BPlusTree<Integer> tree = new BPlusTree<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        Random random = new Random(1);
+        for (int op = 0; op < 200000; op++) {
+            int key = random.nextInt(20000) - 1000;
+            if (random.nextInt(3) != 0) {
+                assertEquals(expected.put(key, op), tree.put(key, op));
+            } else {
+                assertEquals(expected.remove(key), tree.remove(key));
+            }
+            if (op % 20000 == 0) {
+                assertSameContents(expected, tree);
+            }
+        }
+        assertSameContents(expected, tree);
+        assertTrue(tree.getHeight() > 2);
+
+        // Empty it again, which merges every node back down into a single leaf.
+        for (int key : new ArrayList<>(expected.keySet())) {
+            assertEquals(expected.remove(key), tree.remove(key));
+        }
+        assertTrue(tree.isEmpty());
+        assertEquals(1, tree.getHeight());
+        assertNull(tree.get(5));
+    }
+
+    private static void assertSameContents(TreeMap<Integer, Integer> expected, BPlusTree<Integer> tree) {
+        assertEquals(expected.size(), tree.size());
+        List<Integer> values = new ArrayList<>();
+        tree.values(values);
+        assertEquals(new ArrayList<>(expected.values()), values);
+        for (int key = -1000; key < 19000; key += 7) {
+            assertEquals(expected.get(key), tree.get(key));
+        }
+    }
+
+    /**
+     * Test that range scans find exactly the keys in the range, in order, including across leaves.
+     */
+    public void testRange() {
+        BPlusTree<Integer> tree = new BPlusTree<>();
+        for (int key = 0; key < 10000; key += 2) {
+            tree.put(key, key);
+        }
+        List<Integer> found = new ArrayList<>();
+        tree.range(101, 1001, found);
+        assertEquals(450, found.size());
+        for (int i = 0; i < found.size(); i++) {
+            assertEquals(102 + i * 2, (int) found.get(i));
+        }
+
+        found.clear();
+        tree.range(20000, 30000, found);
+        assertTrue(found.isEmpty());
+        tree.range(Integer.MIN_VALUE, 0, found);
+        assertEquals(1, found.size());
+    }
+
+    /**
+     * Test ordering Entities by ID, which is what the tree is for.
+     */
+    public void testEntitiesById() {
+        BPlusTree<Entity> byId = new BPlusTree<>();
+        List<Entity> all = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Entity e = new ConcreteEntity(new Vector2D(i, 0), new ConcreteShape(3, 0.1));
+            all.add(e);
+            byId.put(e.getId(), e);
+        }
+        byId.remove(all.get(10).getId());
+        List<Entity> ordered = new ArrayList<>();
+        byId.values(ordered);
+        assertEquals(99, ordered.size());
+        for (int i = 1; i < ordered.size(); i++) {
+            assertTrue(ordered.get(i - 1).getId() < ordered.get(i).getId());
+        }
+        assertSame(all.get(50), byId.get(all.get(50).getId()));
+        try {
+            byId.put(1, null);
+            fail("A null value was stored");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package in.patrickmart.model;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+
+public class BodyRecordsTest extends TestCase
+{
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public BodyRecordsTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( BodyRecordsTest.class );
+    }
+
+    /**
+     * Test that a Scenario can be put back exactly as it was captured, Shapes and all.
+     */
+    public void testCaptureAndRestore() {
+        Scenario s = new Scenario(1);
+        s.toggleFEAgravity();
+        Entity ball = new ConcreteEntity(new Vector2D(0, 5), new ConcreteShape(6, 0.5));
+        ball.setAngularVelocity(2);
+        Entity ground = new StaticEntity(new Vector2D(0, -5), new ConcreteShape(4, 1));
+        s.addEntity(ball);
+        s.addEntity(ground);
+        s.step();
+
+        BodyRecords records = new BodyRecords(1);
+        s.capture(records);
+        Vector2D position = ball.getPosition();
+        Vector2D velocity = ball.getVelocity();
+        double rotation = ball.getRotation();
+        for (int i = 0; i < 30; i++) {
+            s.step();
+        }
+        s.restore(records);
+
+        assertEquals(2, records.getCount());
+        assertEquals(ball.getId(), records.getId(0));
+        assertFalse(records.isStatic(0));
+        assertTrue(records.isStatic(1));
+        assertEquals(position.getX(), ball.getPosition().getX(), 0);
+        assertEquals(position.getY(), ball.getPosition().getY(), 0);
+        assertEquals(velocity.getY(), ball.getVelocity().getY(), 0);
+        assertEquals(rotation, ball.getRotation(), 0);
+        assertEquals(rotation, ball.getShape().getRotation(), 1e-12);
+        assertEquals(position.getY(), ball.getBounds().getCenter().getY(), 0);
+    }
+
+    /**
+     * Test that views share memory with the records rather than copying them, and cannot be written through.
+     */
+    public void testViewIsZeroCopy() {
+        BodyStore b = new BodyStore(3);
+        b.count = 3;
+        for (int i = 0; i < 3; i++) {
+            b.x[i] = i;
+            b.y[i] = i * 10;
+        }
+        BodyRecords records = new BodyRecords(3);
+        WorkerPool workers = new WorkerPool(1);
+        records.capture(b, workers);
+        ByteBuffer view = records.view();
+        assertTrue(view.isDirect());
+        assertTrue(view.isReadOnly());
+        assertEquals(3 * BodyRecords.STRIDE, view.limit());
+        assertEquals(20.0, view.getDouble(2 * BodyRecords.STRIDE + BodyRecords.Y), 0);
+
+        b.y[2] = -1;
+        records.capture(b, workers);
+        assertEquals(-1.0, view.getDouble(2 * BodyRecords.STRIDE + BodyRecords.Y), 0);
+        workers.shutdown();
+    }
+
+    /**
+     * Test that capturing a million bodies again and again allocates next to nothing on the heap.
+     */
+    public void testCaptureDoesNotAllocate() {
+        int n = 1 << 20;
+        BodyStore b = new BodyStore(n);
+        b.count = n;
+        BodyRecords records = new BodyRecords(n);
+        WorkerPool workers = new WorkerPool(1);
+        records.capture(b, workers);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        for (int k = 0; k < 5; k++) {
+            records.capture(b, workers);
+        }
+        long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+        workers.shutdown();
+        assertTrue("Allocated " + allocated + " bytes", allocated < 64 * 1024);
+        assertEquals((long) n * BodyRecords.STRIDE, records.getBytes());
+    }
+}
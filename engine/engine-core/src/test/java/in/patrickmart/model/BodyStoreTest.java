@@ -0,0 +1,198 @@
+package in.patrickmart.model;
+
+import in.patrickmart.model.forces.ForceFEA;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class BodyStoreTest extends TestCase
+{
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public BodyStoreTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( BodyStoreTest.class );
+    }
+
+    /**
+     * Test that an Entity reads and writes its state in its Scenario's BodyStore once the Scenario has stepped, and
+     * keeps the state it had before.
+     */
+    public void testEntityIsHandle() {
+        Scenario s = new Scenario(1);
+        Entity e = new ConcreteEntity(new Vector2D(3, 4), new ConcreteShape(4, 0.5));
+        e.setVelocity(new Vector2D(1, 0));
+        s.addEntity(e);
+        s.step();
+
+        BodyStore bodies = s.getBodies();
+        assertSame(bodies, e.getStore());
+        assertSame(e, bodies.entities[e.getIndex()]);
+        assertEquals(3 + Scenario.TIMESTEP, e.getPosition().getX(), 1e-12);
+        assertEquals(1, e.getVelocity().getX(), 1e-12);
+
+        bodies.x[e.getIndex()] = 10;
+        assertEquals(10, e.getPosition().getX(), 0);
+        e.setPosition(new Vector2D(-2, 1));
+        assertEquals(-2, bodies.x[e.getIndex()], 0);
+        assertEquals(-2 - 0.5, bodies.minX[e.getIndex()], 1e-12);
+        assertEquals(-2, e.getBounds().getCenter().getX(), 0);
+    }
+
+    /**
+     * Test that removing Entities keeps every row lined up with the list, and leaves removed Entities their state.
+     */
+    public void testRemoval() {
+        Scenario s = new Scenario(1);
+        Entity[] all = new Entity[6];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = new ConcreteEntity(new Vector2D(i * 10, 0), new ConcreteShape(4, 0.5));
+            all[i].setVelocity(new Vector2D(0, i));
+            s.addEntity(all[i]);
+        }
+        s.step();
+        s.removeEntity(all[1]);
+        s.removeEntity(all[4]);
+        s.step();
+
+        BodyStore bodies = s.getBodies();
+        assertEquals(4, bodies.count);
+        for (int i = 0; i < bodies.count; i++) {
+            Entity e = s.getEntities().get(i);
+            assertSame(e, bodies.entities[i]);
+            assertEquals(i, e.getIndex());
+        }
+        assertNotSame(bodies, all[1].getStore());
+        assertEquals(10, all[1].getPosition().getX(), 0);
+        assertEquals(1, all[1].getVelocity().getY(), 0);
+        assertEquals(4, all[4].getVelocity().getY(), 0);
+        assertEquals(5 * 2 * Scenario.TIMESTEP, all[5].getPosition().getY(), 1e-12);
+    }
+
+    /**
+     * Test that stepping the arrays a chunk at a time moves bodies exactly as stepping each Entity on its own does.
+     */
+    public void testSweepMatchesEntitySteps() {
+        Scenario s = new Scenario(1);
+        s.toggleFEAgravity();
+        Entity[] single = new Entity[300];
+        for (int i = 0; i < single.length; i++) {
+            Entity e = new ConcreteEntity(new Vector2D(i * 3, 0), new ConcreteShape(5, 0.4));
+            e.setVelocity(new Vector2D(i * 0.01, 0));
+            e.setAngularVelocity(i * 0.1);
+            s.addEntity(e);
+            single[i] = new ConcreteEntity(new Vector2D(i * 3, 0), new ConcreteShape(5, 0.4));
+            single[i].setVelocity(new Vector2D(i * 0.01, 0));
+            single[i].setAngularVelocity(i * 0.1);
+        }
+        for (int step = 0; step < 20; step++) {
+            s.step();
+            for (Entity e : single) {
+                e.applyForce(0, -ForceFEA.ACCELERATION * e.getMass());
+                e.calculateAcceleration();
+                e.calculateVelocity();
+                e.calculatePosition();
+            }
+        }
+        for (int i = 0; i < single.length; i++) {
+            Entity e = s.getEntities().get(i);
+            assertEquals(single[i].getPosition().getX(), e.getPosition().getX(), 0);
+            assertEquals(single[i].getPosition().getY(), e.getPosition().getY(), 0);
+            assertEquals(single[i].getRotation(), e.getRotation(), 0);
+            assertEquals(single[i].getShape().getRotation(), e.getShape().getRotation(), 0);
+        }
+    }
+
+    /**
+     * Test that adopting a list that has been shuffled, cut down and added to moves every row into line within the
+     * store, and that every Entity keeps its own state whether it stays or goes.
+     */
+    public void testAdoptReorders() {
+        Random random = new Random(3);
+        List<Entity> list = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Entity e = new ConcreteEntity(new Vector2D(i, 0), new ConcreteShape(4, 0.1));
+            e.setVelocity(new Vector2D(0, i));
+            list.add(e);
+        }
+        BodyStore bodies = new BodyStore(4);
+        bodies.adopt(list);
+        List<Entity> all = new ArrayList<>(list);
+
+        for (int round = 0; round < 20; round++) {
+            Collections.shuffle(list.subList(random.nextInt(list.size()), list.size()), random);
+            for (int k = 0; k < 3 && !list.isEmpty(); k++) {
+                list.remove(random.nextInt(list.size()));
+            }
+            for (int k = 0; k < 2; k++) {
+                Entity e = new ConcreteEntity(new Vector2D(all.size(), 0), new ConcreteShape(4, 0.1));
+                e.setVelocity(new Vector2D(0, all.size()));
+                list.add(random.nextInt(list.size() + 1), e);
+                all.add(e);
+            }
+            bodies.adopt(list);
+
+            assertEquals(list.size(), bodies.count);
+            for (int i = 0; i < bodies.count; i++) {
+                assertSame(list.get(i), bodies.entities[i]);
+                assertEquals(i, list.get(i).getIndex());
+            }
+            for (int i = 0; i < all.size(); i++) {
+                Entity e = all.get(i);
+                assertEquals(i, e.getPosition().getX(), 0);
+                assertEquals(i, e.getVelocity().getY(), 0);
+                assertSame(e, e.getStore().entities[e.getIndex()]);
+            }
+        }
+    }
+
+    /**
+     * Test that taking Entities out of a Scenario and putting them back, step after step, reuses the stores they keep
+     * while they are out rather than building new ones.
+     */
+    public void testDespawnReusesStores() {
+        Scenario s = new Scenario(1);
+        Entity[] all = new Entity[100];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = new ConcreteEntity(new Vector2D(i * 10, 0), new ConcreteShape(4, 0.5));
+            s.addEntity(all[i]);
+        }
+        s.step();
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = 0;
+        for (int round = 0; round < 60; round++) {
+            if (round == 10) {
+                before = threads.getThreadAllocatedBytes(Thread.currentThread().getId()); // Past any growing.
+            }
+            for (int k = 0; k < 10; k++) {
+                s.removeEntity(all[(round * 7 + k * 3) % all.length]);
+            }
+            s.step();
+            for (int k = 0; k < 10; k++) {
+                s.addEntity(all[(round * 7 + k * 3) % all.length]);
+            }
+            s.step();
+        }
+        long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+        // Building a store for each of the 500 Entities taken out would cost over 300 KB.
+        assertTrue("Allocated " + allocated + " bytes", allocated < 32 * 1024);
+        assertEquals(all.length, s.getBodies().count);
+    }
+}
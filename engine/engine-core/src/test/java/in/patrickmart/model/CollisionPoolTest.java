@@ -0,0 +1,164 @@
+package in.patrickmart.model;
+
+import in.patrickmart.model.forces.DragField;
+import in.patrickmart.model.joints.DistanceJoint;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import java.lang.management.ManagementFactory;
+
+public class CollisionPoolTest extends TestCase
+{
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public CollisionPoolTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( CollisionPoolTest.class );
+    }
+
+    @Override
+    protected void tearDown() {
+        CollisionPool.setCheckingReleases(false);
+    }
+
+    /**
+     * Test that a pool hands the same CollisionData out again once it has been released, in the same order.
+     */
+    public void testReuse() {
+        Entity a = new ConcreteEntity(new Vector2D(0, 0), new ConcreteShape(4, 1));
+        Entity b = new ConcreteEntity(new Vector2D(1, 0), new ConcreteShape(4, 1));
+        Entity c = new ConcreteEntity(new Vector2D(5, 0), new ConcreteShape(4, 1));
+        CollisionPool pool = new CollisionPool();
+
+        CollisionData touching = a.collisionCheck(b, pool);
+        assertNotNull(touching);
+        assertNull(a.collisionCheck(c, pool));
+        assertEquals(1, pool.size());
+        assertSame(touching, pool.get(0));
+        assertTrue(touching.getMtv().mag() > 0);
+
+        pool.releaseAll();
+        assertEquals(0, pool.size());
+        assertSame(touching, b.collisionCheck(a, pool));
+        for (int i = 0; i < 100; i++) {
+            pool.acquire(a, b);
+        }
+        assertEquals(101, pool.size());
+        assertSame(touching, pool.get(0));
+    }
+
+    /**
+     * Test that checking pairs through a pool allocates nothing, whether or not they touch.
+     */
+    public void testPooledCheckDoesNotAllocate() {
+        Entity a = new ConcreteEntity(new Vector2D(0, 0), new ConcreteShape(6, 1));
+        Entity b = new ConcreteEntity(new Vector2D(1, 0.5), new ConcreteShape(5, 1));
+        Entity c = new ConcreteEntity(new Vector2D(1.9, 0), new ConcreteShape(4, 1));
+        CollisionPool pool = new CollisionPool();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = 0;
+        int touching = 0;
+        for (int i = 0; i < 20000; i++) {
+            if (i == 10000) {
+                before = threads.getThreadAllocatedBytes(Thread.currentThread().getId()); // Past building the pool.
+                touching = 0;
+            }
+            touching += a.collisionCheck(b, pool) != null ? 1 : 0;
+            touching += a.collisionCheck(c, pool) != null ? 1 : 0;
+            pool.releaseAll();
+        }
+        long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+        assertEquals(10000, touching);
+        // A projection array for each of the 20000 checks would cost over 600 KB.
+        assertTrue("Allocated " + allocated + " bytes", allocated < 1024);
+    }
+
+    /**
+     * Test that, with release checking on, CollisionData kept past the end of its step cannot be used.
+     */
+    public void testUseAfterRelease() {
+        CollisionPool.setCheckingReleases(true);
+        Entity a = new ConcreteEntity(new Vector2D(0, 0), new ConcreteShape(4, 1));
+        Entity b = new ConcreteEntity(new Vector2D(1, 0), new ConcreteShape(4, 1));
+        CollisionPool pool = new CollisionPool();
+        CollisionData kept = a.collisionCheck(b, pool);
+        pool.releaseAll();
+
+        try {
+            kept.resolve(false, false);
+            fail("Released CollisionData was resolved");
+        } catch (IllegalStateException expected) {
+        }
+        CollisionPool.setCheckingReleases(false);
+        assertTrue(Double.isNaN(kept.getMtv().getX()));
+    }
+
+    /**
+     * Test that stepping a Scenario full of contacts never touches CollisionData from an earlier step.
+     */
+    public void testScenarioUsesOnlyLiveCollisions() {
+        CollisionPool.setCheckingReleases(true);
+        Scenario s = new Scenario(1);
+        s.addEntity(new StaticEntity(new Vector2D(0, -5), new ConcreteShape(4, 6), s.getRandom()));
+        for (int i = 0; i < 20; i++) {
+            s.addEntity(new ConcreteEntity(new Vector2D(i * 0.5 - 5, 0), new ConcreteShape(6, 0.4), s.getRandom()));
+        }
+        for (int step = 0; step < 100; step++) {
+            s.step();
+        }
+        int colliding = 0;
+        for (Entity e : s.getEntities()) {
+            if (e.isColliding()) {
+                colliding++;
+            }
+        }
+        assertTrue(colliding > 0);
+    }
+
+    /**
+     * Test that once a Scenario has settled, stepping it allocates nothing, in either solver mode and with joints and
+     * force fields, both everywhere and within a region, in the scene.
+     */
+    public void testSteadyStepsDoNotAllocate() {
+        for (SolverMode mode : SolverMode.values()) {
+            Scenario s = new Scenario(1);
+            s.setSolverMode(mode);
+            s.toggleFEAgravity();
+            s.addEntity(new StaticEntity(new Vector2D(0, -5), new ConcreteShape(4, 6), s.getRandom()));
+            Entity previous = null;
+            for (int i = 0; i < 40; i++) {
+                Entity e = new ConcreteEntity(new Vector2D(i * 0.5 - 10, 0), new ConcreteShape(6, 0.4), s.getRandom());
+                s.addEntity(e);
+                if (i % 2 == 1) {
+                    s.addJoint(new DistanceJoint(previous, e, 0.5));
+                }
+                previous = e;
+            }
+            s.addForceField(new DragField(0.1, 0.01));
+            s.addForceField(new DragField(0.5, 0, new AABB(0, -2, 5, 3)));
+            for (int step = 0; step < 300; step++) { // Long enough for every pool and scratch array to have grown.
+                s.step();
+            }
+
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            for (int step = 0; step < 200; step++) {
+                s.step();
+            }
+            long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+            // Building the step's tasks or a fresh QuadTree every step would cost tens of KB over 200 steps.
+            assertTrue(mode + " steps allocated " + allocated + " bytes", allocated < 1024);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package in.patrickmart.model;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+public class DeterminismTest extends TestCase
+{
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public DeterminismTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( DeterminismTest.class );
+    }
+
+    /**
+     * Builds a seeded scenario full of random entities with both kinds of gravity on, then steps it.
+     */
+    private Scenario run(long seed, int threads, int steps) {
+        Scenario s = new Scenario(seed);
+        s.setThreads(threads);
+        Random r = s.getRandom();
+        for (int i = 0; i < 300; i++) {
+            double x = (r.nextDouble() * 20) - 10;
+            double y = (r.nextDouble() * 20) - 10;
+            Entity e = new ConcreteEntity(new Vector2D(x, y), new ConcreteShape(r.nextInt(8) + 3, .3), r);
+            e.setMass(5000.0);
+            s.addEntity(e);
+        }
+        s.toggleGravity();
+        s.toggleFEAgravity();
+        for (int i = 0; i < steps; i++) {
+            s.step();
+        }
+        s.setThreads(1);
+        return s;
+    }
+
+    /**
+     * Test that the same seed gives bit-identical results no matter how many threads step the scenario.
+     */
+    public void testSameSeedAnyThreadCount() {
+        ArrayList<Entity> single = run(42, 1, 10).getEntities();
+        ArrayList<Entity> parallel = run(42, 4, 10).getEntities();
+
+        assertEquals(single.size(), parallel.size());
+        for (int i = 0; i < single.size(); i++) {
+            Entity a = single.get(i);
+            Entity b = parallel.get(i);
+            assertEquals(Double.doubleToLongBits(a.getPosition().getX()), Double.doubleToLongBits(b.getPosition().getX()));
+            assertEquals(Double.doubleToLongBits(a.getPosition().getY()), Double.doubleToLongBits(b.getPosition().getY()));
+            assertEquals(Double.doubleToLongBits(a.getVelocity().getX()), Double.doubleToLongBits(b.getVelocity().getX()));
+            assertEquals(Double.doubleToLongBits(a.getVelocity().getY()), Double.doubleToLongBits(b.getVelocity().getY()));
+            assertEquals(a.getColor()[0], b.getColor()[0]);
+        }
+    }
+
+    /**
+     * Test that different seeds give different scenarios.
+     */
+    public void testDifferentSeeds() {
+        Entity a = run(1, 1, 0).getEntities().get(0);
+        Entity b = run(2, 1, 0).getEntities().get(0);
+        assertFalse(a.getPosition().equals(b.getPosition()));
+    }
+}
@@ -0,0 +1,189 @@
+package in.patrickmart.model;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+public class EntityRegistryTest extends TestCase
+{
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public EntityRegistryTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( EntityRegistryTest.class );
+    }
+
+    private static Entity entity(double x) {
+        return new ConcreteEntity(new Vector2D(x, 0), new ConcreteShape(4, 0.5));
+    }
+
+    /**
+     * Test that removing an Entity moves the last one into its place, and that every Entity can still be found by ID.
+     */
+    public void testSwapRemove() {
+        EntityRegistry registry = new EntityRegistry();
+        Entity[] all = new Entity[5];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = entity(i);
+            registry.add(all[i]);
+        }
+        assertEquals(1, registry.remove(all[1]));
+        assertEquals(-1, registry.remove(all[1]));
+
+        assertEquals(4, registry.size());
+        assertSame(all[4], registry.getEntities().get(1));
+        assertEquals(1, registry.indexOf(all[4]));
+        assertNull(registry.get(all[1].getId()));
+        assertFalse(registry.contains(all[1]));
+        for (int i : new int[] {0, 2, 3, 4}) {
+            assertSame(all[i], registry.get(all[i].getId()));
+        }
+        try {
+            registry.add(all[0]);
+            fail("An Entity was registered twice");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    /**
+     * Test that a handle stops referring to anything once its Entity is removed, even after its slot is reused.
+     */
+    public void testStaleHandles() {
+        EntityRegistry registry = new EntityRegistry();
+        Entity first = entity(0);
+        long handle = registry.add(first);
+        assertSame(first, registry.get(handle));
+        assertEquals(handle, registry.getHandle(first));
+
+        registry.remove(first);
+        Entity second = entity(1);
+        long reused = registry.add(second);
+        assertEquals((int) handle, (int) reused); // The same slot, in a later generation.
+        assertNull(registry.get(handle));
+        assertSame(second, registry.get(reused));
+        assertEquals(EntityRegistry.NO_HANDLE, registry.getHandle(first));
+
+        registry.clear();
+        assertNull(registry.get(reused));
+        assertNull(registry.get(EntityRegistry.NO_HANDLE));
+    }
+
+    /**
+     * Test that Entities built on many threads at once never share an ID.
+     */
+    public void testIdsAreUniqueAcrossThreads() throws InterruptedException {
+        int threads = 4;
+        int each = 2000;
+        Entity[][] built = new Entity[threads][each];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            Entity[] mine = built[t];
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < each; i++) {
+                    mine[i] = entity(i);
+                }
+            });
+            workers[t].start();
+        }
+        Set<Integer> ids = new HashSet<>();
+        for (int t = 0; t < threads; t++) {
+            workers[t].join();
+            for (Entity e : built[t]) {
+                assertTrue(ids.add(e.getId()));
+            }
+        }
+    }
+
+    /**
+     * Test that removing by ID works for any Entity, rather than failing while searching the list it removes from.
+     */
+    public void testRemoveById() {
+        Model model = new Model(1);
+        Entity[] all = new Entity[4];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = entity(i * 10);
+            model.addEntity(all[i]);
+        }
+        model.removeEntity(all[0].getId());
+        model.removeEntity(all[2].getId());
+        model.removeEntity(-1);
+
+        assertEquals(2, model.getScenario().getEntities().size());
+        assertNull(model.getScenario().getEntity(all[0].getId()));
+        assertSame(all[3], model.getScenario().getEntity(all[3].getId()));
+    }
+
+    /**
+     * Test that Entities spawned and despawned between steps keep the BodyStore lined up with the list, with every
+     * Entity keeping its own state.
+     */
+    public void testSpawnAndDespawn() {
+        Scenario s = new Scenario(1);
+        Random random = new Random(2);
+        Map<Entity, Double> startX = new HashMap<>();
+        int spawned = 0;
+        for (int step = 0; step < 50; step++) {
+            for (int k = 0; k < 5; k++) {
+                Entity e = entity(spawned++ * 10); // Far enough apart that nothing collides.
+                startX.put(e, e.getPosition().getX());
+                s.addEntity(e);
+            }
+            for (int k = 0; k < 3; k++) {
+                Entity gone = s.getEntities().get(random.nextInt(s.getEntities().size()));
+                s.removeEntity(gone);
+                assertEquals(startX.remove(gone), gone.getPosition().getX(), 0);
+            }
+            s.step();
+            BodyStore bodies = s.getBodies();
+            assertEquals(s.getEntities().size(), bodies.count);
+            for (int i = 0; i < bodies.count; i++) {
+                Entity e = s.getEntities().get(i);
+                assertSame(e, bodies.entities[i]);
+                assertEquals(startX.get(e), e.getPosition().getX(), 0);
+            }
+        }
+        assertEquals(100, s.getEntities().size());
+    }
+
+    /**
+     * Test the map behind the registry against a HashMap, through enough adding and removing to grow it and to move
+     * entries back over removed ones.
+     */
+    public void testIdIndexMap() {
+        IdIndexMap map = new IdIndexMap(4);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(3);
+        for (int op = 0; op < 100000; op++) {
+            int key = random.nextInt(2000) - 100;
+            if (random.nextBoolean()) {
+                int value = random.nextInt(1 << 20);
+                map.put(key, value);
+                expected.put(key, value);
+            } else {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? -1 : removed, map.remove(key));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (int key = -100; key < 1900; key++) {
+            Integer value = expected.get(key);
+            assertEquals(value == null ? -1 : value, map.get(key));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package in.patrickmart.model;
+
+import in.patrickmart.model.forces.AttractorField;
+import in.patrickmart.model.forces.DragField;
+import in.patrickmart.model.forces.UniformGravityField;
+import in.patrickmart.model.forces.WindField;
+import in.patrickmart.model.trees.QuadTree;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+public class ForceFieldTest extends TestCase
+{
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public ForceFieldTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( ForceFieldTest.class );
+    }
+
+    /**
+     * Test that a uniform field accelerates Entities exactly like FEA gravity does.
+     */
+    public void testUniformMatchesFEA() {
+        Scenario fea = new Scenario(1);
+        fea.toggleFEAgravity();
+        Entity a = new ConcreteEntity(new Vector2D(), new ConcreteShape(4, 0.5));
+        fea.addEntity(a);
+
+        Scenario field = new Scenario(1);
+        field.addForceField(new UniformGravityField(0, -9.8));
+        Entity b = new ConcreteEntity(new Vector2D(), new ConcreteShape(4, 0.5));
+        field.addEntity(b);
+
+        for (int i = 0; i < 10; i++) {
+            fea.step();
+            field.step();
+        }
+        assertEquals(a.getPosition().getY(), b.getPosition().getY(), 0.00000001);
+        assertEquals(-9.8, b.getAcceleration().getY(), 0.00000001);
+    }
+
+    /**
+     * Test that a bounded wind only pushes the Entities within its region.
+     */
+    public void testWindRegion() {
+        Scenario s = new Scenario(1);
+        s.addForceField(new WindField(5, 0, 1, new AABB(0, 0, 2, 2)));
+        Entity inside = new ConcreteEntity(new Vector2D(1, 1), new ConcreteShape(4, 0.1));
+        Entity outside = new ConcreteEntity(new Vector2D(10, 10), new ConcreteShape(4, 0.1));
+        s.addEntity(inside);
+        s.addEntity(outside);
+        s.step();
+        assertTrue(inside.getVelocity().getX() > 0);
+        assertEquals(0.0, outside.getVelocity().getX());
+    }
+
+    /**
+     * Test that an attractor pulls Entities toward its point, and that drag slows them down.
+     */
+    public void testAttractorAndDrag() {
+        Scenario s = new Scenario(1);
+        s.addForceField(new AttractorField(0, 0, 1, 5));
+        Entity e = new ConcreteEntity(new Vector2D(2, 0), new ConcreteShape(4, 0.1));
+        s.addEntity(e);
+        s.step();
+        assertEquals(-0.25, e.getAcceleration().getX(), 0.001);
+
+        Scenario d = new Scenario(1);
+        d.addForceField(new DragField(1, 0));
+        Entity moving = new ConcreteEntity(new Vector2D(), new ConcreteShape(4, 0.1));
+        moving.setVelocity(new Vector2D(3, 0));
+        d.addEntity(moving);
+        d.step();
+        assertTrue(moving.getVelocity().getX() < 3);
+        assertTrue(moving.getVelocity().getX() > 0);
+    }
+
+    /**
+     * Test that a QuadTree query finds exactly the objects a brute force search does, even once nodes overflow.
+     */
+    public void testQuadTreeQuery() {
+        Random r = new Random(7);
+        QuadTree<Entity> tree = new QuadTree<>(new AABB(0, 0, 50, 50));
+        ArrayList<Entity> all = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Entity e = new ConcreteEntity(new Vector2D(r.nextDouble() * 100 - 50, r.nextDouble() * 10),
+                    new ConcreteShape(4, 0.5));
+            all.add(e);
+            assertTrue(tree.insert(e));
+        }
+
+        AABB area = new AABB(10, 5, 8, 3);
+        ArrayList<Entity> found = new ArrayList<>();
+        tree.query(area, found);
+        int expected = 0;
+        for (Entity e : all) {
+            if (e.getBounds().intersectsAABB(area)) {
+                expected++;
+                assertTrue(found.contains(e));
+            }
+        }
+        assertEquals(expected, found.size());
+    }
+
+    /**
+     * Test that a cleared QuadTree, filled again elsewhere, finds exactly what a new tree would, and nothing left over
+     * from before it was cleared.
+     */
+    public void testQuadTreeClearAndRefill() {
+        Random r = new Random(11);
+        QuadTree<Entity> tree = new QuadTree<>(new AABB(0, 0, 50, 50));
+        for (int i = 0; i < 500; i++) {
+            tree.insert(new ConcreteEntity(new Vector2D(r.nextDouble() * 100 - 50, r.nextDouble() * 10),
+                    new ConcreteShape(4, 0.5)));
+        }
+
+        tree.clear(100, 100, 20, 20);
+        ArrayList<Entity> all = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Entity e = new ConcreteEntity(new Vector2D(80 + r.nextDouble() * 40, 80 + r.nextDouble() * 40),
+                    new ConcreteShape(4, 0.5));
+            all.add(e);
+            assertTrue(tree.insert(e));
+        }
+
+        AABB area = new AABB(105, 95, 6, 8);
+        ArrayList<Entity> found = new ArrayList<>();
+        tree.query(area, found);
+        int expected = 0;
+        for (Entity e : all) {
+            if (e.getBounds().intersectsAABB(area)) {
+                expected++;
+                assertTrue(found.contains(e));
+            }
+        }
+        assertTrue(expected > 0);
+        assertEquals(expected, found.size());
+        found.clear();
+        tree.query(new AABB(0, 5, 50, 10), found);
+        assertEquals(0, found.size());
+    }
+}
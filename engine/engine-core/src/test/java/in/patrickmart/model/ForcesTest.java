@@ -0,0 +1,79 @@
+package in.patrickmart.model;
+
+import in.patrickmart.model.forces.ForceFEA;
+import in.patrickmart.model.forces.ForceGeneric;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import java.util.ArrayList;
+
+public class ForcesTest extends TestCase
+{
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public ForcesTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( ForcesTest.class );
+    }
+
+    public void testFEAForce(){
+        Entity e = new ConcreteEntity(new Vector2D(),new ConcreteShape(3,.1));
+        e.setMass(10);
+        ForceFEA grav = new ForceFEA(e);
+        e.calculateAcceleration();
+        assertEquals(grav.getForce().getY() / e.getMass(), e.getAcceleration().getY());
+    }
+
+    public void testGenericForce(){
+        Entity e = new ConcreteEntity(new Vector2D(),new ConcreteShape(3,.1));
+        e.setMass(10);
+        ForceGeneric g = new ForceGeneric(e, new Vector2D(0,9.8));
+        e.calculateAcceleration();
+        assertEquals(g.getForce().copy().getY() / e.getMass(), e.getAcceleration().getY());
+    }
+
+    public void testApplyForceAt(){
+        ConcreteEntity e = new ConcreteEntity(new Vector2D(1, 1),new ConcreteShape(4,1));
+        e.setMass(2);
+        e.applyForceAt(1, 2, -1, 0); // Pushing the top to the left turns it CCW.
+        e.applyForce(0, 4);
+        e.calculateAcceleration();
+        assertEquals(-0.5, e.getAcceleration().getX(), 0.00000001);
+        assertEquals(2.0, e.getAcceleration().getY(), 0.00000001);
+        assertEquals(1.0, e.getNetTorque(), 0.00000001);
+        assertTrue(e.getForces().isEmpty()); // Nothing is recorded unless asked for.
+
+        // The sums start over every step.
+        e.calculateAcceleration();
+        assertEquals(0.0, e.getNetForce().mag());
+        assertEquals(0.0, e.getNetTorque());
+    }
+
+    public void testRecordingForces(){
+        Entity e = new ConcreteEntity(new Vector2D(),new ConcreteShape(3,.1));
+        Entity.setRecordingForces(true);
+        try {
+            e.applyForce(0, 1);
+            new ForceGeneric(e, new Vector2D(2, 0));
+            e.calculateAcceleration();
+            assertEquals(2, e.getForces().size());
+            assertEquals(1.0, e.getForces().get(0).getForce().getY());
+
+            e.calculateAcceleration();
+            assertEquals(0, e.getForces().size());
+        } finally {
+            Entity.setRecordingForces(false);
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package in.patrickmart.model;
+
+import in.patrickmart.model.gravity.BarnesHutGravity;
+import in.patrickmart.model.gravity.BlockTimesteps;
+import in.patrickmart.model.gravity.DirectSumGravity;
+import in.patrickmart.model.gravity.FastMultipoleGravity;
+import in.patrickmart.model.gravity.GravitySolver;
+import in.patrickmart.model.gravity.ParticleMeshGravity;
+import in.patrickmart.model.forces.ForceGravity;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+public class GravityTest extends TestCase
+{
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public GravityTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( GravityTest.class );
+    }
+
+    /**
+     * Gathers a disc of randomly placed bodies, like a small galaxy.
+     */
+    private BodyStore galaxy(int n, long seed) {
+        Random r = new Random(seed);
+        ArrayList<Entity> list = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            double radius = Math.sqrt(r.nextDouble()) * 100;
+            double angle = r.nextDouble() * Math.PI * 2;
+            Entity e = new ConcreteEntity(new Vector2D(Math.cos(angle) * radius, Math.sin(angle) * radius),
+                    new ConcreteShape(4, 0.2), r);
+            e.setMass(1 + r.nextDouble() * 1000);
+            list.add(e);
+        }
+        BodyStore b = new BodyStore(n);
+        b.adopt(list);
+        return b;
+    }
+
+    private double[] forces(GravitySolver solver, BodyStore b, int threads) {
+        WorkerPool workers = new WorkerPool(threads);
+        try {
+            Arrays.fill(b.fx, 0);
+            Arrays.fill(b.fy, 0);
+            solver.accumulate(b, workers);
+        } finally {
+            workers.shutdown();
+        }
+        double[] f = new double[b.count * 2];
+        for (int i = 0; i < b.count; i++) {
+            f[i * 2] = b.fx[i];
+            f[i * 2 + 1] = b.fy[i];
+        }
+        return f;
+    }
+
+    /**
+     * Test that Barnes-Hut with an opening angle of zero matches direct summation.
+     */
+    public void testZeroThetaIsExact() {
+        BodyStore b = galaxy(500, 1);
+        double[] exact = forces(new DirectSumGravity(), b, 1);
+        double[] approximate = forces(new BarnesHutGravity(0), b, 1);
+        for (int k = 0; k < exact.length; k++) {
+            assertEquals(exact[k], approximate[k], Math.abs(exact[k]) * 0.000001 + 1e-18);
+        }
+    }
+
+    /**
+     * Test that the error reported against direct summation is small for a typical opening angle, and grows with it.
+     */
+    public void testErrorReport() {
+        BodyStore b = galaxy(2000, 2);
+        double tight = new BarnesHutGravity(0.3).measureError(b, 200);
+        double loose = new BarnesHutGravity(1.0).measureError(b, 200);
+        assertTrue("Error was " + tight, tight < 0.01);
+        assertTrue(loose > tight);
+        assertTrue("Error was " + loose, loose < 0.1);
+
+        BarnesHutGravity solver = new BarnesHutGravity(0.5);
+        solver.setErrorSamples(50);
+        forces(solver, b, 1);
+        assertTrue(solver.getLastError() > 0 && solver.getLastError() < 0.05);
+    }
+
+    /**
+     * Test that Barnes-Hut gives the same forces on any number of threads.
+     */
+    public void testThreadIndependent() {
+        BodyStore b = galaxy(3000, 3);
+        double[] single = forces(new BarnesHutGravity(0.5), b, 1);
+        double[] parallel = forces(new BarnesHutGravity(0.5), b, 4);
+        for (int k = 0; k < single.length; k++) {
+            assertEquals(Double.doubleToLongBits(single[k]), Double.doubleToLongBits(parallel[k]));
+        }
+    }
+
+    /**
+     * Test that visiting each pair once gives the same forces as pulling on each body separately, and that every
+     * pull is matched by an equal and opposite one. Both an even and an odd number of blocks are tried, since blocks
+     * are scheduled against one another differently for each.
+     */
+    public void testSymmetricDirectSum() {
+        for (int n : new int[] {1500, 1700}) { // Six blocks, then seven.
+            BodyStore b = galaxy(n, 4);
+            double[] symmetric = forces(new DirectSumGravity(), b, 4);
+            double[] pull = new double[2];
+            double totalX = 0;
+            double largest = 0;
+            for (int i = 0; i < b.count; i++) {
+                DirectSumGravity.pull(b, i, pull);
+                assertEquals(pull[0], symmetric[i * 2], Math.abs(pull[0]) * 0.000001 + 1e-18);
+                assertEquals(pull[1], symmetric[i * 2 + 1], Math.abs(pull[1]) * 0.000001 + 1e-18);
+                totalX += symmetric[i * 2];
+                largest = Math.max(largest, Math.abs(symmetric[i * 2]));
+            }
+            assertEquals(0.0, totalX, largest * 0.000001);
+
+            double[] single = forces(new DirectSumGravity(), b, 1);
+            for (int k = 0; k < single.length; k++) {
+                assertEquals(Double.doubleToLongBits(single[k]), Double.doubleToLongBits(symmetric[k]));
+            }
+        }
+    }
+
+    /**
+     * Test that softening keeps the pull between two nearly touching bodies finite.
+     */
+    public void testSoftening() {
+        ArrayList<Entity> pair = new ArrayList<>();
+        pair.add(new ConcreteEntity(new Vector2D(0, 0), new ConcreteShape(4, 0.1)));
+        pair.add(new ConcreteEntity(new Vector2D(1e-9, 0), new ConcreteShape(4, 0.1)));
+        BodyStore b = new BodyStore(2);
+        b.adopt(pair);
+
+        double hard = forces(new DirectSumGravity(), b, 1)[0];
+        double soft = forces(new DirectSumGravity(0.1), b, 1)[0];
+        assertTrue(hard > 1e6);
+        assertTrue(soft > 0 && soft < 1e-6);
+    }
+
+    /**
+     * Test that the fast multipole method gets more accurate with higher orders, and stays within its error bound.
+     */
+    public void testFastMultipoleAccuracy() {
+        BodyStore b = galaxy(5000, 5);
+        double previous = Double.POSITIVE_INFINITY;
+        for (int order = 2; order <= 8; order += 3) {
+            FastMultipoleGravity fmm = new FastMultipoleGravity(order, 0.5);
+            double error = fmm.measureError(b, 300);
+            assertTrue("Order " + order + " error was " + error, error < previous);
+            assertTrue("Order " + order + " error was " + error, error < fmm.getErrorBound());
+            previous = error;
+        }
+        assertTrue("Error was " + previous, previous < 0.001);
+    }
+
+    /**
+     * Test that the fast multipole method gives the same forces on any number of threads.
+     */
+    public void testFastMultipoleThreadIndependent() {
+        BodyStore b = galaxy(20000, 6);
+        double[] single = forces(new FastMultipoleGravity(4, 0.5), b, 1);
+        double[] parallel = forces(new FastMultipoleGravity(4, 0.5), b, 4);
+        for (int k = 0; k < single.length; k++) {
+            assertEquals(Double.doubleToLongBits(single[k]), Double.doubleToLongBits(parallel[k]));
+        }
+    }
+
+    /**
+     * Measures the root mean square relative error of a set of forces against direct summation.
+     */
+    private double error(double[] f, BodyStore b) {
+        double[] exact = new double[2];
+        double sum = 0;
+        int measured = 0;
+        for (int i = 0; i < b.count; i += 10) {
+            DirectSumGravity.pull(b, i, exact);
+            double error = Math.hypot(f[i * 2] - exact[0], f[i * 2 + 1] - exact[1]) / Math.hypot(exact[0], exact[1]);
+            sum += error * error;
+            measured++;
+        }
+        return Math.sqrt(sum / measured);
+    }
+
+    /**
+     * Test that particle-mesh gravity is close to direct summation once close pairs are summed directly, and that
+     * the grid alone gets pairs that are many cells apart right.
+     */
+    public void testParticleMesh() {
+        BodyStore b = galaxy(4000, 7);
+        double meshOnly = error(forces(new ParticleMeshGravity(64, false), b, 1), b);
+        double corrected = error(forces(new ParticleMeshGravity(64), b, 1), b);
+        assertTrue("Error was " + corrected, corrected < 0.03);
+        assertTrue(corrected * 10 < meshOnly);
+
+        ArrayList<Entity> pair = new ArrayList<>();
+        pair.add(new ConcreteEntity(new Vector2D(0, 0), new ConcreteShape(4, 0.1)));
+        pair.add(new ConcreteEntity(new Vector2D(60, 80), new ConcreteShape(4, 0.1)));
+        BodyStore two = new BodyStore(2);
+        two.adopt(pair);
+        double[] f = forces(new ParticleMeshGravity(64, false), two, 1);
+        double expected = ForceGravity.G * two.mass[0] * two.mass[1] / (100 * 100);
+        assertEquals(expected * 0.6, f[0], expected * 0.001);
+        assertEquals(expected * 0.8, f[1], expected * 0.001);
+        assertEquals(-f[0], f[2], expected * 0.000001);
+    }
+
+    /**
+     * Test that particle-mesh gravity gives the same forces on any number of threads, and when the grid is reused.
+     */
+    public void testParticleMeshThreadIndependent() {
+        BodyStore b = galaxy(5000, 8);
+        ParticleMeshGravity solver = new ParticleMeshGravity(128);
+        double[] single = forces(solver, b, 1);
+        double[] parallel = forces(solver, b, 4);
+        for (int k = 0; k < single.length; k++) {
+            assertEquals(Double.doubleToLongBits(single[k]), Double.doubleToLongBits(parallel[k]));
+        }
+    }
+
+    /**
+     * Lays out a tight binary with light bodies in wide circular orbits around it.
+     */
+    private BodyStore binary(int orbiters) {
+        BodyStore b = new BodyStore(orbiters + 2);
+        b.count = orbiters + 2;
+        double m = 1e9;
+        double v = Math.sqrt(0.5 * ForceGravity.G * m); // Each star circles the middle at a radius of 0.5.
+        for (int i = 0; i < 2; i++) {
+            b.x[i] = i == 0 ? -0.5 : 0.5;
+            b.vy[i] = i == 0 ? -v : v;
+            b.mass[i] = m;
+        }
+        Random r = new Random(9);
+        for (int i = 2; i < b.count; i++) {
+            double radius = 30 + r.nextDouble() * 30;
+            double angle = r.nextDouble() * Math.PI * 2;
+            double speed = Math.sqrt(ForceGravity.G * 2 * m / radius);
+            b.x[i] = Math.cos(angle) * radius;
+            b.y[i] = Math.sin(angle) * radius;
+            b.vx[i] = -Math.sin(angle) * speed;
+            b.vy[i] = Math.cos(angle) * speed;
+            b.mass[i] = 1;
+        }
+        for (int i = 0; i < b.count; i++) {
+            b.invMass[i] = 1 / b.mass[i];
+            b.entities[i] = new ConcreteEntity(new Vector2D(b.x[i], b.y[i]), new ConcreteShape(4, 0.1));
+        }
+        return b;
+    }
+
+    /**
+     * Test that block timesteps put a tight binary on short steps and wide orbits on long ones, needing far fewer
+     * force evaluations than stepping everything at the binary's pace, for nearly the same orbits.
+     */
+    public void testBlockTimesteps() {
+        BodyStore block = binary(200);
+        BodyStore fine = binary(200);
+        BlockTimesteps blockSteps = new BlockTimesteps(4, 0.05, 0.1);
+        BlockTimesteps fineSteps = new BlockTimesteps(4, 0, 0.1); // No accuracy puts everything on the deepest rung.
+        DirectSumGravity solver = new DirectSumGravity();
+        WorkerPool workers = new WorkerPool(1);
+        try {
+            for (int frame = 0; frame < 60; frame++) {
+                blockSteps.step(block, Scenario.TIMESTEP, solver, workers);
+                fineSteps.step(fine, Scenario.TIMESTEP, solver, workers);
+            }
+        } finally {
+            workers.shutdown();
+        }
+        assertTrue(blockSteps.getRung(0) >= 2);
+        assertEquals(0, blockSteps.getRung(100));
+        assertTrue(blockSteps.getForceEvaluations() * 10 < fineSteps.getForceEvaluations());
+
+        double separation = Math.hypot(block.x[1] - block.x[0], block.y[1] - block.y[0]);
+        assertEquals(1, separation, 0.01);
+        // The binary's longer steps put it a little behind in phase; the wide orbits should barely notice.
+        for (int i = 0; i < block.count; i++) {
+            double tolerance = i < 2 ? 0.02 : 0.001;
+            assertEquals(fine.x[i], block.x[i], tolerance);
+            assertEquals(fine.y[i], block.y[i], tolerance);
+        }
+    }
+
+    /**
+     * Test that a Scenario with block timesteps on moves its Entities under gravity, and leaves them alone without it.
+     */
+    public void testBlockTimestepsInScenario() {
+        Scenario s = new Scenario(10);
+        s.toggleBlockTimesteps();
+        Entity a = new ConcreteEntity(new Vector2D(-1, 0), new ConcreteShape(4, 0.1));
+        Entity c = new ConcreteEntity(new Vector2D(1, 0), new ConcreteShape(4, 0.1));
+        a.setMass(1e9);
+        c.setMass(1e9);
+        s.addEntity(a);
+        s.addEntity(c);
+        s.step();
+        assertEquals(-1, a.getPosition().getX(), 1e-12);
+
+        s.toggleGravity();
+        s.getBlockTimesteps().reset();
+        for (int i = 0; i < 10; i++) {
+            s.step();
+        }
+        assertTrue(a.getPosition().getX() > -1);
+        assertTrue(c.getPosition().getX() < 1);
+        assertEquals(-a.getPosition().getX(), c.getPosition().getX(), 1e-9);
+    }
+}
@@ -0,0 +1,185 @@
+package in.patrickmart.model;
+
+import in.patrickmart.model.joints.DistanceJoint;
+import in.patrickmart.model.joints.PrismaticJoint;
+import in.patrickmart.model.joints.RevoluteJoint;
+import in.patrickmart.model.joints.WeldJoint;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+public class JointTest extends TestCase
+{
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public JointTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( JointTest.class );
+    }
+
+    /**
+     * Test that a pendulum hanging from a static pivot keeps its length while it swings.
+     */
+    public void testPendulumKeepsLength() {
+        for (SolverMode mode : SolverMode.values()) {
+            Scenario s = new Scenario(3);
+            s.setSolverMode(mode);
+            s.toggleFEAgravity();
+            Entity pivot = new StaticEntity(new Vector2D(0, 0), new ConcreteShape(4, 0.05));
+            Entity bob = new ConcreteEntity(new Vector2D(2, 0), new ConcreteShape(8, 0.1));
+            s.addEntity(pivot);
+            s.addEntity(bob);
+            s.addJoint(new DistanceJoint(pivot, bob, 2));
+
+            double lowest = 0;
+            for (int i = 0; i < 120; i++) {
+                s.step();
+                assertEquals(2.0, bob.getPosition().mag(), 0.001);
+                lowest = Math.min(lowest, bob.getPosition().getY());
+            }
+            assertTrue(lowest < -1.9); // It actually swung down.
+        }
+    }
+
+    /**
+     * Test that a long hanging chain of revolute joints stays connected and only needs two colors.
+     */
+    public void testRevoluteChain() {
+        Scenario s = new Scenario(3);
+        s.toggleFEAgravity();
+        s.getJointSolver().setIterations(32);
+        Entity previous = new StaticEntity(new Vector2D(0, 0), new ConcreteShape(4, 0.01));
+        s.addEntity(previous);
+        RevoluteJoint[] joints = new RevoluteJoint[20];
+        for (int i = 0; i < joints.length; i++) {
+            Entity link = new ConcreteEntity(new Vector2D(i + 0.5, 0), new ConcreteShape(4, 0.01));
+            s.addEntity(link);
+            joints[i] = new RevoluteJoint(previous, link, new Vector2D(i, 0));
+            s.addJoint(joints[i]);
+            previous = link;
+        }
+        for (int i = 0; i < 60; i++) {
+            s.step();
+        }
+        assertEquals(2, s.getJointSolver().getColorCount());
+
+        // Every link's end should still be about half a unit from its neighbours.
+        for (int i = 1; i < s.getEntities().size(); i++) {
+            double d = s.getEntities().get(i).getPosition().dist(s.getEntities().get(i - 1).getPosition());
+            assertTrue("Link " + i + " drifted to " + d, d < 1.01);
+        }
+    }
+
+    /**
+     * Test that Joints sharing a static body fit in one colored batch, and that solving the batch on many threads
+     * leaves the static body exactly where it was.
+     */
+    public void testSharedStaticBody() {
+        Scenario s = new Scenario(3);
+        s.setThreads(4);
+        s.toggleFEAgravity();
+        Entity pivot = new StaticEntity(new Vector2D(0.25, -0.5), new ConcreteShape(4, 0.05));
+        pivot.setRotation(0.3);
+        s.addEntity(pivot);
+        for (int i = 0; i < 200; i++) {
+            double angle = i * Math.PI * 2 / 200;
+            Entity bob = new ConcreteEntity(new Vector2D(0.25 + 3 * Math.cos(angle), -0.5 + 3 * Math.sin(angle)),
+                    new ConcreteShape(4, 0.01));
+            s.addEntity(bob);
+            s.addJoint(new DistanceJoint(pivot, bob, 2));
+        }
+        for (int i = 0; i < 20; i++) {
+            s.step();
+        }
+        s.setThreads(1);
+        assertEquals(1, s.getJointSolver().getColorCount());
+        assertEquals(0.25, pivot.getPosition().getX(), 0);
+        assertEquals(-0.5, pivot.getPosition().getY(), 0);
+        assertEquals(0.3, pivot.getRotation(), 0);
+    }
+
+    /**
+     * Test that welded Entities do not turn relative to one another.
+     */
+    public void testWeldHoldsAngle() {
+        Scenario s = new Scenario(3);
+        Entity a = new ConcreteEntity(new Vector2D(0, 0), new ConcreteShape(4, 0.4));
+        Entity b = new ConcreteEntity(new Vector2D(1, 0), new ConcreteShape(4, 0.4));
+        s.addEntity(a);
+        s.addEntity(b);
+        s.addJoint(new WeldJoint(a, b, new Vector2D(0.5, 0)));
+        b.setVelocity(new Vector2D(0, 1));
+        for (int i = 0; i < 60; i++) {
+            s.step();
+        }
+        assertEquals(0.0, Math.IEEEremainder(b.getRotation() - a.getRotation(), Math.PI * 2), 0.001);
+        assertEquals(1.0, a.getPosition().dist(b.getPosition()), 0.001);
+        assertTrue(a.getPosition().getY() > 0.1); // The first Entity was dragged along.
+    }
+
+    /**
+     * Test that a prismatic joint only lets an Entity slide along its axis.
+     */
+    public void testPrismaticSlides() {
+        Scenario s = new Scenario(3);
+        s.toggleFEAgravity();
+        Entity rail = new StaticEntity(new Vector2D(0, 0), new ConcreteShape(4, 0.01));
+        Entity slider = new ConcreteEntity(new Vector2D(1, 1), new ConcreteShape(4, 0.2));
+        s.addEntity(rail);
+        s.addEntity(slider);
+        s.addJoint(new PrismaticJoint(rail, slider, new Vector2D(1, 1), new Vector2D(1, 0)));
+        slider.setVelocity(new Vector2D(2, 0));
+        for (int i = 0; i < 60; i++) {
+            s.step();
+        }
+        assertEquals(1.0, slider.getPosition().getY(), 0.001);
+        assertTrue(slider.getPosition().getX() > 2.5);
+    }
+
+    /**
+     * Test that colored batches give the same result on any number of threads.
+     */
+    public void testThreadIndependent() {
+        Vector2D single = meshEnd(1);
+        Vector2D parallel = meshEnd(4);
+        assertEquals(Double.doubleToLongBits(single.getX()), Double.doubleToLongBits(parallel.getX()));
+        assertEquals(Double.doubleToLongBits(single.getY()), Double.doubleToLongBits(parallel.getY()));
+    }
+
+    private Vector2D meshEnd(int threads) {
+        Scenario s = new Scenario(5);
+        s.setThreads(threads);
+        s.toggleFEAgravity();
+        int size = 30;
+        Entity[][] grid = new Entity[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                Vector2D p = new Vector2D(i, -j);
+                grid[i][j] = j == 0 ? new StaticEntity(p, new ConcreteShape(4, 0.01))
+                        : new ConcreteEntity(p, new ConcreteShape(4, 0.01));
+                s.addEntity(grid[i][j]);
+                if (i > 0) {
+                    s.addJoint(new DistanceJoint(grid[i - 1][j], grid[i][j], 1));
+                }
+                if (j > 0) {
+                    s.addJoint(new DistanceJoint(grid[i][j - 1], grid[i][j], 1));
+                }
+            }
+        }
+        for (int i = 0; i < 10; i++) {
+            s.step();
+        }
+        s.setThreads(1);
+        return grid[size / 2][size - 1].getPosition();
+    }
+}
@@ -0,0 +1,169 @@
+package in.patrickmart.model;
+
+import in.patrickmart.model.gravity.DirectSumGravity;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Times each of the Kernels against the code it replaced. This is not a unit test, so it is not run with the rest of
+ * the tests. Run it with the test classpath:
+ *
+ *   java -cp target/classes:target/test-classes in.patrickmart.model.KernelBenchmark
+ *
+ * and again with -XX:-UseSuperWord to see how much of each speedup comes from SIMD instructions.
+ */
+public class KernelBenchmark {
+    private static final int BODIES = 1 << 16;
+    private static final int GRAVITY_BODIES = 1 << 13;
+    private static volatile double sink; // Keeps the JIT from throwing results away.
+
+    public static void main(String[] args) {
+        Random r = new Random(1);
+        BodyStore b = new BodyStore(BODIES);
+        b.count = BODIES;
+        for (int i = 0; i < BODIES; i++) {
+            b.x[i] = r.nextDouble() * 1000;
+            b.y[i] = r.nextDouble() * 1000;
+            b.vx[i] = r.nextDouble();
+            b.vy[i] = r.nextDouble();
+            b.ax[i] = r.nextDouble();
+            b.ay[i] = r.nextDouble();
+            b.mass[i] = 1 + r.nextDouble();
+            b.invMass[i] = i % 10 == 0 ? 0 : 1 / b.mass[i];
+            b.halfWidth[i] = r.nextDouble();
+            b.halfHeight[i] = r.nextDouble();
+        }
+        System.out.println("UseSuperWord SIMD forms selected: " + Kernels.isVectorized());
+        System.out.println("kernel                 before (ns/op)   after (ns/op)   speedup");
+
+        double[] moving = new double[BODIES];
+        double[] px = new double[BODIES];
+        double[] py = new double[BODIES];
+        for (int i = 0; i < BODIES; i++) {
+            moving[i] = b.invMass[i] != 0 ? 1 : 0;
+        }
+        report("integrate (per body)", BODIES,
+                () -> {
+                    for (int i = 0; i < BODIES; i++) {
+                        if (b.invMass[i] != 0) {
+                            b.vx[i] += b.ax[i] * 1e-9;
+                            b.vy[i] += b.ay[i] * 1e-9;
+                        }
+                        px[i] = b.x[i] + b.vx[i] * 1e-9;
+                        py[i] = b.y[i] + b.vy[i] * 1e-9;
+                    }
+                    sink = px[BODIES - 1];
+                },
+                () -> {
+                    Kernels.integrate(b.x, b.y, b.vx, b.vy, b.ax, b.ay, moving, 1e-9, px, py, 0, BODIES);
+                    sink = px[BODIES - 1];
+                });
+
+        AABB[] boxes = new AABB[BODIES];
+        for (int i = 0; i < BODIES; i++) {
+            boxes[i] = new AABB(new Vector2D(b.x[i], b.y[i]), b.halfWidth[i], b.halfHeight[i]);
+        }
+        double[] minX = new double[BODIES];
+        double[] minY = new double[BODIES];
+        double[] maxX = new double[BODIES];
+        double[] maxY = new double[BODIES];
+        report("AABB update (per body)", BODIES,
+                () -> {
+                    double total = 0;
+                    for (int i = 0; i < BODIES; i++) {
+                        boxes[i].setCenter(new Vector2D(b.x[i], b.y[i]));
+                        total += boxes[i].getCenter().getX() - boxes[i].getHalfWidth();
+                    }
+                    sink = total;
+                },
+                () -> {
+                    Kernels.bounds(b.x, b.y, b.halfWidth, b.halfHeight, minX, minY, maxX, maxY, 0, BODIES);
+                    sink = minX[BODIES - 1];
+                });
+
+        ConcreteShape octagon = new ConcreteShape(8, 1);
+        octagon.setPosition(new Vector2D(3, 4));
+        ConcreteShape other = new ConcreteShape(8, 1);
+        other.setPosition(new Vector2D(4, 4));
+        report("SAT test (per pair)", 1,
+                () -> {
+                    // The projections intersectsShape used to make, one pair of them for every normal of both shapes.
+                    ArrayList<Vector2D> axes = octagon.getNormals();
+                    axes.addAll(other.getNormals());
+                    double total = 0;
+                    for (Vector2D normal : axes) {
+                        total += project(octagon, normal)[0] + project(other, normal)[1];
+                    }
+                    sink = total;
+                },
+                () -> sink = octagon.intersectsShape(other).getX());
+
+        BodyStore g = new BodyStore(GRAVITY_BODIES);
+        g.count = GRAVITY_BODIES;
+        System.arraycopy(b.x, 0, g.x, 0, GRAVITY_BODIES);
+        System.arraycopy(b.y, 0, g.y, 0, GRAVITY_BODIES);
+        System.arraycopy(b.mass, 0, g.mass, 0, GRAVITY_BODIES);
+        DirectSumGravity gravity = new DirectSumGravity();
+        WorkerPool workers = new WorkerPool(1);
+        boolean selected = Kernels.isVectorized();
+        long pairs = (long) GRAVITY_BODIES * (GRAVITY_BODIES - 1) / 2;
+        report("gravity (per pair)", pairs,
+                () -> {
+                    Kernels.setVectorized(false);
+                    gravity.accumulate(g, workers);
+                    sink = g.fx[0];
+                },
+                () -> {
+                    Kernels.setVectorized(true);
+                    gravity.accumulate(g, workers);
+                    sink = g.fx[0];
+                });
+        Kernels.setVectorized(selected);
+        workers.shutdown();
+    }
+
+    /**
+     * The projection ConcreteShape used before Kernels.project, which copied every point.
+     */
+    private static double[] project(ConcreteShape shape, Vector2D axis) {
+        double min = shape.getPoints().get(0).copy().add(shape.getPosition()).dot(axis);
+        double max = min;
+        for (int i = 1; i < shape.getPoints().size(); i++) {
+            double dot = shape.getPoints().get(i).copy().add(shape.getPosition()).dot(axis);
+            if (dot < min) {
+                min = dot;
+            }
+            if (dot > max) {
+                max = dot;
+            }
+        }
+        return new double[] {min, max};
+    }
+
+    private static void report(String name, long operations, Runnable before, Runnable after) {
+        double slow = time(before, operations);
+        double fast = time(after, operations);
+        System.out.printf("%-22s %14.3f %15.3f %9.2fx%n", name, slow, fast, slow / fast);
+    }
+
+    /**
+     * Warms a piece of work up, then times it until about half a second has passed.
+     * @return the nanoseconds taken per operation
+     */
+    private static double time(Runnable work, long operations) {
+        long warm = System.nanoTime();
+        while (System.nanoTime() - warm < 500_000_000L) {
+            work.run();
+        }
+        int runs = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            work.run();
+            runs++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < 500_000_000L);
+        return (double) elapsed / runs / operations;
+    }
+}
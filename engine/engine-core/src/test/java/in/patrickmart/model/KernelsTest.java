@@ -0,0 +1,153 @@
+package in.patrickmart.model;
+
+import in.patrickmart.model.gravity.DirectSumGravity;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class KernelsTest extends TestCase
+{
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public KernelsTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( KernelsTest.class );
+    }
+
+    private double[] gravity(BodyStore b, boolean vectorized) {
+        boolean selected = Kernels.isVectorized();
+        WorkerPool workers = new WorkerPool(1);
+        try {
+            Kernels.setVectorized(vectorized);
+            Arrays.fill(b.fx, 0);
+            Arrays.fill(b.fy, 0);
+            new DirectSumGravity().accumulate(b, workers);
+        } finally {
+            Kernels.setVectorized(selected);
+            workers.shutdown();
+        }
+        double[] f = new double[b.count * 2];
+        for (int i = 0; i < b.count; i++) {
+            f[i * 2] = b.fx[i];
+            f[i * 2 + 1] = b.fy[i];
+        }
+        return f;
+    }
+
+    /**
+     * Test that the SIMD friendly and scalar forms of direct summation agree, including when two bodies sit on top
+     * of each other.
+     */
+    public void testGravityForms() {
+        Random r = new Random(1);
+        BodyStore b = new BodyStore(700);
+        b.count = 700; // Enough bodies for a partly filled block.
+        for (int i = 0; i < b.count; i++) {
+            b.x[i] = r.nextDouble() * 100;
+            b.y[i] = r.nextDouble() * 100;
+            b.mass[i] = 1 + r.nextDouble() * 100;
+        }
+        b.x[600] = b.x[3];
+        b.y[600] = b.y[3];
+
+        double[] scalar = gravity(b, false);
+        double[] vector = gravity(b, true);
+        for (int k = 0; k < scalar.length; k++) {
+            assertFalse(Double.isNaN(vector[k]));
+            assertEquals(scalar[k], vector[k], Math.abs(scalar[k]) * 1e-9 + 1e-15);
+        }
+    }
+
+    private double[] deterministicRun(boolean vectorized) {
+        boolean selected = Kernels.isVectorized();
+        Scenario s = new Scenario(3);
+        try {
+            Kernels.setVectorized(vectorized);
+            s.toggleGravity();
+            for (int i = 0; i < 300; i++) {
+                s.addEntity(new ConcreteEntity(new Vector2D(s.getRandom().nextDouble() * 200,
+                        s.getRandom().nextDouble() * 200), new ConcreteShape(4, 0.5), s.getRandom()));
+            }
+            for (int step = 0; step < 20; step++) {
+                s.step();
+            }
+        } finally {
+            Kernels.setVectorized(selected);
+        }
+        BodyStore b = s.getBodies();
+        double[] state = new double[b.count * 4];
+        for (int i = 0; i < b.count; i++) {
+            state[i * 4] = b.x[i];
+            state[i * 4 + 1] = b.y[i];
+            state[i * 4 + 2] = b.vx[i];
+            state[i * 4 + 3] = b.vy[i];
+        }
+        return state;
+    }
+
+    /**
+     * Test that a deterministic Scenario ends up in the same state whichever kernel form the JVM would select.
+     */
+    public void testDeterministicIgnoresSelectedForm() {
+        if (Kernels.isForced()) {
+            return; // The property is meant to win, so the two runs would differ on purpose.
+        }
+        assertTrue(Arrays.equals(deterministicRun(false), deterministicRun(true)));
+    }
+
+    /**
+     * Test that the branch free integration gives exactly what the branching loop it replaced did.
+     */
+    public void testIntegrate() {
+        Random r = new Random(2);
+        int n = 100;
+        double[] x = new double[n], y = new double[n], vx = new double[n], vy = new double[n];
+        double[] ax = new double[n], ay = new double[n], moving = new double[n], px = new double[n], py = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = r.nextDouble();
+            y[i] = r.nextDouble();
+            vx[i] = r.nextDouble();
+            vy[i] = r.nextDouble();
+            ax[i] = r.nextDouble();
+            ay[i] = r.nextDouble();
+            moving[i] = i % 3 == 0 ? 0 : 1;
+        }
+        double[] expectedVx = vx.clone();
+        double[] expectedPx = new double[n];
+        for (int i = 0; i < n; i++) {
+            if (moving[i] != 0) {
+                expectedVx[i] += ax[i] * 0.01666;
+            }
+            expectedPx[i] = x[i] + expectedVx[i] * 0.01666;
+        }
+        Kernels.integrate(x, y, vx, vy, ax, ay, moving, 0.01666, px, py, 0, n);
+        for (int i = 0; i < n; i++) {
+            assertEquals(Double.doubleToLongBits(expectedVx[i]), Double.doubleToLongBits(vx[i]));
+            assertEquals(Double.doubleToLongBits(expectedPx[i]), Double.doubleToLongBits(px[i]));
+        }
+    }
+
+    /**
+     * Test that projecting a shape onto an axis finds the nearest and furthest points along it.
+     */
+    public void testProject() {
+        ConcreteShape diamond = new ConcreteShape(4, 1); // Points straight up, down, left and right.
+        diamond.setPosition(new Vector2D(10, 0));
+        double[] projection = diamond.project(new Vector2D(1, 0));
+        assertEquals(9, projection[0], 1e-9);
+        assertEquals(11, projection[1], 1e-9);
+    }
+}
@@ -0,0 +1,95 @@
+package in.patrickmart.model;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+public class MemoryReportTest extends TestCase
+{
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public MemoryReportTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( MemoryReportTest.class );
+    }
+
+    private static Entity entity(Scenario s, int i) {
+        return new ConcreteEntity(new Vector2D(i * 10, 0), new ConcreteShape(6, 0.5), s.getRandom());
+    }
+
+    /**
+     * Test that a report adds up, and that a template shared by many Entities is only counted once.
+     */
+    public void testReport() {
+        Scenario s = new Scenario(1);
+        for (int i = 0; i < 100; i++) {
+            s.addEntity(entity(s, i));
+        }
+        s.addEntity(new StaticEntity(new Vector2D(0, -10), new ConcreteShape(4, 5), s.getRandom()));
+        MemoryReport report = s.measureMemory();
+
+        assertEquals(101, report.getEntities());
+        assertEquals(101, report.getCount(MemoryReport.Subsystem.ENTITIES));
+        assertEquals(2, report.getCount(MemoryReport.Subsystem.TEMPLATES));
+        assertEquals(0, report.getCount(MemoryReport.Subsystem.FORCES));
+        long sum = 0;
+        for (MemoryReport.Subsystem subsystem : MemoryReport.Subsystem.values()) {
+            sum += report.getBytes(subsystem);
+        }
+        assertEquals(sum, report.getTotal());
+        assertEquals(report.getTotal() / 101, report.getBytesPerEntity());
+        // The arrays every solver steps on hold 22 doubles for each body.
+        assertTrue(report.getBytes(MemoryReport.Subsystem.BODY_STORE) >= 101 * 22 * 8);
+        assertFalse(report.isOverBudget());
+        assertTrue(report.toString().contains("templates"));
+    }
+
+    /**
+     * Test that a budget under BudgetPolicy.REFUSE turns Entities away until others are removed.
+     */
+    public void testRefusingBudget() {
+        Scenario s = new Scenario(1);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(s.addEntity(entity(s, i)));
+        }
+        long total = s.measureMemory().getTotal();
+        s.setHeapBudget(total + 100, BudgetPolicy.REFUSE);
+        assertEquals(BudgetPolicy.REFUSE, s.getBudgetPolicy());
+
+        Entity refused = entity(s, 10);
+        assertFalse(s.addEntity(refused));
+        assertEquals(10, s.getEntities().size());
+        assertNull(s.getEntity(refused.getId()));
+
+        s.removeEntity(s.getEntities().get(0));
+        assertTrue(s.addEntity(refused));
+        assertFalse(s.addEntity(entity(s, 11)));
+
+        s.clearEntities();
+        assertTrue(s.addEntity(entity(s, 12)));
+    }
+
+    /**
+     * Test that a budget under BudgetPolicy.WARN still lets Entities in, and shows up in the report.
+     */
+    public void testWarningBudget() {
+        Scenario s = new Scenario(1);
+        s.setHeapBudget(1, BudgetPolicy.WARN);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(s.addEntity(entity(s, i)));
+        }
+        MemoryReport report = s.measureMemory();
+        assertEquals(1, report.getBudget());
+        assertTrue(report.isOverBudget());
+    }
+}
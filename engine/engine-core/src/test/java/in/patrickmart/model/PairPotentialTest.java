@@ -0,0 +1,167 @@
+package in.patrickmart.model;
+
+import in.patrickmart.model.pairs.LennardJonesPotential;
+import in.patrickmart.model.pairs.NeighbourList;
+import in.patrickmart.model.pairs.PairPotential;
+import in.patrickmart.model.pairs.PairSolver;
+import in.patrickmart.model.pairs.SoftSpherePotential;
+import in.patrickmart.model.pairs.SpringPotential;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+public class PairPotentialTest extends TestCase
+{
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public PairPotentialTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( PairPotentialTest.class );
+    }
+
+    /**
+     * Scatters bodies at random over a square.
+     */
+    private BodyStore scatter(int n, double side, long seed) {
+        Random r = new Random(seed);
+        ArrayList<Entity> list = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            list.add(new ConcreteEntity(new Vector2D(r.nextDouble() * side, r.nextDouble() * side),
+                    new ConcreteShape(4, 0.1), r));
+        }
+        BodyStore b = new BodyStore(n);
+        b.adopt(list);
+        return b;
+    }
+
+    private double[] forces(PairSolver solver, BodyStore b, WorkerPool workers) {
+        Arrays.fill(b.fx, 0);
+        Arrays.fill(b.fy, 0);
+        solver.accumulate(b, workers);
+        double[] f = new double[b.count * 2];
+        for (int i = 0; i < b.count; i++) {
+            f[i * 2] = b.fx[i];
+            f[i * 2 + 1] = b.fy[i];
+        }
+        return f;
+    }
+
+    /**
+     * Sums a potential over every pair of bodies, the slow way.
+     */
+    private double[] allPairs(PairPotential potential, BodyStore b) {
+        double[] f = new double[b.count * 2];
+        double cutoff2 = potential.getCutoff() * potential.getCutoff();
+        for (int i = 0; i < b.count; i++) {
+            for (int j = 0; j < b.count; j++) {
+                double dx = b.x[i] - b.x[j];
+                double dy = b.y[i] - b.y[j];
+                double r2 = dx * dx + dy * dy;
+                if (i != j && r2 < cutoff2) {
+                    f[i * 2] += potential.force(r2) * dx;
+                    f[i * 2 + 1] += potential.force(r2) * dy;
+                }
+            }
+        }
+        return f;
+    }
+
+    private void assertClose(double[] expected, double[] actual) {
+        for (int k = 0; k < expected.length; k++) {
+            assertEquals(expected[k], actual[k], Math.abs(expected[k]) * 0.000001 + 1e-9);
+        }
+    }
+
+    /**
+     * Test that the neighbour list finds exactly the pairs that summing over every pair would, on any number of
+     * threads.
+     */
+    public void testMatchesAllPairs() {
+        BodyStore b = scatter(3000, 100, 1);
+        PairPotential spring = new SpringPotential(10, 1, 2.5);
+        PairSolver solver = new PairSolver();
+        solver.addPotential(spring);
+        WorkerPool single = new WorkerPool(1);
+        WorkerPool parallel = new WorkerPool(4);
+        try {
+            double[] listed = forces(solver, b, single);
+            assertClose(allPairs(spring, b), listed);
+
+            PairSolver other = new PairSolver();
+            other.addPotential(spring);
+            double[] threaded = forces(other, b, parallel);
+            for (int k = 0; k < listed.length; k++) {
+                assertEquals(Double.doubleToLongBits(listed[k]), Double.doubleToLongBits(threaded[k]));
+            }
+        } finally {
+            single.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    /**
+     * Test that the neighbour list is only built again once some body has moved more than half the skin, and stays
+     * exact in between.
+     */
+    public void testRebuildsPastHalfSkin() {
+        BodyStore b = scatter(2000, 60, 2);
+        PairPotential spheres = new SoftSpherePotential(100, 1);
+        PairSolver solver = new PairSolver();
+        solver.addPotential(spheres);
+        solver.setSkin(0.4);
+        NeighbourList list = solver.getNeighbours();
+        WorkerPool workers = new WorkerPool(1);
+        try {
+            forces(solver, b, workers);
+            assertEquals(1, list.getRebuilds());
+
+            // Nudge every body a little less than half the skin.
+            Random r = new Random(3);
+            for (int i = 0; i < b.count; i++) {
+                double angle = r.nextDouble() * Math.PI * 2;
+                b.x[i] += Math.cos(angle) * 0.19;
+                b.y[i] += Math.sin(angle) * 0.19;
+            }
+            assertClose(allPairs(spheres, b), forces(solver, b, workers));
+            assertEquals(1, list.getRebuilds());
+
+            b.x[7] += 0.5;
+            assertClose(allPairs(spheres, b), forces(solver, b, workers));
+            assertEquals(2, list.getRebuilds());
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    /**
+     * Test that two Entities closer than sigma under a Lennard-Jones potential push each other apart equally.
+     */
+    public void testLennardJonesInScenario() {
+        Scenario s = new Scenario(4);
+        Entity a = new ConcreteEntity(new Vector2D(0, 0), new ConcreteShape(4, 0.1));
+        Entity c = new ConcreteEntity(new Vector2D(0.9, 0), new ConcreteShape(4, 0.1));
+        s.addEntity(a);
+        s.addEntity(c);
+        LennardJonesPotential potential = new LennardJonesPotential(1, 1);
+        s.addPairPotential(potential);
+        s.step();
+        assertTrue(a.getVelocity().getX() < 0);
+        assertTrue(c.getVelocity().getX() > 0);
+        assertEquals(-a.getVelocity().getX() * a.getMass(), c.getVelocity().getX() * c.getMass(), 1e-9);
+        assertTrue(potential.energy(0.81) > 0 && potential.energy(1.21) < 0);
+    }
+}
@@ -0,0 +1,101 @@
+package in.patrickmart.model;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+public class PositionSolverTest extends TestCase
+{
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public PositionSolverTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( PositionSolverTest.class );
+    }
+
+    /**
+     * Test that two overlapping bodies are pushed apart by the same amount when their masses match.
+     */
+    public void testOverlapSeparates() {
+        for (PositionSolver.Method method : PositionSolver.Method.values()) {
+            Scenario s = new Scenario(1);
+            s.setSolverMode(SolverMode.POSITION_BASED);
+            s.getPositionSolver().setMethod(method);
+            Entity a = new ConcreteEntity(new Vector2D(-0.5, 0), new ConcreteShape(12, 1));
+            Entity b = new ConcreteEntity(new Vector2D(0.5, 0), new ConcreteShape(12, 1));
+            s.addEntity(a);
+            s.addEntity(b);
+            s.step();
+
+            double gap = b.getPosition().getX() - a.getPosition().getX();
+            assertEquals(2.0, gap, 0.000001);
+            assertEquals(0.0, a.getPosition().getX() + b.getPosition().getX(), 0.000001);
+            assertTrue(a.getVelocity().getX() < 0 && b.getVelocity().getX() > 0);
+        }
+    }
+
+    /**
+     * Test that a falling body comes to rest on top of a static floor rather than falling through it.
+     */
+    public void testRestsOnStaticFloor() {
+        Scenario s = new Scenario(1);
+        s.setSolverMode(SolverMode.POSITION_BASED);
+        s.toggleFEAgravity();
+        Entity floor = new StaticEntity(new Vector2D(0, -1), new ConcreteShape(4, 1));
+        floor.setRotation(Math.PI / 4);
+        Entity ball = new ConcreteEntity(new Vector2D(0, 2), new ConcreteShape(12, 0.25));
+        s.addEntity(floor);
+        s.addEntity(ball);
+        for (int i = 0; i < 300; i++) {
+            s.step();
+        }
+
+        double top = floor.getPosition().getY() + floor.getBounds().getHalfHeight();
+        assertEquals(top + ball.getShape().getDiameter() / 2, ball.getPosition().getY(), 0.01);
+        assertEquals(0.0, ball.getVelocity().getY(), 0.2);
+    }
+
+    /**
+     * Test that Jacobi iterations give the same answer on any number of threads.
+     */
+    public void testJacobiThreadIndependent() {
+        double[] first = pile(1);
+        double[] second = pile(4);
+        for (int i = 0; i < first.length; i++) {
+            assertEquals(Double.doubleToLongBits(first[i]), Double.doubleToLongBits(second[i]));
+        }
+    }
+
+    private double[] pile(int threads) {
+        Scenario s = new Scenario(7);
+        s.setThreads(threads);
+        s.setSolverMode(SolverMode.POSITION_BASED);
+        s.toggleFEAgravity();
+        s.addEntity(new StaticEntity(new Vector2D(0, -20), new ConcreteShape(4, 20), s.getRandom()));
+        for (int i = 0; i < 1000; i++) {
+            double x = s.getRandom().nextDouble() * 10 - 5;
+            double y = s.getRandom().nextDouble() * 10;
+            s.addEntity(new ConcreteEntity(new Vector2D(x, y), new ConcreteShape(6, 0.1), s.getRandom()));
+        }
+        for (int i = 0; i < 20; i++) {
+            s.step();
+        }
+        double[] state = new double[s.getEntities().size() * 2];
+        for (int i = 0; i < s.getEntities().size(); i++) {
+            state[i * 2] = s.getEntities().get(i).getPosition().getX();
+            state[i * 2 + 1] = s.getEntities().get(i).getPosition().getY();
+        }
+        s.setThreads(1);
+        return state;
+    }
+}
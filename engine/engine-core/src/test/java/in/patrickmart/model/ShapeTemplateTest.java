@@ -0,0 +1,146 @@
+package in.patrickmart.model;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class ShapeTemplateTest extends TestCase
+{
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public ShapeTemplateTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( ShapeTemplateTest.class );
+    }
+
+    /**
+     * Test that polygons of the same size share one template, and that the template is worked out the same way the
+     * shape used to work itself out.
+     */
+    public void testPolygonsAreShared() {
+        ConcreteShape first = new ConcreteShape(12, 0.1);
+        ConcreteShape second = new ConcreteShape(12, 0.1);
+        assertSame(first.getTemplate(), second.getTemplate());
+        assertNotSame(first.getTemplate(), new ConcreteShape(12, 0.2).getTemplate());
+        assertSame(ShapeTemplate.polygon(3, 1), new ConcreteShape().getTemplate());
+
+        ShapeTemplate square = ShapeTemplate.polygon(4, 1);
+        assertEquals(2.0, square.getArea());
+        assertEquals(2.0, square.getDiameter());
+        assertEquals(1.0, square.getRadius(), 1e-12);
+        assertEquals(4, square.getPointCount());
+        assertEquals(2, square.getAxisCount()); // Opposite edges of a square share an axis.
+        assertEquals(3, ShapeTemplate.polygon(3, 1).getAxisCount());
+        assertEquals(6, ShapeTemplate.polygon(12, 1).getAxisCount());
+    }
+
+    /**
+     * Test that turning one shape leaves every other shape built to the same template where it was.
+     */
+    public void testShapesTurnIndependently() {
+        ConcreteShape turned = new ConcreteShape(4, 1);
+        ConcreteShape still = new ConcreteShape(4, 1);
+        turned.setRotation(Math.PI / 4);
+
+        assertEquals(0.0, still.getPoints().get(0).getX(), 1e-12);
+        assertEquals(1.0, still.getPoints().get(0).getY(), 1e-12);
+        assertEquals(Math.sqrt(0.5), turned.getPoints().get(0).getX(), 1e-12);
+        assertEquals(Math.sqrt(0.5), turned.getPoints().get(0).getY(), 1e-12);
+        assertEquals(Math.sqrt(0.5), turned.calculateBounds().getHalfWidth(), 1e-12);
+        assertEquals(1.0, still.calculateBounds().getHalfWidth(), 1e-12);
+
+        // Setting the rotation again lands in the same place, rather than turning a second time.
+        turned.setRotation(Math.PI / 4);
+        assertEquals(Math.sqrt(0.5), turned.getPoints().get(0).getX(), 1e-12);
+    }
+
+    /**
+     * Test the separating axis check on shared templates against one that projects every turned point onto every
+     * normal of both shapes, for many shapes at random positions and rotations.
+     */
+    public void testIntersectionMatchesTurnedPoints() {
+        Random random = new Random(4);
+        int hits = 0;
+        for (int trial = 0; trial < 2000; trial++) {
+            ConcreteShape a = new ConcreteShape(random.nextInt(6) + 3, 0.5);
+            ConcreteShape b = new ConcreteShape(random.nextInt(6) + 3, 0.3);
+            a.setPosition(new Vector2D(random.nextDouble() - 0.5, random.nextDouble() - 0.5));
+            b.setPosition(new Vector2D(random.nextDouble() - 0.5, random.nextDouble() - 0.5));
+            a.setRotation(random.nextDouble() * Math.PI * 2);
+            b.setRotation(random.nextDouble() * Math.PI * 2);
+
+            Vector2D expected = overlap(a, b);
+            Vector2D mtv = a.intersectsShape(b);
+            if (expected == null) {
+                assertNull(mtv);
+            } else {
+                hits++;
+                assertNotNull(mtv);
+                assertEquals(expected.mag(), mtv.mag(), 1e-9);
+            }
+        }
+        assertTrue(hits > 100 && hits < 1900);
+    }
+
+    /**
+     * Test that moving the points of a shared shape gives that one shape a template of its own.
+     */
+    public void testShiftingLeavesSharedTemplate() {
+        ConcreteShape moved = new ConcreteShape(6, 1);
+        ShapeTemplate shared = moved.getTemplate();
+        moved.shiftPoints(1, 0);
+
+        assertNotSame(shared, moved.getTemplate());
+        assertSame(shared, new ConcreteShape(6, 1).getTemplate());
+        assertEquals(shared.getArea(), moved.getArea(), 1e-12);
+        assertEquals(shared.getPoint(0).getX() + 1, moved.getPoints().get(0).getX(), 1e-12);
+    }
+
+    /**
+     * The smallest overlap of two shapes over every normal of both, worked out from their turned points.
+     */
+    private static Vector2D overlap(ConcreteShape a, ConcreteShape b) {
+        List<Vector2D> axes = new ArrayList<>(a.getNormals());
+        axes.addAll(b.getNormals());
+        double smallest = Double.MAX_VALUE;
+        Vector2D mtv = null;
+        for (Vector2D axis : axes) {
+            double[] p = interval(a, axis);
+            double[] q = interval(b, axis);
+            if (!(p[0] <= q[1] && q[0] <= p[1])) {
+                return null;
+            }
+            double overlap = Math.min(p[1], q[1]) - Math.max(p[0], q[0]);
+            if (overlap < smallest) {
+                smallest = overlap;
+                mtv = axis.copy().setMag(overlap);
+            }
+        }
+        return mtv;
+    }
+
+    private static double[] interval(ConcreteShape shape, Vector2D axis) {
+        double min = Double.MAX_VALUE;
+        double max = -Double.MAX_VALUE;
+        for (Vector2D p : shape.getPoints()) {
+            double dot = p.copy().add(shape.getPosition()).dot(axis);
+            min = Math.min(min, dot);
+            max = Math.max(max, dot);
+        }
+        return new double[] {min, max};
+    }
+}
@@ -84,4 +84,46 @@ public class ShapeTest extends TestCase
 
         assertTrue(difference == ROTATE_BY);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test that building a shape from a list of points leaves the caller's points where they were, even though the
+     * shape's own points are moved to center on its center of gravity.
+     */
+    public void testPointsAreCopied() {
+        ArrayList<Vector2D> points = new ArrayList<>();
+        points.add(new Vector2D(0, 0));
+        points.add(new Vector2D(2, 0));
+        points.add(new Vector2D(2, 2));
+        points.add(new Vector2D(0, 2));
+
+        ConcreteShape shape = new ConcreteShape(points);
+        assertTrue(points.get(2).equals(new Vector2D(2, 2)));
+        assertTrue(shape.getPoints().get(2).equals(new Vector2D(1, 1)));
+        assertNotSame(points.get(2), shape.getPoints().get(2));
+
+        // A second shape from the same points is centered just like the first, rather than being moved twice.
+        ConcreteShape again = new ConcreteShape(points);
+        assertTrue(again.getPoints().get(2).equals(new Vector2D(1, 1)));
+    }
+
+    /**
+     * Test that collision checks see a shape's points after it has been rotated.
+     */
+    public void testCollisionAfterRotation() {
+        ArrayList<Vector2D> points = new ArrayList<>();
+        points.add(new Vector2D(-2, 0.1));
+        points.add(new Vector2D(2, 0.1));
+        points.add(new Vector2D(2, -0.1));
+        points.add(new Vector2D(-2, -0.1));
+        ConcreteShape bar = new ConcreteShape(points);
+        bar.setPosition(new Vector2D());
+        ConcreteShape ball = new ConcreteShape(8, 0.5);
+        ball.setPosition(new Vector2D(0, 1.5));
+
+        assertNull(bar.intersectsShape(ball));
+        bar.rotate(Math.PI / 2);
+        Vector2D mtv = bar.intersectsShape(ball);
+        assertNotNull(mtv);
+        assertTrue(mtv.mag() > 0);
+    }
+}
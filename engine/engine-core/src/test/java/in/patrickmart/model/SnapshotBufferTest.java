@@ -0,0 +1,139 @@
+package in.patrickmart.model;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+public class SnapshotBufferTest extends TestCase
+{
+    /**
+     * Create the test case
+     * @param testName name of the test case
+     */
+    public SnapshotBufferTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( SnapshotBufferTest.class );
+    }
+
+    /**
+     * Test that a Snapshot holds what a renderer needs from each Entity after a step.
+     */
+    public void testCapture() {
+        Model m = new Model(1);
+        Entity ball = new ConcreteEntity(new Vector2D(0, 5), new ConcreteShape(6, 0.5), m.getScenario().getRandom());
+        ball.setVelocity(new Vector2D(1, 0));
+        Entity ground = new StaticEntity(new Vector2D(3, -5), new ConcreteShape(4, 1), m.getScenario().getRandom());
+        m.addEntity(ball);
+        m.addEntity(ground);
+        SnapshotBuffer snapshots = m.getSnapshots();
+        assertEquals(0, snapshots.latest().getStep());
+        assertEquals(0, snapshots.latest().size());
+
+        m.step();
+        Snapshot s = snapshots.latest();
+        assertEquals(1, s.getStep());
+        assertEquals(2, s.size());
+        assertEquals(ball.getId(), s.getRecords().getId(0));
+        assertEquals(ball.getPosition().getX(), s.getRecords().get(0, BodyRecords.X), 0);
+        assertEquals(ball.getVelocity().getX(), s.getRecords().get(0, BodyRecords.VX), 0);
+        assertEquals(ball.getAcceleration().getY(), s.getAccelerationY(0), 0);
+        assertSame(ball.getColor(), s.getColor(0));
+        assertSame(((ConcreteShape) ball.getShape()).getTemplate(), s.getTemplate(0));
+        assertEquals(1, s.indexOf(ground.getId()));
+        assertEquals(0, s.find(ball.getPosition()));
+        assertEquals(-1, s.find(ground.getPosition())); // Static bodies cannot be picked, as in Scenario.
+    }
+
+    /**
+     * Test that recorded Forces are captured, and that a static body, which records none, is captured without them.
+     */
+    public void testCaptureRecordedForcesWithStaticBody() {
+        Model m = new Model(1);
+        SnapshotBuffer snapshots = m.getSnapshots();
+        Entity ground = new StaticEntity(new Vector2D(0, -5), new ConcreteShape(4, 1), m.getScenario().getRandom());
+        Entity ball = new ConcreteEntity(new Vector2D(0, 5), new ConcreteShape(6, 0.5), m.getScenario().getRandom());
+        m.addEntity(ground);
+        m.addEntity(ball);
+        m.getScenario().toggleFEAgravity();
+        Entity.setRecordingForces(true);
+        try {
+            m.step();
+            Snapshot s = snapshots.latest();
+            assertEquals(1, s.getStep());
+            int g = s.indexOf(ground.getId());
+            int b = s.indexOf(ball.getId());
+            assertEquals(s.getForceStart(g), s.getForceEnd(g));
+            assertEquals(ball.getForces().size(), s.getForceEnd(b) - s.getForceStart(b));
+            assertTrue(s.getForceEnd(b) > s.getForceStart(b));
+            assertEquals(ball.getForces().get(0).getForce().getY(), s.getForceY(s.getForceStart(b)), 0);
+        } finally {
+            Entity.setRecordingForces(false);
+        }
+    }
+
+    /**
+     * Test that the Snapshot being read stays as it is while more are published, until a newer one is asked for.
+     */
+    public void testLatestIsHeldUntilAskedAgain() {
+        Model m = new Model(1);
+        m.addEntity(new ConcreteEntity(new Vector2D(0, 0), new ConcreteShape(6, 0.5), m.getScenario().getRandom()));
+        SnapshotBuffer snapshots = m.getSnapshots();
+        m.step();
+        Snapshot held = snapshots.latest();
+        assertSame(held, snapshots.latest()); // Nothing newer has been published.
+
+        for (int i = 0; i < 5; i++) {
+            m.step();
+        }
+        assertEquals(1, held.getStep());
+        assertEquals(6, snapshots.getPublished());
+        Snapshot newest = snapshots.latest();
+        assertNotSame(held, newest);
+        assertEquals(6, newest.getStep());
+    }
+
+    /**
+     * Test that a renderer reading Snapshots while the model steps on another thread never sees one half written.
+     * Every body falls from the same height under the same gravity, so the bodies in any one Snapshot must all be at
+     * the same height, and steps must only ever go forward.
+     */
+    public void testReaderNeverSeesTornSnapshot() throws InterruptedException {
+        Model m = new Model(1);
+        m.getScenario().toggleFEAgravity();
+        for (int i = 0; i < 500; i++) {
+            m.addEntity(new ConcreteEntity(new Vector2D(i * 2, 0), new ConcreteShape(4, 0.1), m.getScenario().getRandom()));
+        }
+        SnapshotBuffer snapshots = m.getSnapshots();
+        Thread simulation = new Thread(() -> {
+            for (int i = 0; i < 400; i++) {
+                m.step();
+            }
+        });
+        simulation.start();
+
+        long lastStep = 0;
+        int seen = 0;
+        while (simulation.isAlive() || lastStep < 400) {
+            Snapshot s = snapshots.latest();
+            assertTrue(s.getStep() >= lastStep);
+            if (s.getStep() > lastStep) {
+                seen++;
+            }
+            lastStep = s.getStep();
+            for (int i = 1; i < s.size(); i++) {
+                assertEquals(s.getRecords().get(0, BodyRecords.Y), s.getRecords().get(i, BodyRecords.Y), 0);
+            }
+        }
+        simulation.join();
+        assertEquals(400, lastStep);
+        assertTrue(seen > 1);
+    }
+}
@@ -312,6 +312,21 @@ public class Vector2DTest
         assertTrue(normal.getY() == -2);
     }
 
+    /**
+     * Test that turning a vector in place gives what getPerpendicular gives, keeping its length rather than
+     * normalizing it as getNormal does.
+     */
+    public void testPerpendicularKeepsLength() {
+        Vector2D v = new Vector2D(3, 4);
+        Vector2D turned = new Vector2D(3, 4).perpendicular();
+
+        assertTrue(turned.equals(v.getPerpendicular()));
+        assertEquals(5.0, turned.mag(), 1e-12);
+        assertEquals(0.0, turned.dot(v), 0);
+        assertFalse(turned.equals(v.getNormal()));
+        assertTrue(turned.normalize().equals(v.getNormal()));
+    }
+
     /**
      * Tests whether normal vectors are good.
      */
@@ -340,4 +355,45 @@ public class Vector2DTest
         Vector2D v2 = v.copy();
         assertTrue(v.equals(v2));
     }
+
+    /**
+     * Test that the in place operations write into the vector they are called on, and nowhere else.
+     */
+    public void testInPlaceOperations()
+    {
+        Vector2D scratch = new Vector2D(1, 1);
+        Vector2D step = new Vector2D(2, -1);
+        assertSame(scratch, scratch.addScaled(step, 0.5));
+        assertEquals(2.0, scratch.getX());
+        assertEquals(0.5, scratch.getY());
+        assertTrue(step.equals(new Vector2D(2, -1)));
+
+        assertSame(scratch, scratch.set(step).perpendicular());
+        assertTrue(scratch.equals(step.getPerpendicular()));
+        assertTrue(scratch.set(new ImmutableVector2D(3, 4)).equals(new Vector2D(3, 4)));
+    }
+
+    /**
+     * Test that an ImmutableVector2D never changes, and is cut off from the vectors it was made from and turned into.
+     */
+    public void testImmutableVectors()
+    {
+        Vector2D v = new Vector2D(3, 4);
+        ImmutableVector2D fixed = v.toImmutable();
+        v.mult(2);
+        assertEquals(new ImmutableVector2D(3, 4), fixed);
+
+        Vector2D copy = fixed.toVector2D();
+        copy.add(new Vector2D(1, 1));
+        assertEquals(3.0, fixed.getX());
+
+        assertEquals(new ImmutableVector2D(3, 4), ImmutableVector2D.of(new Vector2D(3, 4)));
+        assertEquals(new ImmutableVector2D(3, 4).hashCode(), new ImmutableVector2D(3, 4).hashCode());
+        assertEquals(5.0, fixed.mag());
+        assertEquals(new ImmutableVector2D(0.6, 0.8), fixed.normalize());
+        assertEquals(new ImmutableVector2D(4, -3), fixed.getPerpendicular());
+        assertEquals(new ImmutableVector2D(6, 8), fixed.mult(2));
+        assertEquals(new ImmutableVector2D(3, 4), fixed);
+        assertEquals(fixed.toString(), new Vector2D(3, 4).toString());
+    }
 }
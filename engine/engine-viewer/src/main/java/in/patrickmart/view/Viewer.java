@@ -3,10 +3,8 @@ package in.patrickmart.view;
 import in.patrickmart.controller.Controller;
 import in.patrickmart.model.Entity;
 import in.patrickmart.model.*;
-import in.patrickmart.model.Scenario;
 
 import in.patrickmart.model.Vector2D;
-import in.patrickmart.model.forces.Force;
 import org.lwjgl.glfw.*;
 import org.lwjgl.opengl.*;
 import org.lwjgl.system.*;
@@ -20,12 +18,16 @@ import static org.lwjgl.system.MemoryStack.*;
 import static org.lwjgl.system.MemoryUtil.*;
 
 /**
- * Acts as an OpenGL viewer for scenarios. Implements the Observer interface and can act as an MVC's 'View'.
+ * Acts as an OpenGL viewer for scenarios, and can act as an MVC's 'View'. The Viewer draws Snapshots of the model
+ * on its own thread, at its own rate, while the model is stepped on another, and sends any changes it wants made to
+ * the model through the controller's invokeLater.
  */
-public class Viewer implements Observer {
+public class Viewer implements Runnable {
     private Model model;
     private Controller controller;
+    private SnapshotBuffer snapshots;
     private long window; // Handle for GLFW window
+    private boolean closed; // Whether the window has been torn down, so that it is only done once.
     private Vector2D camera;
     private double cameraScale;
 
@@ -47,7 +49,8 @@ public class Viewer implements Observer {
     private boolean altKey;
     private boolean showAll;
 
-    private Entity selected;
+    private int selected; // The ID of the selected Entity, or -1 for none.
+    private long forceStep; // The step of the last Snapshot a click and drag force was sent for.
 
     private double[] collisionColor ;
 
@@ -79,10 +82,24 @@ public class Viewer implements Observer {
         showAll = false;
 
         collisionColor = new double[] {0.9,0.4,0.4,0.75}; // Red
+        selected = -1;
 
         openWindow();
 
-        m.addObserver(this);
+        snapshots = m.getSnapshots();
+    }
+
+    /**
+     * Draws the newest Snapshot of the model until the window is closed. The model is stepped on another thread
+     * meanwhile, so a slow frame never holds up a step, and frames are drawn at the display's rate rather than the
+     * model's. GLFW only works on the main thread, so this has to be run there.
+     */
+    public void run() {
+        GL.createCapabilities();
+        while (!glfwWindowShouldClose(window)) {
+            draw(snapshots.latest());
+        }
+        closeWindow();
     }
 
     /**
@@ -139,30 +156,40 @@ public class Viewer implements Observer {
     }
 
     /**
-     * Updates the content of the window with information from the model.
-     * @param s The model's currently loaded scenario
+     * Draws a Snapshot of the model into the window, then handles any input that came in meanwhile.
+     * @param s the Snapshot to draw, which stays the same while it is drawn however far the model steps
      */
-    public void update(Scenario s) {
-        GL.createCapabilities();
-
+    private void draw(Snapshot s) {
         // Determine the new camera location.
         double[] x = new double[1];
         double[] y = new double[1];
         glfwGetCursorPos(window,x,y);
         double mouse_x_prev = mouse_x;
         double mouse_y_prev = mouse_y;
-        Force clickForce = null;
+        Vector2D clickPosition = null;
+        Vector2D clickForce = null;
         mouse_x = x[0] / cameraScale;
         mouse_y = y[0] / cameraScale;
         if (mouse_rb_down) {
             camera.add(new Vector2D((mouse_x - mouse_x_prev) / 640, (mouse_y_prev - mouse_y) / 400));
         }
 
-        if (selected != null && mouse_lb_down) {
+        if (selected >= 0 && mouse_lb_down) {
             Vector2D forceEnd = getPointer();
             Vector2D position = new Vector2D(mouse_lb_initialX, mouse_lb_initialY);
             Vector2D force = new Vector2D(forceEnd.getX(), forceEnd.getY()).sub(position).mult(200);
-            clickForce = controller.createForce(selected, position, force);
+            clickPosition = position;
+            clickForce = force;
+            if (s.getStep() > forceStep) { // Once per step, however many frames are drawn of it.
+                forceStep = s.getStep();
+                int id = selected;
+                controller.invokeLater(() -> {
+                    Entity e = model.getScenario().getEntity(id);
+                    if (e != null) {
+                        controller.createForce(e, position, force);
+                    }
+                });
+            }
         }
         // Set the clear or "background" color.
         glClearColor(0.92f, 0.92f, 0.92f, 0.0f);
@@ -182,15 +209,25 @@ public class Viewer implements Observer {
             glEnd();
         }
 
-        // Draw all entities in the model.
-        for (Entity e : s.getEntities()) {
+        // Draw all entities in the snapshot.
+        BodyRecords r = s.getRecords();
+        for (int e = 0; e < s.size(); e++) {
+            ShapeTemplate template = s.getTemplate(e);
+            if (template == null) {
+                continue;
+            }
+            double entityX = r.get(e, BodyRecords.X);
+            double entityY = r.get(e, BodyRecords.Y);
+            double rotation = r.get(e, BodyRecords.ANGLE);
+            double diameter = template.getDiameter();
             //Figure out what color this entity is.
-            if (e.isColliding() && showCollisions) {
+            double[] color = s.getColor(e);
+            if (s.isColliding(e) && showCollisions) {
                 glColor4d(collisionColor[0],collisionColor[1],collisionColor[2],collisionColor[3]);
             } else {
-                glColor4d(e.getColor()[0],e.getColor()[1], e.getColor()[2], e.getColor()[3]);
+                glColor4d(color[0],color[1], color[2], color[3]);
             }
-            if (selected != null && e.equals(selected)) {
+            if (selected >= 0 && r.getId(e) == selected) {
                 glColor4d(0.4,0.8,0.4, 1);
             }
 
@@ -200,83 +237,80 @@ public class Viewer implements Observer {
             } else {
                 glBegin(GL_TRIANGLES);
             }
-            for (int i = 0; i < e.getShape().getPoints().size(); i++) {
+            int count = template.getPointCount();
+            for (int i = 0; i < count; i++) {
                 // Draw triangles between the center of mass and the points making up the model.
-                Vector2D v = e.getShape().getPoints().get(i);
-                Vector2D w = e.getShape().getPoints().get((i + 1) % e.getShape().getPoints().size());
+                Vector2D v = template.getPoint(i).rotate(rotation);
+                Vector2D w = template.getPoint((i + 1) % count).rotate(rotation);
 
-                glVertex2d((e.getPosition().getX() * cameraScale) + (camera.getX() * cameraScale), (e.getPosition().getY() * cameraScale) + (camera.getY() * cameraScale));
-                glVertex2d((v.getX() * cameraScale) + (e.getPosition().getX() * cameraScale) + (camera.getX() * cameraScale), (v.getY() * cameraScale) + (e.getPosition().getY() * cameraScale) + (camera.getY() * cameraScale));
-                glVertex2d((w.getX() * cameraScale) + (e.getPosition().getX() * cameraScale) + (camera.getX() * cameraScale), (w.getY() * cameraScale) + (e.getPosition().getY() * cameraScale) + (camera.getY() * cameraScale));
+                glVertex2d((entityX * cameraScale) + (camera.getX() * cameraScale), (entityY * cameraScale) + (camera.getY() * cameraScale));
+                glVertex2d((v.getX() * cameraScale) + (entityX * cameraScale) + (camera.getX() * cameraScale), (v.getY() * cameraScale) + (entityY * cameraScale) + (camera.getY() * cameraScale));
+                glVertex2d((w.getX() * cameraScale) + (entityX * cameraScale) + (camera.getX() * cameraScale), (w.getY() * cameraScale) + (entityY * cameraScale) + (camera.getY() * cameraScale));
             }
             glEnd();
 
-            // Draw the net force acting on this Entity.
+            // Draw the net force acting on this Entity, which points the same way as its acceleration.
             if(showNetForce) {
-                if(e.getNetForce() != null) {
-                    glBegin(GL_LINES);
-                    glColor4d(0, 0, 0, 0);
-                    glVertex3d((e.getPosition().getX() + camera.getX()) * cameraScale, (e.getPosition().getY() + camera.getY()) * cameraScale,1);
-                    glVertex3d((e.getPosition().getX() + (e.getNetForce().normalize().getX() * e.getShape().getDiameter()/2) * 1.5 + camera.getX()) * cameraScale, ((e.getNetForce().normalize().getY()*e.getShape().getDiameter()/2) * 1.5 + e.getPosition().getY() + camera.getY()) * cameraScale,1);
-                    glEnd();
-                }
+                double mass = r.get(e, BodyRecords.MASS);
+                Vector2D netForce = new Vector2D(s.getAccelerationX(e) * mass, s.getAccelerationY(e) * mass).normalize();
+                glBegin(GL_LINES);
+                glColor4d(0, 0, 0, 0);
+                glVertex3d((entityX + camera.getX()) * cameraScale, (entityY + camera.getY()) * cameraScale,1);
+                glVertex3d((entityX + (netForce.getX() * diameter/2) * 1.5 + camera.getX()) * cameraScale, ((netForce.getY()*diameter/2) * 1.5 + entityY + camera.getY()) * cameraScale,1);
+                glEnd();
             }
             // Draw each individual force acting upon this entity.
             if(showForces){
-                if (e.getForces() != null) {
-                    {
-                        for (Force f : e.getForces()) {
-                            if(clickForce == null || !f.getPosition().equals(clickForce.getPosition())) {
-                                glBegin(GL_LINES);
-                                glDepthFunc(GL_NEVER);
-                                glColor4d(0.4, 0.4, 0.4, 0);
-                                glVertex2d((e.getPosition().getX() + camera.getX()) * cameraScale, (e.getPosition().getY() + camera.getY()) * cameraScale);
-                                glVertex2d((e.getPosition().getX() + (f.getForce().normalize().getX()* e.getShape().getDiameter()/2) + camera.getX()) * cameraScale, (e.getPosition().getY() + (f.getForce().normalize().getY()*e.getShape().getDiameter()/2) + camera.getY()) * cameraScale);
-                                glEnd();
-                            }
-                        }
-                    }
+                for (int k = s.getForceStart(e); k < s.getForceEnd(e); k++) {
+                    Vector2D f = new Vector2D(s.getForceX(k), s.getForceY(k)).normalize();
+                    glBegin(GL_LINES);
+                    glDepthFunc(GL_NEVER);
+                    glColor4d(0.4, 0.4, 0.4, 0);
+                    glVertex2d((entityX + camera.getX()) * cameraScale, (entityY + camera.getY()) * cameraScale);
+                    glVertex2d((entityX + (f.getX()* diameter/2) + camera.getX()) * cameraScale, (entityY + (f.getY()*diameter/2) + camera.getY()) * cameraScale);
+                    glEnd();
                 }
-            }
-            if(mouse_lb_down){
-
             }
             // Draw this Entity's velocity.
             if(showVelocity) {
+                Vector2D velocity = new Vector2D(r.get(e, BodyRecords.VX), r.get(e, BodyRecords.VY)).normalize();
                 glBegin(GL_LINES);
                 glColor4d(1, 0.1, 0.1, 0);
-                glVertex2d((e.getPosition().getX() + camera.getX()) * cameraScale, (e.getPosition().getY() + camera.getY()) * cameraScale);
-                glVertex2d((e.getPosition().getX() + (e.getVelocity().normalize().getX()*e.getShape().getDiameter()) + camera.getX()) * cameraScale, ( (e.getVelocity().normalize().getY()*e.getShape().getDiameter()) + e.getPosition().getY() + camera.getY()) * cameraScale);
+                glVertex2d((entityX + camera.getX()) * cameraScale, (entityY + camera.getY()) * cameraScale);
+                glVertex2d((entityX + (velocity.getX()*diameter) + camera.getX()) * cameraScale, ( (velocity.getY()*diameter) + entityY + camera.getY()) * cameraScale);
                 glEnd();
             }
             // Draw this Entity's acceleration.
             if(showAcceleration) {
+                Vector2D acceleration = new Vector2D(s.getAccelerationX(e), s.getAccelerationY(e)).normalize();
                 glBegin(GL_LINES);
                 glColor4d(.6, 0, .9, 0);
-                glVertex2d((e.getPosition().getX() + camera.getX()) * cameraScale, (e.getPosition().getY() + camera.getY()) * cameraScale);
-                glVertex2d((e.getPosition().getX() + (e.getAcceleration().normalize().getX()*e.getShape().getDiameter()/2) * 1.75 + camera.getX()) * cameraScale, ( (e.getAcceleration().normalize().getY() * e.getShape().getDiameter()/2) * 1.75 + e.getPosition().getY() + camera.getY()) * cameraScale);
+                glVertex2d((entityX + camera.getX()) * cameraScale, (entityY + camera.getY()) * cameraScale);
+                glVertex2d((entityX + (acceleration.getX()*diameter/2) * 1.75 + camera.getX()) * cameraScale, ( (acceleration.getY() * diameter/2) * 1.75 + entityY + camera.getY()) * cameraScale);
                 glEnd();
             }
             // Draw the bounding box if bounding box debugging is enabled.
             if(showBoundingBox) {
-                AABB b = e.getBounds();
+                double halfWidth = r.get(e, BodyRecords.HALF_WIDTH);
+                double halfHeight = r.get(e, BodyRecords.HALF_HEIGHT);
                 glBegin(GL_LINE_LOOP);
                 glColor4d(0.3, 0.3, 1, .0003);
-                glVertex2d((e.getPosition().getX() + b.getHalfWidth() + camera.getX()) * cameraScale, (e.getPosition().getY() + b.getHalfHeight() + camera.getY()) * cameraScale);
-                glVertex2d((e.getPosition().getX() + b.getHalfWidth() + camera.getX()) * cameraScale, (e.getPosition().getY() - b.getHalfHeight() + camera.getY()) * cameraScale);
-                glVertex2d((e.getPosition().getX() - b.getHalfWidth() + camera.getX()) * cameraScale, (e.getPosition().getY() - b.getHalfHeight() + camera.getY()) * cameraScale);
-                glVertex2d((e.getPosition().getX() - b.getHalfWidth() + camera.getX()) * cameraScale, (e.getPosition().getY() + b.getHalfHeight() + camera.getY()) * cameraScale);
-                glEnd();
-            }
-            if(clickForce != null) {
-                glBegin(GL_LINES);
-                glDepthFunc(GL_NEVER);
-                glColor4d(0.4, 0.4, 0.4, 0);
-                glVertex2d((clickForce.getPosition().getX() + camera.getX()) * cameraScale, (clickForce.getPosition().getY() + camera.getY()) * cameraScale);
-                glVertex2d((clickForce.getPosition().getX() + clickForce.getForce().getX() / 200 + camera.getX()) * cameraScale, (clickForce.getPosition().getY() + clickForce.getForce().getY() / 200 + camera.getY()) * cameraScale);
+                glVertex2d((entityX + halfWidth + camera.getX()) * cameraScale, (entityY + halfHeight + camera.getY()) * cameraScale);
+                glVertex2d((entityX + halfWidth + camera.getX()) * cameraScale, (entityY - halfHeight + camera.getY()) * cameraScale);
+                glVertex2d((entityX - halfWidth + camera.getX()) * cameraScale, (entityY - halfHeight + camera.getY()) * cameraScale);
+                glVertex2d((entityX - halfWidth + camera.getX()) * cameraScale, (entityY + halfHeight + camera.getY()) * cameraScale);
                 glEnd();
             }
         }
+        // Draw the force being applied by clicking and dragging.
+        if(clickForce != null) {
+            glBegin(GL_LINES);
+            glDepthFunc(GL_NEVER);
+            glColor4d(0.4, 0.4, 0.4, 0);
+            glVertex2d((clickPosition.getX() + camera.getX()) * cameraScale, (clickPosition.getY() + camera.getY()) * cameraScale);
+            glVertex2d((clickPosition.getX() + clickForce.getX() / 200 + camera.getX()) * cameraScale, (clickPosition.getY() + clickForce.getY() / 200 + camera.getY()) * cameraScale);
+            glEnd();
+        }
 
         // Draw overlays such as the mouse location.
         if (showAll) {
@@ -297,9 +331,14 @@ public class Viewer implements Observer {
     }
 
     /**
-     * Packs up the GLFW window and closes it out elegantly.
+     * Packs up the GLFW window and closes it out elegantly. Only run() should call this, once drawing has stopped, and
+     * calling it again does nothing. Input callbacks ask for the window to close with glfwSetWindowShouldClose instead.
      */
     public void closeWindow() {
+        if (closed) {
+            return;
+        }
+        closed = true;
         // Free the window callbacks and destroy the window
         controller.stop();
         glfwFreeCallbacks(window);
@@ -307,7 +346,10 @@ public class Viewer implements Observer {
 
         // Terminate GLFW and free the error callback
         glfwTerminate();
-        glfwSetErrorCallback(null).free();
+        GLFWErrorCallback previous = glfwSetErrorCallback(null);
+        if (previous != null) {
+            previous.free();
+        }
 
         System.out.println("Closed the Viewing Window.");
 
@@ -320,23 +362,30 @@ public class Viewer implements Observer {
     private void createCallbacks() {
         glfwSetKeyCallback(window, (window, key, scancode, action, modes) -> {
             if(!altKey) {
-                if ((key == GLFW_KEY_ESCAPE && action == GLFW_RELEASE) || glfwWindowShouldClose(window)) {
-                    closeWindow();
+                if (key == GLFW_KEY_ESCAPE && action == GLFW_RELEASE) {
+                    glfwSetWindowShouldClose(window, true); // run() closes the window once this frame is done.
                 }
+                // Changes to the model are sent to the thread stepping it, rather than made from this one.
                 if (key == GLFW_KEY_SPACE && action == GLFW_PRESS) {
-                    controller.viewEvent();
+                    controller.invokeLater(controller::viewEvent);
                 }
                 if (key == GLFW_KEY_G && action == GLFW_PRESS) {
-                    controller.toggleFEA();
+                    controller.invokeLater(controller::toggleFEA);
                 }
                 if (key == GLFW_KEY_B && action == GLFW_PRESS) {
-                    controller.toggleGravity();
+                    controller.invokeLater(controller::toggleGravity);
+                }
+                if (key == GLFW_KEY_T && action == GLFW_PRESS) {
+                    controller.invokeLater(controller::toggleBlockTimesteps);
                 }
                 if (key == GLFW_KEY_V && action == GLFW_PRESS) {
-                    controller.createGround(cameraScale);
+                    double scale = cameraScale;
+                    controller.invokeLater(() -> controller.createGround(scale));
                 }
                 if (key == GLFW_KEY_L && action == GLFW_PRESS) {
-                    controller.launchBall(camera, cameraScale);
+                    Vector2D position = camera.copy();
+                    double scale = cameraScale;
+                    controller.invokeLater(() -> controller.launchBall(position, scale));
                 }
                 if (key == GLFW_KEY_LEFT && action == GLFW_PRESS) {
                     camera.add(new Vector2D(1/cameraScale, 0));
@@ -351,16 +400,17 @@ public class Viewer implements Observer {
                     camera.add(new Vector2D(0, 1/cameraScale));
                 }
                 if (key == GLFW_KEY_S && action == GLFW_PRESS) {
-                    selected = controller.getLatestEntity();
+                    selected = controller.getLatestEntity(snapshots.latest());
                 }
                 if (key == GLFW_KEY_DELETE && action == GLFW_PRESS) {
-                    if(selected == null) {
-                        controller.clearEntities();
+                    if(selected < 0) {
+                        controller.invokeLater(controller::clearEntities);
                     }
                     else{
-                        controller.destroyEntity(selected);
+                        int id = selected;
+                        controller.invokeLater(() -> controller.destroyEntity(id));
                     }
-                    selected = null;
+                    selected = -1;
                 }
             }
             else{
@@ -372,6 +422,7 @@ public class Viewer implements Observer {
                 }
                 if (key==GLFW_KEY_F && action == GLFW_PRESS) {
                     showForces = !showForces;
+                    recordForces(showForces); // Forces are only kept as objects while they are drawn.
                 }
                 if (key==GLFW_KEY_N && action == GLFW_PRESS) {
                     showNetForce = !showNetForce;
@@ -387,6 +438,7 @@ public class Viewer implements Observer {
                     showBoundingBox = showAll;
                     showNetForce = showAll;
                     showForces = showAll;
+                    recordForces(showForces);
                     showVelocity = showAll;
                     showAcceleration = showAll;
                     showCollisions = showAll;
@@ -409,7 +461,9 @@ public class Viewer implements Observer {
         glfwSetMouseButtonCallback(window,(window, button, action, mods) -> {
             if (button == GLFW_MOUSE_BUTTON_LEFT && action == GLFW_PRESS) {
                 if(altKey){
-                    controller.createEntityClick(getPointer(), cameraScale);
+                    Vector2D position = getPointer();
+                    double scale = cameraScale;
+                    controller.invokeLater(() -> controller.createEntityClick(position, scale));
                 }
                 else {
                     mouse_lb_down = true;
@@ -424,7 +478,7 @@ public class Viewer implements Observer {
                 Vector2D currentPos = getPointer();
                 Vector2D originalPos = new Vector2D(mouse_lb_initialX, mouse_lb_initialY);
                 if (currentPos.equals(originalPos)) {       // User has clicked and released the mouse.
-                    selected = controller.selectAtPosition(currentPos);
+                    selected = controller.selectAtPosition(snapshots.latest(), currentPos);
                 }
                 mouse_lb_down = false;
             }
@@ -453,10 +507,18 @@ public class Viewer implements Observer {
         });
 
         glfwSetWindowCloseCallback(window,(window) ->
-            closeWindow()
+            glfwSetWindowShouldClose(window, true)
         );
     }
 
+    /**
+     * Turns recording Forces for drawing on or off, between steps of the model.
+     * @param recording whether to record Forces
+     */
+    private void recordForces(boolean recording) {
+        controller.invokeLater(() -> Entity.setRecordingForces(recording));
+    }
+
     /**
      * helper method to convert window pointer to actual position
      * @return the actual click position relative to the model.